@@ -4,6 +4,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executor;
 
@@ -11,6 +12,9 @@ import java.util.concurrent.Executor;
  * Configuración para habilitar ejecución asíncrona en Spring.
  * Necesario para la búsqueda concurrente (RF-030).
  * 
+ * Además del ejecutor de tareas, define el programador compartido de las tareas
+ * periódicas de fondo: cada servicio programa en él sus tareas y las cancela al cerrar.
+ * 
  * @author SyncUp Team
  */
 @Configuration
@@ -27,5 +31,20 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+    
+    /**
+     * Programador de tareas periódicas en segundo plano. Spring lo inicializa y lo
+     * detiene después de los servicios que dependen de él.
+     * 
+     * @return programador con hilos daemon
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(3);
+        scheduler.setThreadNamePrefix("background-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
 }
 
@@ -8,6 +8,7 @@ import com.syncup.service.FavoritosService;
 import com.syncup.service.SocialService;
 import com.syncup.service.UsuarioIndexService;
 import com.syncup.service.AutocompletadoService;
+import com.syncup.service.IndiceBusquedaService;
 import com.syncup.service.AudioStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +37,7 @@ public class DataInitializer implements CommandLineRunner {
     private final FavoritosService favoritosService;
     private final SocialService socialService;
     private final AutocompletadoService autocompletadoService;
+    private final IndiceBusquedaService indiceBusquedaService;
     private final AudioStorageService audioStorageService;
     
     @Override
@@ -76,7 +78,9 @@ public class DataInitializer implements CommandLineRunner {
         // Asegurar que todas las canciones tengan audio disponible
         asignarAudioPorDefectoASiEsNecesario();
         eliminarCancionesSinAudioValido();
+        completarClavesNormalizadas();
         autocompletadoService.reconstruirDesdeBD();
+        indiceBusquedaService.reconstruir();
         
         log.info("Inicialización de datos completada");
         
@@ -248,6 +252,20 @@ public class DataInitializer implements CommandLineRunner {
         }
     }
 
+    /**
+     * Rellena las columnas normalizadas de artista y género en filas creadas antes de
+     * que existieran (la búsqueda exacta por artista o género las necesita).
+     */
+    private void completarClavesNormalizadas() {
+        List<Cancion> pendientes = cancionRepository.findByArtistaNormalizadoIsNullOrGeneroNormalizadoIsNull();
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        pendientes.forEach(Cancion::actualizarClavesNormalizadas);
+        cancionRepository.saveAll(pendientes);
+        log.info("Normalizados artista y género de {} canciones existentes", pendientes.size());
+    }
+
     private void eliminarCancionesSinAudioValido() {
         List<Cancion> canciones = cancionRepository.findAll();
         int eliminadas = 0;
@@ -8,6 +8,10 @@ import com.syncup.service.CancionService;
 import com.syncup.service.UsuarioIndexService;
 import com.syncup.service.SimilitudService;
 import com.syncup.service.AudioStorageService;
+import com.syncup.service.AutocompletadoService;
+import com.syncup.service.BusquedaAvanzadaService;
+import com.syncup.service.ComunidadesService;
+import com.syncup.service.SocialService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -40,6 +44,10 @@ public class AdminController {
     private final UsuarioIndexService usuarioIndexService;
     private final SimilitudService similitudService;
     private final AudioStorageService audioStorageService;
+    private final AutocompletadoService autocompletadoService;
+    private final BusquedaAvanzadaService busquedaAvanzadaService;
+    private final SocialService socialService;
+    private final ComunidadesService comunidadesService;
     
     // ========== GESTIÓN DE CANCIONES (RF-010) ==========
     
@@ -246,11 +254,7 @@ public class AdminController {
      */
     @GetMapping("/metrics/genres")
     public ResponseEntity<ApiResponse<Map<String, Long>>> obtenerMetricasGeneros() {
-        Map<String, Long> metricas = cancionRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        Cancion::getGenero,
-                        Collectors.counting()
-                ));
+        Map<String, Long> metricas = busquedaAvanzadaService.obtenerConteoGenerosCatalogo();
         
         return ResponseEntity.ok(ApiResponse.success(metricas));
     }
@@ -265,22 +269,82 @@ public class AdminController {
     @GetMapping("/metrics/artists")
     public ResponseEntity<ApiResponse<Map<String, Long>>> obtenerMetricasArtistas(
             @RequestParam(defaultValue = "10") int top) {
-        Map<String, Long> metricas = cancionRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        Cancion::getArtista,
-                        Collectors.counting()
-                ))
-                .entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(top)
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (e1, e2) -> e1,
-                        java.util.LinkedHashMap::new
-                ));
+        Map<String, Long> metricas = busquedaAvanzadaService.obtenerFacetasCatalogo(top).getArtistas();
         
         return ResponseEntity.ok(ApiResponse.success(metricas));
     }
-}
 
+    /**
+     * Obtiene las métricas de la caché de resultados de búsqueda avanzada
+     * (tasa de acierto, entradas y memoria estimada de los ids guardados).
+     * 
+     * @return mapa con las estadísticas de la caché
+     */
+    @GetMapping("/metrics/search-cache")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> obtenerMetricasCacheBusqueda() {
+        return ResponseEntity.ok(ApiResponse.success(busquedaAvanzadaService.obtenerEstadisticasCache()));
+    }
+
+    /**
+     * Obtiene las métricas de la caché de sugerencias de usuarios: entradas sucias y su
+     * antigüedad, recálculos por segundo y tasa de acierto.
+     * 
+     * @return mapa con las estadísticas de la caché
+     */
+    @GetMapping("/metrics/social-suggestions")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> obtenerMetricasSugerencias() {
+        return ResponseEntity.ok(ApiResponse.success(socialService.obtenerEstadisticasSugerencias()));
+    }
+
+    /**
+     * Obtiene el estado de la detección de comunidades del grafo social (número de
+     * comunidades, duración de la última detección y si hay una en curso).
+     * 
+     * @return mapa con el estado de la detección
+     */
+    @GetMapping("/metrics/communities")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> obtenerMetricasComunidades() {
+        return ResponseEntity.ok(ApiResponse.success(comunidadesService.obtenerEstado()));
+    }
+
+    /**
+     * Lanza en segundo plano la detección de comunidades y el cálculo de sus canciones
+     * populares. Las consultas siguen usando el resultado anterior mientras tanto.
+     * 
+     * @return estado de la detección al momento de lanzarla
+     */
+    @PostMapping("/communities/recompute")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> recalcularComunidades() {
+        comunidadesService.recalcularEnSegundoPlano();
+        return ResponseEntity.accepted().body(ApiResponse.success(
+                "Detección de comunidades iniciada", comunidadesService.obtenerEstado()));
+    }
+
+    /**
+     * Obtiene las métricas de la caché de autocompletado.
+     * Permite vigilar la tasa de acierto (exacto y por extensión de prefijo)
+     * y el progreso de la reconstrucción del índice.
+     * 
+     * @return mapa con las estadísticas de la caché y de la reconstrucción
+     */
+    @GetMapping("/metrics/autocomplete")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> obtenerMetricasAutocompletado() {
+        Map<String, Object> metricas = new java.util.LinkedHashMap<>(autocompletadoService.obtenerEstadisticasCache());
+        metricas.put("reconstruccion", autocompletadoService.obtenerEstadoReconstruccion());
+        return ResponseEntity.ok(ApiResponse.success(metricas));
+    }
+
+    /**
+     * Lanza la reconstrucción del índice de autocompletado en segundo plano.
+     * El autocompletado sigue respondiendo con el índice vigente mientras tanto.
+     * 
+     * @return estado de la reconstrucción al momento de lanzarla
+     */
+    @PostMapping("/autocomplete/reindex")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reindexarAutocompletado() {
+        autocompletadoService.reconstruirEnSegundoPlano();
+        return ResponseEntity.accepted().body(ApiResponse.success(
+                "Reconstrucción del índice de autocompletado iniciada",
+                autocompletadoService.obtenerEstadoReconstruccion()));
+    }
+}
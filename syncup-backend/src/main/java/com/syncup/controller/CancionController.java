@@ -1,14 +1,25 @@
 package com.syncup.controller;
 
 import com.syncup.dto.ApiResponse;
+import com.syncup.dto.BusquedaFacetada;
+import com.syncup.dto.PaginaCanciones;
+import com.syncup.dto.PaginaSugerencias;
+import com.syncup.dto.ResultadoBusquedaTexto;
 import com.syncup.dto.SearchRequest;
 import com.syncup.model.Cancion;
+import com.syncup.service.AutocompletadoService;
 import com.syncup.service.BusquedaAvanzadaService;
 import com.syncup.service.CancionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -24,6 +35,8 @@ public class CancionController {
     
     private final CancionService cancionService;
     private final BusquedaAvanzadaService busquedaAvanzadaService;
+    private final AutocompletadoService autocompletadoService;
+    private final ObjectMapper objectMapper;
     
     /**
      * Busca canciones por autocompletado de título.
@@ -38,19 +51,131 @@ public class CancionController {
         return ResponseEntity.ok(ApiResponse.success(canciones));
     }
     
+    /**
+     * Obtiene sugerencias de autocompletado paginadas con cursor.
+     * Devuelve una proyección ligera (id, título, artista) para que la respuesta
+     * por cada tecla pulsada se mantenga pequeña.
+     * Requerido según RF-003.
+     * 
+     * @param prefix prefijo de búsqueda
+     * @param limit número máximo de sugerencias (opcional, por defecto 10, máximo 50)
+     * @param cursor cursor de la página anterior (opcional)
+     * @return página de sugerencias y cursor de la página siguiente
+     */
+    @GetMapping("/autocomplete/suggestions")
+    public ResponseEntity<ApiResponse<PaginaSugerencias>> autocompleteSugerencias(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+        PaginaSugerencias pagina = autocompletadoService.buscarSugerencias(prefix, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(pagina));
+    }
+    
+    /**
+     * Busca canciones por texto libre en títulos y artistas, ordenadas por relevancia.
+     * Requerido según RF-004.
+     * 
+     * @param q texto de búsqueda
+     * @param page número de página (opcional, desde 0)
+     * @param limit tamaño de página (opcional, por defecto 20, máximo 100)
+     * @return resultados con su puntuación, el más relevante primero
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<ResultadoBusquedaTexto>>> buscarTexto(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(busquedaAvanzadaService.buscarTexto(q, page, limit)));
+    }
+    
     /**
      * Realiza una búsqueda avanzada de canciones por múltiples atributos.
      * Requerido según RF-004 (con concurrencia según RF-030).
      * 
+     * Para resultados grandes, usar /search/advanced/paged o /search/advanced/export.
+     * 
      * @param request criterios de búsqueda (artista, género, año, operador)
+     * @param sort orden {@code campo[,asc|desc]}: title, year o duration (opcional, por defecto id)
      * @return lista de canciones que coinciden con los criterios
      */
     @PostMapping("/search/advanced")
-    public ResponseEntity<ApiResponse<List<Cancion>>> buscarAvanzada(@RequestBody SearchRequest request) {
-        List<Cancion> resultados = busquedaAvanzadaService.buscar(request);
+    public ResponseEntity<ApiResponse<List<Cancion>>> buscarAvanzada(
+            @RequestBody SearchRequest request,
+            @RequestParam(required = false) String sort) {
+        List<Cancion> resultados = busquedaAvanzadaService.buscar(request, sort);
+        return ResponseEntity.ok(ApiResponse.success(resultados));
+    }
+    
+    /**
+     * Realiza una búsqueda avanzada e incluye los conteos por género, artista y década
+     * de los resultados, para los filtros de la página de búsqueda.
+     * Requerido según RF-004.
+     * 
+     * @param request criterios de búsqueda
+     * @param artists número máximo de artistas en la faceta de artistas (opcional, por defecto 10)
+     * @return canciones encontradas y sus conteos por faceta
+     */
+    @PostMapping("/search/advanced/facets")
+    public ResponseEntity<ApiResponse<BusquedaFacetada>> busquedaAvanzadaConFacetas(
+            @RequestBody SearchRequest request,
+            @RequestParam(defaultValue = "10") int artists) {
+        return ResponseEntity.ok(ApiResponse.success(busquedaAvanzadaService.buscarConFacetas(request, artists)));
+    }
+    
+    /**
+     * Realiza una búsqueda avanzada paginada resuelta con una única consulta a la base de datos.
+     * 
+     * @param request criterios de búsqueda (artista, género, año, operador)
+     * @param page número de página (desde 0)
+     * @param size tamaño de página (máximo 100)
+     * @param sort orden {@code campo[,asc|desc]}: title, year o duration (opcional, por defecto id)
+     * @param cursor siguienteCursor de la página anterior (opcional; sustituye a page)
+     * @return página de canciones que coinciden con los criterios
+     */
+    @PostMapping("/search/advanced/paged")
+    public ResponseEntity<ApiResponse<PaginaCanciones>> buscarAvanzadaPaginada(
+            @RequestBody SearchRequest request,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor) {
+        PaginaCanciones resultados = busquedaAvanzadaService.buscarPaginado(request, page, size, sort, cursor);
         return ResponseEntity.ok(ApiResponse.success(resultados));
     }
     
+    /**
+     * Exporta todos los resultados de una búsqueda avanzada como un arreglo JSON
+     * escrito por lotes a medida que se obtienen, de modo que la memoria por
+     * petición no depende del número de resultados.
+     * 
+     * @param request criterios de búsqueda
+     * @param sort orden {@code campo[,asc|desc]}: title, year o duration (opcional, por defecto id)
+     * @return arreglo JSON de canciones en streaming
+     */
+    @PostMapping("/search/advanced/export")
+    public ResponseEntity<StreamingResponseBody> exportarBusquedaAvanzada(
+            @RequestBody SearchRequest request,
+            @RequestParam(required = false) String sort) {
+        // Se valida antes de empezar a escribir para poder responder 400
+        Iterator<List<Cancion>> lotes = busquedaAvanzadaService.exportar(request, sort);
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+                generador.writeStartArray();
+                while (lotes.hasNext()) {
+                    for (Cancion cancion : lotes.next()) {
+                        generador.writeObject(cancion);
+                    }
+                    generador.flush();
+                }
+                generador.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"busqueda.json\"")
+                .body(cuerpo);
+    }
+    
     /**
      * Obtiene una canción por su ID.
      * 
@@ -3,6 +3,7 @@ package com.syncup.controller;
 import com.syncup.dto.ApiResponse;
 import com.syncup.model.Cancion;
 import com.syncup.service.CancionService;
+import com.syncup.service.ComunidadesService;
 import com.syncup.service.RecomendacionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +25,7 @@ public class RecomendacionController {
     
     private final RecomendacionService recomendacionService;
     private final CancionService cancionService;
+    private final ComunidadesService comunidadesService;
     
     /**
      * Genera una playlist de "Descubrimiento Semanal" basada en los gustos del usuario.
@@ -42,6 +44,41 @@ public class RecomendacionController {
         return ResponseEntity.ok(ApiResponse.success(recomendaciones));
     }
     
+    /**
+     * Genera recomendaciones que mezclan canciones similares a los favoritos del usuario
+     * con los favoritos de sus conexiones en el grafo social.
+     * Requerido según RF-005.
+     * 
+     * @param authentication autenticación actual
+     * @param maxCanciones número máximo de canciones (opcional, por defecto 20)
+     * @return lista de canciones recomendadas
+     */
+    @GetMapping("/social-mix")
+    public ResponseEntity<ApiResponse<List<Cancion>>> generarMezclaSocial(
+            Authentication authentication,
+            @RequestParam(defaultValue = "20") int maxCanciones) {
+        String username = authentication.getName();
+        List<Cancion> recomendaciones = recomendacionService.generarMezclaSocial(username, maxCanciones);
+        return ResponseEntity.ok(ApiResponse.success(recomendaciones));
+    }
+    
+    /**
+     * Obtiene las canciones más populares de la comunidad del usuario en el grafo social
+     * (precalculadas en la última detección de comunidades).
+     * 
+     * @param authentication autenticación actual
+     * @param maxCanciones número máximo de canciones (opcional, por defecto 20)
+     * @return lista de canciones populares en la comunidad
+     */
+    @GetMapping("/community")
+    public ResponseEntity<ApiResponse<List<Cancion>>> obtenerPopularesDeComunidad(
+            Authentication authentication,
+            @RequestParam(defaultValue = "20") int maxCanciones) {
+        String username = authentication.getName();
+        List<Cancion> populares = comunidadesService.obtenerPopulares(username, maxCanciones);
+        return ResponseEntity.ok(ApiResponse.success(populares));
+    }
+    
     /**
      * Inicia una "Radio" a partir de una canción semilla.
      * Requerido según RF-006.
@@ -1,7 +1,9 @@
 package com.syncup.controller;
 
 import com.syncup.dto.ApiResponse;
+import com.syncup.dto.PaginaActividad;
 import com.syncup.model.Usuario;
+import com.syncup.service.FeedActividadService;
 import com.syncup.service.SocialService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +11,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,6 +27,7 @@ import java.util.stream.Collectors;
 public class SocialController {
     
     private final SocialService socialService;
+    private final FeedActividadService feedActividadService;
     
     /**
      * Sigue a un usuario.
@@ -92,6 +96,27 @@ public class SocialController {
         return ResponseEntity.ok(ApiResponse.success(sugerencias));
     }
 
+    /**
+     * Obtiene una página del feed de actividad del usuario autenticado: favoritos y
+     * seguimientos recientes de los usuarios que sigue, del más reciente al más antiguo.
+     *
+     * @param authentication autenticación actual
+     * @param limit tamaño de página (opcional, por defecto 20)
+     * @param antesDe cursor devuelto por la página anterior (opcional)
+     * @return página del feed con el cursor de la siguiente
+     */
+    @GetMapping("/me/feed")
+    public ResponseEntity<ApiResponse<PaginaActividad>> obtenerFeed(
+            Authentication authentication,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Long antesDe) {
+        PaginaActividad pagina = feedActividadService.obtenerFeed(authentication.getName(), antesDe, limit);
+        if (pagina == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ApiResponse.success(pagina));
+    }
+
     /**
      * Obtiene la lista de usuarios a los que sigue el usuario autenticado.
      *
@@ -123,5 +148,41 @@ public class SocialController {
                 .collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success(respuesta));
     }
-}
 
+    /**
+     * Obtiene el número de seguidores y seguidos de un usuario.
+     *
+     * @param username username del usuario
+     * @return conteos de seguidores y seguidos
+     */
+    @GetMapping("/{username}/follow-counts")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> contarRelaciones(@PathVariable String username) {
+        Map<String, Integer> conteos = socialService.contarRelaciones(username);
+        if (conteos == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ApiResponse.success(conteos));
+    }
+
+    /**
+     * Obtiene los grados de separación del usuario autenticado hasta otro usuario y un
+     * camino más corto entre ambos.
+     *
+     * @param authentication autenticación actual
+     * @param username username del usuario destino
+     * @param maxSaltos número máximo de saltos (opcional, por defecto 6)
+     * @return saltos (-1 si no hay camino dentro del límite) y camino de usernames
+     */
+    @GetMapping("/{username}/separation")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> calcularSeparacion(
+            Authentication authentication,
+            @PathVariable String username,
+            @RequestParam(defaultValue = "6") int maxSaltos) {
+        Map<String, Object> separacion = socialService.calcularSeparacion(
+                authentication.getName(), username, maxSaltos);
+        if (separacion == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ApiResponse.success(separacion));
+    }
+}
@@ -40,13 +40,17 @@ public class UsuarioController {
     /**
      * Busca usuarios por nombre o username.
      * Endpoint usado por el buscador de usuarios en la sección Social.
+     * Se resuelve con el índice de prefijos en memoria de {@link UsuarioIndexService},
+     * sin consultar la base de datos en cada pulsación de tecla.
      *
-     * @param query texto a buscar (parcial) en los campos {@code nombre} o {@code username}
+     * @param query texto a buscar: prefijo del {@code username}, del {@code nombre} o de una de sus palabras
+     * @param limit número máximo de usuarios a retornar (opcional, por defecto 20)
      * @return respuesta con la lista de usuarios que coinciden con la búsqueda
      */
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<List<Usuario>>> buscarUsuarios(
-            @RequestParam String query
+            @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit
     ) {
         String term = query == null ? "" : query.trim();
         if (term.isEmpty()) {
@@ -54,13 +58,12 @@ public class UsuarioController {
             return ResponseEntity.ok(ApiResponse.success(List.of()));
         }
 
-        List<Usuario> resultados =
-                usuarioRepository.findByNombreContainingIgnoreCaseOrUsernameContainingIgnoreCase(
-                        term, term
-                );
+        int limite = Math.max(1, Math.min(limit, 100));
 
-        // No retornar contraseñas en la respuesta
-        resultados.forEach(u -> u.setPassword(null));
+        // Copias sin contraseña: las instancias del índice en memoria no deben modificarse
+        List<Usuario> resultados = usuarioIndexService.buscarUsuarios(term, limite).stream()
+                .map(u -> new Usuario(u.getId(), u.getUsername(), null, u.getNombre(), u.getRol()))
+                .toList();
 
         return ResponseEntity.ok(ApiResponse.success(resultados));
     }
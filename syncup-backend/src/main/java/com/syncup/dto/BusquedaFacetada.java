@@ -0,0 +1,20 @@
+package com.syncup.dto;
+
+import com.syncup.model.Cancion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO con los resultados de una búsqueda avanzada y sus conteos por faceta.
+ *
+ * @author SyncUp Team
+ */
+@Data
+@AllArgsConstructor
+public class BusquedaFacetada {
+
+    private List<Cancion> canciones;
+    private FacetasBusqueda facetas;
+}
@@ -0,0 +1,50 @@
+package com.syncup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO para un evento del feed de actividad: un usuario agregó una canción a favoritos o
+ * empezó a seguir a alguien.
+ * 
+ * @author SyncUp Team
+ */
+@Data
+@AllArgsConstructor
+public class EventoActividad {
+    
+    /**
+     * Tipos de evento del feed.
+     */
+    public enum Tipo {
+        FAVORITO,
+        SEGUIMIENTO
+    }
+    
+    /**
+     * Número de secuencia global: ordena los eventos y sirve de cursor de paginación.
+     */
+    private long secuencia;
+    
+    private Tipo tipo;
+    
+    /**
+     * Username de quien generó el evento.
+     */
+    private String actor;
+    
+    /**
+     * Canción agregada a favoritos (solo en eventos {@link Tipo#FAVORITO}).
+     */
+    private SugerenciaCancion cancion;
+    
+    /**
+     * Username del usuario seguido (solo en eventos {@link Tipo#SEGUIMIENTO}).
+     */
+    private String seguido;
+    
+    /**
+     * Instante del evento en milisegundos desde epoch.
+     */
+    private long fechaMs;
+}
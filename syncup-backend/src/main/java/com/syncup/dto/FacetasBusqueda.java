@@ -0,0 +1,45 @@
+package com.syncup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO con los conteos por faceta de un conjunto de resultados de búsqueda.
+ * Requerido según RF-004.
+ *
+ * Géneros y artistas van ordenados de mayor a menor número de canciones;
+ * las décadas (1990, 2000...) en orden cronológico. Solo aparecen valores con
+ * al menos una canción.
+ *
+ * @author SyncUp Team
+ */
+@Data
+@AllArgsConstructor
+public class FacetasBusqueda {
+
+    private Map<String, Long> generos;
+    private Map<String, Long> artistas;
+    private Map<Integer, Long> decadas;
+
+    /**
+     * Ordena los conteos de una faceta de mayor a menor (a igual conteo, por valor) y
+     * conserva los primeros.
+     * Complejidad: O(v log v) donde v es el número de valores
+     *
+     * @param conteos conteo por valor
+     * @param limite número máximo de valores a conservar
+     * @return conteos ordenados
+     */
+    public static Map<String, Long> ordenarPorConteo(Map<String, Long> conteos, int limite) {
+        Map<String, Long> ordenados = new LinkedHashMap<>();
+        conteos.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(Math.max(0, limite))
+                .forEach(entrada -> ordenados.put(entrada.getKey(), entrada.getValue()));
+        return ordenados;
+    }
+}
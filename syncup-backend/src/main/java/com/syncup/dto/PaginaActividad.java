@@ -0,0 +1,24 @@
+package com.syncup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO para una página del feed de actividad, del evento más reciente al más antiguo.
+ * 
+ * @author SyncUp Team
+ */
+@Data
+@AllArgsConstructor
+public class PaginaActividad {
+    
+    private List<EventoActividad> eventos;
+    
+    /**
+     * Cursor (parámetro {@code antesDe}) para pedir la página siguiente, o null si no hay
+     * más eventos.
+     */
+    private Long siguienteCursor;
+}
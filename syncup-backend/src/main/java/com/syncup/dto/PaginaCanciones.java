@@ -0,0 +1,41 @@
+package com.syncup.dto;
+
+import com.syncup.model.Cancion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * DTO para una página de resultados de búsqueda de canciones.
+ * 
+ * siguienteCursor permite pedir la página siguiente por clave (null si no hay más).
+ * Las páginas pedidas por cursor no tienen número de página (-1) y, si el total no
+ * se conoce sin una consulta de conteo adicional, totalElementos y totalPaginas valen -1.
+ * 
+ * @author SyncUp Team
+ */
+@Data
+@AllArgsConstructor
+public class PaginaCanciones {
+    
+    private List<Cancion> canciones;
+    private int pagina;
+    private int tamaño;
+    private long totalElementos;
+    private int totalPaginas;
+    private String siguienteCursor;
+    
+    /**
+     * Crea el DTO a partir de una página de Spring Data.
+     * 
+     * @param page página de canciones
+     * @param siguienteCursor cursor de la página siguiente (null si no hay más)
+     * @return DTO equivalente
+     */
+    public static PaginaCanciones desde(Page<Cancion> page, String siguienteCursor) {
+        return new PaginaCanciones(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), siguienteCursor);
+    }
+}
@@ -0,0 +1,23 @@
+package com.syncup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO para una página de sugerencias de autocompletado.
+ * 
+ * @author SyncUp Team
+ */
+@Data
+@AllArgsConstructor
+public class PaginaSugerencias {
+    
+    private List<SugerenciaCancion> sugerencias;
+    
+    /**
+     * Cursor para pedir la página siguiente, o null si no hay más resultados.
+     */
+    private String siguienteCursor;
+}
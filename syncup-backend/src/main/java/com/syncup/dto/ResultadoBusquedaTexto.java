@@ -0,0 +1,22 @@
+package com.syncup.dto;
+
+import com.syncup.model.Cancion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO para un resultado de la búsqueda de texto completo, con su puntuación de relevancia.
+ * 
+ * @author SyncUp Team
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoBusquedaTexto {
+    
+    private Cancion cancion;
+    
+    /**
+     * Puntuación BM25 (mayor es más relevante; 0 si no se pudo calcular).
+     */
+    private double puntuacion;
+}
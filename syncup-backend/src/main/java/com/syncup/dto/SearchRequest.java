@@ -1,36 +1,176 @@
 package com.syncup.dto;
 
+import com.syncup.util.NormalizadorTexto;
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * DTO para solicitudes de búsqueda avanzada de canciones.
  * Requerido según RF-004.
- * 
+ *
+ * Cada criterio (artista, género, año, duración) admite varios valores o un rango;
+ * los valores de un mismo criterio se combinan con OR ("rock o pop") y los criterios
+ * entre sí con el operador indicado. Por ejemplo, "rock o pop de 1990 a 1999":
+ * {@code {"generos": ["Rock", "Pop"], "añoDesde": 1990, "añoHasta": 1999}}.
+ *
  * @author SyncUp Team
  */
 @Data
 public class SearchRequest {
-    
+
     private String artista;
     private String genero;
     private Integer año;
-    
+
+    /**
+     * Artistas adicionales (cualquiera de ellos).
+     */
+    private List<String> artistas = new ArrayList<>();
+
+    /**
+     * Géneros adicionales (cualquiera de ellos).
+     */
+    private List<String> generos = new ArrayList<>();
+
+    /**
+     * Rango de años de lanzamiento (extremos inclusivos, cada uno opcional).
+     */
+    private Integer añoDesde;
+    private Integer añoHasta;
+
+    /**
+     * Rango de duración en segundos (extremos inclusivos, cada uno opcional).
+     */
+    private Integer duracionMin;
+    private Integer duracionMax;
+
+    /**
+     * Consulta booleana opcional, por ejemplo
+     * {@code genre:rock AND (artist:queen OR year:[1975 TO 1980])}.
+     * Si hay además criterios estructurados, se combinan con ella mediante AND.
+     * Ver {@link com.syncup.search.AnalizadorConsultas}.
+     */
+    private String consulta;
+
     /**
      * Tipo de operador lógico para combinar criterios.
      * AND: todos los criterios deben coincidir
      * OR: al menos un criterio debe coincidir
      */
     private String operador = "AND"; // AND u OR
-    
+
     /**
      * Verifica si la solicitud tiene criterios de búsqueda.
-     * 
+     *
      * @return true si tiene al menos un criterio, false en caso contrario
      */
     public boolean tieneCriterios() {
-        return (artista != null && !artista.trim().isEmpty()) ||
-               (genero != null && !genero.trim().isEmpty()) ||
-               año != null;
+        return !artistasSolicitados().isEmpty() ||
+               !generosSolicitados().isEmpty() ||
+               tieneFiltroAño() ||
+               tieneFiltroDuracion() ||
+               tieneConsulta();
+    }
+
+    /**
+     * Indica si la solicitud incluye una consulta booleana escrita.
+     *
+     * @return true si la consulta no está vacía
+     */
+    public boolean tieneConsulta() {
+        return consulta != null && !consulta.isBlank();
+    }
+
+    /**
+     * Valida la coherencia de los rangos.
+     *
+     * @throws IllegalArgumentException si algún rango tiene el inicio mayor que el fin
+     */
+    public void validar() {
+        if (añoDesde != null && añoHasta != null && añoDesde > añoHasta) {
+            throw new IllegalArgumentException("El año inicial no puede ser mayor que el año final");
+        }
+        if (duracionMin != null && duracionMax != null && duracionMin > duracionMax) {
+            throw new IllegalArgumentException("La duración mínima no puede ser mayor que la máxima");
+        }
     }
-}
 
+    /**
+     * Artistas solicitados (artista y artistas), sin espacios laterales, sin vacíos ni
+     * repetidos (dos valores que solo difieren en mayúsculas o acentos son el mismo).
+     *
+     * @return conjunto de artistas en orden de aparición
+     */
+    public Set<String> artistasSolicitados() {
+        return valoresSolicitados(artista, artistas);
+    }
+
+    /**
+     * Géneros solicitados (genero y generos), sin espacios laterales, sin vacíos ni
+     * repetidos (dos valores que solo difieren en mayúsculas o acentos son el mismo).
+     *
+     * @return conjunto de géneros en orden de aparición
+     */
+    public Set<String> generosSolicitados() {
+        return valoresSolicitados(genero, generos);
+    }
+
+    /**
+     * Indica si la solicitud filtra por año (exacto o rango).
+     *
+     * @return true si hay filtro de año
+     */
+    public boolean tieneFiltroAño() {
+        return año != null || añoDesde != null || añoHasta != null;
+    }
+
+    /**
+     * Año mínimo del filtro: el inicio del rango o, si no hay rango, el año exacto.
+     *
+     * @return año mínimo, o null si no tiene límite inferior
+     */
+    public Integer añoMinimo() {
+        return añoDesde != null || añoHasta != null ? añoDesde : año;
+    }
+
+    /**
+     * Año máximo del filtro: el fin del rango o, si no hay rango, el año exacto.
+     *
+     * @return año máximo, o null si no tiene límite superior
+     */
+    public Integer añoMaximo() {
+        return añoDesde != null || añoHasta != null ? añoHasta : año;
+    }
+
+    /**
+     * Indica si la solicitud filtra por duración.
+     *
+     * @return true si hay filtro de duración
+     */
+    public boolean tieneFiltroDuracion() {
+        return duracionMin != null || duracionMax != null;
+    }
+
+    private static Set<String> valoresSolicitados(String valor, List<String> valores) {
+        Set<String> resultado = new LinkedHashSet<>();
+        Set<String> claves = new HashSet<>();
+        agregarSiValido(resultado, claves, valor);
+        if (valores != null) {
+            valores.forEach(v -> agregarSiValido(resultado, claves, v));
+        }
+        return resultado;
+    }
+
+    private static void agregarSiValido(Set<String> destino, Set<String> claves, String valor) {
+        // Un valor formado solo por espacios o signos de puntuación se ignora
+        String clave = NormalizadorTexto.clave(valor);
+        if (clave != null && claves.add(clave)) {
+            destino.add(valor.trim());
+        }
+    }
+}
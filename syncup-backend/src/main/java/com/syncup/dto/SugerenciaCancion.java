@@ -0,0 +1,31 @@
+package com.syncup.dto;
+
+import com.syncup.model.Cancion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO ligero para listas de sugerencias de autocompletado.
+ * Contiene solo los datos necesarios para mostrar la sugerencia,
+ * en lugar de la entidad {@link Cancion} completa.
+ * 
+ * @author SyncUp Team
+ */
+@Data
+@AllArgsConstructor
+public class SugerenciaCancion {
+    
+    private Long id;
+    private String titulo;
+    private String artista;
+    
+    /**
+     * Crea la sugerencia a partir de una canción.
+     * 
+     * @param cancion canción de origen
+     * @return sugerencia con id, título y artista
+     */
+    public static SugerenciaCancion desde(Cancion cancion) {
+        return new SugerenciaCancion(cancion.getId(), cancion.getTitulo(), cancion.getArtista());
+    }
+}
@@ -0,0 +1,18 @@
+package com.syncup.event;
+
+import com.syncup.model.Cancion;
+import lombok.Value;
+
+/**
+ * Evento de aplicación que publica {@link com.syncup.service.FavoritosService} cuando un
+ * usuario agrega una canción a sus favoritos (solo si no la tenía ya).
+ *
+ * @author SyncUp Team
+ */
+@Value
+public class FavoritoAgregadoEvent {
+
+    String username;
+
+    Cancion cancion;
+}
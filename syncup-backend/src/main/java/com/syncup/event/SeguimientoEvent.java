@@ -0,0 +1,17 @@
+package com.syncup.event;
+
+import lombok.Value;
+
+/**
+ * Evento de aplicación que publica {@link com.syncup.service.SocialService} cuando un
+ * usuario empieza a seguir a otro (solo si no lo seguía ya).
+ *
+ * @author SyncUp Team
+ */
+@Value
+public class SeguimientoEvent {
+
+    String seguidorUsername;
+
+    String seguidoUsername;
+}
@@ -0,0 +1,228 @@
+package com.syncup.graph;
+
+import com.syncup.graph.algoritmo.SugerenciasAmigos;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Caché por usuario de las listas de sugerencias del grafo social, con marcado de
+ * entradas sucias y recálculo en segundo plano.
+ *
+ * Las sugerencias de U dependen de a quién sigue U y de a quién siguen sus seguidos, así
+ * que cuando A sigue o deja de seguir a alguien quedan sucias las entradas de A y de sus
+ * seguidores. El grafo solo encola el id de A ({@link #registrarCambio(int)}, O(1) bajo
+ * sus candados); la expansión a los seguidores y el recálculo los hace quien llame a
+ * {@link #procesarPendientes()} (un hilo de fondo). Mientras tanto la entrada sucia se
+ * sigue sirviendo: una consulta es una búsqueda en el mapa.
+ *
+ * Solo se guardan entradas de usuarios que han pedido sugerencias; al superar la
+ * capacidad se expulsa una entrada cualquiera.
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class CacheSugerencias {
+
+    private final GrafoSocial grafo;
+    private final IntFunction<List<SugerenciasAmigos.Sugerencia>> calculador;
+    private final int capacidad;
+
+    private final Map<Integer, List<SugerenciasAmigos.Sugerencia>> entradas = new ConcurrentHashMap<>();
+
+    /**
+     * Usuarios que cambiaron sus seguidos desde la última pasada.
+     */
+    private final ConcurrentLinkedQueue<Integer> cambios = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Entradas sucias y el instante (ms) en que se ensuciaron por primera vez.
+     */
+    private final Map<Integer, Long> sucias = new ConcurrentHashMap<>();
+
+    private final AtomicLong secuenciaCambios = new AtomicLong();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final AtomicLong recalculos = new AtomicLong();
+    private final LongAdder antiguedadAcumuladaMs = new LongAdder();
+    private final AtomicLong antiguedadMaximaMs = new AtomicLong();
+    private final long creadaEn = System.currentTimeMillis();
+
+    /**
+     * Recálculos por segundo de los últimos 60 segundos (índice = segundo % 60).
+     */
+    private final long[] recalculosPorSegundo = new long[60];
+    private final long[] segundoDeCelda = new long[60];
+    private final Object ventana = new Object();
+
+    /**
+     * Crea la caché.
+     *
+     * @param grafo grafo social (para expandir un cambio a los seguidores)
+     * @param calculador calcula la lista de sugerencias de un id
+     * @param capacidad número máximo de usuarios con entrada
+     */
+    public CacheSugerencias(GrafoSocial grafo, IntFunction<List<SugerenciasAmigos.Sugerencia>> calculador,
+                            int capacidad) {
+        this.grafo = grafo;
+        this.calculador = calculador;
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * Obtiene las sugerencias de un usuario: la entrada guardada (aunque esté sucia) o,
+     * la primera vez, el cálculo en el momento.
+     * Complejidad: O(1) si hay entrada
+     *
+     * @param id id del usuario
+     * @return lista de sugerencias (inmutable)
+     */
+    public List<SugerenciasAmigos.Sugerencia> obtener(int id) {
+        List<SugerenciasAmigos.Sugerencia> lista = entradas.get(id);
+        if (lista != null) {
+            aciertos.increment();
+            return lista;
+        }
+        fallos.increment();
+        long secuencia = secuenciaCambios.get();
+        lista = List.copyOf(calculador.apply(id));
+        if (entradas.size() >= capacidad) {
+            Iterator<Integer> claves = entradas.keySet().iterator();
+            if (claves.hasNext()) {
+                claves.next();
+                claves.remove();
+            }
+        }
+        entradas.put(id, lista);
+        // Un cambio anotado durante el cálculo pudo expandirse antes de que existiera la
+        // entrada; se marca sucia por si la afectaba
+        if (secuenciaCambios.get() != secuencia) {
+            sucias.putIfAbsent(id, System.currentTimeMillis());
+        }
+        return lista;
+    }
+
+    /**
+     * Anota que un usuario siguió o dejó de seguir a alguien.
+     * Complejidad: O(1)
+     *
+     * @param id id del usuario que cambió sus seguidos
+     */
+    public void registrarCambio(int id) {
+        cambios.add(id);
+        secuenciaCambios.incrementAndGet();
+    }
+
+    /**
+     * Expande los cambios anotados a las entradas afectadas y recalcula las sucias.
+     * Una entrada que se ensucia mientras se recalcula queda sucia para la siguiente pasada.
+     * Complejidad: O(Σ seguidores de los usuarios que cambiaron + recálculos)
+     *
+     * @return número de entradas recalculadas
+     */
+    public synchronized int procesarPendientes() {
+        long ahora = System.currentTimeMillis();
+        Integer cambio;
+        while ((cambio = cambios.poll()) != null) {
+            marcarSiGuardada(cambio, ahora);
+            grafo.paraCadaSeguidor(cambio, seguidor -> marcarSiGuardada(seguidor, ahora));
+        }
+
+        int recalculadas = 0;
+        for (Integer id : sucias.keySet()) {
+            Long desde = sucias.remove(id);
+            if (desde == null || !entradas.containsKey(id)) {
+                continue;
+            }
+            entradas.put(id, List.copyOf(calculador.apply(id)));
+            long fin = System.currentTimeMillis();
+            long antiguedad = fin - desde;
+            antiguedadAcumuladaMs.add(antiguedad);
+            antiguedadMaximaMs.accumulateAndGet(antiguedad, Math::max);
+            contarRecalculo(fin / 1000);
+            recalculadas++;
+        }
+        return recalculadas;
+    }
+
+    /**
+     * Descarta la entrada de un usuario.
+     *
+     * @param id id del usuario
+     */
+    public void invalidar(int id) {
+        entradas.remove(id);
+        sucias.remove(id);
+    }
+
+    /**
+     * Obtiene las métricas de la caché: entradas, sucias y antigüedad de la más vieja,
+     * tasa de acierto, recálculos (totales, último minuto y promedio por segundo) y
+     * antigüedad media y máxima que tenía una entrada al recalcularse.
+     *
+     * @return mapa de métricas
+     */
+    public Map<String, Object> obtenerEstadisticas() {
+        long ahora = System.currentTimeMillis();
+        long suciaMasAntigua = sucias.values().stream().mapToLong(desde -> ahora - desde).max().orElse(0);
+        long totalAciertos = aciertos.sum();
+        long totalConsultas = totalAciertos + fallos.sum();
+        long totalRecalculos = recalculos.get();
+        double segundos = Math.max(1, (ahora - creadaEn) / 1000.0);
+
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("entradas", entradas.size());
+        estadisticas.put("capacidad", capacidad);
+        estadisticas.put("sucias", sucias.size());
+        estadisticas.put("cambiosPendientes", cambios.size());
+        estadisticas.put("antiguedadSuciaMasAntiguaMs", suciaMasAntigua);
+        estadisticas.put("aciertos", totalAciertos);
+        estadisticas.put("fallos", totalConsultas - totalAciertos);
+        estadisticas.put("tasaAcierto", totalConsultas == 0 ? 0.0 : (double) totalAciertos / totalConsultas);
+        estadisticas.put("recalculos", totalRecalculos);
+        estadisticas.put("recalculosUltimoMinuto", recalculosUltimoMinuto(ahora / 1000));
+        estadisticas.put("recalculosPorSegundo", totalRecalculos / segundos);
+        estadisticas.put("antiguedadMediaAlRecalcularMs",
+                totalRecalculos == 0 ? 0.0 : (double) antiguedadAcumuladaMs.sum() / totalRecalculos);
+        estadisticas.put("antiguedadMaximaAlRecalcularMs", antiguedadMaximaMs.get());
+        return estadisticas;
+    }
+
+    private void marcarSiGuardada(int id, long ahora) {
+        if (entradas.containsKey(id)) {
+            sucias.putIfAbsent(id, ahora);
+        }
+    }
+
+    private void contarRecalculo(long segundo) {
+        recalculos.incrementAndGet();
+        synchronized (ventana) {
+            int celda = (int) (segundo % recalculosPorSegundo.length);
+            if (segundoDeCelda[celda] != segundo) {
+                segundoDeCelda[celda] = segundo;
+                recalculosPorSegundo[celda] = 0;
+            }
+            recalculosPorSegundo[celda]++;
+        }
+    }
+
+    private long recalculosUltimoMinuto(long segundoActual) {
+        synchronized (ventana) {
+            long total = 0;
+            for (int i = 0; i < recalculosPorSegundo.length; i++) {
+                if (segundoActual - segundoDeCelda[i] < recalculosPorSegundo.length) {
+                    total += recalculosPorSegundo[i];
+                }
+            }
+            return total;
+        }
+    }
+}
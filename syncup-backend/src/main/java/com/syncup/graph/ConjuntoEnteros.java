@@ -0,0 +1,194 @@
+package com.syncup.graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de enteros no negativos con direccionamiento abierto (sondeo lineal) sobre un
+ * arreglo de {@code int}, sin objetos por elemento.
+ *
+ * Cada hueco de la tabla es un {@code int} de 4 bytes; con carga máxima 2/3 y capacidad
+ * que se dobla al crecer, ocupa entre unos 4,5 y 12 bytes por elemento (más si se
+ * borraron elementos: la tabla no se encoge), frente a los ~40 de un
+ * {@code HashSet<Integer>} o de un {@code HashSet} de entidades (nodo de la tabla más la
+ * referencia). Los borrados
+ * desplazan hacia atrás los elementos siguientes del grupo, así que no quedan lápidas y
+ * las búsquedas no se degradan con el uso.
+ *
+ * No es seguro para hilos: quien lo use debe sincronizar.
+ *
+ * @author SyncUp Team
+ */
+public class ConjuntoEnteros {
+
+    private static final int VACIO = -1;
+    private static final int[] SIN_TABLA = new int[0];
+
+    private int[] tabla = SIN_TABLA;
+    private int tamaño;
+
+    /**
+     * Agrega un elemento.
+     * Complejidad: O(1) amortizado
+     *
+     * @param valor entero no negativo
+     * @return true si no estaba
+     */
+    public boolean agregar(int valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("Solo se admiten enteros no negativos: " + valor);
+        }
+        // Carga máxima 2/3
+        if ((tamaño + 1) * 3 > tabla.length * 2) {
+            redimensionar(Math.max(4, tabla.length * 2));
+        }
+        int mascara = tabla.length - 1;
+        int i = posicionInicial(valor, mascara);
+        while (tabla[i] != VACIO) {
+            if (tabla[i] == valor) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        tabla[i] = valor;
+        tamaño++;
+        return true;
+    }
+
+    /**
+     * Elimina un elemento.
+     * Complejidad: O(1) en promedio
+     *
+     * @param valor elemento a eliminar
+     * @return true si estaba
+     */
+    public boolean eliminar(int valor) {
+        int i = buscar(valor);
+        if (i < 0) {
+            return false;
+        }
+        int mascara = tabla.length - 1;
+        // Desplazar hacia atrás los elementos cuyo sondeo pasa por el hueco
+        int hueco = i;
+        int j = (i + 1) & mascara;
+        while (tabla[j] != VACIO) {
+            int inicial = posicionInicial(tabla[j], mascara);
+            if (((j - inicial) & mascara) >= ((j - hueco) & mascara)) {
+                tabla[hueco] = tabla[j];
+                hueco = j;
+            }
+            j = (j + 1) & mascara;
+        }
+        tabla[hueco] = VACIO;
+        tamaño--;
+        return true;
+    }
+
+    /**
+     * Indica si el conjunto contiene un elemento.
+     * Complejidad: O(1) en promedio
+     *
+     * @param valor elemento a buscar
+     * @return true si está
+     */
+    public boolean contiene(int valor) {
+        return buscar(valor) >= 0;
+    }
+
+    /**
+     * Obtiene el número de elementos.
+     *
+     * @return tamaño del conjunto
+     */
+    public int tamaño() {
+        return tamaño;
+    }
+
+    /**
+     * Indica si el conjunto está vacío.
+     *
+     * @return true si no tiene elementos
+     */
+    public boolean estaVacio() {
+        return tamaño == 0;
+    }
+
+    /**
+     * Recorre los elementos sin copiarlos, en orden arbitrario.
+     * Complejidad: O(c) donde c es la capacidad de la tabla
+     *
+     * @param accion acción a aplicar a cada elemento
+     */
+    public void paraCada(IntConsumer accion) {
+        for (int valor : tabla) {
+            if (valor != VACIO) {
+                accion.accept(valor);
+            }
+        }
+    }
+
+    /**
+     * Copia los elementos en un arreglo ordenado de forma ascendente.
+     * Complejidad: O(c + n log n)
+     *
+     * @return arreglo nuevo con los elementos
+     */
+    public int[] aArregloOrdenado() {
+        int[] resultado = new int[tamaño];
+        int k = 0;
+        for (int valor : tabla) {
+            if (valor != VACIO) {
+                resultado[k++] = valor;
+            }
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    /**
+     * Elimina todos los elementos y libera la tabla.
+     */
+    public void limpiar() {
+        tabla = SIN_TABLA;
+        tamaño = 0;
+    }
+
+    private int buscar(int valor) {
+        if (tamaño == 0 || valor < 0) {
+            return -1;
+        }
+        int mascara = tabla.length - 1;
+        int i = posicionInicial(valor, mascara);
+        while (tabla[i] != VACIO) {
+            if (tabla[i] == valor) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private void redimensionar(int capacidad) {
+        int[] anterior = tabla;
+        tabla = new int[capacidad];
+        Arrays.fill(tabla, VACIO);
+        int mascara = capacidad - 1;
+        for (int valor : anterior) {
+            if (valor != VACIO) {
+                int i = posicionInicial(valor, mascara);
+                while (tabla[i] != VACIO) {
+                    i = (i + 1) & mascara;
+                }
+                tabla[i] = valor;
+            }
+        }
+    }
+
+    /**
+     * Dispersión multiplicativa: ids consecutivos o con paso fijo no forman grupos largos.
+     */
+    private static int posicionInicial(int valor, int mascara) {
+        int h = valor * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
@@ -0,0 +1,158 @@
+package com.syncup.graph;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de enteros no negativos a contadores con direccionamiento abierto (sondeo lineal)
+ * sobre arreglos de {@code int}, sin objetos por entrada. Pensado para acumular conteos
+ * o pesos por id en un recorrido (por ejemplo, amigos en común por candidato); no admite
+ * borrados.
+ *
+ * No es seguro para hilos.
+ *
+ * @author SyncUp Team
+ */
+public class ContadorEnteros {
+
+    private static final int VACIO = -1;
+
+    private int[] claves;
+    private int[] conteos;
+    private int tamaño;
+
+    /**
+     * Receptor de cada par (clave, conteo).
+     */
+    @FunctionalInterface
+    public interface ReceptorConteo {
+        void aceptar(int clave, int conteo);
+    }
+
+    /**
+     * Crea un contador vacío.
+     */
+    public ContadorEnteros() {
+        this(16);
+    }
+
+    /**
+     * Crea un contador con espacio para unas {@code esperadas} claves sin redimensionar.
+     *
+     * @param esperadas número esperado de claves
+     */
+    public ContadorEnteros(int esperadas) {
+        int capacidad = Integer.highestOneBit(Math.max(4, esperadas * 3 / 2) - 1) << 1;
+        claves = new int[capacidad];
+        conteos = new int[capacidad];
+        Arrays.fill(claves, VACIO);
+    }
+
+    /**
+     * Suma uno al contador de una clave.
+     * Complejidad: O(1) amortizado
+     *
+     * @param clave entero no negativo
+     * @return conteo resultante
+     */
+    public int incrementar(int clave) {
+        return sumar(clave, 1);
+    }
+
+    /**
+     * Suma una cantidad al contador de una clave (por ejemplo, un peso en lugar de uno).
+     * Complejidad: O(1) amortizado
+     *
+     * @param clave entero no negativo
+     * @param cantidad cantidad a sumar
+     * @return conteo resultante
+     */
+    public int sumar(int clave, int cantidad) {
+        if (clave < 0) {
+            throw new IllegalArgumentException("Solo se admiten enteros no negativos: " + clave);
+        }
+        int mascara = claves.length - 1;
+        int i = posicionInicial(clave, mascara);
+        while (claves[i] != VACIO) {
+            if (claves[i] == clave) {
+                return conteos[i] += cantidad;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        conteos[i] = cantidad;
+        // Carga máxima 2/3
+        if (++tamaño * 3 > claves.length * 2) {
+            redimensionar();
+        }
+        return cantidad;
+    }
+
+    /**
+     * Obtiene el conteo de una clave.
+     * Complejidad: O(1) en promedio
+     *
+     * @param clave clave a consultar
+     * @return conteo, o 0 si no está
+     */
+    public int obtener(int clave) {
+        if (clave < 0) {
+            return 0;
+        }
+        int mascara = claves.length - 1;
+        int i = posicionInicial(clave, mascara);
+        while (claves[i] != VACIO) {
+            if (claves[i] == clave) {
+                return conteos[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return 0;
+    }
+
+    /**
+     * Obtiene el número de claves distintas.
+     *
+     * @return número de claves
+     */
+    public int tamaño() {
+        return tamaño;
+    }
+
+    /**
+     * Recorre los pares (clave, conteo) en orden arbitrario.
+     * Complejidad: O(c) donde c es la capacidad de la tabla
+     *
+     * @param receptor receptor de cada par
+     */
+    public void paraCada(ReceptorConteo receptor) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != VACIO) {
+                receptor.aceptar(claves[i], conteos[i]);
+            }
+        }
+    }
+
+    private void redimensionar() {
+        int[] clavesAnteriores = claves;
+        int[] conteosAnteriores = conteos;
+        claves = new int[clavesAnteriores.length * 2];
+        conteos = new int[clavesAnteriores.length * 2];
+        Arrays.fill(claves, VACIO);
+        int mascara = claves.length - 1;
+        for (int j = 0; j < clavesAnteriores.length; j++) {
+            if (clavesAnteriores[j] != VACIO) {
+                int i = posicionInicial(clavesAnteriores[j], mascara);
+                while (claves[i] != VACIO) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clavesAnteriores[j];
+                conteos[i] = conteosAnteriores[j];
+            }
+        }
+    }
+
+    private static int posicionInicial(int valor, int mascara) {
+        int h = valor * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
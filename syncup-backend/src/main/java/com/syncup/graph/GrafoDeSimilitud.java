@@ -1,6 +1,8 @@
 package com.syncup.graph;
 
 import com.syncup.model.Cancion;
+import com.syncup.util.DiccionarioClaves;
+import com.syncup.util.NormalizadorTexto;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
@@ -105,20 +107,30 @@ public class GrafoDeSimilitud {
             return 1.0; // Misma canción
         }
         
+        return similitud(
+                NormalizadorTexto.sonEquivalentes(c1.getGenero(), c2.getGenero()),
+                NormalizadorTexto.sonEquivalentes(c1.getArtista(), c2.getArtista()),
+                c1.getAño(), c2.getAño());
+    }
+    
+    /**
+     * Fórmula de similitud a partir de las coincidencias ya calculadas.
+     */
+    private static double similitud(boolean mismoGenero, boolean mismoArtista, int año1, int año2) {
         double similitud = 0.0;
         
         // Similitud por género
-        if (c1.getGenero().equalsIgnoreCase(c2.getGenero())) {
+        if (mismoGenero) {
             similitud += 0.5;
         }
         
         // Similitud por artista
-        if (c1.getArtista().equalsIgnoreCase(c2.getArtista())) {
+        if (mismoArtista) {
             similitud += 0.4;
         }
         
         // Similitud por año (proximidad)
-        int diferenciaAnos = Math.abs(c1.getAño() - c2.getAño());
+        int diferenciaAnos = Math.abs(año1 - año2);
         if (diferenciaAnos <= 5) {
             similitud += 0.3 * (1.0 - diferenciaAnos / 5.0);
         }
@@ -128,7 +140,9 @@ public class GrafoDeSimilitud {
     
     /**
      * Construye el grafo calculando similitudes entre todas las canciones.
-     * Solo agrega aristas con similitud mayor a un umbral (0.3).
+     * Solo agrega aristas con similitud mayor a un umbral (0.3). Géneros y artistas se
+     * comparan por el id de su clave normalizada ({@link DiccionarioClaves}), sin
+     * distinguir mayúsculas ni acentos.
      * 
      * @param canciones lista de todas las canciones en el sistema
      */
@@ -136,13 +150,27 @@ public class GrafoDeSimilitud {
         log.info("Construyendo grafo de similitud con {} canciones...", canciones.size());
         grafo.clear();
         
+        // Cada género y artista se normaliza una sola vez y se compara como entero
+        int n = canciones.size();
+        int[] generos = new int[n];
+        int[] artistas = new int[n];
+        DiccionarioClaves diccionarioGeneros = new DiccionarioClaves();
+        DiccionarioClaves diccionarioArtistas = new DiccionarioClaves();
+        for (int i = 0; i < n; i++) {
+            generos[i] = diccionarioGeneros.registrar(canciones.get(i).getGenero());
+            artistas[i] = diccionarioArtistas.registrar(canciones.get(i).getArtista());
+        }
+        
         int aristasAgregadas = 0;
-        for (int i = 0; i < canciones.size(); i++) {
-            for (int j = i + 1; j < canciones.size(); j++) {
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
                 Cancion c1 = canciones.get(i);
                 Cancion c2 = canciones.get(j);
                 
-                double similitud = calcularSimilitud(c1, c2);
+                double similitud = c1.equals(c2) ? 1.0 : similitud(
+                        generos[i] != DiccionarioClaves.SIN_VALOR && generos[i] == generos[j],
+                        artistas[i] != DiccionarioClaves.SIN_VALOR && artistas[i] == artistas[j],
+                        c1.getAño(), c2.getAño());
                 
                 // Solo agregar arista si la similitud supera un umbral
                 if (similitud >= 0.3) {
@@ -4,173 +4,664 @@ import com.syncup.model.Usuario;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
 
 /**
- * Implementación de un Grafo No Dirigido para modelar conexiones sociales entre usuarios.
+ * Implementación de un Grafo Dirigido para modelar las relaciones de seguimiento entre usuarios.
  * Requerido según RF-023 y RF-024.
- * 
- * En este grafo, si un usuario A sigue a un usuario B, existe una arista entre ambos.
- * Como es no dirigido, la relación es mutua: si A sigue a B, entonces B y A están conectados.
- * 
+ *
+ * Si un usuario A sigue a un usuario B existe la arista A -> B, pero no necesariamente
+ * B -> A. Cada nodo guarda por separado sus aristas salientes (a quién sigue) y entrantes
+ * (quién lo sigue), de modo que tanto los seguidos como los seguidores se obtienen sin
+ * recorrer el grafo, y sus tamaños (grados) se consultan en O(1) sin copiar el conjunto.
+ *
+ * Internamente cada usuario recibe un id entero denso (0, 1, 2...) la primera vez que
+ * aparece, y las adyacencias son {@link ConjuntoEnteros} de ids: sin objetos por arista ni
+ * hashing de usernames al recorrer. Cada arista se guarda dos veces (en los seguidos de un
+ * extremo y en los seguidores del otro), así que cuesta el doble de lo que ocupa un
+ * elemento del conjunto. Los algoritmos (BFS, sugerencias) trabajan con ids y
+ * solo se resuelve el {@link Usuario} al devolver resultados. Los ids no se reutilizan.
+ *
+ * Es seguro para hilos mediante candados de lectura/escritura por franja (lock striping)
+ * según el id: las escrituras toman el candado de escritura de ambos extremos, siempre en
+ * el mismo orden para evitar interbloqueos, así que seguir a usuarios distintos escala con
+ * los núcleos y las dos mitades de una arista cambian juntas; las lecturas de un usuario
+ * solo toman el candado de lectura de su franja.
+ *
  * @author SyncUp Team
  */
 @Slf4j
 public class GrafoSocial {
-    
+
+    /**
+     * Id que representa a un usuario que no está en el grafo.
+     */
+    public static final int SIN_ID = -1;
+
+    private static final int CAPACIDAD_INICIAL = 64;
+
     /**
-     * Representación del grafo como mapa de adyacencia.
-     * Key: Usuario, Value: Set de usuarios conectados (seguidos/seguidores)
-     * Como es no dirigido, si A está conectado con B, entonces B está en el set de A y viceversa.
+     * Id denso de cada usuario registrado.
      * Complejidad de acceso: O(1)
      */
-    private final Map<Usuario, Set<Usuario>> grafo;
-    
+    private final Map<Usuario, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Usuario y adyacencias de cada id. Solo crece (bajo el candado de registro) y se
+     * publica como una referencia nueva, así que un lector siempre ve los ids que conoce.
+     */
+    private volatile Tablas tablas = new Tablas(CAPACIDAD_INICIAL);
+
+    private final Object registro = new Object();
+
+    /**
+     * Candados por franja: la adyacencia del id i se protege con franjas[i % franjas].
+     */
+    private final ReentrantReadWriteLock[] franjas;
+
+    /**
+     * Número total de aristas (relaciones de seguimiento).
+     */
+    private final AtomicLong numeroAristas = new AtomicLong();
+
+    /**
+     * Número de usuarios con al menos una arista.
+     */
+    private final AtomicInteger numeroNodos = new AtomicInteger();
+
+    /**
+     * Observador opcional de los cambios de aristas.
+     */
+    private volatile ObservadorAristas observador;
+
+    /**
+     * Recibe los ids de cada arista agregada o eliminada mientras se sostienen los
+     * candados de sus extremos, así que dos cambios sobre la misma arista se notifican en
+     * el orden en que se aplicaron. Debe ser rápido y no volver a modificar el grafo.
+     */
+    public interface ObservadorAristas {
+        void aristaAgregada(int seguidor, int seguido);
+
+        void aristaEliminada(int seguidor, int seguido);
+    }
+
     /**
      * Constructor que inicializa el grafo vacío.
      */
     public GrafoSocial() {
-        this.grafo = new HashMap<>();
+        // Potencia de dos con holgura sobre los núcleos para que dos escrituras rara vez compartan franja
+        int numeroFranjas = Integer.highestOneBit(Math.max(16, Runtime.getRuntime().availableProcessors() * 8) - 1) << 1;
+        this.franjas = new ReentrantReadWriteLock[numeroFranjas];
+        for (int i = 0; i < numeroFranjas; i++) {
+            franjas[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Registra el observador de cambios de aristas (o null para quitarlo).
+     *
+     * @param observador observador a notificar
+     */
+    public void setObservador(ObservadorAristas observador) {
+        this.observador = observador;
+    }
+
+    // ========== IDS ==========
+
+    /**
+     * Obtiene el id de un usuario, asignándole uno nuevo si no lo tenía.
+     * Complejidad: O(1) amortizado
+     *
+     * @param usuario usuario a registrar
+     * @return id denso del usuario
+     */
+    public int registrar(Usuario usuario) {
+        Integer id = ids.get(usuario);
+        if (id != null) {
+            return id;
+        }
+        synchronized (registro) {
+            id = ids.get(usuario);
+            if (id != null) {
+                return id;
+            }
+            Tablas actuales = tablas;
+            int nuevo = actuales.cantidad;
+            Tablas destino = nuevo < actuales.usuarios.length ? actuales : actuales.ampliada();
+            destino.usuarios[nuevo] = usuario;
+            destino.salientes[nuevo] = new ConjuntoEnteros();
+            destino.entrantes[nuevo] = new ConjuntoEnteros();
+            destino.cantidad = nuevo + 1;
+            tablas = destino;
+            // El id se publica al final: quien lo obtenga ya ve su fila en las tablas
+            ids.put(usuario, nuevo);
+            return nuevo;
+        }
+    }
+
+    /**
+     * Obtiene el id de un usuario sin registrarlo.
+     * Complejidad: O(1)
+     *
+     * @param usuario usuario a buscar
+     * @return id del usuario, o {@link #SIN_ID} si no está en el grafo
+     */
+    public int idDe(Usuario usuario) {
+        if (usuario == null) {
+            return SIN_ID;
+        }
+        Integer id = ids.get(usuario);
+        return id == null ? SIN_ID : id;
     }
-    
+
+    /**
+     * Obtiene el usuario de un id.
+     * Complejidad: O(1)
+     *
+     * @param id id del usuario
+     * @return usuario correspondiente
+     */
+    public Usuario usuario(int id) {
+        return tablas.usuarios[id];
+    }
+
     /**
-     * Establece una conexión (sigue relación) entre dos usuarios.
-     * Como el grafo es no dirigido, agrega la conexión en ambas direcciones.
+     * Obtiene el número de ids asignados; todo id es menor que este valor (útil para
+     * dimensionar arreglos o BitSets indexados por id).
+     *
+     * @return número de ids asignados
+     */
+    public int numeroIds() {
+        return tablas.cantidad;
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Establece la arista seguidor -> seguido.
      * Requerido según RF-007.
      * Complejidad: O(1)
-     * 
+     *
      * @param seguidor usuario que sigue
      * @param seguido usuario que es seguido
+     * @return true si la relación es nueva, false si ya existía o no es válida
      */
-    public void seguir(Usuario seguidor, Usuario seguido) {
+    public boolean seguir(Usuario seguidor, Usuario seguido) {
         if (seguidor == null || seguido == null || seguidor.equals(seguido)) {
-            return;
+            return false;
         }
-        
-        // Agregar seguido a la lista de seguidos de seguidor
-        grafo.computeIfAbsent(seguidor, k -> new HashSet<>()).add(seguido);
-        
-        // Agregar seguidor a la lista de seguidores de seguido (grafo no dirigido)
-        grafo.computeIfAbsent(seguido, k -> new HashSet<>()).add(seguidor);
-        
-        log.debug("Usuario '{}' ahora sigue a '{}'", seguidor.getUsername(), seguido.getUsername());
+        return seguir(registrar(seguidor), registrar(seguido));
     }
-    
+
+    /**
+     * Establece la arista seguidor -> seguido entre dos ids ya registrados.
+     * Complejidad: O(1) amortizado
+     *
+     * @param seguidor id del usuario que sigue
+     * @param seguido id del usuario seguido
+     * @return true si la relación es nueva
+     */
+    public boolean seguir(int seguidor, int seguido) {
+        if (seguidor == seguido) {
+            return false;
+        }
+        Tablas t = tablas;
+        bloquear(seguidor, seguido);
+        try {
+            if (!t.salientes[seguidor].agregar(seguido)) {
+                return false;
+            }
+            t.entrantes[seguido].agregar(seguidor);
+            numeroAristas.incrementAndGet();
+            if (t.grado(seguidor) == 1) {
+                numeroNodos.incrementAndGet();
+            }
+            if (t.grado(seguido) == 1) {
+                numeroNodos.incrementAndGet();
+            }
+            ObservadorAristas actual = observador;
+            if (actual != null) {
+                actual.aristaAgregada(seguidor, seguido);
+            }
+        } finally {
+            desbloquear(seguidor, seguido);
+        }
+
+        log.debug("Usuario {} ahora sigue a {}", seguidor, seguido);
+        return true;
+    }
+
     /**
-     * Elimina la conexión entre dos usuarios (dejar de seguir).
+     * Elimina la arista seguidor -> seguido (dejar de seguir). La arista inversa, si
+     * existe, se conserva.
      * Complejidad: O(1)
-     * 
+     *
      * @param seguidor usuario que deja de seguir
      * @param seguido usuario que ya no es seguido
+     * @return true si la relación existía, false en caso contrario
      */
-    public void dejarDeSeguir(Usuario seguidor, Usuario seguido) {
-        if (seguidor == null || seguido == null) {
-            return;
-        }
-        
-        // Eliminar seguido de la lista de seguidor
-        Set<Usuario> seguidos = grafo.get(seguidor);
-        if (seguidos != null) {
-            seguidos.remove(seguido);
-            if (seguidos.isEmpty()) {
-                grafo.remove(seguidor);
-            }
+    public boolean dejarDeSeguir(Usuario seguidor, Usuario seguido) {
+        int idSeguidor = idDe(seguidor);
+        int idSeguido = idDe(seguido);
+        if (idSeguidor == SIN_ID || idSeguido == SIN_ID) {
+            return false;
         }
-        
-        // Eliminar seguidor de la lista de seguido (grafo no dirigido)
-        Set<Usuario> seguidores = grafo.get(seguido);
-        if (seguidores != null) {
-            seguidores.remove(seguidor);
-            if (seguidores.isEmpty()) {
-                grafo.remove(seguido);
+        return dejarDeSeguir(idSeguidor, idSeguido);
+    }
+
+    /**
+     * Elimina la arista seguidor -> seguido entre dos ids.
+     * Complejidad: O(1) en promedio
+     *
+     * @param seguidor id del usuario que deja de seguir
+     * @param seguido id del usuario que deja de ser seguido
+     * @return true si la relación existía
+     */
+    public boolean dejarDeSeguir(int seguidor, int seguido) {
+        Tablas t = tablas;
+        bloquear(seguidor, seguido);
+        try {
+            if (!t.salientes[seguidor].eliminar(seguido)) {
+                return false;
+            }
+            t.entrantes[seguido].eliminar(seguidor);
+            numeroAristas.decrementAndGet();
+            // Un usuario sin aristas deja de contar como nodo del grafo
+            if (t.grado(seguidor) == 0) {
+                numeroNodos.decrementAndGet();
             }
+            if (t.grado(seguido) == 0) {
+                numeroNodos.decrementAndGet();
+            }
+            ObservadorAristas actual = observador;
+            if (actual != null) {
+                actual.aristaEliminada(seguidor, seguido);
+            }
+        } finally {
+            desbloquear(seguidor, seguido);
         }
-        
-        log.debug("Usuario '{}' dejó de seguir a '{}'", seguidor.getUsername(), seguido.getUsername());
+
+        log.debug("Usuario {} dejó de seguir a {}", seguidor, seguido);
+        return true;
     }
-    
+
+    // ========== LECTURA POR USUARIO ==========
+
     /**
-     * Obtiene todos los usuarios seguidos por un usuario dado.
-     * Complejidad: O(1) para obtener el set, O(n) para copiarlo donde n es el número de seguidos
-     * 
+     * Obtiene todos los usuarios seguidos por un usuario dado (aristas salientes), como
+     * vista de solo lectura sobre una instantánea de ids (4 bytes por seguido; el
+     * {@link Usuario} se resuelve al recorrerla).
+     * Complejidad: O(n log n) donde n es el número de seguidos
+     *
      * @param usuario usuario del cual obtener seguidos
-     * @return conjunto de usuarios seguidos
+     * @return conjunto de usuarios seguidos, en orden de id
      */
     public Set<Usuario> obtenerSeguidos(Usuario usuario) {
-        Set<Usuario> seguidos = grafo.get(usuario);
-        return seguidos == null ? new HashSet<>() : new HashSet<>(seguidos);
+        int id = idDe(usuario);
+        return new VistaUsuarios(id == SIN_ID ? new int[0] : seguidos(id));
     }
-    
+
     /**
-     * Obtiene todos los seguidores de un usuario dado.
-     * En un grafo no dirigido, los seguidores son los mismos que los seguidos.
-     * Complejidad: O(1) para obtener el set, O(n) para copiarlo
-     * 
+     * Obtiene todos los seguidores de un usuario dado (aristas entrantes), como vista de
+     * solo lectura sobre una instantánea de ids.
+     * Complejidad: O(n log n) donde n es el número de seguidores
+     *
      * @param usuario usuario del cual obtener seguidores
-     * @return conjunto de usuarios seguidores
+     * @return conjunto de usuarios seguidores, en orden de id
      */
     public Set<Usuario> obtenerSeguidores(Usuario usuario) {
-        // En un grafo no dirigido, los seguidores son los mismos que los seguidos
-        return obtenerSeguidos(usuario);
+        int id = idDe(usuario);
+        return new VistaUsuarios(id == SIN_ID ? new int[0] : seguidores(id));
     }
-    
+
+    /**
+     * Obtiene el número de usuarios seguidos (grado de salida) sin copiar el conjunto.
+     * Complejidad: O(1)
+     *
+     * @param usuario usuario a consultar
+     * @return número de seguidos
+     */
+    public int contarSeguidos(Usuario usuario) {
+        int id = idDe(usuario);
+        return id == SIN_ID ? 0 : contarSeguidos(id);
+    }
+
+    /**
+     * Obtiene el número de seguidores (grado de entrada) sin copiar el conjunto.
+     * Complejidad: O(1)
+     *
+     * @param usuario usuario a consultar
+     * @return número de seguidores
+     */
+    public int contarSeguidores(Usuario usuario) {
+        int id = idDe(usuario);
+        return id == SIN_ID ? 0 : contarSeguidores(id);
+    }
+
     /**
-     * Verifica si un usuario sigue a otro.
+     * Verifica si un usuario sigue a otro (arista seguidor -> seguido).
      * Complejidad: O(1)
-     * 
+     *
      * @param seguidor usuario que podría estar siguiendo
      * @param seguido usuario que podría ser seguido
-     * @return true si existe la conexión, false en caso contrario
+     * @return true si existe la arista, false en caso contrario
      */
     public boolean sigueA(Usuario seguidor, Usuario seguido) {
-        Set<Usuario> seguidos = grafo.get(seguidor);
-        return seguidos != null && seguidos.contains(seguido);
+        int idSeguidor = idDe(seguidor);
+        int idSeguido = idDe(seguido);
+        return idSeguidor != SIN_ID && idSeguido != SIN_ID && sigueA(idSeguidor, idSeguido);
     }
-    
+
     /**
-     * Obtiene el número de conexiones (grado) de un usuario.
+     * Obtiene el número total de conexiones (seguidos más seguidores) de un usuario.
      * Complejidad: O(1)
-     * 
+     *
      * @param usuario usuario del cual obtener el grado
      * @return número de conexiones
      */
     public int obtenerGrado(Usuario usuario) {
-        Set<Usuario> conexiones = grafo.get(usuario);
-        return conexiones == null ? 0 : conexiones.size();
+        int id = idDe(usuario);
+        return id == SIN_ID ? 0 : contarSeguidos(id) + contarSeguidores(id);
+    }
+
+    // ========== LECTURA POR ID ==========
+
+    /**
+     * Copia los ids seguidos por un usuario, ordenados.
+     * Complejidad: O(n log n) donde n es el número de seguidos
+     *
+     * @param id id del usuario
+     * @return ids seguidos
+     */
+    public int[] seguidos(int id) {
+        ReentrantReadWriteLock.ReadLock candado = franja(id).readLock();
+        candado.lock();
+        try {
+            return tablas.salientes[id].aArregloOrdenado();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Copia los ids de los seguidores de un usuario, ordenados.
+     * Complejidad: O(n log n) donde n es el número de seguidores
+     *
+     * @param id id del usuario
+     * @return ids seguidores
+     */
+    public int[] seguidores(int id) {
+        ReentrantReadWriteLock.ReadLock candado = franja(id).readLock();
+        candado.lock();
+        try {
+            return tablas.entrantes[id].aArregloOrdenado();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Recorre los ids seguidos por un usuario sin copiarlos. La acción se ejecuta con el
+     * candado de lectura tomado: debe ser breve y no modificar el grafo.
+     * Complejidad: O(n) donde n es el número de seguidos
+     *
+     * @param id id del usuario
+     * @param accion acción a aplicar a cada id seguido
+     */
+    public void paraCadaSeguido(int id, IntConsumer accion) {
+        ReentrantReadWriteLock.ReadLock candado = franja(id).readLock();
+        candado.lock();
+        try {
+            tablas.salientes[id].paraCada(accion);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Recorre los ids de los seguidores de un usuario sin copiarlos. La acción se ejecuta
+     * con el candado de lectura tomado: debe ser breve y no modificar el grafo.
+     * Complejidad: O(n) donde n es el número de seguidores
+     *
+     * @param id id del usuario
+     * @param accion acción a aplicar a cada id seguidor
+     */
+    public void paraCadaSeguidor(int id, IntConsumer accion) {
+        ReentrantReadWriteLock.ReadLock candado = franja(id).readLock();
+        candado.lock();
+        try {
+            tablas.entrantes[id].paraCada(accion);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el grado de salida de un id.
+     * Complejidad: O(1)
+     *
+     * @param id id del usuario
+     * @return número de seguidos
+     */
+    public int contarSeguidos(int id) {
+        ReentrantReadWriteLock.ReadLock candado = franja(id).readLock();
+        candado.lock();
+        try {
+            return tablas.salientes[id].tamaño();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el grado de entrada de un id.
+     * Complejidad: O(1)
+     *
+     * @param id id del usuario
+     * @return número de seguidores
+     */
+    public int contarSeguidores(int id) {
+        ReentrantReadWriteLock.ReadLock candado = franja(id).readLock();
+        candado.lock();
+        try {
+            return tablas.entrantes[id].tamaño();
+        } finally {
+            candado.unlock();
+        }
     }
-    
+
     /**
-     * Obtiene todos los usuarios (nodos) del grafo.
-     * 
+     * Verifica la arista seguidor -> seguido entre dos ids.
+     * Complejidad: O(1) en promedio
+     *
+     * @param seguidor id del posible seguidor
+     * @param seguido id del posible seguido
+     * @return true si existe la arista
+     */
+    public boolean sigueA(int seguidor, int seguido) {
+        ReentrantReadWriteLock.ReadLock candado = franja(seguidor).readLock();
+        candado.lock();
+        try {
+            return tablas.salientes[seguidor].contiene(seguido);
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // ========== GRAFO COMPLETO ==========
+
+    /**
+     * Obtiene todos los usuarios (nodos) del grafo, es decir, los que tienen al menos
+     * una arista.
+     * Complejidad: O(u) donde u es el número de ids asignados
+     *
      * @return conjunto de usuarios en el grafo
      */
     public Set<Usuario> obtenerNodos() {
-        return new HashSet<>(grafo.keySet());
+        Set<Usuario> nodos = new HashSet<>();
+        int cantidad = numeroIds();
+        for (int id = 0; id < cantidad; id++) {
+            if (contarSeguidos(id) > 0 || contarSeguidores(id) > 0) {
+                nodos.add(usuario(id));
+            }
+        }
+        return nodos;
     }
-    
+
     /**
      * Obtiene el número de nodos en el grafo.
-     * 
+     * Complejidad: O(1)
+     *
      * @return número de usuarios en el grafo
      */
     public int obtenerNumeroNodos() {
-        return grafo.size();
+        return numeroNodos.get();
+    }
+
+    /**
+     * Obtiene el número de aristas (relaciones de seguimiento) del grafo.
+     * Complejidad: O(1)
+     *
+     * @return número de aristas
+     */
+    public long obtenerNumeroAristas() {
+        return numeroAristas.get();
     }
-    
+
     /**
      * Verifica si el grafo está vacío.
-     * 
+     *
      * @return true si está vacío, false en caso contrario
      */
     public boolean estaVacio() {
-        return grafo.isEmpty();
+        return numeroNodos.get() == 0;
     }
-    
+
     /**
-     * Limpia el grafo completamente.
+     * Limpia el grafo completamente. Los ids ya asignados se conservan.
      */
     public void limpiar() {
-        grafo.clear();
+        for (ReentrantReadWriteLock franja : franjas) {
+            franja.writeLock().lock();
+        }
+        try {
+            Tablas t = tablas;
+            for (int id = 0; id < t.cantidad; id++) {
+                t.salientes[id].limpiar();
+                t.entrantes[id].limpiar();
+            }
+            numeroAristas.set(0);
+            numeroNodos.set(0);
+        } finally {
+            for (ReentrantReadWriteLock franja : franjas) {
+                franja.writeLock().unlock();
+            }
+        }
         log.info("Grafo social limpiado");
     }
-}
 
+    private ReentrantReadWriteLock franja(int id) {
+        return franjas[id & (franjas.length - 1)];
+    }
+
+    /**
+     * Toma los candados de escritura de ambos extremos en orden de franja (uno solo si
+     * coinciden).
+     */
+    private void bloquear(int a, int b) {
+        int fa = a & (franjas.length - 1);
+        int fb = b & (franjas.length - 1);
+        franjas[Math.min(fa, fb)].writeLock().lock();
+        if (fa != fb) {
+            franjas[Math.max(fa, fb)].writeLock().lock();
+        }
+    }
+
+    private void desbloquear(int a, int b) {
+        int fa = a & (franjas.length - 1);
+        int fb = b & (franjas.length - 1);
+        if (fa != fb) {
+            franjas[Math.max(fa, fb)].writeLock().unlock();
+        }
+        franjas[Math.min(fa, fb)].writeLock().unlock();
+    }
+
+    /**
+     * Filas por id: usuario y adyacencias. Las filas ya escritas no cambian de objeto.
+     */
+    private static class Tablas {
+        private final Usuario[] usuarios;
+        private final ConjuntoEnteros[] salientes;
+        private final ConjuntoEnteros[] entrantes;
+        private volatile int cantidad;
+
+        private Tablas(int capacidad) {
+            usuarios = new Usuario[capacidad];
+            salientes = new ConjuntoEnteros[capacidad];
+            entrantes = new ConjuntoEnteros[capacidad];
+        }
+
+        private Tablas ampliada() {
+            Tablas nuevas = new Tablas(usuarios.length * 2);
+            System.arraycopy(usuarios, 0, nuevas.usuarios, 0, cantidad);
+            System.arraycopy(salientes, 0, nuevas.salientes, 0, cantidad);
+            System.arraycopy(entrantes, 0, nuevas.entrantes, 0, cantidad);
+            nuevas.cantidad = cantidad;
+            return nuevas;
+        }
+
+        private int grado(int id) {
+            return salientes[id].tamaño() + entrantes[id].tamaño();
+        }
+    }
+
+    /**
+     * Conjunto de solo lectura sobre ids ordenados; resuelve cada {@link Usuario} al
+     * recorrerlo y responde {@code contains} por búsqueda binaria.
+     */
+    private class VistaUsuarios extends AbstractSet<Usuario> {
+        private final int[] idsOrdenados;
+
+        private VistaUsuarios(int[] idsOrdenados) {
+            this.idsOrdenados = idsOrdenados;
+        }
+
+        @Override
+        public Iterator<Usuario> iterator() {
+            return new Iterator<>() {
+                private int siguiente;
+
+                @Override
+                public boolean hasNext() {
+                    return siguiente < idsOrdenados.length;
+                }
+
+                @Override
+                public Usuario next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return usuario(idsOrdenados[siguiente++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return idsOrdenados.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Usuario u)) {
+                return false;
+            }
+            int id = idDe(u);
+            return id != SIN_ID && Arrays.binarySearch(idsOrdenados, id) >= 0;
+        }
+    }
+}
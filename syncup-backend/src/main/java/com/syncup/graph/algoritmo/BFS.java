@@ -10,7 +10,8 @@ import java.util.*;
  * Implementación del algoritmo BFS (Breadth-First Search) para recorrer el grafo social.
  * Requerido según RF-024.
  * 
- * Útil para encontrar "amigos de amigos" y sugerir usuarios a seguir.
+ * Útil para encontrar "amigos de amigos" y sugerir usuarios a seguir. El recorrido usa los
+ * ids enteros del grafo (visitados en un BitSet) y solo resuelve los usuarios del resultado.
  * 
  * Complejidad: O(V + E) donde V es el número de vértices y E el número de aristas
  * 
@@ -37,43 +38,43 @@ public class BFS {
         if (grafo == null || origen == null || profundidadMax < 1) {
             return new ArrayList<>();
         }
+        int idOrigen = grafo.idDe(origen);
+        if (idOrigen == GrafoSocial.SIN_ID) {
+            return new ArrayList<>();
+        }
         
         List<Usuario> sugeridos = new ArrayList<>();
-        Set<Usuario> visitados = new HashSet<>();
-        Set<Usuario> yaSeguidos = grafo.obtenerSeguidos(origen); // No sugerir usuarios que ya sigue
-        visitados.add(origen); // No sugerir al propio usuario
-        visitados.addAll(yaSeguidos); // No sugerir usuarios que ya sigue
+        // Visitados por id: un bit por usuario en lugar de un HashSet de entidades
+        BitSet visitados = new BitSet(grafo.numeroIds());
+        visitados.set(idOrigen); // No sugerir al propio usuario
         
-        // Cola para BFS: almacena (usuario, profundidad)
-        Queue<ParUsuarioProfundidad> cola = new LinkedList<>();
+        // Cola para BFS: ids y profundidades en paralelo
+        ColaIds cola = new ColaIds();
         
-        // Inicializar con los vecinos directos (amigos) del usuario origen
-        Set<Usuario> amigosDirectos = grafo.obtenerSeguidos(origen);
-        for (Usuario amigo : amigosDirectos) {
-            cola.offer(new ParUsuarioProfundidad(amigo, 1));
-            visitados.add(amigo);
+        // Inicializar con los vecinos directos (amigos) del usuario origen; al quedar
+        // visitados, nunca se sugieren (ya los sigue)
+        for (int amigo : grafo.seguidos(idOrigen)) {
+            cola.agregar(amigo, 1);
+            visitados.set(amigo);
         }
         
         // BFS hasta la profundidad máxima
-        while (!cola.isEmpty() && sugeridos.size() < maxUsuarios) {
-            ParUsuarioProfundidad actual = cola.poll();
-            Usuario usuarioActual = actual.getUsuario();
-            int profundidadActual = actual.getProfundidad();
+        while (!cola.estaVacia() && sugeridos.size() < maxUsuarios) {
+            int usuarioActual = cola.idActual();
+            int profundidadActual = cola.profundidadActual();
+            cola.avanzar();
             
-            // Solo sugerir usuarios que no se siguen ya (amigos de amigos)
-            // Los amigos directos (profundidad 1) ya están en yaSeguidos, así que se saltan
             // Solo sugerimos a partir de profundidad 2 (amigos de amigos)
-            if (profundidadActual > 1 && !yaSeguidos.contains(usuarioActual) && !usuarioActual.equals(origen)) {
-                sugeridos.add(usuarioActual);
+            if (profundidadActual > 1) {
+                sugeridos.add(grafo.usuario(usuarioActual));
             }
             
             // Si no hemos alcanzado la profundidad máxima, explorar vecinos
             if (profundidadActual < profundidadMax) {
-                Set<Usuario> vecinos = grafo.obtenerSeguidos(usuarioActual);
-                for (Usuario vecino : vecinos) {
-                    if (!visitados.contains(vecino)) {
-                        visitados.add(vecino);
-                        cola.offer(new ParUsuarioProfundidad(vecino, profundidadActual + 1));
+                for (int vecino : grafo.seguidos(usuarioActual)) {
+                    if (!visitados.get(vecino)) {
+                        visitados.set(vecino);
+                        cola.agregar(vecino, profundidadActual + 1);
                     }
                 }
             }
@@ -99,29 +100,32 @@ public class BFS {
         if (grafo == null || origen == null) {
             return new HashSet<>();
         }
+        int idOrigen = grafo.idDe(origen);
+        if (idOrigen == GrafoSocial.SIN_ID) {
+            return new HashSet<>();
+        }
         
         Set<Usuario> alcanzables = new HashSet<>();
-        Set<Usuario> visitados = new HashSet<>();
-        Queue<ParUsuarioProfundidad> cola = new LinkedList<>();
+        BitSet visitados = new BitSet(grafo.numeroIds());
+        ColaIds cola = new ColaIds();
         
-        visitados.add(origen);
-        cola.offer(new ParUsuarioProfundidad(origen, 0));
+        visitados.set(idOrigen);
+        cola.agregar(idOrigen, 0);
         
-        while (!cola.isEmpty()) {
-            ParUsuarioProfundidad actual = cola.poll();
-            Usuario usuarioActual = actual.getUsuario();
-            int profundidadActual = actual.getProfundidad();
+        while (!cola.estaVacia()) {
+            int usuarioActual = cola.idActual();
+            int profundidadActual = cola.profundidadActual();
+            cola.avanzar();
             
             if (profundidadActual > 0) { // No incluir al usuario origen
-                alcanzables.add(usuarioActual);
+                alcanzables.add(grafo.usuario(usuarioActual));
             }
             
             if (profundidadActual < profundidadMax) {
-                Set<Usuario> vecinos = grafo.obtenerSeguidos(usuarioActual);
-                for (Usuario vecino : vecinos) {
-                    if (!visitados.contains(vecino)) {
-                        visitados.add(vecino);
-                        cola.offer(new ParUsuarioProfundidad(vecino, profundidadActual + 1));
+                for (int vecino : grafo.seguidos(usuarioActual)) {
+                    if (!visitados.get(vecino)) {
+                        visitados.set(vecino);
+                        cola.agregar(vecino, profundidadActual + 1);
                     }
                 }
             }
@@ -132,6 +136,7 @@ public class BFS {
     
     /**
      * Verifica si dos usuarios están conectados (existe un camino entre ellos).
+     * Usa {@link BFSBidireccional}: no recorre todo lo alcanzable desde el origen.
      * 
      * @param grafo grafo social
      * @param origen usuario origen
@@ -143,29 +148,48 @@ public class BFS {
                                           Usuario origen,
                                           Usuario destino,
                                           int profundidadMax) {
-        Set<Usuario> alcanzables = encontrarUsuariosAlcanzables(grafo, origen, profundidadMax);
-        return alcanzables.contains(destino);
+        if (grafo == null || origen == null || destino == null || origen.equals(destino)) {
+            return false;
+        }
+        return BFSBidireccional.distancia(grafo, grafo.idDe(origen), grafo.idDe(destino), profundidadMax)
+                != BFSBidireccional.SIN_CAMINO;
     }
     
     /**
-     * Clase auxiliar para almacenar un usuario con su profundidad en el BFS.
+     * Cola FIFO de pares (id, profundidad) sobre arreglos de enteros que crecen al doble.
+     * Cada id entra una sola vez (se marca como visitado al encolarlo), así que no hace
+     * falta reutilizar posiciones.
      */
-    private static class ParUsuarioProfundidad {
-        private final Usuario usuario;
-        private final int profundidad;
+    private static class ColaIds {
+        private int[] ids = new int[16];
+        private int[] profundidades = new int[16];
+        private int cabeza;
+        private int fin;
         
-        public ParUsuarioProfundidad(Usuario usuario, int profundidad) {
-            this.usuario = usuario;
-            this.profundidad = profundidad;
+        void agregar(int id, int profundidad) {
+            if (fin == ids.length) {
+                ids = Arrays.copyOf(ids, fin * 2);
+                profundidades = Arrays.copyOf(profundidades, fin * 2);
+            }
+            ids[fin] = id;
+            profundidades[fin] = profundidad;
+            fin++;
         }
         
-        public Usuario getUsuario() {
-            return usuario;
+        boolean estaVacia() {
+            return cabeza == fin;
         }
         
-        public int getProfundidad() {
-            return profundidad;
+        int idActual() {
+            return ids[cabeza];
+        }
+        
+        int profundidadActual() {
+            return profundidades[cabeza];
+        }
+        
+        void avanzar() {
+            cabeza++;
         }
     }
 }
-
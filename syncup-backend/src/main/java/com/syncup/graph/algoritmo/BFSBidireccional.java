@@ -0,0 +1,298 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.GrafoSocial;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * BFS bidireccional para consultas de grados de separación en el grafo social.
+ * Requerido según RF-024.
+ *
+ * Avanza a la vez desde el origen (por seguidos) y desde el destino (por seguidores),
+ * expandiendo en cada paso la frontera más pequeña, y se detiene en cuanto las dos
+ * búsquedas se tocan. En un grafo con grado medio b y distancia d se visitan del orden de
+ * 2·b^(d/2) usuarios en lugar de b^d, que con cuentas muy conectadas es la diferencia
+ * entre recorrer un vecindario y recorrer la componente entera.
+ *
+ * Los visitados de cada lado son {@link BitSet} indexados por id del grafo; los padres
+ * (solo cuando se pide el camino) se guardan en una tabla de enteros.
+ *
+ * Complejidad: O(b^(d/2)) usuarios visitados, acotado por O(V + E)
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class BFSBidireccional {
+
+    /**
+     * Valor devuelto por {@link #distancia} cuando no hay camino dentro del límite.
+     */
+    public static final int SIN_CAMINO = -1;
+
+    private BFSBidireccional() {
+    }
+
+    /**
+     * Calcula el número de saltos del camino dirigido más corto de origen a destino
+     * (origen sigue a X, X sigue a Y, ..., que sigue a destino).
+     *
+     * @param grafo grafo social
+     * @param origen id del usuario origen
+     * @param destino id del usuario destino
+     * @param profundidadMax número máximo de saltos a considerar
+     * @return número de saltos, 0 si origen y destino coinciden, o {@link #SIN_CAMINO}
+     */
+    public static int distancia(GrafoSocial grafo, int origen, int destino, int profundidadMax) {
+        Busqueda busqueda = new Busqueda(grafo, origen, destino, false);
+        return busqueda.ejecutar(profundidadMax) ? busqueda.saltos() : SIN_CAMINO;
+    }
+
+    /**
+     * Calcula un camino dirigido más corto de origen a destino.
+     *
+     * @param grafo grafo social
+     * @param origen id del usuario origen
+     * @param destino id del usuario destino
+     * @param profundidadMax número máximo de saltos a considerar
+     * @return ids del camino, de origen a destino ambos incluidos; vacío si no hay camino
+     */
+    public static int[] camino(GrafoSocial grafo, int origen, int destino, int profundidadMax) {
+        Busqueda busqueda = new Busqueda(grafo, origen, destino, true);
+        return busqueda.ejecutar(profundidadMax) ? busqueda.reconstruirCamino() : new int[0];
+    }
+
+    /**
+     * Estado de una búsqueda. Los recorridos de vecinos se hacen con
+     * {@link GrafoSocial#paraCadaSeguido}/{@link GrafoSocial#paraCadaSeguidor}, sin copiar
+     * los conjuntos de adyacencia.
+     */
+    private static class Busqueda {
+        private final GrafoSocial grafo;
+        private final int origen;
+        private final int destino;
+        private final boolean conPadres;
+
+        private final BitSet visitadosAdelante;
+        private final BitSet visitadosAtras;
+        private final TablaPadres padresAdelante;
+        private final TablaPadres padresAtras;
+
+        private int profundidadAdelante;
+        private int profundidadAtras;
+        private int encuentro = GrafoSocial.SIN_ID;
+
+        // Estado de la expansión en curso (lo leen los visitantes de vecinos)
+        private int actual;
+        private Frontera siguiente;
+
+        Busqueda(GrafoSocial grafo, int origen, int destino, boolean conPadres) {
+            this.grafo = grafo;
+            this.origen = origen;
+            this.destino = destino;
+            this.conPadres = conPadres;
+            int ids = grafo == null ? 0 : grafo.numeroIds();
+            this.visitadosAdelante = new BitSet(ids);
+            this.visitadosAtras = new BitSet(ids);
+            this.padresAdelante = conPadres ? new TablaPadres() : null;
+            this.padresAtras = conPadres ? new TablaPadres() : null;
+        }
+
+        /**
+         * @return true si hay camino de como mucho {@code profundidadMax} saltos
+         */
+        boolean ejecutar(int profundidadMax) {
+            if (grafo == null || origen < 0 || destino < 0
+                    || origen >= grafo.numeroIds() || destino >= grafo.numeroIds()) {
+                return false;
+            }
+            if (origen == destino) {
+                encuentro = origen;
+                return true;
+            }
+
+            Frontera adelante = new Frontera();
+            Frontera atras = new Frontera();
+            adelante.agregar(origen);
+            atras.agregar(destino);
+            visitadosAdelante.set(origen);
+            visitadosAtras.set(destino);
+
+            // Mientras no se toquen, el camino más corto mide al menos la suma de las
+            // profundidades + 1, así que el primer encuentro ya es óptimo
+            while (!adelante.estaVacia() && !atras.estaVacia()
+                    && profundidadAdelante + profundidadAtras < profundidadMax) {
+                if (adelante.tamaño() <= atras.tamaño()) {
+                    adelante = expandir(adelante, true);
+                    profundidadAdelante++;
+                } else {
+                    atras = expandir(atras, false);
+                    profundidadAtras++;
+                }
+                if (encuentro != GrafoSocial.SIN_ID) {
+                    log.debug("BFS bidireccional {} -> {}: {} saltos, {} + {} visitados", origen, destino,
+                            saltos(), visitadosAdelante.cardinality(), visitadosAtras.cardinality());
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int saltos() {
+            return profundidadAdelante + profundidadAtras;
+        }
+
+        int[] reconstruirCamino() {
+            int[] camino = new int[saltos() + 1];
+            int posicion = profundidadAdelante;
+            for (int id = encuentro; posicion >= 0; id = padresAdelante.obtener(id)) {
+                camino[posicion--] = id;
+            }
+            posicion = profundidadAdelante + 1;
+            for (int id = padresAtras.obtener(encuentro); posicion < camino.length; id = padresAtras.obtener(id)) {
+                camino[posicion++] = id;
+            }
+            return camino;
+        }
+
+        private Frontera expandir(Frontera frontera, boolean haciaAdelante) {
+            siguiente = new Frontera();
+            for (int i = 0; i < frontera.tamaño() && encuentro == GrafoSocial.SIN_ID; i++) {
+                actual = frontera.obtener(i);
+                if (haciaAdelante) {
+                    grafo.paraCadaSeguido(actual, this::visitarAdelante);
+                } else {
+                    grafo.paraCadaSeguidor(actual, this::visitarAtras);
+                }
+            }
+            return siguiente;
+        }
+
+        private void visitarAdelante(int vecino) {
+            if (encuentro != GrafoSocial.SIN_ID || visitadosAdelante.get(vecino)) {
+                return;
+            }
+            visitadosAdelante.set(vecino);
+            if (conPadres) {
+                padresAdelante.asignar(vecino, actual);
+            }
+            if (visitadosAtras.get(vecino)) {
+                encuentro = vecino;
+                return;
+            }
+            siguiente.agregar(vecino);
+        }
+
+        private void visitarAtras(int vecino) {
+            if (encuentro != GrafoSocial.SIN_ID || visitadosAtras.get(vecino)) {
+                return;
+            }
+            visitadosAtras.set(vecino);
+            if (conPadres) {
+                padresAtras.asignar(vecino, actual);
+            }
+            if (visitadosAdelante.get(vecino)) {
+                encuentro = vecino;
+                return;
+            }
+            siguiente.agregar(vecino);
+        }
+    }
+
+    /**
+     * Lista de ids de un nivel del recorrido sobre un arreglo que crece al doble.
+     */
+    private static class Frontera {
+        private int[] ids = new int[16];
+        private int tamaño;
+
+        void agregar(int id) {
+            if (tamaño == ids.length) {
+                ids = Arrays.copyOf(ids, tamaño * 2);
+            }
+            ids[tamaño++] = id;
+        }
+
+        int obtener(int i) {
+            return ids[i];
+        }
+
+        int tamaño() {
+            return tamaño;
+        }
+
+        boolean estaVacia() {
+            return tamaño == 0;
+        }
+    }
+
+    /**
+     * Mapa id → padre con direccionamiento abierto sobre arreglos de enteros. Solo guarda
+     * los visitados, así que su tamaño sigue al recorrido y no al número de usuarios.
+     */
+    private static class TablaPadres {
+        private static final int VACIO = -1;
+
+        private int[] claves = nuevaTabla(64);
+        private int[] padres = new int[64];
+        private int tamaño;
+
+        void asignar(int id, int padre) {
+            if ((tamaño + 1) * 3 > claves.length * 2) {
+                redimensionar();
+            }
+            int mascara = claves.length - 1;
+            int i = posicionInicial(id, mascara);
+            while (claves[i] != VACIO && claves[i] != id) {
+                i = (i + 1) & mascara;
+            }
+            if (claves[i] == VACIO) {
+                claves[i] = id;
+                tamaño++;
+            }
+            padres[i] = padre;
+        }
+
+        int obtener(int id) {
+            int mascara = claves.length - 1;
+            int i = posicionInicial(id, mascara);
+            while (claves[i] != VACIO) {
+                if (claves[i] == id) {
+                    return padres[i];
+                }
+                i = (i + 1) & mascara;
+            }
+            return GrafoSocial.SIN_ID;
+        }
+
+        private void redimensionar() {
+            int[] clavesAnteriores = claves;
+            int[] padresAnteriores = padres;
+            claves = nuevaTabla(clavesAnteriores.length * 2);
+            padres = new int[clavesAnteriores.length * 2];
+            int mascara = claves.length - 1;
+            for (int j = 0; j < clavesAnteriores.length; j++) {
+                if (clavesAnteriores[j] != VACIO) {
+                    int i = posicionInicial(clavesAnteriores[j], mascara);
+                    while (claves[i] != VACIO) {
+                        i = (i + 1) & mascara;
+                    }
+                    claves[i] = clavesAnteriores[j];
+                    padres[i] = padresAnteriores[j];
+                }
+            }
+        }
+
+        private static int[] nuevaTabla(int capacidad) {
+            int[] tabla = new int[capacidad];
+            Arrays.fill(tabla, VACIO);
+            return tabla;
+        }
+
+        private static int posicionInicial(int valor, int mascara) {
+            int h = valor * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mascara;
+        }
+    }
+}
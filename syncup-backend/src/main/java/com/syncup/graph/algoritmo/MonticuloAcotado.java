@@ -0,0 +1,95 @@
+package com.syncup.graph.algoritmo;
+
+import java.util.Arrays;
+
+/**
+ * Montículo de mínimos de longs con capacidad fija: conserva los K mayores ofrecidos.
+ *
+ * Los algoritmos lo usan con claves que empaquetan (conteo, id) en un long
+ * ({@link #clave(int, int)}), de modo que el orden natural es por conteo y, a igual
+ * conteo, por id menor primero; así se eligen los K mejores sin objetos por candidato.
+ *
+ * @author SyncUp Team
+ */
+class MonticuloAcotado {
+
+    private final long[] elementos;
+    private int tamaño;
+
+    MonticuloAcotado(int capacidad) {
+        elementos = new long[capacidad];
+    }
+
+    /**
+     * Codifica (conteo, id) en un long que ordena por conteo y, a igual conteo, por id
+     * menor primero.
+     */
+    static long clave(int conteo, int id) {
+        return ((long) conteo << 32) | (Integer.MAX_VALUE - id);
+    }
+
+    static int id(long clave) {
+        return Integer.MAX_VALUE - (int) clave;
+    }
+
+    static int conteo(long clave) {
+        return (int) (clave >>> 32);
+    }
+
+    void ofrecer(long valor) {
+        if (tamaño < elementos.length) {
+            elementos[tamaño] = valor;
+            subir(tamaño++);
+        } else if (tamaño > 0 && valor > elementos[0]) {
+            elementos[0] = valor;
+            bajar(0);
+        }
+    }
+
+    long[] ordenadosDescendente() {
+        long[] resultado = Arrays.copyOf(elementos, tamaño);
+        Arrays.sort(resultado);
+        for (int i = 0, j = resultado.length - 1; i < j; i++, j--) {
+            long temporal = resultado[i];
+            resultado[i] = resultado[j];
+            resultado[j] = temporal;
+        }
+        return resultado;
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (elementos[padre] <= elementos[i]) {
+                return;
+            }
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private void bajar(int i) {
+        while (true) {
+            int menor = i;
+            int izquierdo = 2 * i + 1;
+            int derecho = izquierdo + 1;
+            if (izquierdo < tamaño && elementos[izquierdo] < elementos[menor]) {
+                menor = izquierdo;
+            }
+            if (derecho < tamaño && elementos[derecho] < elementos[menor]) {
+                menor = derecho;
+            }
+            if (menor == i) {
+                return;
+            }
+            intercambiar(i, menor);
+            i = menor;
+        }
+    }
+
+    private void intercambiar(int a, int b) {
+        long temporal = elementos[a];
+        elementos[a] = elementos[b];
+        elementos[b] = temporal;
+    }
+}
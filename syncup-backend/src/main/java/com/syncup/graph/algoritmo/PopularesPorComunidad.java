@@ -0,0 +1,62 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.ContadorEnteros;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Canciones más populares de cada comunidad del grafo social.
+ *
+ * Suma un punto por cada miembro que tiene la canción en favoritos y conserva las K
+ * canciones con más puntos de cada comunidad (montículo acotado, a igual puntuación el id
+ * menor). Se calcula una vez por detección de comunidades y se sirve igual a todos sus
+ * miembros, sin recorrer el grafo por usuario.
+ *
+ * Complejidad: O(n + F + C log K) donde n es el número de usuarios, F el total de
+ * favoritos leídos y C los pares (comunidad, canción) distintos
+ *
+ * @author SyncUp Team
+ */
+public class PopularesPorComunidad {
+
+    private PopularesPorComunidad() {
+    }
+
+    /**
+     * Calcula las K canciones más populares de cada comunidad.
+     *
+     * @param comunidades etiqueta de comunidad por id del grafo
+     * @param favoritosDe ids (no negativos) de las canciones favoritas de un id del grafo
+     * @param k número máximo de canciones por comunidad
+     * @return ids de canciones de cada comunidad con al menos un favorito, de más a menos
+     *         populares
+     */
+    public static Map<Integer, int[]> calcular(int[] comunidades, IntFunction<int[]> favoritosDe, int k) {
+        Map<Integer, ContadorEnteros> conteos = new HashMap<>();
+        for (int id = 0; id < comunidades.length; id++) {
+            int[] favoritos = favoritosDe.apply(id);
+            if (favoritos.length == 0) {
+                continue;
+            }
+            ContadorEnteros conteo = conteos.computeIfAbsent(comunidades[id], c -> new ContadorEnteros());
+            for (int cancion : favoritos) {
+                conteo.incrementar(cancion);
+            }
+        }
+
+        Map<Integer, int[]> populares = new HashMap<>();
+        conteos.forEach((comunidad, conteo) -> {
+            MonticuloAcotado mejores = new MonticuloAcotado(Math.min(k, conteo.tamaño()));
+            conteo.paraCada((cancion, total) -> mejores.ofrecer(MonticuloAcotado.clave(total, cancion)));
+            long[] claves = mejores.ordenadosDescendente();
+            int[] canciones = new int[claves.length];
+            for (int i = 0; i < claves.length; i++) {
+                canciones[i] = MonticuloAcotado.id(claves[i]);
+            }
+            populares.put(comunidad, canciones);
+        });
+        return populares;
+    }
+}
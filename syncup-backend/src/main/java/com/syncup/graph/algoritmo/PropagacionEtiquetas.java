@@ -0,0 +1,174 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.GrafoSocial;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Detección de comunidades en el grafo social por propagación de etiquetas.
+ *
+ * Cada usuario empieza con su propio id como etiqueta y, en cada ronda, adopta la
+ * etiqueta más frecuente entre sus vecinos (seguidos y seguidores: la relación se trata
+ * como no dirigida y quien sigue y es seguido cuenta una vez) contando también la suya. A igual frecuencia gana la etiqueta menor,
+ * así que el resultado es determinista y dos vecinos aislados no se quedan intercambiando
+ * etiquetas. Se para cuando una ronda no cambia nada o al llegar al máximo de rondas.
+ *
+ * Las rondas son síncronas (se lee la ronda anterior y se escribe en otro arreglo), lo que
+ * permite repartir los ids en tramos sobre un {@link ForkJoinPool} sin coordinación entre
+ * hilos. Cada tramo cuenta las etiquetas de los vecinos ordenando búferes de enteros
+ * propios, sin tablas por usuario.
+ *
+ * Complejidad: O(R · Σ d log d) con R rondas y d el grado de cada usuario, repartido
+ * entre los hilos del pool
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class PropagacionEtiquetas {
+
+    /**
+     * Ids por tramo a partir del cual un tramo deja de dividirse.
+     */
+    private static final int TAMAÑO_TRAMO = 1024;
+
+    private PropagacionEtiquetas() {
+    }
+
+    /**
+     * Calcula la comunidad de cada usuario del grafo.
+     *
+     * @param grafo grafo social
+     * @param pool pool en el que repartir cada ronda
+     * @param maxRondas número máximo de rondas
+     * @return etiqueta de comunidad por id del grafo (un id del grafo que identifica a la
+     *         comunidad; un usuario sin relaciones conserva el suyo)
+     */
+    public static int[] detectar(GrafoSocial grafo, ForkJoinPool pool, int maxRondas) {
+        int n = grafo.numeroIds();
+        int[] etiquetas = new int[n];
+        for (int i = 0; i < n; i++) {
+            etiquetas[i] = i;
+        }
+        int[] siguientes = new int[n];
+
+        for (int ronda = 1; ronda <= maxRondas; ronda++) {
+            int cambios = pool.invoke(new Ronda(grafo, etiquetas, siguientes, 0, n));
+            int[] temporal = etiquetas;
+            etiquetas = siguientes;
+            siguientes = temporal;
+            log.debug("Propagación de etiquetas: ronda {}, {} cambios", ronda, cambios);
+            if (cambios == 0) {
+                break;
+            }
+        }
+        return etiquetas;
+    }
+
+    /**
+     * Calcula la nueva etiqueta de los ids [desde, hasta) y devuelve cuántos cambiaron.
+     */
+    private static class Ronda extends RecursiveTask<Integer> {
+        private final GrafoSocial grafo;
+        private final int[] anteriores;
+        private final int[] nuevas;
+        private final int desde;
+        private final int hasta;
+
+        // Búfer de vecinos del id en curso, que después se reemplazan por sus etiquetas
+        // (solo en tramos hoja)
+        private int[] vecinos;
+        private int numeroVecinos;
+
+        Ronda(GrafoSocial grafo, int[] anteriores, int[] nuevas, int desde, int hasta) {
+            this.grafo = grafo;
+            this.anteriores = anteriores;
+            this.nuevas = nuevas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (hasta - desde > TAMAÑO_TRAMO) {
+                int medio = (desde + hasta) >>> 1;
+                Ronda izquierda = new Ronda(grafo, anteriores, nuevas, desde, medio);
+                izquierda.fork();
+                int derecha = new Ronda(grafo, anteriores, nuevas, medio, hasta).compute();
+                return derecha + izquierda.join();
+            }
+
+            vecinos = new int[64];
+            int cambios = 0;
+            for (int id = desde; id < hasta; id++) {
+                numeroVecinos = 0;
+                grafo.paraCadaSeguido(id, this::agregarVecino);
+                grafo.paraCadaSeguidor(id, this::agregarVecino);
+                aEtiquetasSinRepetir(id);
+                nuevas[id] = masFrecuente();
+                if (nuevas[id] != anteriores[id]) {
+                    cambios++;
+                }
+            }
+            return cambios;
+        }
+
+        private void agregarVecino(int vecino) {
+            // Un usuario registrado después de empezar la detección no tiene etiqueta
+            if (vecino < anteriores.length) {
+                agregar(vecino);
+            }
+        }
+
+        private void agregar(int valor) {
+            if (numeroVecinos == vecinos.length) {
+                vecinos = Arrays.copyOf(vecinos, numeroVecinos * 2);
+            }
+            vecinos[numeroVecinos++] = valor;
+        }
+
+        /**
+         * Quita los vecinos repetidos (seguido y seguidor a la vez), cambia cada vecino por
+         * su etiqueta y agrega la del propio id. Contar dos veces a un vecino mutuo haría
+         * que una pareja que se sigue entre sí intercambiara etiquetas en cada ronda.
+         */
+        private void aEtiquetasSinRepetir(int id) {
+            Arrays.sort(vecinos, 0, numeroVecinos);
+            int distintos = 0;
+            for (int i = 0; i < numeroVecinos; i++) {
+                if (i == 0 || vecinos[i] != vecinos[i - 1]) {
+                    vecinos[distintos++] = vecinos[i];
+                }
+            }
+            for (int i = 0; i < distintos; i++) {
+                vecinos[i] = anteriores[vecinos[i]];
+            }
+            numeroVecinos = distintos;
+            agregar(anteriores[id]);
+        }
+
+        /**
+         * Etiqueta más frecuente del búfer; a igual frecuencia, la menor.
+         */
+        private int masFrecuente() {
+            Arrays.sort(vecinos, 0, numeroVecinos);
+            int mejor = vecinos[0];
+            int mejorConteo = 0;
+            for (int i = 0; i < numeroVecinos; ) {
+                int j = i;
+                while (j < numeroVecinos && vecinos[j] == vecinos[i]) {
+                    j++;
+                }
+                // Recorrido ascendente: solo un conteo estrictamente mayor cambia la elegida
+                if (j - i > mejorConteo) {
+                    mejor = vecinos[i];
+                    mejorConteo = j - i;
+                }
+                i = j;
+            }
+            return mejor;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.ContadorEnteros;
+import com.syncup.graph.GrafoSocial;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Recomendación de canciones a partir de los favoritos de las conexiones de un usuario.
+ * Requerido según RF-005.
+ *
+ * Cada favorito de alguien a quien el usuario sigue suma {@link #PESO_DIRECTO} puntos;
+ * cada favorito de una conexión a dos saltos suma tantos puntos como seguidos del usuario
+ * la siguen, hasta {@code PESO_DIRECTO - 1}, de modo que una conexión directa siempre
+ * pesa más que una indirecta y, entre las indirectas, pesan más las más respaldadas.
+ * Las canciones que el usuario ya tiene en favoritos no se recomiendan: se consultan
+ * todas con {@code esPropia}, aunque {@code favoritosDe} solo devuelva una parte.
+ *
+ * El trabajo está acotado aunque el usuario siga a miles de cuentas: de los seguidos se
+ * usa una muestra de como mucho {@code maxConexiones} (fija por usuario, para que la lista
+ * no cambie entre llamadas), de las conexiones a dos saltos solo las
+ * {@code maxConexiones} con más seguidos en común, y los intermediarios que siguen a
+ * demasiadas cuentas se omiten como en {@link SugerenciasAmigos}. Los puntos se acumulan
+ * en un {@link ContadorEnteros} y las K mejores canciones salen de un montículo acotado.
+ *
+ * Complejidad: O(S + M·T + (2M)·F + C log K) donde S es el número de seguidos, M el tope
+ * de conexiones, T el tope de seguidos por intermediario, F los favoritos por conexión y
+ * C las canciones candidatas
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class RecomendacionSocial {
+
+    /**
+     * Puntos que aporta cada favorito de una conexión directa.
+     */
+    public static final int PESO_DIRECTO = 4;
+
+    private RecomendacionSocial() {
+    }
+
+    /**
+     * Canción recomendada: id y puntos acumulados.
+     */
+    @Value
+    public static class Puntuacion {
+        int cancionId;
+        int puntos;
+    }
+
+    /**
+     * Calcula las K canciones con más puntos entre los favoritos de las conexiones del
+     * usuario. A igual puntuación gana el id menor.
+     *
+     * @param grafo grafo social
+     * @param origen id del usuario en el grafo
+     * @param favoritosDe ids (no negativos) de las canciones favoritas de un id del grafo
+     * @param esPropia si el usuario ya tiene la canción (por id) en favoritos
+     * @param k número máximo de canciones
+     * @param maxConexiones conexiones consideradas como mucho en cada nivel
+     * @param maxSeguidosIntermediario seguidos a partir de los cuales un intermediario se omite
+     * @return canciones de mayor a menor puntuación
+     */
+    public static List<Puntuacion> recomendar(GrafoSocial grafo, int origen, IntFunction<int[]> favoritosDe,
+                                              IntPredicate esPropia, int k, int maxConexiones, int maxSeguidosIntermediario) {
+        if (grafo == null || origen == GrafoSocial.SIN_ID || k <= 0 || maxConexiones <= 0) {
+            return new ArrayList<>();
+        }
+
+        int[] seguidos = grafo.seguidos(origen);
+        int[] directos = muestra(seguidos, maxConexiones, origen);
+
+        // Conexiones a dos saltos con sus seguidos en común (como en SugerenciasAmigos)
+        ContadorEnteros enComun = new ContadorEnteros(Math.min(directos.length * 16, 1 << 16));
+        for (int intermediario : directos) {
+            if (grafo.contarSeguidos(intermediario) <= maxSeguidosIntermediario) {
+                grafo.paraCadaSeguido(intermediario, enComun::incrementar);
+            }
+        }
+        MonticuloAcotado segundoNivel = new MonticuloAcotado(Math.min(maxConexiones, enComun.tamaño()));
+        enComun.paraCada((candidato, conteo) -> {
+            if (candidato != origen && Arrays.binarySearch(seguidos, candidato) < 0) {
+                segundoNivel.ofrecer(MonticuloAcotado.clave(conteo, candidato));
+            }
+        });
+
+        ContadorEnteros puntos = new ContadorEnteros();
+        for (int directo : directos) {
+            for (int cancion : favoritosDe.apply(directo)) {
+                puntos.sumar(cancion, PESO_DIRECTO);
+            }
+        }
+        for (long clave : segundoNivel.ordenadosDescendente()) {
+            int peso = Math.min(MonticuloAcotado.conteo(clave), PESO_DIRECTO - 1);
+            for (int cancion : favoritosDe.apply(MonticuloAcotado.id(clave))) {
+                puntos.sumar(cancion, peso);
+            }
+        }
+
+        MonticuloAcotado mejores = new MonticuloAcotado(Math.min(k, puntos.tamaño()));
+        puntos.paraCada((cancion, total) -> {
+            if (!esPropia.test(cancion)) {
+                mejores.ofrecer(MonticuloAcotado.clave(total, cancion));
+            }
+        });
+
+        long[] claves = mejores.ordenadosDescendente();
+        List<Puntuacion> resultado = new ArrayList<>(claves.length);
+        for (long clave : claves) {
+            resultado.add(new Puntuacion(MonticuloAcotado.id(clave), MonticuloAcotado.conteo(clave)));
+        }
+        log.debug("Recomendación social para {}: {} directos de {}, {} a dos saltos, {} canciones candidatas",
+                origen, directos.length, seguidos.length, enComun.tamaño(), puntos.tamaño());
+        return resultado;
+    }
+
+    /**
+     * Elige como mucho {@code tamaño} ids al azar (Fisher-Yates parcial) con una semilla
+     * fija por usuario.
+     */
+    private static int[] muestra(int[] ids, int tamaño, int semilla) {
+        if (ids.length <= tamaño) {
+            return ids;
+        }
+        int[] copia = ids.clone();
+        Random random = new Random(semilla);
+        for (int i = 0; i < tamaño; i++) {
+            int j = i + random.nextInt(copia.length - i);
+            int temporal = copia[i];
+            copia[i] = copia[j];
+            copia[j] = temporal;
+        }
+        return Arrays.copyOf(copia, tamaño);
+    }
+}
@@ -0,0 +1,101 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.ContadorEnteros;
+import com.syncup.graph.GrafoSocial;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sugerencias de "amigos de amigos" ordenadas por número de conexiones en común.
+ * Requerido según RF-008.
+ *
+ * Para el usuario origen U, cada candidato C a dos saltos (U sigue a A y A sigue a C)
+ * recibe un punto por cada intermediario A distinto; los K candidatos con más puntos
+ * son la sugerencia. A diferencia del orden de descubrimiento de {@link BFS}, el
+ * resultado no depende de qué vecino se recorrió primero.
+ *
+ * Los conteos se acumulan en un {@link ContadorEnteros} (ids primitivos) y los K mejores
+ * se mantienen en un montículo acotado de tamaño K, sin ordenar a todos los candidatos.
+ * Un intermediario que sigue a más de {@code maxSeguidosIntermediario} usuarios se
+ * omite: aporta poca señal (sigue a casi todos) y recorrerlo dominaría el trabajo.
+ *
+ * Complejidad: O(S log S + E + C log K) donde S es el número de seguidos de U, E las
+ * aristas recorridas desde los intermediarios admitidos (cada uno aporta como mucho el
+ * tope) y C el número de candidatos
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class SugerenciasAmigos {
+
+    private SugerenciasAmigos() {
+    }
+
+    /**
+     * Candidato sugerido: id en el grafo y número de conexiones en común.
+     */
+    public static class Sugerencia {
+        private final int id;
+        private final int enComun;
+
+        public Sugerencia(int id, int enComun) {
+            this.id = id;
+            this.enComun = enComun;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getEnComun() {
+            return enComun;
+        }
+    }
+
+    /**
+     * Calcula los K candidatos a dos saltos con más conexiones en común. A igual número
+     * de conexiones gana el id menor, así que el resultado es determinista.
+     *
+     * @param grafo grafo social
+     * @param origen id del usuario origen
+     * @param k número máximo de sugerencias
+     * @param maxSeguidosIntermediario seguidos a partir de los cuales un intermediario se omite
+     * @return sugerencias de mayor a menor número de conexiones en común
+     */
+    public static List<Sugerencia> sugerir(GrafoSocial grafo, int origen, int k, int maxSeguidosIntermediario) {
+        if (grafo == null || origen == GrafoSocial.SIN_ID || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Ordenados: sirven también para descartar en O(log n) a quien ya se sigue
+        int[] seguidos = grafo.seguidos(origen);
+        ContadorEnteros enComun = new ContadorEnteros(Math.min(seguidos.length * 16, 1 << 16));
+        int omitidos = 0;
+        for (int intermediario : seguidos) {
+            if (grafo.contarSeguidos(intermediario) > maxSeguidosIntermediario) {
+                omitidos++;
+                continue;
+            }
+            grafo.paraCadaSeguido(intermediario, enComun::incrementar);
+        }
+
+        MonticuloAcotado mejores = new MonticuloAcotado(Math.min(k, enComun.tamaño()));
+        enComun.paraCada((candidato, conteo) -> {
+            if (candidato != origen && Arrays.binarySearch(seguidos, candidato) < 0) {
+                mejores.ofrecer(MonticuloAcotado.clave(conteo, candidato));
+            }
+        });
+
+        long[] claves = mejores.ordenadosDescendente();
+        List<Sugerencia> resultado = new ArrayList<>(claves.length);
+        for (long clave : claves) {
+            resultado.add(new Sugerencia(MonticuloAcotado.id(clave), MonticuloAcotado.conteo(clave)));
+        }
+        log.debug("Sugerencias para {}: {} candidatos, {} intermediarios omitidos por tope",
+                origen, enComun.tamaño(), omitidos);
+        return resultado;
+    }
+}
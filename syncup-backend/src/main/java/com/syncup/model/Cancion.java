@@ -1,5 +1,7 @@
 package com.syncup.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.syncup.util.NormalizadorTexto;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -15,10 +17,21 @@ import java.util.Objects;
  * Entidad que representa una pista musical en el catálogo de SyncUp.
  * Funciona como nodo en el Grafo de Similitud según RF-019.
  * 
+ * Los índices compuestos cubren las búsquedas avanzadas por género, artista y año
+ * (cada criterio puede ir solo o combinado con los siguientes). Artista y género se
+ * buscan por sus columnas normalizadas (sin mayúsculas ni acentos, ver
+ * {@link NormalizadorTexto#clave(String)}), de modo que "Rock" y "rock" son una
+ * igualdad indexada en lugar de un recorrido con LOWER().
+ * 
  * @author SyncUp Team
  */
 @Entity
-@Table(name = "canciones")
+@Table(name = "canciones", indexes = {
+        @Index(name = "idx_canciones_generonorm_artistanorm_anio",
+                columnList = "genero_normalizado, artista_normalizado, año"),
+        @Index(name = "idx_canciones_artistanorm_anio", columnList = "artista_normalizado, año"),
+        @Index(name = "idx_canciones_anio", columnList = "año")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -80,6 +93,32 @@ public class Cancion {
      */
     @Column(name = "audio_url")
     private String audioUrl;
+
+    /**
+     * Artista normalizado (columna de búsqueda, se calcula al guardar).
+     */
+    @JsonIgnore
+    @Column(name = "artista_normalizado")
+    private String artistaNormalizado;
+
+    /**
+     * Género normalizado (columna de búsqueda, se calcula al guardar).
+     */
+    @JsonIgnore
+    @Column(name = "genero_normalizado")
+    private String generoNormalizado;
+
+    /**
+     * Recalcula las columnas normalizadas a partir del artista y el género.
+     * Se invoca automáticamente antes de insertar o actualizar.
+     * Complejidad: O(l) donde l es la longitud de los valores
+     */
+    @PrePersist
+    @PreUpdate
+    public void actualizarClavesNormalizadas() {
+        artistaNormalizado = NormalizadorTexto.clave(artista);
+        generoNormalizado = NormalizadorTexto.clave(genero);
+    }
     
     /**
      * Calcula el hash code basado en el id.
@@ -0,0 +1,54 @@
+package com.syncup.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Entidad que representa una relación de seguimiento (arista del Grafo Social).
+ * Requerido según RF-007.
+ *
+ * La clave primaria es el par (seguidor, seguido), así que una misma relación no puede
+ * guardarse dos veces; el índice sobre seguido cubre la consulta de seguidores. Solo se
+ * guardan los ids de usuario para que la carga masiva al arranque lea dos enteros por fila.
+ *
+ * @author SyncUp Team
+ */
+@Entity
+@Table(name = "seguimientos", indexes = {
+        @Index(name = "idx_seguimientos_seguido", columnList = "seguido_id")
+})
+@IdClass(Seguimiento.Clave.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Seguimiento {
+
+    /**
+     * Id del usuario que sigue.
+     */
+    @Id
+    @Column(name = "seguidor_id", nullable = false)
+    private Long seguidorId;
+
+    /**
+     * Id del usuario seguido.
+     */
+    @Id
+    @Column(name = "seguido_id", nullable = false)
+    private Long seguidoId;
+
+    /**
+     * Clave primaria compuesta de {@link Seguimiento}.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private Long seguidorId;
+        private Long seguidoId;
+    }
+}
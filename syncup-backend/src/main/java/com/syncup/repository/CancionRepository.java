@@ -1,58 +1,122 @@
 package com.syncup.repository;
 
 import com.syncup.model.Cancion;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repositorio para la entidad Cancion.
  * Proporciona acceso a los datos de canciones almacenadas en la base de datos.
+ * Las búsquedas con criterios dinámicos usan {@link CancionSpecifications}.
+ * 
+ * Las consultas por criterio de la búsqueda avanzada llevan un tiempo máximo en la base
+ * de datos igual al que espera el servicio: cancelar el futuro no interrumpe una sentencia
+ * JDBC en curso, y sin este límite seguiría ocupando un hilo y una conexión.
  * 
  * @author SyncUp Team
  */
 @Repository
-public interface CancionRepository extends JpaRepository<Cancion, Long> {
+public interface CancionRepository extends JpaRepository<Cancion, Long>, JpaSpecificationExecutor<Cancion> {
+    
+    /**
+     * Tiempo máximo de cada consulta por criterio, en milisegundos.
+     */
+    long TIEMPO_MAXIMO_CRITERIO_MS = 5_000;
     
     /**
-     * Busca canciones por artista.
+     * {@link #TIEMPO_MAXIMO_CRITERIO_MS} como valor de la pista {@code jakarta.persistence.query.timeout}.
+     */
+    String PISTA_TIEMPO_MAXIMO_CRITERIO = "" + TIEMPO_MAXIMO_CRITERIO_MS;
+    
+    /**
+     * Busca canciones por artista sin distinguir mayúsculas ni acentos
+     * (igualdad sobre la columna normalizada indexada).
      * 
-     * @param artista nombre del artista
+     * @param artistaNormalizado artista normalizado con {@link com.syncup.util.NormalizadorTexto#clave(String)}
      * @return lista de canciones del artista
-     * Complejidad: O(n) donde n es el número de canciones
+     * Complejidad: O(log n + k) con índice
      */
-    List<Cancion> findByArtista(String artista);
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = PISTA_TIEMPO_MAXIMO_CRITERIO))
+    List<Cancion> findByArtistaNormalizado(String artistaNormalizado);
     
     /**
-     * Busca canciones por género.
+     * Busca canciones por género sin distinguir mayúsculas ni acentos
+     * (igualdad sobre la columna normalizada indexada).
      * 
-     * @param genero género musical
+     * @param generoNormalizado género normalizado con {@link com.syncup.util.NormalizadorTexto#clave(String)}
      * @return lista de canciones del género
-     * Complejidad: O(n) donde n es el número de canciones
+     * Complejidad: O(log n + k) con índice
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = PISTA_TIEMPO_MAXIMO_CRITERIO))
+    List<Cancion> findByGeneroNormalizado(String generoNormalizado);
+    
+    /**
+     * Busca canciones de cualquiera de los artistas normalizados dados.
+     * 
+     * @param artistasNormalizados artistas normalizados
+     * @return lista de canciones de esos artistas
+     * Complejidad: O(a log n + k) con índice, donde a es el número de artistas
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = PISTA_TIEMPO_MAXIMO_CRITERIO))
+    List<Cancion> findByArtistaNormalizadoIn(Collection<String> artistasNormalizados);
+    
+    /**
+     * Busca canciones de cualquiera de los géneros normalizados dados.
+     * 
+     * @param generosNormalizados géneros normalizados
+     * @return lista de canciones de esos géneros
+     * Complejidad: O(g log n + k) con índice, donde g es el número de géneros
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = PISTA_TIEMPO_MAXIMO_CRITERIO))
+    List<Cancion> findByGeneroNormalizadoIn(Collection<String> generosNormalizados);
+    
+    /**
+     * Busca canciones guardadas antes de existir las columnas normalizadas.
+     * 
+     * @return canciones sin artista o género normalizado
      */
-    List<Cancion> findByGenero(String genero);
+    List<Cancion> findByArtistaNormalizadoIsNullOrGeneroNormalizadoIsNull();
     
     /**
      * Busca canciones por año.
      * 
      * @param año año de lanzamiento
      * @return lista de canciones del año
-     * Complejidad: O(n) donde n es el número de canciones
+     * Complejidad: O(log n + k) con índice
      */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = PISTA_TIEMPO_MAXIMO_CRITERIO))
     List<Cancion> findByAño(Integer año);
     
     /**
-     * Busca canciones por artista y género.
+     * Busca canciones con año en un rango (extremos inclusivos).
      * 
-     * @param artista nombre del artista
-     * @param genero género musical
-     * @return lista de canciones que coinciden con ambos criterios
+     * @param desde año inicial
+     * @param hasta año final
+     * @return lista de canciones del rango
+     * Complejidad: O(log n + k) con índice
+     */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = PISTA_TIEMPO_MAXIMO_CRITERIO))
+    List<Cancion> findByAñoBetween(Integer desde, Integer hasta);
+    
+    /**
+     * Busca canciones con duración en un rango (extremos inclusivos).
+     * 
+     * @param desde duración mínima en segundos
+     * @param hasta duración máxima en segundos
+     * @return lista de canciones del rango
      * Complejidad: O(n) donde n es el número de canciones
      */
-    List<Cancion> findByArtistaAndGenero(String artista, String genero);
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = PISTA_TIEMPO_MAXIMO_CRITERIO))
+    List<Cancion> findByDuracionBetween(Integer desde, Integer hasta);
     
     /**
      * Busca canciones cuyo título contiene el texto dado (case-insensitive).
@@ -73,5 +137,15 @@ public interface CancionRepository extends JpaRepository<Cancion, Long> {
      */
     @Query("SELECT c FROM Cancion c WHERE c.titulo = :titulo AND c.artista = :artista")
     java.util.Optional<Cancion> findByTituloAndArtista(@Param("titulo") String titulo, @Param("artista") String artista);
-}
 
+    /**
+     * Obtiene una página de canciones con id mayor al dado, ordenadas por id
+     * (paginación por clave, estable ante altas y bajas concurrentes).
+     *
+     * @param id último id leído
+     * @param pageable tamaño de página (la primera página, siempre)
+     * @return canciones siguientes en orden de id
+     * Complejidad: O(log n + k) con índice por clave primaria, donde k es el tamaño de página
+     */
+    List<Cancion> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -0,0 +1,127 @@
+package com.syncup.repository;
+
+import com.syncup.dto.SearchRequest;
+import com.syncup.model.Cancion;
+import com.syncup.search.AnalizadorConsultas;
+import com.syncup.search.NodoConsulta;
+import com.syncup.search.NodoConsulta.Campo;
+import com.syncup.search.NodoConsulta.Conjuncion;
+import com.syncup.search.NodoConsulta.Disyuncion;
+import com.syncup.search.NodoConsulta.Negacion;
+import com.syncup.search.NodoConsulta.Rango;
+import com.syncup.search.NodoConsulta.Termino;
+import com.syncup.search.OrdenResultados;
+import com.syncup.util.NormalizadorTexto;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Especificaciones JPA para consultar canciones con criterios dinámicos.
+ * Permiten compilar una {@link SearchRequest} en una única consulta SQL
+ * en lugar de una consulta por criterio.
+ * 
+ * @author SyncUp Team
+ */
+public final class CancionSpecifications {
+    
+    private CancionSpecifications() {
+        // Clase de utilidad: no instanciable
+    }
+    
+    /**
+     * Construye la especificación de una búsqueda avanzada (criterios estructurados
+     * y consulta booleana, ver {@link AnalizadorConsultas#compilar(SearchRequest)}).
+     * 
+     * @param request criterios de búsqueda
+     * @return especificación equivalente a la búsqueda
+     */
+    public static Specification<Cancion> desde(SearchRequest request) {
+        return desde(AnalizadorConsultas.compilar(request));
+    }
+    
+    /**
+     * Traduce un árbol de consulta a una especificación. Cada término se traduce en una
+     * igualdad sobre la columna normalizada (sin mayúsculas ni acentos, igual que
+     * findByArtistaNormalizado/findByGeneroNormalizado),
+     * cada rango en un BETWEEN o una comparación, y los nodos AND/OR/NOT en los
+     * operadores SQL correspondientes.
+     * 
+     * @param consulta árbol de la consulta
+     * @return especificación equivalente
+     */
+    public static Specification<Cancion> desde(NodoConsulta consulta) {
+        return (root, query, cb) -> predicado(consulta, root, cb);
+    }
+    
+    /**
+     * Especificación de paginación por clave: canciones posteriores a la posición de un
+     * cursor en el orden dado, es decir {@code campo > v OR (campo = v AND id > id0)}
+     * (o con {@code <} si el orden es descendente). Con el índice sobre el campo de orden
+     * la base de datos empieza directamente en la posición, sin recorrer las anteriores.
+     * 
+     * @param orden orden de los resultados
+     * @param posicion posición decodificada del cursor
+     * @return especificación de las canciones posteriores
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Cancion> despuesDe(OrdenResultados orden, OrdenResultados.Posicion posicion) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate idPosterior = orden.esDescendente()
+                    ? cb.lessThan(id, posicion.getId()) : cb.greaterThan(id, posicion.getId());
+            if (orden.getCriterio() == OrdenResultados.Criterio.ID) {
+                return idPosterior;
+            }
+            Path<Comparable> campo = root.get(orden.getCriterio().getAtributo());
+            Comparable valor = posicion.getValor();
+            Predicate valorPosterior = orden.esDescendente() ? cb.lessThan(campo, valor) : cb.greaterThan(campo, valor);
+            return cb.or(valorPosterior, cb.and(cb.equal(campo, valor), idPosterior));
+        };
+    }
+    
+    private static Predicate predicado(NodoConsulta nodo, Root<Cancion> root, CriteriaBuilder cb) {
+        if (nodo instanceof Termino termino) {
+            // Artista y género se comparan por su columna normalizada (igualdad indexada)
+            String atributoNormalizado = termino.getCampo() == Campo.ARTISTA ? "artistaNormalizado" : "generoNormalizado";
+            String clave = NormalizadorTexto.clave(termino.getValor());
+            return clave != null ? cb.equal(root.get(atributoNormalizado), clave) : cb.disjunction();
+        }
+        if (nodo instanceof Rango rango) {
+            return enRango(cb, root.get(atributo(rango.getCampo())), rango.getMinimo(), rango.getMaximo());
+        }
+        if (nodo instanceof Negacion negacion) {
+            return cb.not(predicado(negacion.getHijo(), root, cb));
+        }
+        List<NodoConsulta> hijos = nodo instanceof Conjuncion conjuncion
+                ? conjuncion.getHijos() : ((Disyuncion) nodo).getHijos();
+        Predicate[] predicados = hijos.stream().map(hijo -> predicado(hijo, root, cb)).toArray(Predicate[]::new);
+        return nodo instanceof Conjuncion ? cb.and(predicados) : cb.or(predicados);
+    }
+    
+    private static String atributo(Campo campo) {
+        return switch (campo) {
+            case ARTISTA -> "artista";
+            case GENERO -> "genero";
+            case AÑO -> "año";
+            case DURACION -> "duracion";
+        };
+    }
+    
+    /**
+     * Rango con extremos opcionales e inclusivos.
+     */
+    private static Predicate enRango(CriteriaBuilder cb, Path<Integer> campo, Integer minimo, Integer maximo) {
+        if (minimo != null && maximo != null) {
+            return minimo.equals(maximo) ? cb.equal(campo, minimo) : cb.between(campo, minimo, maximo);
+        }
+        if (minimo == null && maximo == null) {
+            return cb.isNotNull(campo);
+        }
+        return minimo != null ? cb.greaterThanOrEqualTo(campo, minimo) : cb.lessThanOrEqualTo(campo, maximo);
+    }
+}
@@ -4,7 +4,6 @@ import com.syncup.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,19 +32,4 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * Complejidad: O(1) con índice en la base de datos
      */
     boolean existsByUsername(String username);
-
-    /**
-     * Busca usuarios cuyo nombre o username contengan el texto indicado,
-     * sin distinguir entre mayúsculas y minúsculas.
-     *
-     * Se usa en el buscador de usuarios de la sección Social.
-     *
-     * @param nombreFragment    fragmento a buscar en el campo {@code nombre}
-     * @param usernameFragment  fragmento a buscar en el campo {@code username}
-     * @return lista de usuarios que coinciden parcial o totalmente con el criterio
-     */
-    List<Usuario> findByNombreContainingIgnoreCaseOrUsernameContainingIgnoreCase(
-            String nombreFragment,
-            String usernameFragment
-    );
 }
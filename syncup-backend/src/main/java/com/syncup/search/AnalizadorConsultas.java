@@ -0,0 +1,329 @@
+package com.syncup.search;
+
+import com.syncup.dto.SearchRequest;
+import com.syncup.search.NodoConsulta.Campo;
+import com.syncup.search.NodoConsulta.Negacion;
+import com.syncup.search.NodoConsulta.Rango;
+import com.syncup.search.NodoConsulta.Termino;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Analizador del lenguaje de consultas booleanas de la búsqueda avanzada.
+ *
+ * Gramática (descenso recursivo, AND tiene mayor precedencia que OR):
+ * <pre>
+ * consulta   := disyuncion
+ * disyuncion := conjuncion ( OR conjuncion )*
+ * conjuncion := negacion ( [AND] negacion )*
+ * negacion   := NOT negacion | primario
+ * primario   := '(' consulta ')' | campo ':' valor
+ * valor      := palabra | "texto entre comillas" | '[' (numero|*) TO (numero|*) ']'
+ * </pre>
+ * Campos: artist/artista, genre/genero, year/año, duration/duracion. Los operadores
+ * no distinguen mayúsculas. Dos cláusulas seguidas sin operador se combinan con AND.
+ *
+ * Ejemplo: {@code genre:rock AND (artist:queen OR year:[1975 TO 1980])}
+ *
+ * Los errores de sintaxis se informan con {@link IllegalArgumentException}
+ * indicando la posición.
+ *
+ * @author SyncUp Team
+ */
+public final class AnalizadorConsultas {
+
+    /**
+     * Longitud máxima de una consulta.
+     */
+    public static final int LONGITUD_MAXIMA = 1000;
+
+    /**
+     * Profundidad máxima de anidamiento (paréntesis y NOT).
+     */
+    public static final int PROFUNDIDAD_MAXIMA = 32;
+
+    private static final Map<String, Campo> CAMPOS = Map.of(
+            "artist", Campo.ARTISTA,
+            "artista", Campo.ARTISTA,
+            "genre", Campo.GENERO,
+            "genero", Campo.GENERO,
+            "género", Campo.GENERO,
+            "year", Campo.AÑO,
+            "año", Campo.AÑO,
+            "duration", Campo.DURACION,
+            "duracion", Campo.DURACION,
+            "duración", Campo.DURACION);
+
+    private static final Set<Character> ESPECIALES = Set.of('(', ')', '[', ']', ':', '"');
+
+    private final String texto;
+    private int posicion;
+    private int profundidad;
+
+    private AnalizadorConsultas(String texto) {
+        this.texto = texto;
+    }
+
+    /**
+     * Analiza una consulta escrita en el lenguaje de consultas.
+     * Complejidad: O(n) donde n es la longitud de la consulta
+     *
+     * @param consulta texto de la consulta
+     * @return árbol de la consulta
+     * @throws IllegalArgumentException si la consulta no es válida
+     */
+    public static NodoConsulta analizar(String consulta) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("La consulta está vacía");
+        }
+        if (consulta.length() > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException("La consulta supera los " + LONGITUD_MAXIMA + " caracteres");
+        }
+
+        AnalizadorConsultas analizador = new AnalizadorConsultas(consulta);
+        NodoConsulta nodo = analizador.disyuncion();
+        analizador.saltarEspacios();
+        if (!analizador.alFinal()) {
+            throw analizador.error("Se esperaba el fin de la consulta");
+        }
+        return nodo;
+    }
+
+    /**
+     * Compila una solicitud de búsqueda en un árbol de consulta: los criterios
+     * estructurados se combinan con su operador y, si hay una consulta escrita,
+     * se combina con ellos mediante AND.
+     *
+     * @param request solicitud de búsqueda
+     * @return árbol de la consulta, o null si la solicitud no tiene criterios
+     * @throws IllegalArgumentException si la consulta escrita no es válida
+     */
+    public static NodoConsulta compilar(SearchRequest request) {
+        List<NodoConsulta> criterios = new ArrayList<>(4);
+        agregarTerminos(criterios, Campo.ARTISTA, request.artistasSolicitados());
+        agregarTerminos(criterios, Campo.GENERO, request.generosSolicitados());
+        if (request.tieneFiltroAño()) {
+            criterios.add(new Rango(Campo.AÑO, request.añoMinimo(), request.añoMaximo()));
+        }
+        if (request.tieneFiltroDuracion()) {
+            criterios.add(new Rango(Campo.DURACION, request.getDuracionMin(), request.getDuracionMax()));
+        }
+
+        List<NodoConsulta> partes = new ArrayList<>(2);
+        if (!criterios.isEmpty()) {
+            partes.add("OR".equalsIgnoreCase(request.getOperador())
+                    ? NodoConsulta.o(criterios) : NodoConsulta.y(criterios));
+        }
+        if (request.tieneConsulta()) {
+            partes.add(analizar(request.getConsulta()));
+        }
+        return partes.isEmpty() ? null : NodoConsulta.y(partes);
+    }
+
+    private static void agregarTerminos(List<NodoConsulta> destino, Campo campo, Set<String> valores) {
+        if (!valores.isEmpty()) {
+            destino.add(NodoConsulta.o(valores.stream().<NodoConsulta>map(v -> new Termino(campo, v)).toList()));
+        }
+    }
+
+    private NodoConsulta disyuncion() {
+        List<NodoConsulta> hijos = new ArrayList<>();
+        hijos.add(conjuncion());
+        while (aceptarPalabraClave("OR")) {
+            hijos.add(conjuncion());
+        }
+        return NodoConsulta.o(hijos);
+    }
+
+    private NodoConsulta conjuncion() {
+        List<NodoConsulta> hijos = new ArrayList<>();
+        hijos.add(negacion());
+        while (true) {
+            if (aceptarPalabraClave("AND")) {
+                hijos.add(negacion());
+            } else if (iniciaClausula()) {
+                // AND implícito entre cláusulas seguidas
+                hijos.add(negacion());
+            } else {
+                return NodoConsulta.y(hijos);
+            }
+        }
+    }
+
+    private NodoConsulta negacion() {
+        if (aceptarPalabraClave("NOT")) {
+            entrar();
+            NodoConsulta hijo = negacion();
+            profundidad--;
+            return new Negacion(hijo);
+        }
+        return primario();
+    }
+
+    private NodoConsulta primario() {
+        saltarEspacios();
+        if (aceptar('(')) {
+            entrar();
+            NodoConsulta nodo = disyuncion();
+            saltarEspacios();
+            if (!aceptar(')')) {
+                throw error("Falta ')'");
+            }
+            profundidad--;
+            return nodo;
+        }
+
+        int inicioCampo = posicion;
+        String nombreCampo = palabra();
+        if (nombreCampo.isEmpty()) {
+            throw error("Se esperaba una cláusula campo:valor");
+        }
+        Campo campo = CAMPOS.get(nombreCampo.toLowerCase(Locale.ROOT));
+        if (campo == null) {
+            posicion = inicioCampo;
+            throw error("Campo desconocido '" + nombreCampo + "'");
+        }
+        if (!aceptar(':')) {
+            throw error("Se esperaba ':' después de '" + nombreCampo + "'");
+        }
+        return campo.esNumerico() ? valorNumerico(campo) : valorTexto(campo);
+    }
+
+    private NodoConsulta valorTexto(Campo campo) {
+        String valor = aceptar('"') ? textoEntreComillas() : palabra();
+        if (valor.isBlank()) {
+            throw error("Se esperaba un valor para " + campo.name().toLowerCase(Locale.ROOT));
+        }
+        return new Termino(campo, valor.trim());
+    }
+
+    private NodoConsulta valorNumerico(Campo campo) {
+        if (aceptar('[')) {
+            saltarEspacios();
+            Integer minimo = extremoRango();
+            if (!aceptarPalabraClave("TO")) {
+                throw error("Se esperaba 'TO' en el rango");
+            }
+            saltarEspacios();
+            Integer maximo = extremoRango();
+            saltarEspacios();
+            if (!aceptar(']')) {
+                throw error("Falta ']'");
+            }
+            if (minimo != null && maximo != null && minimo > maximo) {
+                throw error("El inicio del rango es mayor que el fin");
+            }
+            return new Rango(campo, minimo, maximo);
+        }
+        int valor = numero();
+        return new Rango(campo, valor, valor);
+    }
+
+    private Integer extremoRango() {
+        if (aceptar('*')) {
+            return null;
+        }
+        return numero();
+    }
+
+    private int numero() {
+        int inicio = posicion;
+        String valor = palabra();
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            posicion = inicio;
+            throw error("Se esperaba un número");
+        }
+    }
+
+    private String textoEntreComillas() {
+        int inicio = posicion;
+        int fin = texto.indexOf('"', inicio);
+        if (fin < 0) {
+            throw error("Faltan las comillas de cierre");
+        }
+        posicion = fin + 1;
+        return texto.substring(inicio, fin);
+    }
+
+    /**
+     * Lee una palabra: caracteres hasta un espacio o un carácter especial.
+     */
+    private String palabra() {
+        int inicio = posicion;
+        while (!alFinal()) {
+            char c = texto.charAt(posicion);
+            if (Character.isWhitespace(c) || ESPECIALES.contains(c)) {
+                break;
+            }
+            posicion++;
+        }
+        return texto.substring(inicio, posicion);
+    }
+
+    /**
+     * Consume una palabra clave (AND, OR, NOT, TO) si es la siguiente palabra completa.
+     */
+    private boolean aceptarPalabraClave(String clave) {
+        saltarEspacios();
+        int fin = posicion + clave.length();
+        if (fin <= texto.length() && texto.regionMatches(true, posicion, clave, 0, clave.length())
+                && (fin == texto.length() || Character.isWhitespace(texto.charAt(fin))
+                    || texto.charAt(fin) == '(' || texto.charAt(fin) == '[')) {
+            posicion = fin;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Indica si lo siguiente es el inicio de otra cláusula (para el AND implícito).
+     */
+    private boolean iniciaClausula() {
+        saltarEspacios();
+        if (alFinal()) {
+            return false;
+        }
+        char c = texto.charAt(posicion);
+        if (c == ')') {
+            return false;
+        }
+        int guardada = posicion;
+        boolean esOperador = aceptarPalabraClave("OR");
+        posicion = guardada;
+        return !esOperador;
+    }
+
+    private boolean aceptar(char c) {
+        if (!alFinal() && texto.charAt(posicion) == c) {
+            posicion++;
+            return true;
+        }
+        return false;
+    }
+
+    private void entrar() {
+        if (++profundidad > PROFUNDIDAD_MAXIMA) {
+            throw error("La consulta supera la profundidad máxima de " + PROFUNDIDAD_MAXIMA);
+        }
+    }
+
+    private void saltarEspacios() {
+        while (!alFinal() && Character.isWhitespace(texto.charAt(posicion))) {
+            posicion++;
+        }
+    }
+
+    private boolean alFinal() {
+        return posicion >= texto.length();
+    }
+
+    private IllegalArgumentException error(String mensaje) {
+        return new IllegalArgumentException(mensaje + " (posición " + (posicion + 1) + ")");
+    }
+}
@@ -0,0 +1,201 @@
+package com.syncup.search;
+
+import com.syncup.search.NodoConsulta.Conjuncion;
+import com.syncup.search.NodoConsulta.Disyuncion;
+import com.syncup.search.NodoConsulta.Negacion;
+import com.syncup.search.NodoConsulta.Rango;
+import com.syncup.search.NodoConsulta.Termino;
+import com.syncup.util.NormalizadorTexto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caché acotada de resultados de búsqueda avanzada.
+ *
+ * - Clave: forma canónica de la consulta compilada ({@link #clave(NodoConsulta)}), de modo
+ *   que solicitudes equivalentes (criterios en otro orden, valores repetidos, espacios)
+ *   comparten entrada.
+ * - Valor: arreglo compacto de ids ({@code long[]}), no las entidades; las canciones se
+ *   resuelven al servir el acierto.
+ * - Invalidación por versión del catálogo: cada alta, modificación o baja incrementa la
+ *   versión y la primera operación con una versión nueva vacía la caché. Un resultado
+ *   calculado con una versión anterior a la vigente no se guarda.
+ * - Límites: número de entradas (LRU) y memoria estimada de los arreglos de ids; un
+ *   resultado que ocupa más de una octava parte del presupuesto no se guarda, para que una
+ *   búsqueda muy amplia no desaloje al resto.
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class CacheResultadosBusqueda {
+
+    /**
+     * Memoria estimada fija por entrada (nodo del mapa, cabecera del arreglo), en bytes.
+     */
+    private static final long BYTES_POR_ENTRADA = 96;
+
+    private final int capacidad;
+    private final long presupuestoBytes;
+
+    /**
+     * Resultados en orden de acceso (LRU): Key: clave canónica, Value: ids.
+     */
+    private final LinkedHashMap<String, long[]> entradas = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long version;
+    private long bytesEstimados;
+    private long aciertos;
+    private long fallos;
+    private long invalidaciones;
+    private long desalojos;
+    private long descartadas;
+
+    /**
+     * Constructor de la caché.
+     *
+     * @param capacidad número máximo de consultas en caché
+     * @param presupuestoBytes memoria máxima estimada de los resultados, en bytes
+     */
+    public CacheResultadosBusqueda(int capacidad, long presupuestoBytes) {
+        this.capacidad = capacidad;
+        this.presupuestoBytes = presupuestoBytes;
+    }
+
+    /**
+     * Obtiene los ids en caché de una consulta.
+     * Complejidad: O(1)
+     *
+     * @param clave clave canónica de la consulta
+     * @param versionCatalogo versión vigente del catálogo
+     * @return ids del resultado, o null si no está en caché
+     */
+    public synchronized long[] obtener(String clave, long versionCatalogo) {
+        actualizarVersion(versionCatalogo);
+        long[] ids = entradas.get(clave);
+        if (ids == null) {
+            fallos++;
+        } else {
+            aciertos++;
+        }
+        return ids;
+    }
+
+    /**
+     * Guarda el resultado de una consulta calculado con una versión del catálogo.
+     * Complejidad: O(1) amortizado
+     *
+     * @param clave clave canónica de la consulta
+     * @param versionCatalogo versión del catálogo con la que se calculó el resultado
+     * @param ids ids del resultado
+     */
+    public synchronized void guardar(String clave, long versionCatalogo, long[] ids) {
+        actualizarVersion(versionCatalogo);
+        if (versionCatalogo < version) {
+            // El catálogo cambió mientras se calculaba: el resultado puede estar obsoleto
+            return;
+        }
+        long bytes = bytes(clave, ids);
+        if (bytes > presupuestoBytes / 8) {
+            descartadas++;
+            return;
+        }
+
+        long[] anterior = entradas.put(clave, ids);
+        if (anterior != null) {
+            bytesEstimados -= bytes(clave, anterior);
+        }
+        bytesEstimados += bytes;
+
+        var iterador = entradas.entrySet().iterator();
+        while ((entradas.size() > capacidad || bytesEstimados > presupuestoBytes) && iterador.hasNext()) {
+            Map.Entry<String, long[]> masAntigua = iterador.next();
+            bytesEstimados -= bytes(masAntigua.getKey(), masAntigua.getValue());
+            iterador.remove();
+            desalojos++;
+        }
+    }
+
+    /**
+     * Vacía la caché.
+     */
+    public synchronized void limpiar() {
+        entradas.clear();
+        bytesEstimados = 0;
+        invalidaciones++;
+    }
+
+    /**
+     * Obtiene las métricas de la caché.
+     *
+     * @return mapa con aciertos, fallos, tasa de acierto, tamaño y memoria estimada
+     */
+    public synchronized Map<String, Object> obtenerEstadisticas() {
+        long total = aciertos + fallos;
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("consultas", total);
+        estadisticas.put("aciertos", aciertos);
+        estadisticas.put("fallos", fallos);
+        estadisticas.put("tasaAcierto", total == 0 ? 0.0 : (double) aciertos / total);
+        estadisticas.put("entradas", entradas.size());
+        estadisticas.put("capacidad", capacidad);
+        estadisticas.put("bytesEstimados", bytesEstimados);
+        estadisticas.put("presupuestoBytes", presupuestoBytes);
+        estadisticas.put("desalojos", desalojos);
+        estadisticas.put("descartadasPorTamaño", descartadas);
+        estadisticas.put("invalidaciones", invalidaciones);
+        estadisticas.put("versionCatalogo", version);
+        return estadisticas;
+    }
+
+    /**
+     * Vacía la caché si el catálogo tiene una versión más reciente que la conocida.
+     */
+    private void actualizarVersion(long versionCatalogo) {
+        if (versionCatalogo > version) {
+            if (!entradas.isEmpty()) {
+                log.debug("Catálogo en versión {}: se descartan {} resultados en caché", versionCatalogo, entradas.size());
+                limpiar();
+            }
+            version = versionCatalogo;
+        }
+    }
+
+    private static long bytes(String clave, long[] ids) {
+        return BYTES_POR_ENTRADA + 2L * clave.length() + 8L * ids.length;
+    }
+
+    /**
+     * Forma canónica de una consulta: los hijos de cada AND/OR se ordenan y se eliminan
+     * los repetidos, y los valores de texto se normalizan (sin mayúsculas ni acentos,
+     * igual que la búsqueda). Dos consultas con la misma forma canónica tienen el mismo resultado.
+     * Complejidad: O(n log n) donde n es el número de nodos
+     *
+     * @param consulta árbol de la consulta
+     * @return clave canónica
+     */
+    public static String clave(NodoConsulta consulta) {
+        if (consulta instanceof Termino termino) {
+            // Con la longitud delante, ningún valor puede confundirse con la estructura
+            String valor = Objects.requireNonNullElse(NormalizadorTexto.clave(termino.getValor()), "");
+            return termino.getCampo().name() + "=" + valor.length() + ":" + valor;
+        }
+        if (consulta instanceof Rango rango) {
+            return rango.getCampo().name() + "[" + rango.getMinimo() + "," + rango.getMaximo() + "]";
+        }
+        if (consulta instanceof Negacion negacion) {
+            return "!(" + clave(negacion.getHijo()) + ")";
+        }
+        boolean esConjuncion = consulta instanceof Conjuncion;
+        List<NodoConsulta> hijos = esConjuncion
+                ? ((Conjuncion) consulta).getHijos() : ((Disyuncion) consulta).getHijos();
+        List<String> claves = hijos.stream().map(CacheResultadosBusqueda::clave).distinct().sorted().toList();
+        if (claves.size() == 1) {
+            return claves.get(0);
+        }
+        return (esConjuncion ? "&(" : "|(") + String.join("|", claves) + ")";
+    }
+}
@@ -0,0 +1,738 @@
+package com.syncup.search;
+
+import com.syncup.dto.BusquedaFacetada;
+import com.syncup.dto.FacetasBusqueda;
+import com.syncup.dto.SearchRequest;
+import com.syncup.model.Cancion;
+import com.syncup.search.NodoConsulta.Campo;
+import com.syncup.search.NodoConsulta.Conjuncion;
+import com.syncup.search.NodoConsulta.Disyuncion;
+import com.syncup.search.NodoConsulta.Negacion;
+import com.syncup.search.NodoConsulta.Rango;
+import com.syncup.search.NodoConsulta.Termino;
+import com.syncup.util.DiccionarioClaves;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria para la búsqueda avanzada de canciones.
+ * Requerido según RF-004.
+ *
+ * Cada canción recibe un ordinal denso (0, 1, 2...) y por cada valor de artista,
+ * género y año se mantiene una lista de publicación (posting list) representada
+ * como un {@link BitSet} de ordinales. Artistas y géneros se identifican por el id de
+ * su clave normalizada en un {@link DiccionarioClaves}, de modo que "Rock", "rock" y
+ * "ROCK" comparten lista. Así:
+ * - AND entre criterios es una intersección de bits ({@link BitSet#and})
+ * - OR entre criterios es una unión de bits ({@link BitSet#or})
+ * - Un rango de años es la unión de los bitsets de los años del rango (mapa ordenado)
+ * - Un rango de duración se resuelve con búsqueda binaria sobre arreglos primitivos
+ *   ordenados por duración, reconstruidos solo cuando el catálogo cambia
+ * - Las consultas booleanas ({@link NodoConsulta}) se planifican evaluando primero
+ *   la subconsulta más selectiva de cada conjunción
+ * - Los conteos por faceta (género, artista, década) son la cardinalidad de cada
+ *   lista de publicación intersecada con el bitset de resultados
+ *
+ * Los ordinales de canciones eliminadas se reutilizan, de modo que los bitsets
+ * se mantienen compactos aunque el catálogo cambie.
+ *
+ * Lecturas concurrentes protegidas con un {@link ReadWriteLock}.
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class IndiceInvertido {
+
+    /**
+     * Canción asociada a cada ordinal (null si el ordinal está libre).
+     */
+    private final List<Cancion> cancionesPorOrdinal = new ArrayList<>();
+
+    /**
+     * Ordinal asignado a cada id de canción.
+     */
+    private final Map<Long, Integer> ordinalPorId = new HashMap<>();
+
+    /**
+     * Ordinales ocupados.
+     */
+    private final BitSet ocupados = new BitSet();
+
+    /**
+     * Valores indexados por ordinal, para poder desindexar aunque la entidad
+     * ya haya sido modificada en memoria.
+     */
+    private final List<ValoresIndexados> valoresPorOrdinal = new ArrayList<>();
+
+    /**
+     * Diccionarios de artistas y géneros: cada clave normalizada tiene un id denso, y su
+     * lista de publicación está en la posición de ese id.
+     */
+    private final DiccionarioClaves artistas = new DiccionarioClaves();
+    private final DiccionarioClaves generos = new DiccionarioClaves();
+    private final List<BitSet> porArtista = new ArrayList<>();
+    private final List<BitSet> porGenero = new ArrayList<>();
+    private final NavigableMap<Integer, BitSet> porAño = new TreeMap<>();
+
+    /**
+     * Duración indexada de cada ordinal (0 si el ordinal está libre o no tiene duración).
+     */
+    private int[] duracionPorOrdinal = new int[16];
+
+    /**
+     * Orden por duración vigente; null si el catálogo cambió desde que se calculó.
+     */
+    private volatile OrdenDuracion ordenDuracion;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa (o reindexa) una canción.
+     * Complejidad: O(1) promedio
+     *
+     * @param cancion canción a indexar
+     */
+    public void agregar(Cancion cancion) {
+        if (cancion == null || cancion.getId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            eliminarSinBloqueo(cancion.getId());
+
+            int ordinal = ocupados.nextClearBit(0);
+            ocupados.set(ordinal);
+            ordinalPorId.put(cancion.getId(), ordinal);
+
+            ValoresIndexados valores = new ValoresIndexados(
+                    artistas.registrar(cancion.getArtista()), generos.registrar(cancion.getGenero()), cancion.getAño());
+            asignar(cancionesPorOrdinal, ordinal, cancion);
+            asignar(valoresPorOrdinal, ordinal, valores);
+
+            if (valores.artista != DiccionarioClaves.SIN_VALOR) {
+                lista(porArtista, valores.artista).set(ordinal);
+            }
+            if (valores.genero != DiccionarioClaves.SIN_VALOR) {
+                lista(porGenero, valores.genero).set(ordinal);
+            }
+            if (valores.año != null) {
+                porAño.computeIfAbsent(valores.año, k -> new BitSet()).set(ordinal);
+            }
+            if (ordinal >= duracionPorOrdinal.length) {
+                duracionPorOrdinal = Arrays.copyOf(duracionPorOrdinal, Math.max(ordinal + 1, duracionPorOrdinal.length * 2));
+            }
+            duracionPorOrdinal[ordinal] = cancion.getDuracion() != null ? cancion.getDuracion() : 0;
+            ordenDuracion = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina una canción del índice.
+     * Complejidad: O(1) promedio
+     *
+     * @param id identificador de la canción
+     * @return true si la canción estaba indexada
+     */
+    public boolean eliminar(Long id) {
+        if (id == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            return eliminarSinBloqueo(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca canciones combinando los criterios de la solicitud. Los valores de un mismo
+     * criterio se unen (OR) y los criterios presentes se combinan con el operador; un
+     * criterio presente sin resultados participa igualmente.
+     *
+     * @param request criterios de búsqueda
+     * @return canciones que cumplen los criterios, en orden de ordinal
+     * @see AnalizadorConsultas#compilar(SearchRequest)
+     */
+    public List<Cancion> buscar(SearchRequest request) {
+        return buscar(AnalizadorConsultas.compilar(request));
+    }
+
+    /**
+     * Evalúa una consulta booleana sobre las listas de publicación.
+     *
+     * En cada conjunción se planifica el orden de evaluación: se estima el número de
+     * resultados de cada subconsulta y se evalúa primero la más selectiva; el resto solo
+     * filtra los candidatos ya obtenidos (sin materializar sus propias listas) y la
+     * evaluación se corta en cuanto la intersección queda vacía. Si alguna subconsulta
+     * no tiene resultados, la conjunción se resuelve sin evaluar nada.
+     * Complejidad: O(s) donde s es el tamaño de la lista más selectiva de cada
+     * conjunción, más O(k) para resolver los k resultados
+     *
+     * @param consulta árbol de la consulta (null equivale a sin resultados)
+     * @return canciones que cumplen la consulta, en orden de ordinal
+     */
+    public List<Cancion> buscar(NodoConsulta consulta) {
+        if (consulta == null) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return resolver(evaluar(consulta));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evalúa una consulta y cuenta sus resultados por género, artista y década en la
+     * misma pasada, sin volver a recorrer el catálogo.
+     * Complejidad: la de {@link #buscar(NodoConsulta)} más O(v * n / 64) donde v es el
+     * número de valores distintos de las facetas y n el número de ordinales
+     *
+     * @param consulta árbol de la consulta (null equivale a sin resultados)
+     * @param maxArtistas número máximo de artistas en la faceta de artistas
+     * @return canciones que cumplen la consulta y sus conteos por faceta
+     */
+    public BusquedaFacetada buscarConFacetas(NodoConsulta consulta, int maxArtistas) {
+        lock.readLock().lock();
+        try {
+            BitSet resultado = consulta != null ? evaluar(consulta) : new BitSet();
+            return new BusquedaFacetada(resolver(resultado), contarFacetas(resultado, maxArtistas));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta todo el catálogo indexado por género, artista y década.
+     * Complejidad: O(v) donde v es el número de valores distintos de las facetas
+     *
+     * @param maxArtistas número máximo de artistas en la faceta de artistas
+     * @return conteos por faceta del catálogo completo
+     */
+    public FacetasBusqueda facetas(int maxArtistas) {
+        lock.readLock().lock();
+        try {
+            return contarFacetas(ocupados, maxArtistas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta todo el catálogo indexado por género.
+     * Complejidad: O(g log g) donde g es el número de géneros distintos
+     *
+     * @return número de canciones por género, de mayor a menor
+     */
+    public Map<String, Long> conteoGeneros() {
+        lock.readLock().lock();
+        try {
+            return FacetasBusqueda.ordenarPorConteo(
+                    contarPorValor(porGenero, generos, ocupados, true, null), Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta los ordinales del resultado en cada lista de publicación de las facetas.
+     * Si el resultado es el catálogo completo basta la cardinalidad de cada lista.
+     */
+    private FacetasBusqueda contarFacetas(BitSet resultado, int maxArtistas) {
+        boolean completo = resultado.equals(ocupados);
+        BitSet auxiliar = new BitSet();
+
+        Map<String, Long> conteoGeneros = FacetasBusqueda.ordenarPorConteo(
+                contarPorValor(porGenero, generos, resultado, completo, auxiliar), Integer.MAX_VALUE);
+        Map<String, Long> conteoArtistas = FacetasBusqueda.ordenarPorConteo(
+                contarPorValor(porArtista, artistas, resultado, completo, auxiliar), maxArtistas);
+
+        Map<Integer, Long> decadas = new TreeMap<>();
+        for (Map.Entry<Integer, BitSet> entrada : porAño.entrySet()) {
+            long conteo = interseccion(entrada.getValue(), resultado, completo, auxiliar);
+            if (conteo > 0) {
+                decadas.merge(Math.floorDiv(entrada.getKey(), 10) * 10, conteo, Long::sum);
+            }
+        }
+        return new FacetasBusqueda(conteoGeneros, conteoArtistas, decadas);
+    }
+
+    /**
+     * Cuenta el resultado en cada lista de publicación, etiquetando cada valor con la
+     * forma original registrada en el diccionario.
+     */
+    private static Map<String, Long> contarPorValor(List<BitSet> postings, DiccionarioClaves diccionario,
+                                                    BitSet resultado, boolean completo, BitSet auxiliar) {
+        Map<String, Long> conteos = new HashMap<>();
+        if (resultado.isEmpty()) {
+            return conteos;
+        }
+        for (int id = 0; id < postings.size(); id++) {
+            long conteo = interseccion(postings.get(id), resultado, completo, auxiliar);
+            if (conteo > 0) {
+                conteos.put(diccionario.etiqueta(id), conteo);
+            }
+        }
+        return conteos;
+    }
+
+    /**
+     * Cardinalidad de la intersección de una lista de publicación con el resultado,
+     * reutilizando un bitset auxiliar para no reservar memoria por cada valor.
+     */
+    private static long interseccion(BitSet posting, BitSet resultado, boolean completo, BitSet auxiliar) {
+        if (completo) {
+            return posting.cardinality();
+        }
+        if (!posting.intersects(resultado)) {
+            return 0;
+        }
+        auxiliar.clear();
+        auxiliar.or(posting);
+        auxiliar.and(resultado);
+        return auxiliar.cardinality();
+    }
+
+    /**
+     * Evalúa una subconsulta materializando su bitset de resultados.
+     */
+    private BitSet evaluar(NodoConsulta nodo) {
+        if (nodo instanceof Termino termino) {
+            BitSet posting = posting(termino);
+            return posting != null ? (BitSet) posting.clone() : new BitSet();
+        }
+        if (nodo instanceof Rango rango) {
+            return rango.getCampo() == Campo.AÑO
+                    ? rangoAños(rango.getMinimo(), rango.getMaximo())
+                    : rangoDuracion(rango.getMinimo(), rango.getMaximo());
+        }
+        if (nodo instanceof Disyuncion disyuncion) {
+            BitSet union = new BitSet();
+            disyuncion.getHijos().forEach(hijo -> union.or(evaluar(hijo)));
+            return union;
+        }
+        if (nodo instanceof Negacion negacion) {
+            BitSet complemento = (BitSet) ocupados.clone();
+            complemento.andNot(evaluar(negacion.getHijo()));
+            return complemento;
+        }
+
+        List<NodoConsulta> plan = planificar(((Conjuncion) nodo).getHijos());
+        if (plan == null) {
+            return new BitSet();
+        }
+        BitSet resultado = evaluar(plan.get(0));
+        for (int i = 1; i < plan.size() && !resultado.isEmpty(); i++) {
+            restringir(resultado, plan.get(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Filtra en el lugar los candidatos que cumplen una subconsulta.
+     * Complejidad: O(k) para rangos, donde k es el número de candidatos
+     */
+    private void restringir(BitSet candidatos, NodoConsulta nodo) {
+        if (nodo instanceof Termino termino) {
+            BitSet posting = posting(termino);
+            if (posting == null) {
+                candidatos.clear();
+            } else {
+                candidatos.and(posting);
+            }
+        } else if (nodo instanceof Rango rango) {
+            int minimo = rango.getMinimo() != null ? rango.getMinimo() : Integer.MIN_VALUE;
+            int maximo = rango.getMaximo() != null ? rango.getMaximo() : Integer.MAX_VALUE;
+            for (int i = candidatos.nextSetBit(0); i >= 0; i = candidatos.nextSetBit(i + 1)) {
+                if (!enRango(i, rango.getCampo(), minimo, maximo)) {
+                    candidatos.clear(i);
+                }
+            }
+        } else if (nodo instanceof Disyuncion disyuncion) {
+            // Cada alternativa solo examina los candidatos que aún no cumplen ninguna
+            BitSet pendientes = (BitSet) candidatos.clone();
+            for (NodoConsulta hijo : disyuncion.getHijos()) {
+                if (pendientes.isEmpty()) {
+                    break;
+                }
+                BitSet cumplen = (BitSet) pendientes.clone();
+                restringir(cumplen, hijo);
+                pendientes.andNot(cumplen);
+            }
+            candidatos.andNot(pendientes);
+        } else if (nodo instanceof Negacion negacion) {
+            BitSet cumplen = (BitSet) candidatos.clone();
+            restringir(cumplen, negacion.getHijo());
+            candidatos.andNot(cumplen);
+        } else {
+            List<NodoConsulta> plan = planificar(((Conjuncion) nodo).getHijos());
+            if (plan == null) {
+                candidatos.clear();
+                return;
+            }
+            for (int i = 0; i < plan.size() && !candidatos.isEmpty(); i++) {
+                restringir(candidatos, plan.get(i));
+            }
+        }
+    }
+
+    /**
+     * Ordena las subconsultas de una conjunción de la más a la menos selectiva.
+     *
+     * @return subconsultas ordenadas, o null si alguna no tiene resultados
+     */
+    private List<NodoConsulta> planificar(List<NodoConsulta> hijos) {
+        List<NodoConsulta> plan = new ArrayList<>(hijos);
+        Map<NodoConsulta, Integer> estimaciones = new IdentityHashMap<>();
+        for (NodoConsulta hijo : plan) {
+            int estimacion = estimar(hijo);
+            if (estimacion == 0) {
+                log.debug("Conjunción vacía por la subconsulta {}", hijo);
+                return null;
+            }
+            estimaciones.put(hijo, estimacion);
+        }
+        plan.sort(Comparator.comparingInt(estimaciones::get));
+        log.debug("Plan de conjunción: {}", plan);
+        return plan;
+    }
+
+    /**
+     * Estima el número de resultados de una subconsulta sin materializarla.
+     * Es exacta para términos y rangos, y una cota superior para el resto;
+     * una estimación 0 garantiza que la subconsulta no tiene resultados.
+     */
+    private int estimar(NodoConsulta nodo) {
+        if (nodo instanceof Termino termino) {
+            BitSet posting = posting(termino);
+            return posting != null ? posting.cardinality() : 0;
+        }
+        if (nodo instanceof Rango rango) {
+            return contarRango(rango);
+        }
+        if (nodo instanceof Disyuncion disyuncion) {
+            long suma = 0;
+            for (NodoConsulta hijo : disyuncion.getHijos()) {
+                suma += estimar(hijo);
+            }
+            return (int) Math.min(suma, ordinalPorId.size());
+        }
+        if (nodo instanceof Negacion negacion) {
+            NodoConsulta hijo = negacion.getHijo();
+            boolean exacta = hijo instanceof Termino || hijo instanceof Rango;
+            return exacta ? ordinalPorId.size() - estimar(hijo) : ordinalPorId.size();
+        }
+        int minimo = Integer.MAX_VALUE;
+        for (NodoConsulta hijo : ((Conjuncion) nodo).getHijos()) {
+            minimo = Math.min(minimo, estimar(hijo));
+        }
+        return minimo;
+    }
+
+    /**
+     * Cuenta las canciones de un rango sin materializarlo.
+     */
+    private int contarRango(Rango rango) {
+        if (rango.getCampo() == Campo.AÑO) {
+            int total = 0;
+            for (BitSet posting : subRangoAños(rango.getMinimo(), rango.getMaximo()).values()) {
+                total += posting.cardinality();
+            }
+            return total;
+        }
+        OrdenDuracion orden = obtenerOrdenDuracion();
+        int desde = orden.primeraPosicion(rango.getMinimo() != null ? rango.getMinimo() : Integer.MIN_VALUE);
+        int hasta = rango.getMaximo() == null || rango.getMaximo() == Integer.MAX_VALUE
+                ? orden.duraciones.length
+                : orden.primeraPosicion(rango.getMaximo() + 1);
+        return Math.max(0, hasta - desde);
+    }
+
+    /**
+     * Indica si el valor numérico de un ordinal está en el rango [minimo, maximo].
+     */
+    private boolean enRango(int ordinal, Campo campo, int minimo, int maximo) {
+        int valor;
+        if (campo == Campo.AÑO) {
+            Integer año = valoresPorOrdinal.get(ordinal).año;
+            if (año == null) {
+                return false;
+            }
+            valor = año;
+        } else {
+            valor = duracionPorOrdinal[ordinal];
+        }
+        return valor >= minimo && valor <= maximo;
+    }
+
+    /**
+     * Lista de publicación de un término de texto, o null si no existe.
+     */
+    private BitSet posting(Termino termino) {
+        boolean esArtista = termino.getCampo() == Campo.ARTISTA;
+        int id = (esArtista ? artistas : generos).buscar(termino.getValor());
+        if (id == DiccionarioClaves.SIN_VALOR) {
+            return null;
+        }
+        BitSet posting = (esArtista ? porArtista : porGenero).get(id);
+        return posting.isEmpty() ? null : posting;
+    }
+
+    /**
+     * Une las listas de publicación de los años del rango [minimo, maximo].
+     */
+    private BitSet rangoAños(Integer minimo, Integer maximo) {
+        BitSet union = new BitSet();
+        subRangoAños(minimo, maximo).values().forEach(union::or);
+        return union;
+    }
+
+    private NavigableMap<Integer, BitSet> subRangoAños(Integer minimo, Integer maximo) {
+        return porAño.subMap(
+                minimo != null ? minimo : Integer.MIN_VALUE, true,
+                maximo != null ? maximo : Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Ordinales con duración en el rango [minimo, maximo], localizados por búsqueda
+     * binaria sobre el orden por duración.
+     */
+    private BitSet rangoDuracion(Integer minimo, Integer maximo) {
+        OrdenDuracion orden = obtenerOrdenDuracion();
+        int desde = minimo != null ? minimo : Integer.MIN_VALUE;
+        int hasta = maximo != null ? maximo : Integer.MAX_VALUE;
+
+        BitSet resultado = new BitSet();
+        for (int i = orden.primeraPosicion(desde); i < orden.duraciones.length && orden.duraciones[i] <= hasta; i++) {
+            resultado.set(orden.ordinales[i]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el orden por duración, calculándolo si el catálogo cambió. Se invoca con el
+     * bloqueo de lectura tomado, por lo que ningún escritor modifica los datos mientras
+     * tanto; si dos lectores lo calculan a la vez obtienen el mismo resultado.
+     */
+    private OrdenDuracion obtenerOrdenDuracion() {
+        OrdenDuracion orden = ordenDuracion;
+        if (orden == null) {
+            orden = OrdenDuracion.construir(ocupados, duracionPorOrdinal);
+            ordenDuracion = orden;
+        }
+        return orden;
+    }
+
+    /**
+     * Obtiene las canciones indexadas con los ids dados, en el mismo orden.
+     * Complejidad: O(k) donde k es el número de ids
+     *
+     * @param ids ids de las canciones
+     * @return canciones encontradas (se omiten los ids no indexados)
+     */
+    public List<Cancion> obtener(long[] ids) {
+        lock.readLock().lock();
+        try {
+            List<Cancion> canciones = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                Integer ordinal = ordinalPorId.get(id);
+                if (ordinal != null) {
+                    canciones.add(cancionesPorOrdinal.get(ordinal));
+                }
+            }
+            return canciones;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice.
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            cancionesPorOrdinal.clear();
+            valoresPorOrdinal.clear();
+            ordinalPorId.clear();
+            ocupados.clear();
+            artistas.limpiar();
+            generos.limpiar();
+            porArtista.clear();
+            porGenero.clear();
+            porAño.clear();
+            Arrays.fill(duracionPorOrdinal, 0);
+            ordenDuracion = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de canciones indexadas.
+     *
+     * @return número de canciones
+     */
+    public int tamaño() {
+        lock.readLock().lock();
+        try {
+            return ordinalPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Convierte un bitset de ordinales en la lista de canciones correspondiente.
+     */
+    private List<Cancion> resolver(BitSet ordinales) {
+        List<Cancion> canciones = new ArrayList<>(ordinales.cardinality());
+        for (int i = ordinales.nextSetBit(0); i >= 0; i = ordinales.nextSetBit(i + 1)) {
+            canciones.add(cancionesPorOrdinal.get(i));
+        }
+        return canciones;
+    }
+
+    private boolean eliminarSinBloqueo(Long id) {
+        Integer ordinal = ordinalPorId.remove(id);
+        if (ordinal == null) {
+            return false;
+        }
+
+        ValoresIndexados valores = valoresPorOrdinal.get(ordinal);
+        if (valores.artista != DiccionarioClaves.SIN_VALOR) {
+            porArtista.get(valores.artista).clear(ordinal);
+        }
+        if (valores.genero != DiccionarioClaves.SIN_VALOR) {
+            porGenero.get(valores.genero).clear(ordinal);
+        }
+        limpiarPosting(porAño, valores.año, ordinal);
+
+        cancionesPorOrdinal.set(ordinal, null);
+        valoresPorOrdinal.set(ordinal, null);
+        duracionPorOrdinal[ordinal] = 0;
+        ocupados.clear(ordinal);
+        ordenDuracion = null;
+        return true;
+    }
+
+    /**
+     * Quita un ordinal de una lista de publicación y la elimina si queda vacía.
+     */
+    private static <K> void limpiarPosting(Map<K, BitSet> postings, K clave, int ordinal) {
+        if (clave == null) {
+            return;
+        }
+        BitSet posting = postings.get(clave);
+        if (posting != null) {
+            posting.clear(ordinal);
+            if (posting.isEmpty()) {
+                postings.remove(clave);
+            }
+        }
+    }
+
+    private static <T> void asignar(List<T> lista, int posicion, T valor) {
+        if (posicion == lista.size()) {
+            lista.add(valor);
+        } else {
+            lista.set(posicion, valor);
+        }
+    }
+
+    /**
+     * Lista de publicación del id de un diccionario, creándola si es nueva.
+     */
+    private static BitSet lista(List<BitSet> postings, int id) {
+        while (postings.size() <= id) {
+            postings.add(new BitSet());
+        }
+        return postings.get(id);
+    }
+
+    /**
+     * Clase auxiliar con los valores indexados de una canción.
+     */
+    private static class ValoresIndexados {
+        private final int artista;
+        private final int genero;
+        private final Integer año;
+
+        ValoresIndexados(int artista, int genero, Integer año) {
+            this.artista = artista;
+            this.genero = genero;
+            this.año = año;
+        }
+    }
+
+    /**
+     * Ordinales ordenados por duración, en dos arreglos primitivos paralelos.
+     */
+    private static class OrdenDuracion {
+        private final int[] duraciones;
+        private final int[] ordinales;
+
+        private OrdenDuracion(int[] duraciones, int[] ordinales) {
+            this.duraciones = duraciones;
+            this.ordinales = ordinales;
+        }
+
+        /**
+         * Ordena los ordinales ocupados por duración empaquetando (duración, ordinal)
+         * en un long para ordenar un único arreglo primitivo.
+         * Complejidad: O(n log n)
+         */
+        static OrdenDuracion construir(BitSet ocupados, int[] duracionPorOrdinal) {
+            long[] empaquetados = new long[ocupados.cardinality()];
+            int n = 0;
+            for (int i = ocupados.nextSetBit(0); i >= 0; i = ocupados.nextSetBit(i + 1)) {
+                empaquetados[n++] = ((long) duracionPorOrdinal[i] << 32) | i;
+            }
+            Arrays.sort(empaquetados);
+
+            int[] duraciones = new int[n];
+            int[] ordinales = new int[n];
+            for (int i = 0; i < n; i++) {
+                duraciones[i] = (int) (empaquetados[i] >> 32);
+                ordinales[i] = (int) empaquetados[i];
+            }
+            return new OrdenDuracion(duraciones, ordinales);
+        }
+
+        /**
+         * Primera posición con duración mayor o igual a la dada (búsqueda binaria).
+         */
+        int primeraPosicion(int duracion) {
+            int bajo = 0;
+            int alto = duraciones.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (duraciones[medio] < duracion) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+    }
+}
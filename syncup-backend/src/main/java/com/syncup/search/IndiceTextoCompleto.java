@@ -0,0 +1,422 @@
+package com.syncup.search;
+
+import com.syncup.dto.ResultadoBusquedaTexto;
+import com.syncup.model.Cancion;
+import com.syncup.util.NormalizadorTexto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de texto completo en memoria sobre títulos y artistas, con ranking BM25.
+ *
+ * - Tokenización: el texto se normaliza con {@link NormalizadorTexto} (sin acentos,
+ *   minúsculas, puntuación colapsada) y se separa en palabras.
+ * - Listas de publicación: por cada término, los documentos que lo contienen (en orden
+ *   creciente) y su frecuencia. Las palabras del título cuentan {@link #PESO_TITULO}
+ *   veces, de modo que una coincidencia en el título pesa más que en el artista.
+ * - Recuperación top-K con WAND: cada término tiene una cota superior de su aportación
+ *   BM25; solo se puntúan los documentos cuya suma de cotas puede superar al K-ésimo
+ *   mejor resultado encontrado hasta el momento, saltando el resto de cada lista.
+ *
+ * Las bajas marcan el documento como eliminado; cuando los eliminados superan una
+ * cuarta parte del índice, este se compacta.
+ *
+ * Lecturas concurrentes protegidas con un {@link ReadWriteLock}.
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class IndiceTextoCompleto {
+
+    /**
+     * Parámetro de saturación de frecuencia de BM25.
+     */
+    public static final double K1 = 1.2;
+
+    /**
+     * Parámetro de normalización por longitud de BM25.
+     */
+    public static final double B = 0.75;
+
+    /**
+     * Número de veces que cuenta cada palabra del título frente a las del artista.
+     */
+    public static final int PESO_TITULO = 2;
+
+    private final Map<String, Integer> idPorTermino = new HashMap<>();
+    private final List<ListaPublicacion> publicaciones = new ArrayList<>();
+
+    private final List<Cancion> cancionPorDoc = new ArrayList<>();
+    private final List<int[]> terminosPorDoc = new ArrayList<>();
+    private int[] longitudPorDoc = new int[16];
+    private final Map<Long, Integer> docPorId = new HashMap<>();
+    private final BitSet eliminados = new BitSet();
+
+    private int documentosVivos;
+    private long sumaLongitudes;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa (o reindexa) el título y el artista de una canción.
+     * Complejidad: O(t) donde t es el número de palabras
+     *
+     * @param cancion canción a indexar
+     */
+    public void agregar(Cancion cancion) {
+        if (cancion == null || cancion.getId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            eliminarSinBloqueo(cancion.getId());
+            agregarSinBloqueo(cancion);
+            compactarSiHaceFalta();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina una canción del índice.
+     * Complejidad: O(t) amortizado
+     *
+     * @param id identificador de la canción
+     * @return true si la canción estaba indexada
+     */
+    public boolean eliminar(Long id) {
+        if (id == null) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            boolean eliminado = eliminarSinBloqueo(id);
+            compactarSiHaceFalta();
+            return eliminado;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca las K canciones más relevantes para el texto dado (cualquiera de sus palabras),
+     * ordenadas por puntuación BM25 descendente.
+     * Complejidad: O(q log d) por documento puntuado, donde q es el número de palabras
+     * de la consulta; los documentos que no pueden entrar en el top-K se saltan
+     *
+     * @param texto texto de búsqueda
+     * @param limite número máximo de resultados (K)
+     * @return resultados con su puntuación
+     */
+    public List<ResultadoBusquedaTexto> buscar(String texto, int limite) {
+        if (limite <= 0) {
+            return List.of();
+        }
+        Map<String, Integer> frecuenciasConsulta = contarTerminos(texto, 1, new LinkedHashMap<>());
+        if (frecuenciasConsulta.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documentosVivos == 0) {
+                return List.of();
+            }
+            double longitudMedia = (double) sumaLongitudes / documentosVivos;
+
+            List<Cursor> cursores = new ArrayList<>();
+            for (String termino : frecuenciasConsulta.keySet()) {
+                Integer id = idPorTermino.get(termino);
+                if (id != null && publicaciones.get(id).frecuenciaDocumental > 0) {
+                    cursores.add(new Cursor(publicaciones.get(id), longitudMedia));
+                }
+            }
+            return wand(cursores, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice.
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            idPorTermino.clear();
+            publicaciones.clear();
+            cancionPorDoc.clear();
+            terminosPorDoc.clear();
+            docPorId.clear();
+            eliminados.clear();
+            documentosVivos = 0;
+            sumaLongitudes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de canciones indexadas.
+     *
+     * @return número de canciones
+     */
+    public int tamaño() {
+        lock.readLock().lock();
+        try {
+            return documentosVivos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Algoritmo WAND: en cada paso se elige como pivote el primer documento (en orden de
+     * cursores) en el que la suma de cotas superiores supera el umbral del top-K. Si todos
+     * los cursores anteriores ya están en el pivote, se puntúa; si no, se avanzan hasta él,
+     * saltando los documentos intermedios, que no pueden superar el umbral.
+     */
+    private List<ResultadoBusquedaTexto> wand(List<Cursor> cursores, int limite) {
+        // Montículo de mínimos: el peor resultado del top-K en la cima
+        PriorityQueue<double[]> mejores = new PriorityQueue<>(
+                Comparator.<double[]>comparingDouble(r -> r[1]).thenComparing(r -> -r[0]));
+        Comparator<Cursor> porDocumento = Comparator.comparingInt(Cursor::documento);
+
+        while (true) {
+            double umbral = mejores.size() < limite ? 0.0 : mejores.peek()[1];
+
+            cursores.sort(porDocumento);
+            double acumulado = 0;
+            int pivote = -1;
+            for (int i = 0; i < cursores.size() && !cursores.get(i).agotado(); i++) {
+                acumulado += cursores.get(i).cotaSuperior;
+                if (acumulado > umbral) {
+                    pivote = i;
+                    break;
+                }
+            }
+            if (pivote < 0) {
+                break;
+            }
+
+            int documentoPivote = cursores.get(pivote).documento();
+            if (cursores.get(0).documento() == documentoPivote) {
+                double puntuacion = 0;
+                for (Cursor cursor : cursores) {
+                    if (cursor.documento() == documentoPivote) {
+                        puntuacion += cursor.puntuar();
+                        cursor.siguiente();
+                    }
+                }
+                if (!eliminados.get(documentoPivote) && (mejores.size() < limite || puntuacion > umbral)) {
+                    mejores.add(new double[]{documentoPivote, puntuacion});
+                    if (mejores.size() > limite) {
+                        mejores.poll();
+                    }
+                }
+            } else {
+                for (int i = 0; i < pivote; i++) {
+                    cursores.get(i).avanzarHasta(documentoPivote);
+                }
+            }
+        }
+
+        List<ResultadoBusquedaTexto> resultados = new ArrayList<>(mejores.size());
+        while (!mejores.isEmpty()) {
+            double[] mejor = mejores.poll();
+            resultados.add(new ResultadoBusquedaTexto(cancionPorDoc.get((int) mejor[0]), mejor[1]));
+        }
+        Collections.reverse(resultados);
+        return resultados;
+    }
+
+    private void agregarSinBloqueo(Cancion cancion) {
+        Map<String, Integer> frecuencias = new LinkedHashMap<>();
+        contarTerminos(cancion.getTitulo(), PESO_TITULO, frecuencias);
+        contarTerminos(cancion.getArtista(), 1, frecuencias);
+
+        int doc = cancionPorDoc.size();
+        int longitud = frecuencias.values().stream().mapToInt(Integer::intValue).sum();
+        int[] terminos = new int[frecuencias.size()];
+        int t = 0;
+        for (Map.Entry<String, Integer> entrada : frecuencias.entrySet()) {
+            int id = idPorTermino.computeIfAbsent(entrada.getKey(), k -> {
+                publicaciones.add(new ListaPublicacion());
+                return publicaciones.size() - 1;
+            });
+            publicaciones.get(id).agregar(doc, entrada.getValue(), longitud);
+            terminos[t++] = id;
+        }
+
+        cancionPorDoc.add(cancion);
+        terminosPorDoc.add(terminos);
+        if (doc >= longitudPorDoc.length) {
+            longitudPorDoc = Arrays.copyOf(longitudPorDoc, longitudPorDoc.length * 2);
+        }
+        longitudPorDoc[doc] = longitud;
+        docPorId.put(cancion.getId(), doc);
+        documentosVivos++;
+        sumaLongitudes += longitud;
+    }
+
+    private boolean eliminarSinBloqueo(Long id) {
+        Integer doc = docPorId.remove(id);
+        if (doc == null) {
+            return false;
+        }
+        for (int termino : terminosPorDoc.get(doc)) {
+            publicaciones.get(termino).frecuenciaDocumental--;
+        }
+        eliminados.set(doc);
+        documentosVivos--;
+        sumaLongitudes -= longitudPorDoc[doc];
+        return true;
+    }
+
+    /**
+     * Compacta el índice cuando los documentos eliminados superan una cuarta parte.
+     */
+    private void compactarSiHaceFalta() {
+        if (eliminados.cardinality() > Math.max(64, cancionPorDoc.size() / 4)) {
+            compactar();
+        }
+    }
+
+    /**
+     * Reconstruye las listas de publicación sin los documentos eliminados.
+     */
+    private void compactar() {
+        List<Cancion> vivas = new ArrayList<>(documentosVivos);
+        for (int doc = 0; doc < cancionPorDoc.size(); doc++) {
+            if (!eliminados.get(doc)) {
+                vivas.add(cancionPorDoc.get(doc));
+            }
+        }
+        log.debug("Compactando índice de texto completo: {} documentos vivos de {}", vivas.size(), cancionPorDoc.size());
+
+        idPorTermino.clear();
+        publicaciones.clear();
+        cancionPorDoc.clear();
+        terminosPorDoc.clear();
+        docPorId.clear();
+        eliminados.clear();
+        documentosVivos = 0;
+        sumaLongitudes = 0;
+        vivas.forEach(this::agregarSinBloqueo);
+    }
+
+    /**
+     * Normaliza un texto, lo separa en palabras y acumula sus frecuencias con el peso dado.
+     */
+    private static Map<String, Integer> contarTerminos(String texto, int peso, Map<String, Integer> destino) {
+        String normalizado = NormalizadorTexto.normalizar(texto);
+        if (!normalizado.isEmpty()) {
+            for (String termino : normalizado.split(" ")) {
+                destino.merge(termino, peso, Integer::sum);
+            }
+        }
+        return destino;
+    }
+
+    /**
+     * Lista de publicación de un término: documentos en orden creciente y sus frecuencias,
+     * con los datos necesarios para acotar su aportación BM25.
+     */
+    private static class ListaPublicacion {
+        private int[] documentos = new int[4];
+        private int[] frecuencias = new int[4];
+        private int tamaño;
+        private int frecuenciaDocumental;
+        private int frecuenciaMaxima;
+        private int longitudMinima = Integer.MAX_VALUE;
+
+        void agregar(int documento, int frecuencia, int longitud) {
+            if (tamaño == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamaño * 2);
+                frecuencias = Arrays.copyOf(frecuencias, tamaño * 2);
+            }
+            documentos[tamaño] = documento;
+            frecuencias[tamaño] = frecuencia;
+            tamaño++;
+            frecuenciaDocumental++;
+            frecuenciaMaxima = Math.max(frecuenciaMaxima, frecuencia);
+            longitudMinima = Math.min(longitudMinima, longitud);
+        }
+    }
+
+    /**
+     * Cursor sobre una lista de publicación durante una consulta.
+     */
+    private class Cursor {
+        private final ListaPublicacion lista;
+        private final double idf;
+        private final double longitudMedia;
+        private final double cotaSuperior;
+        private int posicion;
+
+        Cursor(ListaPublicacion lista, double longitudMedia) {
+            this.lista = lista;
+            this.longitudMedia = longitudMedia;
+            int df = lista.frecuenciaDocumental;
+            this.idf = Math.log(1 + (documentosVivos - df + 0.5) / (df + 0.5));
+            // BM25 crece con la frecuencia y decrece con la longitud: la cota usa la
+            // frecuencia máxima y la longitud mínima vistas en la lista
+            this.cotaSuperior = bm25(lista.frecuenciaMaxima, lista.longitudMinima);
+        }
+
+        int documento() {
+            return posicion < lista.tamaño ? lista.documentos[posicion] : Integer.MAX_VALUE;
+        }
+
+        boolean agotado() {
+            return posicion >= lista.tamaño;
+        }
+
+        double puntuar() {
+            return bm25(lista.frecuencias[posicion], longitudPorDoc[lista.documentos[posicion]]);
+        }
+
+        void siguiente() {
+            posicion++;
+        }
+
+        /**
+         * Avanza hasta el primer documento mayor o igual al objetivo
+         * (búsqueda exponencial seguida de búsqueda binaria).
+         */
+        void avanzarHasta(int objetivo) {
+            int paso = 1;
+            int alto = posicion;
+            while (alto < lista.tamaño && lista.documentos[alto] < objetivo) {
+                posicion = alto + 1;
+                alto += paso;
+                paso <<= 1;
+            }
+            int indice = Arrays.binarySearch(lista.documentos, posicion, Math.min(alto, lista.tamaño), objetivo);
+            if (indice >= 0) {
+                posicion = indice;
+            } else {
+                posicion = -indice - 1;
+            }
+        }
+
+        private double bm25(int frecuencia, int longitud) {
+            double normalizacion = K1 * (1 - B + B * longitud / longitudMedia);
+            return idf * frecuencia * (K1 + 1) / (frecuencia + normalizacion);
+        }
+    }
+}
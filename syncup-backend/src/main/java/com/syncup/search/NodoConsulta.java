@@ -0,0 +1,183 @@
+package com.syncup.search;
+
+import java.util.List;
+
+/**
+ * Árbol de una consulta booleana de búsqueda avanzada.
+ *
+ * Tanto los criterios estructurados de {@link com.syncup.dto.SearchRequest} como el
+ * lenguaje de consultas (por ejemplo {@code genre:rock AND (artist:queen OR year:[1975 TO 1980])})
+ * se compilan a este árbol, que evalúan el índice invertido y la base de datos.
+ *
+ * - {@link Termino}: igualdad sobre un campo de texto (artista, género)
+ * - {@link Rango}: rango inclusivo sobre un campo numérico (año, duración); un valor
+ *   exacto es un rango con ambos extremos iguales
+ * - {@link Conjuncion}, {@link Disyuncion}, {@link Negacion}: AND, OR y NOT
+ *
+ * @author SyncUp Team
+ */
+public abstract class NodoConsulta {
+
+    private NodoConsulta() {
+        // Solo las subclases anidadas
+    }
+
+    /**
+     * Campos consultables.
+     */
+    public enum Campo {
+        ARTISTA(false),
+        GENERO(false),
+        AÑO(true),
+        DURACION(true);
+
+        private final boolean numerico;
+
+        Campo(boolean numerico) {
+            this.numerico = numerico;
+        }
+
+        public boolean esNumerico() {
+            return numerico;
+        }
+    }
+
+    /**
+     * Igualdad sobre un campo de texto.
+     */
+    public static final class Termino extends NodoConsulta {
+        private final Campo campo;
+        private final String valor;
+
+        public Termino(Campo campo, String valor) {
+            this.campo = campo;
+            this.valor = valor;
+        }
+
+        public Campo getCampo() {
+            return campo;
+        }
+
+        public String getValor() {
+            return valor;
+        }
+
+        @Override
+        public String toString() {
+            return campo.name().toLowerCase() + ":\"" + valor + "\"";
+        }
+    }
+
+    /**
+     * Rango inclusivo sobre un campo numérico; un extremo null no tiene límite.
+     */
+    public static final class Rango extends NodoConsulta {
+        private final Campo campo;
+        private final Integer minimo;
+        private final Integer maximo;
+
+        public Rango(Campo campo, Integer minimo, Integer maximo) {
+            this.campo = campo;
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        public Campo getCampo() {
+            return campo;
+        }
+
+        public Integer getMinimo() {
+            return minimo;
+        }
+
+        public Integer getMaximo() {
+            return maximo;
+        }
+
+        @Override
+        public String toString() {
+            return campo.name().toLowerCase() + ":[" + (minimo != null ? minimo : "*")
+                    + " TO " + (maximo != null ? maximo : "*") + "]";
+        }
+    }
+
+    /**
+     * Conjunción (AND) de varias subconsultas.
+     */
+    public static final class Conjuncion extends NodoConsulta {
+        private final List<NodoConsulta> hijos;
+
+        public Conjuncion(List<NodoConsulta> hijos) {
+            this.hijos = List.copyOf(hijos);
+        }
+
+        public List<NodoConsulta> getHijos() {
+            return hijos;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + String.join(" AND ", hijos.stream().map(Object::toString).toList()) + ")";
+        }
+    }
+
+    /**
+     * Disyunción (OR) de varias subconsultas.
+     */
+    public static final class Disyuncion extends NodoConsulta {
+        private final List<NodoConsulta> hijos;
+
+        public Disyuncion(List<NodoConsulta> hijos) {
+            this.hijos = List.copyOf(hijos);
+        }
+
+        public List<NodoConsulta> getHijos() {
+            return hijos;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + String.join(" OR ", hijos.stream().map(Object::toString).toList()) + ")";
+        }
+    }
+
+    /**
+     * Negación (NOT) de una subconsulta.
+     */
+    public static final class Negacion extends NodoConsulta {
+        private final NodoConsulta hijo;
+
+        public Negacion(NodoConsulta hijo) {
+            this.hijo = hijo;
+        }
+
+        public NodoConsulta getHijo() {
+            return hijo;
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + hijo;
+        }
+    }
+
+    /**
+     * Combina subconsultas con AND, evitando anidar un único hijo.
+     *
+     * @param hijos subconsultas (al menos una)
+     * @return la única subconsulta o su conjunción
+     */
+    public static NodoConsulta y(List<NodoConsulta> hijos) {
+        return hijos.size() == 1 ? hijos.get(0) : new Conjuncion(hijos);
+    }
+
+    /**
+     * Combina subconsultas con OR, evitando anidar un único hijo.
+     *
+     * @param hijos subconsultas (al menos una)
+     * @return la única subconsulta o su disyunción
+     */
+    public static NodoConsulta o(List<NodoConsulta> hijos) {
+        return hijos.size() == 1 ? hijos.get(0) : new Disyuncion(hijos);
+    }
+}
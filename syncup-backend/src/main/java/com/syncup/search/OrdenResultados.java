@@ -0,0 +1,246 @@
+package com.syncup.search;
+
+import com.syncup.model.Cancion;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Orden de los resultados de búsqueda y cursores de paginación por clave (keyset).
+ *
+ * El orden se indica como {@code campo[,asc|desc]}, con campo title/titulo,
+ * year/año o duration/duracion (por defecto id ascendente). El id desempata siempre
+ * en la misma dirección, de modo que el orden es total y estable entre páginas.
+ *
+ * Un cursor codifica la clave de ordenación (valor e id) del último resultado de una
+ * página; la siguiente página empieza en el primer resultado posterior a esa clave,
+ * sin desplazamientos (OFFSET) que recorran las filas anteriores.
+ *
+ * @author SyncUp Team
+ */
+public final class OrdenResultados {
+
+    /**
+     * Campos por los que se puede ordenar.
+     */
+    public enum Criterio {
+        ID("id", Cancion::getId),
+        TITULO("titulo", Cancion::getTitulo),
+        AÑO("año", Cancion::getAño),
+        DURACION("duracion", Cancion::getDuracion);
+
+        private final String atributo;
+        private final Function<Cancion, Comparable<?>> valor;
+
+        Criterio(String atributo, Function<Cancion, Comparable<?>> valor) {
+            this.atributo = atributo;
+            this.valor = valor;
+        }
+
+        /**
+         * Nombre del atributo JPA de la entidad {@link Cancion}.
+         */
+        public String getAtributo() {
+            return atributo;
+        }
+    }
+
+    /**
+     * Orden por defecto: id ascendente.
+     */
+    public static final OrdenResultados POR_ID = new OrdenResultados(Criterio.ID, false);
+
+    private static final Map<String, Criterio> NOMBRES = Map.of(
+            "id", Criterio.ID,
+            "title", Criterio.TITULO,
+            "titulo", Criterio.TITULO,
+            "título", Criterio.TITULO,
+            "year", Criterio.AÑO,
+            "año", Criterio.AÑO,
+            "duration", Criterio.DURACION,
+            "duracion", Criterio.DURACION,
+            "duración", Criterio.DURACION);
+
+    private final Criterio criterio;
+    private final boolean descendente;
+
+    private OrdenResultados(Criterio criterio, boolean descendente) {
+        this.criterio = criterio;
+        this.descendente = descendente;
+    }
+
+    /**
+     * Interpreta un orden con el formato {@code campo[,asc|desc]}.
+     *
+     * @param orden texto del orden (null o vacío equivale a id ascendente)
+     * @return orden de resultados
+     * @throws IllegalArgumentException si el campo o la dirección no son válidos
+     */
+    public static OrdenResultados analizar(String orden) {
+        if (orden == null || orden.isBlank()) {
+            return POR_ID;
+        }
+        String[] partes = orden.trim().split("\\s*,\\s*", 2);
+        Criterio criterio = NOMBRES.get(partes[0].toLowerCase(Locale.ROOT));
+        if (criterio == null) {
+            throw new IllegalArgumentException("No se puede ordenar por '" + partes[0]
+                    + "' (use title, year o duration)");
+        }
+        boolean descendente = false;
+        if (partes.length > 1) {
+            String direccion = partes[1].toLowerCase(Locale.ROOT);
+            if (!direccion.equals("asc") && !direccion.equals("desc")) {
+                throw new IllegalArgumentException("Dirección de orden no válida '" + partes[1] + "' (use asc o desc)");
+            }
+            descendente = direccion.equals("desc");
+        }
+        return new OrdenResultados(criterio, descendente);
+    }
+
+    public Criterio getCriterio() {
+        return criterio;
+    }
+
+    public boolean esDescendente() {
+        return descendente;
+    }
+
+    /**
+     * Orden equivalente para Spring Data, con el id como desempate.
+     *
+     * @return orden de la consulta
+     */
+    public Sort aSort() {
+        Sort.Direction direccion = descendente ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (criterio == Criterio.ID) {
+            return Sort.by(direccion, "id");
+        }
+        return Sort.by(direccion, criterio.getAtributo(), "id");
+    }
+
+    /**
+     * Comparador en memoria equivalente a {@link #aSort()}.
+     *
+     * @return comparador de canciones
+     */
+    public Comparator<Cancion> comparador() {
+        Comparator<Cancion> comparador = Comparator.comparing(this::clave, OrdenResultados::comparar);
+        return descendente ? comparador.reversed() : comparador;
+    }
+
+    /**
+     * Codifica el cursor que apunta a la posición de una canción en este orden.
+     *
+     * @param cancion última canción de una página
+     * @return cursor opaco (Base64 URL)
+     */
+    public String cursor(Cancion cancion) {
+        Object valor = criterio == Criterio.ID ? "" : criterio.valor.apply(cancion);
+        String texto = criterio.name() + "|" + (descendente ? "d" : "a") + "|" + cancion.getId() + "|" + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Posición de una canción en este orden.
+     *
+     * @param cancion canción
+     * @return su posición
+     */
+    public Posicion posicionDe(Cancion cancion) {
+        Comparable<?> valor = criterio == Criterio.ID ? cancion.getId() : criterio.valor.apply(cancion);
+        return new Posicion(valor, cancion.getId());
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #cursor(Cancion)} con este mismo orden.
+     *
+     * @param cursor cursor opaco
+     * @return posición que codifica
+     * @throws IllegalArgumentException si el cursor no es válido o corresponde a otro orden
+     */
+    public Posicion posicion(String cursor) {
+        String[] partes;
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor no válido");
+        }
+        if (partes.length != 4) {
+            throw new IllegalArgumentException("Cursor no válido");
+        }
+        if (!partes[0].equals(criterio.name()) || !partes[1].equals(descendente ? "d" : "a")) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+        }
+        try {
+            long id = Long.parseLong(partes[2]);
+            Comparable<?> valor = switch (criterio) {
+                case ID -> id;
+                case TITULO -> partes[3];
+                case AÑO, DURACION -> Integer.valueOf(partes[3]);
+            };
+            return new Posicion(valor, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor no válido");
+        }
+    }
+
+    /**
+     * Indica si una canción va después de una posición en este orden.
+     *
+     * @param cancion canción a comprobar
+     * @param posicion posición de referencia
+     * @return true si la canción es posterior
+     */
+    public boolean esPosterior(Cancion cancion, Posicion posicion) {
+        int comparacion = comparar(clave(cancion), new Object[]{posicion.getValor(), posicion.getId()});
+        return descendente ? comparacion < 0 : comparacion > 0;
+    }
+
+    private Object[] clave(Cancion cancion) {
+        return new Object[]{criterio.valor.apply(cancion), cancion.getId()};
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int comparar(Object[] a, Object[] b) {
+        for (int i = 0; i < a.length; i++) {
+            Comparable x = (Comparable) a[i];
+            Comparable y = (Comparable) b[i];
+            int comparacion = x == null ? (y == null ? 0 : -1) : (y == null ? 1 : x.compareTo(y));
+            if (comparacion != 0) {
+                return comparacion;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return criterio.getAtributo() + (descendente ? ",desc" : ",asc");
+    }
+
+    /**
+     * Posición decodificada de un cursor: valor del campo de orden e id.
+     */
+    public static final class Posicion {
+        private final Comparable<?> valor;
+        private final long id;
+
+        public Posicion(Comparable<?> valor, long id) {
+            this.valor = valor;
+            this.id = id;
+        }
+
+        public Comparable<?> getValor() {
+            return valor;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.syncup.service;
 
+import com.syncup.dto.PaginaSugerencias;
+import com.syncup.dto.SugerenciaCancion;
 import com.syncup.model.Cancion;
 import com.syncup.repository.CancionRepository;
+import com.syncup.trie.CacheAutocompletado;
+import com.syncup.trie.CursorAutocompletado;
+import com.syncup.trie.EntradaTrie;
 import com.syncup.trie.TrieAutocompletado;
+import com.syncup.util.NormalizadorTexto;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 /**
  * Servicio que gestiona el autocompletado de búsquedas usando Trie.
@@ -19,6 +34,12 @@ import java.util.Map;
  * A partir de esta versión el autocompletado se realiza tanto por
  * título de la canción como por nombre del artista.
  *
+ * La reconstrucción del índice no bloquea las lecturas: se construye un Trie nuevo
+ * aparte, leyendo las canciones por páginas, y se intercambia de forma atómica al
+ * terminar. Las altas, bajas y modificaciones que ocurren durante la reconstrucción
+ * se aplican al Trie vigente y se registran en un diario que se reaplica sobre el
+ * Trie nuevo justo antes del intercambio.
+ *
  * @author SyncUp Team
  */
 @Service
@@ -26,14 +47,54 @@ import java.util.Map;
 @Slf4j
 public class AutocompletadoService {
 
+    /**
+     * Tamaño máximo de página para las sugerencias paginadas.
+     */
+    public static final int LIMITE_MAXIMO_SUGERENCIAS = 50;
+
+    /**
+     * Número de canciones leídas por página durante la reconstrucción.
+     */
+    private static final int TAMAÑO_PAGINA_RECONSTRUCCION = 500;
+
     private final CancionRepository cancionRepository;
 
     /**
-     * Instancia del Trie para búsquedas eficientes por prefijo.
+     * Ejecutor de tareas asíncronas definido en {@link com.syncup.config.AsyncConfig}.
+     */
+    private final Executor taskExecutor;
+
+    /**
+     * Instancia vigente del Trie para búsquedas eficientes por prefijo.
      * Se indexan tanto los títulos de las canciones como los nombres
-     * de los artistas.
+     * de los artistas. Se reemplaza completa al terminar una reconstrucción.
+     */
+    private volatile TrieAutocompletado trie = new TrieAutocompletado();
+
+    /**
+     * Protege el Trie vigente: las consultas toman el bloqueo de lectura y las
+     * modificaciones (y el intercambio final de una reconstrucción) el de escritura.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Caché de resultados por prefijo. Los prefijos de 1 y 2 caracteres quedan fijados;
+     * el resto expira a los 60 segundos o es desalojado por LRU.
      */
-    private final TrieAutocompletado trie = new TrieAutocompletado();
+    private final CacheAutocompletado cache = new CacheAutocompletado(1024, 60_000);
+
+    /**
+     * Diario de modificaciones ocurridas durante una reconstrucción en curso
+     * (null si no hay ninguna). Protegido por el bloqueo de escritura.
+     */
+    private List<Consumer<TrieAutocompletado>> diarioReconstruccion;
+
+    private final AtomicBoolean reconstruccionEnCurso = new AtomicBoolean(false);
+    private final AtomicLong cancionesProcesadas = new AtomicLong();
+    private final AtomicLong reconstruccionesCompletadas = new AtomicLong();
+    private volatile long inicioReconstruccionMillis;
+    private volatile long duracionUltimaReconstruccionMillis;
+    private volatile int operacionesReaplicadas;
 
     /**
      * Inicializa el Trie cargando todas las canciones desde la base de datos.
@@ -43,40 +104,70 @@ public class AutocompletadoService {
     @PostConstruct
     public void inicializar() {
         log.info("Inicializando Trie de autocompletado...");
-        List<Cancion> canciones = cancionRepository.findAll();
-
-        canciones.forEach(this::indexarCancionEnTrie);
-
-        log.info("Trie inicializado con {} canciones", canciones.size());
+        reconstruirDesdeBD();
     }
 
     /**
-     * Indexa una canción en el Trie usando tanto el título como el nombre del artista
+     * Indexa una canción en un Trie usando tanto el título como el nombre del artista
      * (si está disponible).
      *
+     * @param destino Trie donde indexar
      * @param cancion canción a indexar
      */
-    private void indexarCancionEnTrie(Cancion cancion) {
+    private static void indexarCancionEnTrie(TrieAutocompletado destino, Cancion cancion) {
         if (cancion.getTitulo() != null && !cancion.getTitulo().isBlank()) {
-            trie.insertar(cancion.getTitulo(), cancion);
+            destino.insertar(cancion.getTitulo(), cancion);
         }
         if (cancion.getArtista() != null && !cancion.getArtista().isBlank()) {
-            trie.insertar(cancion.getArtista(), cancion);
+            destino.insertar(cancion.getArtista(), cancion);
         }
     }
 
     /**
-     * Elimina del Trie todas las entradas asociadas a una canción
+     * Elimina de un Trie todas las entradas asociadas a una canción
      * (título y artista, si existen).
      *
+     * @param destino Trie del que eliminar
      * @param cancion canción a eliminar del índice
      */
-    private void desindexarCancionEnTrie(Cancion cancion) {
+    private static void desindexarCancionEnTrie(TrieAutocompletado destino, Cancion cancion) {
         if (cancion.getTitulo() != null && !cancion.getTitulo().isBlank()) {
-            trie.eliminar(cancion.getTitulo(), cancion);
+            destino.eliminar(cancion.getTitulo(), cancion);
         }
         if (cancion.getArtista() != null && !cancion.getArtista().isBlank()) {
-            trie.eliminar(cancion.getArtista(), cancion);
+            destino.eliminar(cancion.getArtista(), cancion);
+        }
+    }
+
+    /**
+     * Invalida en caché los prefijos de las claves (título y artista) de una canción.
+     *
+     * @param cancion canción modificada
+     */
+    private void invalidarCache(Cancion cancion) {
+        cache.invalidar(NormalizadorTexto.normalizar(cancion.getTitulo()));
+        cache.invalidar(NormalizadorTexto.normalizar(cancion.getArtista()));
+    }
+
+    /**
+     * Aplica una modificación al Trie vigente y, si hay una reconstrucción en curso,
+     * la registra en el diario para reaplicarla sobre el Trie nuevo.
+     *
+     * @param operacion modificación a aplicar
+     * @param canciones canciones afectadas (para invalidar la caché)
+     */
+    private void modificar(Consumer<TrieAutocompletado> operacion, Cancion... canciones) {
+        lock.writeLock().lock();
+        try {
+            operacion.accept(trie);
+            if (diarioReconstruccion != null) {
+                diarioReconstruccion.add(operacion);
+            }
+            for (Cancion cancion : canciones) {
+                invalidarCache(cancion);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
@@ -85,9 +176,10 @@ public class AutocompletadoService {
      * Requerido según RF-003 y RF-026.
      * Complejidad: O(m + k) donde m es la longitud del prefijo y k es el número de resultados.
      *
-     * Se realiza una deduplicación por identificador de canción, para evitar
-     * que una misma canción aparezca dos veces cuando coincide tanto por título
-     * como por artista.
+     * Los resultados se obtienen a través de {@link CacheAutocompletado}: un prefijo
+     * que extiende otro ya consultado filtra sus candidatos en lugar de recorrer el Trie.
+     * La caché deduplica por identificador de canción, para evitar que una misma
+     * canción aparezca dos veces cuando coincide tanto por título como por artista.
      *
      * @param prefix prefijo de búsqueda (puede ser parte del título o del artista)
      * @return lista de canciones que coinciden con el prefijo
@@ -97,20 +189,92 @@ public class AutocompletadoService {
             return List.of();
         }
 
-        List<Cancion> resultados = trie.buscarPorPrefijo(prefix);
+        String prefijoNormalizado = NormalizadorTexto.normalizar(prefix);
+        if (prefijoNormalizado.isEmpty()) {
+            return List.of();
+        }
 
-        // Deduplicar por id manteniendo el orden de aparición
-        Map<Long, Cancion> porId = new LinkedHashMap<>();
-        for (Cancion c : resultados) {
-            if (c.getId() != null) {
-                porId.putIfAbsent(c.getId(), c);
-            } else {
-                // Si no tiene id (caso raro), igual la dejamos pasar usando hashCode como clave ficticia
-                porId.putIfAbsent((long) c.hashCode(), c);
-            }
+        lock.readLock().lock();
+        try {
+            return cache.obtener(prefijoNormalizado, trie::buscarEntradasPorPrefijo);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene una página de sugerencias ligeras (id, título, artista) para el prefijo dado.
+     * Requerido según RF-003.
+     *
+     * El orden es determinista (clave normalizada y luego id), de modo que el cursor
+     * devuelto permite reanudar el recorrido del Trie sin volver a visitar las
+     * entradas ya entregadas. Una canción que coincide por título y por artista
+     * se entrega una sola vez: bajo su menor clave que comienza con el prefijo.
+     * Complejidad: O(m + p) donde m es la longitud del prefijo y p las entradas visitadas
+     *
+     * @param prefix prefijo de búsqueda
+     * @param cursor cursor opaco de la página anterior, o null para la primera página
+     * @param limite número máximo de sugerencias (entre 1 y {@link #LIMITE_MAXIMO_SUGERENCIAS})
+     * @return página de sugerencias con el cursor de la siguiente página
+     */
+    public PaginaSugerencias buscarSugerencias(String prefix, String cursor, int limite) {
+        String prefijoNormalizado = NormalizadorTexto.normalizar(prefix);
+        if (prefijoNormalizado.isEmpty()) {
+            return new PaginaSugerencias(List.of(), null);
+        }
+
+        int tamañoPagina = Math.max(1, Math.min(limite, LIMITE_MAXIMO_SUGERENCIAS));
+        String claveCursor = null;
+        Long idCursor = null;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorAutocompletado decodificado = CursorAutocompletado.decodificar(cursor);
+            claveCursor = decodificado.getClave();
+            idCursor = decodificado.getId();
+        }
+
+        // Se pide una entrada extra para saber si existe una página siguiente
+        List<EntradaTrie> entradas;
+        lock.readLock().lock();
+        try {
+            entradas = trie.buscarPagina(prefix, claveCursor, idCursor, tamañoPagina + 1,
+                    entrada -> esClavePrincipal(entrada, prefijoNormalizado));
+        } finally {
+            lock.readLock().unlock();
         }
 
-        return List.copyOf(porId.values());
+        boolean hayMas = entradas.size() > tamañoPagina;
+        List<EntradaTrie> pagina = hayMas ? entradas.subList(0, tamañoPagina) : entradas;
+
+        List<SugerenciaCancion> sugerencias = new ArrayList<>(pagina.size());
+        pagina.forEach(entrada -> sugerencias.add(SugerenciaCancion.desde(entrada.getCancion())));
+
+        String siguienteCursor = null;
+        if (hayMas) {
+            EntradaTrie ultima = pagina.get(pagina.size() - 1);
+            siguienteCursor = new CursorAutocompletado(ultima.getClave(), ultima.getCancion().getId()).codificar();
+        }
+
+        return new PaginaSugerencias(sugerencias, siguienteCursor);
+    }
+
+    /**
+     * Indica si la entrada está bajo la menor clave de su canción que comienza con el prefijo.
+     * Así una canción que coincide por título y por artista se pagina una sola vez.
+     *
+     * @param entrada entrada del Trie
+     * @param prefijoNormalizado prefijo consultado, ya normalizado
+     * @return true si la entrada es la ocurrencia principal de la canción
+     */
+    private boolean esClavePrincipal(EntradaTrie entrada, String prefijoNormalizado) {
+        Cancion cancion = entrada.getCancion();
+        String principal = null;
+        for (String texto : new String[]{cancion.getTitulo(), cancion.getArtista()}) {
+            String clave = NormalizadorTexto.normalizar(texto);
+            if (clave.startsWith(prefijoNormalizado) && (principal == null || clave.compareTo(principal) < 0)) {
+                principal = clave;
+            }
+        }
+        return entrada.getClave().equals(principal);
     }
 
     /**
@@ -120,7 +284,7 @@ public class AutocompletadoService {
      * @param cancion canción a agregar
      */
     public void agregarCancion(Cancion cancion) {
-        indexarCancionEnTrie(cancion);
+        modificar(destino -> indexarCancionEnTrie(destino, cancion), cancion);
         log.debug("Canción '{}' agregada al Trie", cancion.getTitulo());
     }
 
@@ -131,33 +295,133 @@ public class AutocompletadoService {
      * @param cancion canción a eliminar
      */
     public void eliminarCancion(Cancion cancion) {
-        desindexarCancionEnTrie(cancion);
+        modificar(destino -> desindexarCancionEnTrie(destino, cancion), cancion);
         log.debug("Canción '{}' eliminada del Trie", cancion.getTitulo());
     }
 
     /**
      * Actualiza una canción en el Trie.
-     * Primero elimina la versión antigua (si existe) y luego agrega la nueva.
+     * Elimina la versión antigua (si existe) y agrega la nueva como una sola modificación,
+     * de modo que ninguna consulta ve la canción ausente entre ambos pasos.
      *
      * @param cancionAnterior canción anterior (si existe)
      * @param cancionNueva    canción nueva
      */
     public void actualizarCancion(Cancion cancionAnterior, Cancion cancionNueva) {
-        if (cancionAnterior != null) {
-            eliminarCancion(cancionAnterior);
+        if (cancionAnterior == null) {
+            agregarCancion(cancionNueva);
+            return;
         }
-        agregarCancion(cancionNueva);
+        modificar(destino -> {
+            desindexarCancionEnTrie(destino, cancionAnterior);
+            indexarCancionEnTrie(destino, cancionNueva);
+        }, cancionAnterior, cancionNueva);
+        log.debug("Canción '{}' actualizada en el Trie", cancionNueva.getTitulo());
     }
 
     /**
      * Reconstruye el Trie desde la base de datos, útil cuando se realizan
      * operaciones masivas (por ejemplo, inicialización de datos).
+     *
+     * El Trie nuevo se construye aparte leyendo las canciones por páginas (paginación
+     * por id, estable ante altas y bajas concurrentes) y se intercambia atómicamente al
+     * final. Mientras tanto el autocompletado sigue respondiendo con el Trie vigente.
+     * Si ya hay una reconstrucción en curso, la llamada no hace nada.
+     * Complejidad: O(n*m) donde n es el número de canciones y m la longitud promedio de las claves
+     */
+    public void reconstruirDesdeBD() {
+        if (!reconstruccionEnCurso.compareAndSet(false, true)) {
+            log.info("Ya hay una reconstrucción del Trie en curso; se omite la solicitud");
+            return;
+        }
+
+        try {
+            log.info("Reconstruyendo Trie de autocompletado desde la base de datos...");
+            inicioReconstruccionMillis = System.currentTimeMillis();
+            cancionesProcesadas.set(0);
+
+            lock.writeLock().lock();
+            try {
+                diarioReconstruccion = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            TrieAutocompletado nuevo = new TrieAutocompletado();
+            long ultimoId = Long.MIN_VALUE;
+            List<Cancion> pagina;
+            do {
+                pagina = cancionRepository.findByIdGreaterThanOrderByIdAsc(
+                        ultimoId, PageRequest.of(0, TAMAÑO_PAGINA_RECONSTRUCCION));
+                for (Cancion cancion : pagina) {
+                    indexarCancionEnTrie(nuevo, cancion);
+                    ultimoId = cancion.getId();
+                }
+                cancionesProcesadas.addAndGet(pagina.size());
+            } while (pagina.size() == TAMAÑO_PAGINA_RECONSTRUCCION);
+
+            lock.writeLock().lock();
+            try {
+                // Reaplicar las modificaciones ocurridas durante la construcción e intercambiar
+                diarioReconstruccion.forEach(operacion -> operacion.accept(nuevo));
+                operacionesReaplicadas = diarioReconstruccion.size();
+                diarioReconstruccion = null;
+                trie = nuevo;
+                cache.limpiar();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            duracionUltimaReconstruccionMillis = System.currentTimeMillis() - inicioReconstruccionMillis;
+            reconstruccionesCompletadas.incrementAndGet();
+            log.info("Trie reconstruido con {} canciones en {} ms ({} operaciones reaplicadas)",
+                    cancionesProcesadas.get(), duracionUltimaReconstruccionMillis, operacionesReaplicadas);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                diarioReconstruccion = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Error reconstruyendo el Trie de autocompletado: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            reconstruccionEnCurso.set(false);
+        }
+    }
+
+    /**
+     * Lanza la reconstrucción del Trie en segundo plano sobre el ejecutor de tareas.
+     *
+     * @return futuro que se completa al terminar la reconstrucción
+     */
+    public CompletableFuture<Void> reconstruirEnSegundoPlano() {
+        return CompletableFuture.runAsync(this::reconstruirDesdeBD, taskExecutor);
+    }
+
+    /**
+     * Obtiene el progreso y la duración de las reconstrucciones del Trie.
+     *
+     * @return mapa con el estado de la reconstrucción
+     */
+    public Map<String, Object> obtenerEstadoReconstruccion() {
+        boolean enCurso = reconstruccionEnCurso.get();
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("enCurso", enCurso);
+        estado.put("cancionesProcesadas", cancionesProcesadas.get());
+        estado.put("transcurridoMs", enCurso ? System.currentTimeMillis() - inicioReconstruccionMillis : 0);
+        estado.put("reconstruccionesCompletadas", reconstruccionesCompletadas.get());
+        estado.put("duracionUltimaMs", duracionUltimaReconstruccionMillis);
+        estado.put("operacionesReaplicadasUltima", operacionesReaplicadas);
+        return estado;
+    }
+
+    /**
+     * Obtiene las métricas de la caché de autocompletado (aciertos, fallos, tasa de acierto).
+     *
+     * @return mapa con las estadísticas de la caché
      */
-    public synchronized void reconstruirDesdeBD() {
-        log.info("Reconstruyendo Trie de autocompletado desde la base de datos...");
-        trie.limpiar();
-        List<Cancion> canciones = cancionRepository.findAll();
-        canciones.forEach(this::indexarCancionEnTrie);
-        log.info("Trie reconstruido con {} canciones", canciones.size());
+    public Map<String, Object> obtenerEstadisticasCache() {
+        return cache.obtenerEstadisticas();
     }
 }
@@ -1,21 +1,45 @@
 package com.syncup.service;
 
+import com.syncup.dto.BusquedaFacetada;
+import com.syncup.dto.FacetasBusqueda;
+import com.syncup.dto.PaginaCanciones;
+import com.syncup.dto.ResultadoBusquedaTexto;
 import com.syncup.dto.SearchRequest;
 import com.syncup.model.Cancion;
 import com.syncup.repository.CancionRepository;
+import com.syncup.repository.CancionSpecifications;
+import com.syncup.search.AnalizadorConsultas;
+import com.syncup.search.CacheResultadosBusqueda;
+import com.syncup.search.NodoConsulta;
+import com.syncup.search.OrdenResultados;
+import com.syncup.util.DiccionarioClaves;
+import com.syncup.util.NormalizadorTexto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Servicio que implementa búsqueda avanzada de canciones con concurrencia.
  * Requerido según RF-004 y RF-030.
  * 
- * Utiliza hilos de ejecución para buscar por diferentes atributos en paralelo.
+ * Las búsquedas se resuelven con el índice invertido en memoria
+ * ({@link IndiceBusquedaService}); mientras no esté cargado, se usan los hilos del
+ * ejecutor de tareas para buscar por diferentes atributos en paralelo en la base de datos,
+ * con un tiempo máximo por criterio. Los resultados se guardan como ids en una caché
+ * acotada ({@link CacheResultadosBusqueda}) que se invalida al cambiar el catálogo.
  * 
  * @author SyncUp Team
  */
@@ -25,137 +49,707 @@ import java.util.concurrent.CompletableFuture;
 public class BusquedaAvanzadaService {
     
     private final CancionRepository cancionRepository;
+    private final IndiceBusquedaService indiceBusquedaService;
+    
+    /**
+     * Ejecutor de tareas asíncronas definido en {@link com.syncup.config.AsyncConfig}.
+     */
+    private final Executor taskExecutor;
+    
+    /**
+     * Caché de resultados (ids) por consulta canónica, invalidada por versión del catálogo.
+     */
+    private final CacheResultadosBusqueda cacheResultados = new CacheResultadosBusqueda(512, 8L * 1024 * 1024);
+    
+    /**
+     * Tiempo máximo de la consulta de cada criterio, en milisegundos (el mismo que
+     * aplica la base de datos a las consultas del repositorio).
+     */
+    public static final long TIEMPO_MAXIMO_CRITERIO_MS = CancionRepository.TIEMPO_MAXIMO_CRITERIO_MS;
+    
+    /**
+     * Tamaño máximo de página para la búsqueda paginada.
+     */
+    public static final int TAMAÑO_MAXIMO_PAGINA = 100;
+    
+    /**
+     * Número de canciones por lote al exportar resultados.
+     */
+    public static final int TAMAÑO_LOTE_EXPORTACION = 500;
+    
+    /**
+     * Número máximo de resultados alcanzables paginando la búsqueda de texto.
+     */
+    public static final int MAXIMO_RESULTADOS_TEXTO = 1000;
     
     /**
      * Realiza una búsqueda avanzada de canciones con múltiples criterios.
-     * Las búsquedas por cada atributo se ejecutan en paralelo usando CompletableFuture.
      * Requerido según RF-004 (búsqueda avanzada) y RF-030 (concurrencia).
      * 
-     * Complejidad: O(n) por cada criterio, ejecutado en paralelo
+     * La solicitud (criterios y consulta booleana opcional) se compila a un
+     * {@link NodoConsulta}. Si el índice invertido está cargado, la búsqueda se resuelve
+     * en memoria con operaciones AND/OR/NOT sobre bitsets. Si no, una consulta booleana
+     * se traduce a una única consulta SQL y los criterios estructurados se buscan en
+     * paralelo contra la base de datos usando CompletableFuture.
+     * 
+     * Antes se consulta la caché de resultados con la forma canónica de la consulta; en un
+     * acierto solo se resuelven los ids guardados (desde el índice o por clave primaria).
+     * 
+     * Complejidad: O(n/64) por criterio con el índice; O(n) por criterio sin él; O(k) en
+     * un acierto de caché, donde k es el número de resultados
      * 
      * @param request criterios de búsqueda
      * @return lista de canciones que coinciden con los criterios
+     * @throws IllegalArgumentException si la consulta no es válida
      */
     public List<Cancion> buscar(SearchRequest request) {
         if (!request.tieneCriterios()) {
             return Collections.emptyList();
         }
+        request.validar();
         
+        NodoConsulta consulta = AnalizadorConsultas.compilar(request);
+        String clave = CacheResultadosBusqueda.clave(consulta);
+        long version = indiceBusquedaService.obtenerVersionCatalogo();
+        
+        long[] idsEnCache = cacheResultados.obtener(clave, version);
+        if (idsEnCache != null) {
+            log.debug("Búsqueda avanzada servida desde caché: {} resultados", idsEnCache.length);
+            return resolverIds(idsEnCache);
+        }
+        
+        List<Cancion> resultado = buscarSinCache(request, consulta);
+        if (resultado == null) {
+            return Collections.emptyList();
+        }
+        cacheResultados.guardar(clave, version, resultado.stream().mapToLong(Cancion::getId).toArray());
+        return resultado;
+    }
+    
+    /**
+     * Resuelve la búsqueda con el índice o, si no está cargado, con la base de datos.
+     * 
+     * @return resultado, o null si la búsqueda falló (no debe guardarse en caché)
+     */
+    private List<Cancion> buscarSinCache(SearchRequest request, NodoConsulta consulta) {
         log.debug("Iniciando búsqueda avanzada con operador: {}", request.getOperador());
+        boolean usarOR = "OR".equalsIgnoreCase(request.getOperador());
         
-        // Búsquedas concurrentes por cada criterio
-        CompletableFuture<List<Cancion>> futuroArtista = buscarPorArtista(request.getArtista());
-        CompletableFuture<List<Cancion>> futuroGenero = buscarPorGenero(request.getGenero());
-        CompletableFuture<List<Cancion>> futuroAno = buscarPorAno(request.getAño());
+        if (indiceBusquedaService.estaListo()) {
+            List<Cancion> resultado = indiceBusquedaService.buscar(consulta);
+            log.debug("Búsqueda avanzada resuelta con el índice: {} resultados", resultado.size());
+            return resultado;
+        }
         
-        // Esperar a que todas las búsquedas terminen
-        CompletableFuture.allOf(futuroArtista, futuroGenero, futuroAno).join();
+        if (request.tieneConsulta()) {
+            // Una consulta booleana se traduce a una única consulta SQL
+            return cancionRepository.findAll(CancionSpecifications.desde(consulta), Sort.by("id"));
+        }
+        
+        // Búsquedas concurrentes por cada criterio presente, en el ejecutor de tareas
+        List<CompletableFuture<List<Cancion>>> futuros = new ArrayList<>(4);
+        if (!request.artistasSolicitados().isEmpty()) futuros.add(buscarPorArtistas(request.artistasSolicitados()));
+        if (!request.generosSolicitados().isEmpty()) futuros.add(buscarPorGeneros(request.generosSolicitados()));
+        if (request.tieneFiltroAño()) futuros.add(buscarPorRangoAños(request.añoMinimo(), request.añoMaximo()));
+        if (request.tieneFiltroDuracion()) {
+            futuros.add(buscarPorRangoDuracion(request.getDuracionMin(), request.getDuracionMax()));
+        }
         
         try {
-            List<Cancion> resultadosArtista = futuroArtista.get();
-            List<Cancion> resultadosGenero = futuroGenero.get();
-            List<Cancion> resultadosAno = futuroAno.get();
+            List<List<Cancion>> resultadosPorCriterio = esperarTodos(futuros).join();
             
             // Combinar resultados según el operador lógico
             List<Cancion> resultado;
-            if ("OR".equalsIgnoreCase(request.getOperador())) {
-                resultado = combinarConOR(resultadosArtista, resultadosGenero, resultadosAno);
+            if (usarOR) {
+                resultado = combinarConOR(resultadosPorCriterio);
             } else {
                 // Por defecto AND
-                resultado = combinarConAND(resultadosArtista, resultadosGenero, resultadosAno);
+                resultado = combinarConAND(resultadosPorCriterio);
             }
             
             log.debug("Búsqueda avanzada completada: {} resultados", resultado.size());
             return resultado;
             
-        } catch (Exception e) {
-            log.error("Error en búsqueda avanzada: {}", e.getMessage(), e);
+        } catch (CompletionException | CancellationException e) {
+            // Un criterio falló o superó su tiempo máximo: se cancelan los que siguen pendientes
+            futuros.forEach(futuro -> futuro.cancel(true));
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            if (causa instanceof TimeoutException) {
+                log.warn("Búsqueda avanzada cancelada: un criterio superó {} ms", TIEMPO_MAXIMO_CRITERIO_MS);
+            } else {
+                log.error("Error en búsqueda avanzada: {}", causa.getMessage(), causa);
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Convierte los ids de un resultado en caché en canciones, manteniendo el orden:
+     * desde el índice si está cargado o con una única consulta por clave primaria.
+     */
+    private List<Cancion> resolverIds(long[] ids) {
+        if (indiceBusquedaService.estaListo()) {
+            return indiceBusquedaService.obtenerCanciones(ids);
+        }
+        Map<Long, Cancion> porId = new HashMap<>(ids.length * 2);
+        cancionRepository.findAllById(Arrays.stream(ids).boxed().toList())
+                .forEach(cancion -> porId.put(cancion.getId(), cancion));
+        List<Cancion> canciones = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Cancion cancion = porId.get(id);
+            if (cancion != null) {
+                canciones.add(cancion);
+            }
+        }
+        return canciones;
+    }
+    
+    /**
+     * Obtiene las métricas de la caché de resultados (tasa de acierto, memoria estimada).
+     * 
+     * @return mapa con las estadísticas de la caché
+     */
+    public Map<String, Object> obtenerEstadisticasCache() {
+        return cacheResultados.obtenerEstadisticas();
+    }
+    
+    /**
+     * Realiza una búsqueda avanzada y ordena los resultados en el servidor.
+     * 
+     * @param request criterios de búsqueda
+     * @param orden orden {@code campo[,asc|desc]} con campo title, year o duration (por defecto id)
+     * @return canciones que coinciden con los criterios, en el orden pedido
+     * @throws IllegalArgumentException si el orden o la consulta no son válidos
+     */
+    public List<Cancion> buscar(SearchRequest request, String orden) {
+        OrdenResultados ordenResultados = OrdenResultados.analizar(orden);
+        List<Cancion> resultado = new ArrayList<>(buscar(request));
+        resultado.sort(ordenResultados.comparador());
+        return resultado;
+    }
+    
+    /**
+     * Realiza una búsqueda avanzada y cuenta sus resultados por género, artista y década.
+     * 
+     * Con el índice cargado, los conteos son la cardinalidad de cada lista de publicación
+     * intersecada con el bitset de resultados, calculados en la misma evaluación. Sin él,
+     * se agrupan los resultados de {@link #buscar(SearchRequest)}.
+     * 
+     * @param request criterios de búsqueda
+     * @param maxArtistas número máximo de artistas en la faceta de artistas
+     * @return canciones que coinciden y sus conteos por faceta
+     * @throws IllegalArgumentException si la consulta no es válida
+     */
+    public BusquedaFacetada buscarConFacetas(SearchRequest request, int maxArtistas) {
+        int limiteArtistas = Math.max(1, Math.min(maxArtistas, TAMAÑO_MAXIMO_PAGINA));
+        if (request.tieneCriterios() && indiceBusquedaService.estaListo()) {
+            request.validar();
+            return indiceBusquedaService.buscarConFacetas(AnalizadorConsultas.compilar(request), limiteArtistas);
+        }
+        
+        List<Cancion> canciones = buscar(request);
+        return new BusquedaFacetada(canciones, contarFacetas(canciones, limiteArtistas));
+    }
+    
+    /**
+     * Cuenta el catálogo completo por género, artista y década, usando el índice
+     * si está cargado.
+     * 
+     * @param maxArtistas número máximo de artistas en la faceta de artistas
+     * @return conteos por faceta
+     */
+    public FacetasBusqueda obtenerFacetasCatalogo(int maxArtistas) {
+        if (indiceBusquedaService.estaListo()) {
+            return indiceBusquedaService.facetas(maxArtistas);
+        }
+        return contarFacetas(cancionRepository.findAll(), maxArtistas);
+    }
+    
+    /**
+     * Cuenta el catálogo completo por género, usando el índice si está cargado.
+     * 
+     * @return número de canciones por género, de mayor a menor
+     */
+    public Map<String, Long> obtenerConteoGenerosCatalogo() {
+        if (indiceBusquedaService.estaListo()) {
+            return indiceBusquedaService.conteoGeneros();
+        }
+        DiccionarioClaves diccionario = new DiccionarioClaves();
+        Map<Integer, Long> generos = new HashMap<>();
+        for (Cancion cancion : cancionRepository.findAll()) {
+            int genero = diccionario.registrar(cancion.getGenero());
+            if (genero != DiccionarioClaves.SIN_VALOR) {
+                generos.merge(genero, 1L, Long::sum);
+            }
+        }
+        return FacetasBusqueda.ordenarPorConteo(etiquetar(generos, diccionario), Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Agrupa una lista de canciones por género, artista y década (géneros y artistas
+     * por su clave normalizada, mostrados con la primera forma encontrada).
+     * Complejidad: O(n + v log v) donde v es el número de valores distintos
+     */
+    private FacetasBusqueda contarFacetas(List<Cancion> canciones, int maxArtistas) {
+        DiccionarioClaves diccionarioGeneros = new DiccionarioClaves();
+        DiccionarioClaves diccionarioArtistas = new DiccionarioClaves();
+        Map<Integer, Long> generos = new HashMap<>();
+        Map<Integer, Long> artistas = new HashMap<>();
+        Map<Integer, Long> decadas = new TreeMap<>();
+        for (Cancion cancion : canciones) {
+            int genero = diccionarioGeneros.registrar(cancion.getGenero());
+            if (genero != DiccionarioClaves.SIN_VALOR) {
+                generos.merge(genero, 1L, Long::sum);
+            }
+            int artista = diccionarioArtistas.registrar(cancion.getArtista());
+            if (artista != DiccionarioClaves.SIN_VALOR) {
+                artistas.merge(artista, 1L, Long::sum);
+            }
+            if (cancion.getAño() != null) {
+                decadas.merge(Math.floorDiv(cancion.getAño(), 10) * 10, 1L, Long::sum);
+            }
+        }
+        return new FacetasBusqueda(
+                FacetasBusqueda.ordenarPorConteo(etiquetar(generos, diccionarioGeneros), Integer.MAX_VALUE),
+                FacetasBusqueda.ordenarPorConteo(etiquetar(artistas, diccionarioArtistas), maxArtistas), decadas);
+    }
+    
+    private static Map<String, Long> etiquetar(Map<Integer, Long> conteos, DiccionarioClaves diccionario) {
+        Map<String, Long> porEtiqueta = new HashMap<>();
+        conteos.forEach((id, conteo) -> porEtiqueta.put(diccionario.etiqueta(id), conteo));
+        return porEtiqueta;
+    }
+    
+    /**
+     * Combina los futuros de cada criterio en uno solo que se completa con todos los
+     * resultados, o falla en cuanto falla cualquiera de ellos (sin esperar al resto).
+     * 
+     * @param futuros futuros de cada criterio
+     * @return futuro con los resultados en el mismo orden
+     */
+    private CompletableFuture<List<List<Cancion>>> esperarTodos(List<CompletableFuture<List<Cancion>>> futuros) {
+        CompletableFuture<List<List<Cancion>>> combinado = new CompletableFuture<>();
+        for (CompletableFuture<List<Cancion>> futuro : futuros) {
+            futuro.whenComplete((resultado, error) -> {
+                if (error != null) {
+                    combinado.completeExceptionally(error);
+                }
+            });
+        }
+        CompletableFuture.allOf(futuros.toArray(new CompletableFuture[0]))
+                .thenRun(() -> combinado.complete(futuros.stream().map(CompletableFuture::join).toList()));
+        return combinado;
+    }
+    
+    /**
+     * Busca canciones por texto libre en títulos y artistas, ordenadas por relevancia.
+     * 
+     * @param texto texto de búsqueda
+     * @param limite número máximo de resultados (entre 1 y {@link #TAMAÑO_MAXIMO_PAGINA})
+     * @return resultados con su puntuación, el más relevante primero
+     * @see #buscarTexto(String, int, int)
+     */
+    public List<ResultadoBusquedaTexto> buscarTexto(String texto, int limite) {
+        return buscarTexto(texto, 0, limite);
+    }
+    
+    /**
+     * Busca canciones por texto libre en títulos y artistas, ordenadas por relevancia
+     * (BM25 sobre el índice de texto completo, con recuperación top-K por WAND).
+     * Para la página p se recuperan los (p + 1) * tamaño mejores resultados, hasta
+     * {@link #MAXIMO_RESULTADOS_TEXTO}. Mientras el índice no esté cargado se usa una
+     * búsqueda por título sin ranking.
+     * 
+     * @param texto texto de búsqueda
+     * @param pagina número de página (desde 0)
+     * @param tamaño tamaño de página (entre 1 y {@link #TAMAÑO_MAXIMO_PAGINA})
+     * @return resultados de la página con su puntuación, el más relevante primero
+     * @throws IllegalArgumentException si el número de página es negativo
+     */
+    public List<ResultadoBusquedaTexto> buscarTexto(String texto, int pagina, int tamaño) {
+        if (pagina < 0) {
+            throw new IllegalArgumentException("El número de página no puede ser negativo");
+        }
+        if (texto == null || NormalizadorTexto.normalizar(texto).isEmpty()) {
+            return Collections.emptyList();
+        }
+        int tamañoPagina = Math.max(1, Math.min(tamaño, TAMAÑO_MAXIMO_PAGINA));
+        long desde = (long) pagina * tamañoPagina;
+        if (desde >= MAXIMO_RESULTADOS_TEXTO) {
             return Collections.emptyList();
         }
+        int k = (int) Math.min(desde + tamañoPagina, MAXIMO_RESULTADOS_TEXTO);
+        
+        if (!indiceBusquedaService.estaListo()) {
+            return cancionRepository.findByTituloContainingIgnoreCase(texto.trim()).stream()
+                    .skip(desde)
+                    .limit(k - desde)
+                    .map(cancion -> new ResultadoBusquedaTexto(cancion, 0.0))
+                    .toList();
+        }
+        return indiceBusquedaService.buscarTexto(texto, k).stream()
+                .skip(desde)
+                .toList();
+    }
+    
+    /**
+     * Realiza una búsqueda avanzada paginada ordenada por id.
+     * 
+     * @param request criterios de búsqueda
+     * @param pagina número de página (desde 0)
+     * @param tamaño tamaño de página (entre 1 y {@link #TAMAÑO_MAXIMO_PAGINA})
+     * @return página de canciones que coinciden con los criterios
+     * @see #buscarPaginado(SearchRequest, int, int, String, String)
+     */
+    public PaginaCanciones buscarPaginado(SearchRequest request, int pagina, int tamaño) {
+        return buscarPaginado(request, pagina, tamaño, null, null);
+    }
+    
+    /**
+     * Realiza una búsqueda avanzada paginada y ordenada en el servidor.
+     * 
+     * Con el índice cargado, los resultados se ordenan en memoria y se devuelve solo la
+     * página pedida. Sin él, todos los criterios se compilan en una única consulta SQL
+     * (ver {@link CancionSpecifications}) que filtra con los índices compuestos de la
+     * tabla canciones y solo devuelve la página pedida.
+     * 
+     * La página se pide por número o, para recorridos largos, por cursor (el
+     * siguienteCursor de la página anterior): con cursor la consulta empieza en la
+     * posición del último resultado en lugar de saltar filas con OFFSET, y no se
+     * ejecuta la consulta de conteo.
+     * 
+     * Complejidad: O(log n + t) con cursor e índice en BD, donde t es el tamaño de la página;
+     * O(k log k) con el índice en memoria, donde k es el número de resultados
+     * 
+     * @param request criterios de búsqueda
+     * @param pagina número de página (desde 0); se ignora si se indica cursor
+     * @param tamaño tamaño de página (entre 1 y {@link #TAMAÑO_MAXIMO_PAGINA})
+     * @param orden orden {@code campo[,asc|desc]} con campo title, year o duration (por defecto id)
+     * @param cursor cursor de la página anterior (opcional)
+     * @return página de canciones que coinciden con los criterios
+     * @throws IllegalArgumentException si la página, el orden, el cursor o la consulta no son válidos
+     */
+    public PaginaCanciones buscarPaginado(SearchRequest request, int pagina, int tamaño, String orden, String cursor) {
+        if (pagina < 0) {
+            throw new IllegalArgumentException("El número de página no puede ser negativo");
+        }
+        request.validar();
+        int tamañoPagina = Math.max(1, Math.min(tamaño, TAMAÑO_MAXIMO_PAGINA));
+        OrdenResultados ordenResultados = OrdenResultados.analizar(orden);
+        OrdenResultados.Posicion posicion = cursor != null && !cursor.isBlank() ? ordenResultados.posicion(cursor) : null;
+        
+        if (!request.tieneCriterios()) {
+            return posicion != null
+                    ? new PaginaCanciones(List.of(), -1, tamañoPagina, 0, 0, null)
+                    : PaginaCanciones.desde(Page.empty(PageRequest.of(pagina, tamañoPagina)), null);
+        }
+        
+        NodoConsulta consulta = AnalizadorConsultas.compilar(request);
+        if (indiceBusquedaService.estaListo()) {
+            return paginarEnMemoria(indiceBusquedaService.buscar(consulta), ordenResultados, posicion,
+                    pagina, tamañoPagina);
+        }
+        
+        Specification<Cancion> especificacion = CancionSpecifications.desde(consulta);
+        if (posicion != null) {
+            // Se pide un elemento de más para saber si hay página siguiente
+            List<Cancion> resultado = cancionRepository.findBy(
+                    especificacion.and(CancionSpecifications.despuesDe(ordenResultados, posicion)),
+                    q -> q.sortBy(ordenResultados.aSort()).limit(tamañoPagina + 1).all());
+            boolean haySiguiente = resultado.size() > tamañoPagina;
+            List<Cancion> canciones = haySiguiente ? resultado.subList(0, tamañoPagina) : resultado;
+            log.debug("Búsqueda avanzada por cursor ({}): {} resultados", ordenResultados, canciones.size());
+            return new PaginaCanciones(canciones, -1, tamañoPagina, -1, -1,
+                    haySiguiente ? ordenResultados.cursor(canciones.get(canciones.size() - 1)) : null);
+        }
+        
+        Page<Cancion> resultado = cancionRepository.findAll(especificacion,
+                PageRequest.of(pagina, tamañoPagina, ordenResultados.aSort()));
+        log.debug("Búsqueda avanzada paginada: página {} con {} de {} resultados",
+                pagina, resultado.getNumberOfElements(), resultado.getTotalElements());
+        return PaginaCanciones.desde(resultado, resultado.hasNext() && resultado.hasContent()
+                ? ordenResultados.cursor(resultado.getContent().get(resultado.getNumberOfElements() - 1)) : null);
     }
     
     /**
-     * Busca canciones por artista de forma asíncrona.
+     * Ordena los resultados del índice y extrae la página pedida (por número o por cursor).
+     */
+    private PaginaCanciones paginarEnMemoria(List<Cancion> resultados, OrdenResultados orden,
+                                             OrdenResultados.Posicion posicion, int pagina, int tamaño) {
+        List<Cancion> ordenados = new ArrayList<>(resultados);
+        ordenados.sort(orden.comparador());
+        int total = ordenados.size();
+        int totalPaginas = (total + tamaño - 1) / tamaño;
+        
+        int desde;
+        if (posicion != null) {
+            desde = 0;
+            while (desde < total && !orden.esPosterior(ordenados.get(desde), posicion)) {
+                desde++;
+            }
+        } else {
+            desde = (int) Math.min((long) pagina * tamaño, total);
+        }
+        int hasta = Math.min(desde + tamaño, total);
+        List<Cancion> canciones = new ArrayList<>(ordenados.subList(desde, hasta));
+        String siguienteCursor = hasta < total && !canciones.isEmpty()
+                ? orden.cursor(canciones.get(canciones.size() - 1)) : null;
+        
+        return posicion != null
+                ? new PaginaCanciones(canciones, -1, tamaño, total, totalPaginas, siguienteCursor)
+                : new PaginaCanciones(canciones, pagina, tamaño, total, totalPaginas, siguienteCursor);
+    }
+    
+    /**
+     * Recorre todos los resultados de una búsqueda avanzada en lotes, para exportaciones
+     * que no deben materializar el resultado completo en una sola respuesta.
+     * 
+     * La solicitud y el orden se validan al invocar el método; los lotes se obtienen a
+     * medida que se consumen. Con el índice cargado se recorren los resultados ya
+     * ordenados en memoria; sin él, cada lote es una consulta por cursor de
+     * {@link #TAMAÑO_LOTE_EXPORTACION} filas.
+     * 
+     * @param request criterios de búsqueda
+     * @param orden orden {@code campo[,asc|desc]} (por defecto id)
+     * @return iterador de lotes de canciones
+     * @throws IllegalArgumentException si el orden o la consulta no son válidos
+     */
+    public Iterator<List<Cancion>> exportar(SearchRequest request, String orden) {
+        if (!request.tieneCriterios()) {
+            return Collections.emptyIterator();
+        }
+        request.validar();
+        OrdenResultados ordenResultados = OrdenResultados.analizar(orden);
+        NodoConsulta consulta = AnalizadorConsultas.compilar(request);
+        
+        if (indiceBusquedaService.estaListo()) {
+            List<Cancion> ordenados = new ArrayList<>(indiceBusquedaService.buscar(consulta));
+            ordenados.sort(ordenResultados.comparador());
+            return new Iterator<>() {
+                private int desde;
+                
+                @Override
+                public boolean hasNext() {
+                    return desde < ordenados.size();
+                }
+                
+                @Override
+                public List<Cancion> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int hasta = Math.min(desde + TAMAÑO_LOTE_EXPORTACION, ordenados.size());
+                    List<Cancion> lote = ordenados.subList(desde, hasta);
+                    desde = hasta;
+                    return lote;
+                }
+            };
+        }
+        
+        Specification<Cancion> especificacion = CancionSpecifications.desde(consulta);
+        return new Iterator<>() {
+            private List<Cancion> lote = siguienteLote(null);
+            
+            private List<Cancion> siguienteLote(Cancion ultima) {
+                Specification<Cancion> filtro = ultima == null ? especificacion : especificacion.and(
+                        CancionSpecifications.despuesDe(ordenResultados, ordenResultados.posicionDe(ultima)));
+                return cancionRepository.findBy(filtro,
+                        q -> q.sortBy(ordenResultados.aSort()).limit(TAMAÑO_LOTE_EXPORTACION).all());
+            }
+            
+            @Override
+            public boolean hasNext() {
+                return !lote.isEmpty();
+            }
+            
+            @Override
+            public List<Cancion> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Cancion> actual = lote;
+                lote = actual.size() < TAMAÑO_LOTE_EXPORTACION
+                        ? List.of() : siguienteLote(actual.get(actual.size() - 1));
+                return actual;
+            }
+        };
+    }
+    
+    /**
+     * Busca canciones por artista de forma asíncrona en el ejecutor de tareas,
+     * sin distinguir mayúsculas ni acentos.
      * 
      * @param artista nombre del artista
      * @return CompletableFuture con la lista de canciones
      */
-    @Async
     public CompletableFuture<List<Cancion>> buscarPorArtista(String artista) {
-        if (artista == null || artista.trim().isEmpty()) {
+        if (!esCriterioValido(artista)) {
             return CompletableFuture.completedFuture(Collections.emptyList());
         }
         
-        log.debug("Buscando por artista: {}", artista);
-        List<Cancion> resultados = cancionRepository.findByArtista(artista);
-        return CompletableFuture.completedFuture(resultados);
+        return ejecutarCriterio(() -> {
+            log.debug("Buscando por artista: {}", artista);
+            return cancionRepository.findByArtistaNormalizado(NormalizadorTexto.clave(artista));
+        });
     }
     
     /**
-     * Busca canciones por género de forma asíncrona.
+     * Busca canciones por género de forma asíncrona en el ejecutor de tareas,
+     * sin distinguir mayúsculas ni acentos.
      * 
      * @param genero género musical
      * @return CompletableFuture con la lista de canciones
      */
-    @Async
     public CompletableFuture<List<Cancion>> buscarPorGenero(String genero) {
-        if (genero == null || genero.trim().isEmpty()) {
+        if (!esCriterioValido(genero)) {
             return CompletableFuture.completedFuture(Collections.emptyList());
         }
         
-        log.debug("Buscando por género: {}", genero);
-        List<Cancion> resultados = cancionRepository.findByGenero(genero);
-        return CompletableFuture.completedFuture(resultados);
+        return ejecutarCriterio(() -> {
+            log.debug("Buscando por género: {}", genero);
+            return cancionRepository.findByGeneroNormalizado(NormalizadorTexto.clave(genero));
+        });
     }
     
     /**
-     * Busca canciones por año de forma asíncrona.
+     * Busca canciones por año de forma asíncrona en el ejecutor de tareas.
      * 
      * @param año año de lanzamiento
      * @return CompletableFuture con la lista de canciones
      */
-    @Async
     public CompletableFuture<List<Cancion>> buscarPorAno(Integer año) {
         if (año == null) {
             return CompletableFuture.completedFuture(Collections.emptyList());
         }
         
-        log.debug("Buscando por año: {}", año);
-        List<Cancion> resultados = cancionRepository.findByAño(año);
-        return CompletableFuture.completedFuture(resultados);
+        return ejecutarCriterio(() -> {
+            log.debug("Buscando por año: {}", año);
+            return cancionRepository.findByAño(año);
+        });
+    }
+    
+    /**
+     * Busca canciones de cualquiera de los artistas dados. Con un único artista
+     * equivale a {@link #buscarPorArtista(String)}.
+     * 
+     * @param artistas artistas solicitados (sin vacíos)
+     * @return CompletableFuture con la lista de canciones
+     */
+    public CompletableFuture<List<Cancion>> buscarPorArtistas(Collection<String> artistas) {
+        if (artistas.size() == 1) {
+            return buscarPorArtista(artistas.iterator().next());
+        }
+        return ejecutarCriterio(() -> cancionRepository.findByArtistaNormalizadoIn(claves(artistas)));
+    }
+    
+    /**
+     * Busca canciones de cualquiera de los géneros dados. Con un único género
+     * equivale a {@link #buscarPorGenero(String)}.
+     * 
+     * @param generos géneros solicitados (sin vacíos)
+     * @return CompletableFuture con la lista de canciones
+     */
+    public CompletableFuture<List<Cancion>> buscarPorGeneros(Collection<String> generos) {
+        if (generos.size() == 1) {
+            return buscarPorGenero(generos.iterator().next());
+        }
+        return ejecutarCriterio(() -> cancionRepository.findByGeneroNormalizadoIn(claves(generos)));
+    }
+    
+    /**
+     * Busca canciones con año en el rango dado (extremos opcionales e inclusivos).
+     * Un rango de un solo año equivale a {@link #buscarPorAno(Integer)}.
+     * 
+     * @param minimo año mínimo (null si no tiene límite)
+     * @param maximo año máximo (null si no tiene límite)
+     * @return CompletableFuture con la lista de canciones
+     */
+    public CompletableFuture<List<Cancion>> buscarPorRangoAños(Integer minimo, Integer maximo) {
+        if (minimo != null && minimo.equals(maximo)) {
+            return buscarPorAno(minimo);
+        }
+        return ejecutarCriterio(() -> cancionRepository.findByAñoBetween(
+                minimo != null ? minimo : Integer.MIN_VALUE,
+                maximo != null ? maximo : Integer.MAX_VALUE));
+    }
+    
+    /**
+     * Busca canciones con duración en el rango dado (extremos opcionales e inclusivos).
+     * 
+     * @param minimo duración mínima en segundos (null si no tiene límite)
+     * @param maximo duración máxima en segundos (null si no tiene límite)
+     * @return CompletableFuture con la lista de canciones
+     */
+    public CompletableFuture<List<Cancion>> buscarPorRangoDuracion(Integer minimo, Integer maximo) {
+        return ejecutarCriterio(() -> cancionRepository.findByDuracionBetween(
+                minimo != null ? minimo : Integer.MIN_VALUE,
+                maximo != null ? maximo : Integer.MAX_VALUE));
+    }
+    
+    /**
+     * Claves normalizadas de los valores de un criterio, sin repetidos.
+     */
+    private static Set<String> claves(Collection<String> valores) {
+        Set<String> claves = new LinkedHashSet<>();
+        for (String valor : valores) {
+            String clave = NormalizadorTexto.clave(valor);
+            if (clave != null) {
+                claves.add(clave);
+            }
+        }
+        return claves;
+    }
+    
+    /**
+     * Ejecuta la consulta de un criterio en el ejecutor de tareas con un tiempo máximo.
+     * 
+     * No se usa {@code @Async}: las llamadas desde {@link #buscar(SearchRequest)} son
+     * autoinvocaciones que no pasan por el proxy de Spring y se ejecutarían en el hilo
+     * de la petición. Una consulta cancelada antes de empezar ya no se ejecuta; una ya
+     * empezada la corta la base de datos con el tiempo máximo de {@link CancionRepository}.
+     * 
+     * @param consulta consulta al repositorio
+     * @return CompletableFuture con el resultado
+     */
+    private CompletableFuture<List<Cancion>> ejecutarCriterio(Supplier<List<Cancion>> consulta) {
+        return CompletableFuture.supplyAsync(consulta, taskExecutor)
+                .orTimeout(TIEMPO_MAXIMO_CRITERIO_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Indica si un criterio de texto aporta información de búsqueda.
+     * Se usa el mismo normalizador que el Trie de autocompletado, de modo que
+     * un criterio formado solo por espacios o signos de puntuación se ignora.
+     * 
+     * @param valor valor del criterio
+     * @return true si el criterio normalizado no está vacío
+     */
+    private boolean esCriterioValido(String valor) {
+        return valor != null && !NormalizadorTexto.normalizar(valor).isEmpty();
     }
     
     /**
      * Combina resultados usando lógica AND (intersección).
-     * Solo canciones que aparecen en todos los conjuntos de resultados.
+     * Solo canciones que aparecen en todos los conjuntos de resultados; un criterio
+     * presente sin resultados deja la intersección vacía.
      * 
-     * @param resultados1 primer conjunto de resultados
-     * @param resultados2 segundo conjunto de resultados
-     * @param resultados3 tercer conjunto de resultados
+     * @param resultadosPorCriterio resultados de cada criterio presente
      * @return lista de canciones que aparecen en todos los conjuntos
      */
-    private List<Cancion> combinarConAND(List<Cancion> resultados1,
-                                         List<Cancion> resultados2,
-                                         List<Cancion> resultados3) {
-        List<List<Cancion>> listasNoVacias = new ArrayList<>();
-        
-        if (!resultados1.isEmpty()) listasNoVacias.add(resultados1);
-        if (!resultados2.isEmpty()) listasNoVacias.add(resultados2);
-        if (!resultados3.isEmpty()) listasNoVacias.add(resultados3);
-        
-        if (listasNoVacias.isEmpty()) {
+    private List<Cancion> combinarConAND(List<List<Cancion>> resultadosPorCriterio) {
+        if (resultadosPorCriterio.isEmpty()) {
             return Collections.emptyList();
         }
         
-        if (listasNoVacias.size() == 1) {
-            return listasNoVacias.get(0);
+        if (resultadosPorCriterio.size() == 1) {
+            return resultadosPorCriterio.get(0);
         }
         
         // Empezar con el primer conjunto y hacer intersección con los demás
-        Set<Cancion> interseccion = new HashSet<>(listasNoVacias.get(0));
+        Set<Cancion> interseccion = new LinkedHashSet<>(resultadosPorCriterio.get(0));
         
-        for (int i = 1; i < listasNoVacias.size(); i++) {
-            interseccion.retainAll(listasNoVacias.get(i));
+        for (int i = 1; i < resultadosPorCriterio.size(); i++) {
+            interseccion.retainAll(new HashSet<>(resultadosPorCriterio.get(i)));
         }
         
         return new ArrayList<>(interseccion);
@@ -165,20 +759,13 @@ public class BusquedaAvanzadaService {
      * Combina resultados usando lógica OR (unión).
      * Canciones que aparecen en al menos uno de los conjuntos de resultados.
      * 
-     * @param resultados1 primer conjunto de resultados
-     * @param resultados2 segundo conjunto de resultados
-     * @param resultados3 tercer conjunto de resultados
+     * @param resultadosPorCriterio resultados de cada criterio presente
      * @return lista de canciones que aparecen en al menos un conjunto (sin duplicados)
      */
-    private List<Cancion> combinarConOR(List<Cancion> resultados1,
-                                        List<Cancion> resultados2,
-                                        List<Cancion> resultados3) {
+    private List<Cancion> combinarConOR(List<List<Cancion>> resultadosPorCriterio) {
         Set<Cancion> union = new LinkedHashSet<>();
-        union.addAll(resultados1);
-        union.addAll(resultados2);
-        union.addAll(resultados3);
+        resultadosPorCriterio.forEach(union::addAll);
         
         return new ArrayList<>(union);
     }
 }
-
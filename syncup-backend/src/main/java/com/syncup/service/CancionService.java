@@ -22,6 +22,7 @@ public class CancionService {
     
     private final CancionRepository cancionRepository;
     private final com.syncup.service.AutocompletadoService autocompletadoService;
+    private final IndiceBusquedaService indiceBusquedaService;
     private final AudioStorageService audioStorageService;
 
     private static final List<String> DEFAULT_AUDIO_TRACKS = List.of(
@@ -77,6 +78,9 @@ public class CancionService {
         // Agregar al Trie de autocompletado
         autocompletadoService.agregarCancion(cancionGuardada);
         
+        // Agregar al índice de búsqueda avanzada
+        indiceBusquedaService.agregarCancion(cancionGuardada);
+        
         log.info("Canción '{}' creada con ID: {}", cancionGuardada.getTitulo(), cancionGuardada.getId());
         return cancionGuardada;
     }
@@ -100,7 +104,9 @@ public class CancionService {
                 cancionExistente.getGenero(),
                 cancionExistente.getAño(),
                 cancionExistente.getDuracion(),
-                cancionExistente.getAudioUrl()
+                cancionExistente.getAudioUrl(),
+                cancionExistente.getArtistaNormalizado(),
+                cancionExistente.getGeneroNormalizado()
         );
         
         cancionExistente.setTitulo(cancion.getTitulo());
@@ -120,6 +126,7 @@ public class CancionService {
         
         // Actualizar en el Trie
         autocompletadoService.actualizarCancion(cancionAnterior, cancionActualizada);
+        indiceBusquedaService.actualizarCancion(cancionActualizada);
         
         log.info("Canción con ID {} actualizada", id);
         return cancionActualizada;
@@ -139,6 +146,7 @@ public class CancionService {
         
         // Eliminar del Trie
         autocompletadoService.eliminarCancion(cancion);
+        indiceBusquedaService.eliminarCancion(cancion);
         
         log.info("Canción con ID {} eliminada", id);
     }
@@ -0,0 +1,230 @@
+package com.syncup.service;
+
+import com.syncup.graph.ConjuntoEnteros;
+import com.syncup.graph.GrafoSocial;
+import com.syncup.graph.algoritmo.PopularesPorComunidad;
+import com.syncup.graph.algoritmo.PropagacionEtiquetas;
+import com.syncup.model.Cancion;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio que agrupa a los usuarios en comunidades del grafo social y precalcula las
+ * canciones más populares de cada una.
+ *
+ * La detección ({@link PropagacionEtiquetas}) reparte cada ronda sobre un
+ * {@link ForkJoinPool} propio, para no ocupar el pool común que usan otras tareas. Con
+ * las comunidades se calculan una vez las canciones más populares de cada una
+ * ({@link PopularesPorComunidad}) y se sirven igual a todos sus miembros: un usuario que
+ * sigue a otros pero aún no tiene favoritos recibe recomendaciones sin recorrer el grafo.
+ *
+ * El resultado se publica como una instantánea inmutable que las consultas leen sin
+ * bloquear; se recalcula al arrancar, periódicamente (en el programador compartido de
+ * {@link com.syncup.config.AsyncConfig}) y a petición. Los usuarios
+ * registrados después de la última detección no tienen comunidad hasta la siguiente.
+ *
+ * @author SyncUp Team
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComunidadesService {
+
+    private final SocialService socialService;
+    private final FavoritosService favoritosService;
+    private final TaskScheduler taskScheduler;
+    private final Executor taskExecutor;
+
+    static final int MAX_RONDAS = 20;
+
+    /**
+     * Canciones populares que se guardan por comunidad.
+     */
+    static final int CANCIONES_POR_COMUNIDAD = 50;
+
+    private static final long INTERVALO_RECALCULO_MIN = 30;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    private volatile Instantanea instantanea = new Instantanea(new int[0], Map.of(), 0, 0);
+
+    private final AtomicBoolean enCurso = new AtomicBoolean(false);
+    private final AtomicLong ejecucionesCompletadas = new AtomicLong();
+    private volatile long duracionUltimaMs;
+
+    private volatile ScheduledFuture<?> recalculoPeriodico;
+
+    /**
+     * Resultado de una detección: comunidad por id del grafo y canciones populares por
+     * comunidad.
+     */
+    private record Instantanea(int[] comunidades, Map<Integer, List<Cancion>> populares,
+                               int numeroComunidades, long calculadaEnMs) {
+    }
+
+    /**
+     * Programa la detección al terminar el arranque (con los favoritos iniciales ya
+     * cargados) y después cada {@value #INTERVALO_RECALCULO_MIN} minutos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        recalculoPeriodico = taskScheduler.scheduleWithFixedDelay(this::recalcularSinPropagar,
+                Instant.now(), Duration.ofMinutes(INTERVALO_RECALCULO_MIN));
+    }
+
+    /**
+     * Cancela la detección periódica y detiene el pool de la detección.
+     */
+    @PreDestroy
+    public void detener() {
+        ScheduledFuture<?> periodico = recalculoPeriodico;
+        if (periodico != null) {
+            periodico.cancel(false);
+        }
+        pool.shutdownNow();
+    }
+
+    /**
+     * Detecta las comunidades y recalcula sus canciones populares. Si ya hay una
+     * detección en curso, no hace nada.
+     * Complejidad: O(R · Σ d log d + F) (ver {@link PropagacionEtiquetas} y
+     * {@link PopularesPorComunidad})
+     *
+     * @return true si se ejecutó la detección
+     */
+    public boolean recalcular() {
+        if (!enCurso.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long inicio = System.currentTimeMillis();
+            GrafoSocial grafo = socialService.obtenerGrafo();
+            int[] comunidades = PropagacionEtiquetas.detectar(grafo, pool, MAX_RONDAS);
+
+            Map<Integer, Cancion> canciones = new HashMap<>();
+            Map<Integer, int[]> idsPopulares = PopularesPorComunidad.calcular(comunidades,
+                    id -> favoritosService.obtenerIdsRecientes(grafo.usuario(id).getUsername(),
+                            FavoritosService.MAX_FAVORITOS_RECIENTES, canciones),
+                    CANCIONES_POR_COMUNIDAD);
+            Map<Integer, List<Cancion>> populares = new HashMap<>();
+            idsPopulares.forEach((comunidad, ids) -> {
+                List<Cancion> lista = new ArrayList<>(ids.length);
+                for (int id : ids) {
+                    lista.add(canciones.get(id));
+                }
+                populares.put(comunidad, Collections.unmodifiableList(lista));
+            });
+
+            ConjuntoEnteros distintas = new ConjuntoEnteros();
+            for (int comunidad : comunidades) {
+                distintas.agregar(comunidad);
+            }
+            instantanea = new Instantanea(comunidades, populares, distintas.tamaño(), System.currentTimeMillis());
+            duracionUltimaMs = System.currentTimeMillis() - inicio;
+            ejecucionesCompletadas.incrementAndGet();
+            log.info("Comunidades detectadas: {} para {} usuarios en {} ms",
+                    distintas.tamaño(), comunidades.length, duracionUltimaMs);
+            return true;
+        } finally {
+            enCurso.set(false);
+        }
+    }
+
+    /**
+     * Lanza la detección en el ejecutor de tareas.
+     *
+     * @return futuro que se completa al terminar la detección
+     */
+    public CompletableFuture<Void> recalcularEnSegundoPlano() {
+        return CompletableFuture.runAsync(this::recalcularSinPropagar, taskExecutor);
+    }
+
+    /**
+     * Obtiene la comunidad de un usuario según la última detección.
+     *
+     * @param username username del usuario
+     * @return etiqueta de comunidad, o {@link GrafoSocial#SIN_ID} si no tiene
+     */
+    public int obtenerComunidad(String username) {
+        int id = socialService.obtenerIdEnGrafo(username);
+        int[] comunidades = instantanea.comunidades();
+        return id < 0 || id >= comunidades.length ? GrafoSocial.SIN_ID : comunidades[id];
+    }
+
+    /**
+     * Obtiene las canciones más populares de la comunidad de un usuario, sin las que ya
+     * tiene en favoritos.
+     * Complejidad: O(k + f) con f el número de favoritos del usuario
+     *
+     * @param username username del usuario
+     * @param maxCanciones número máximo de canciones
+     * @return canciones de más a menos populares (vacía si el usuario no tiene comunidad)
+     */
+    public List<Cancion> obtenerPopulares(String username, int maxCanciones) {
+        int comunidad = obtenerComunidad(username);
+        if (comunidad == GrafoSocial.SIN_ID) {
+            return Collections.emptyList();
+        }
+        List<Cancion> populares = instantanea.populares().getOrDefault(comunidad, List.of());
+        if (populares.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Cancion> favoritos = new HashSet<>(favoritosService.obtenerFavoritos(username));
+        return populares.stream()
+                .filter(c -> !favoritos.contains(c))
+                .limit(maxCanciones)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Obtiene el estado de la detección de comunidades.
+     *
+     * @return mapa con el estado y las métricas de la última detección
+     */
+    public Map<String, Object> obtenerEstado() {
+        Instantanea actual = instantanea;
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("enCurso", enCurso.get());
+        estado.put("comunidades", actual.numeroComunidades());
+        estado.put("usuarios", actual.comunidades().length);
+        estado.put("comunidadesConPopulares", actual.populares().size());
+        estado.put("ejecucionesCompletadas", ejecucionesCompletadas.get());
+        estado.put("duracionUltimaMs", duracionUltimaMs);
+        estado.put("calculadaHaceMs", actual.calculadaEnMs() == 0
+                ? null : System.currentTimeMillis() - actual.calculadaEnMs());
+        estado.put("paralelismo", pool.getParallelism());
+        return estado;
+    }
+
+    private void recalcularSinPropagar() {
+        try {
+            recalcular();
+        } catch (RuntimeException e) {
+            // Un fallo no debe cancelar las ejecuciones siguientes del programador
+            log.error("Error al detectar comunidades", e);
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package com.syncup.service;
 
+import com.syncup.event.FavoritoAgregadoEvent;
 import com.syncup.model.Cancion;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Servicio que gestiona las listas de favoritos de usuarios usando LinkedList.
  * Requerido según RF-015.
  * 
+ * Las listas se leen también desde hilos de fondo (detección de comunidades), así que el
+ * mapa es concurrente y cada lista se usa con su propio monitor tomado.
+ * 
+ * Cada favorito nuevo se anuncia con un {@link FavoritoAgregadoEvent} (lo recoge, por
+ * ejemplo, el feed de actividad), sin depender de quién lo escucha.
+ * 
  * @author SyncUp Team
  */
 @Service
@@ -19,12 +28,20 @@ import java.util.*;
 @Slf4j
 public class FavoritosService {
     
+    /**
+     * Favoritos (los más recientes) que aporta como mucho cada usuario a las
+     * recomendaciones hechas con los favoritos de otros.
+     */
+    static final int MAX_FAVORITOS_RECIENTES = 100;
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
     /**
      * HashMap que almacena las listas de favoritos por usuario.
      * Key: username, Value: LinkedList de canciones favoritas.
      * Requerido según RF-015 para usar LinkedList.
      */
-    private final Map<String, LinkedList<Cancion>> favoritosPorUsuario = new HashMap<>();
+    private final Map<String, LinkedList<Cancion>> favoritosPorUsuario = new ConcurrentHashMap<>();
     
     /**
      * Inicializa las listas de favoritos vacías al arranque.
@@ -47,13 +64,15 @@ public class FavoritosService {
     public boolean agregarFavorito(String username, Cancion cancion) {
         LinkedList<Cancion> favoritos = favoritosPorUsuario.computeIfAbsent(username, k -> new LinkedList<>());
         
-        // Evitar duplicados
-        if (favoritos.contains(cancion)) {
-            return false;
+        synchronized (favoritos) {
+            // Evitar duplicados
+            if (favoritos.contains(cancion)) {
+                return false;
+            }
+            favoritos.add(cancion);
         }
-        
-        favoritos.add(cancion);
         log.debug("Canción '{}' agregada a favoritos de usuario '{}'", cancion.getTitulo(), username);
+        eventPublisher.publishEvent(new FavoritoAgregadoEvent(username, cancion));
         return true;
     }
     
@@ -66,7 +85,74 @@ public class FavoritosService {
      * @return LinkedList de canciones favoritas (puede estar vacía)
      */
     public LinkedList<Cancion> obtenerFavoritos(String username) {
-        return new LinkedList<>(favoritosPorUsuario.getOrDefault(username, new LinkedList<>()));
+        LinkedList<Cancion> favoritos = favoritosPorUsuario.get(username);
+        if (favoritos == null) {
+            return new LinkedList<>();
+        }
+        synchronized (favoritos) {
+            return new LinkedList<>(favoritos);
+        }
+    }
+    
+    /**
+     * Obtiene los ids de los favoritos más recientes de un usuario, recorriendo la lista
+     * guardada desde el final sin copiarla: el coste no depende de cuántos favoritos tenga.
+     * Se omiten las canciones sin id o con un id que no cabe en un int.
+     * Complejidad: O(max)
+     * 
+     * @param username nombre del usuario
+     * @param max número máximo de ids
+     * @param canciones mapa en el que se registra cada canción devuelta por su id
+     * @return ids del más reciente al más antiguo
+     */
+    public int[] obtenerIdsRecientes(String username, int max, Map<Integer, Cancion> canciones) {
+        LinkedList<Cancion> favoritos = favoritosPorUsuario.get(username);
+        if (favoritos == null || max <= 0) {
+            return new int[0];
+        }
+        synchronized (favoritos) {
+            int[] ids = new int[Math.min(favoritos.size(), max)];
+            int n = 0;
+            Iterator<Cancion> recientes = favoritos.descendingIterator();
+            while (recientes.hasNext() && n < ids.length) {
+                Cancion cancion = recientes.next();
+                Long id = cancion.getId();
+                if (id != null && id >= 0 && id <= Integer.MAX_VALUE) {
+                    ids[n++] = id.intValue();
+                    canciones.putIfAbsent(id.intValue(), cancion);
+                }
+            }
+            return n == ids.length ? ids : Arrays.copyOf(ids, n);
+        }
+    }
+    
+    /**
+     * Obtiene los ids de todos los favoritos de un usuario, ordenados, para comprobar
+     * pertenencia por búsqueda binaria. Se omiten las canciones sin id o con un id que no
+     * cabe en un int.
+     * Complejidad: O(n log n) donde n es el número de favoritos
+     * 
+     * @param username nombre del usuario
+     * @return ids en orden ascendente
+     */
+    public int[] obtenerIdsOrdenados(String username) {
+        LinkedList<Cancion> favoritos = favoritosPorUsuario.get(username);
+        if (favoritos == null) {
+            return new int[0];
+        }
+        int[] ids;
+        int n = 0;
+        synchronized (favoritos) {
+            ids = new int[favoritos.size()];
+            for (Cancion cancion : favoritos) {
+                Long id = cancion.getId();
+                if (id != null && id >= 0 && id <= Integer.MAX_VALUE) {
+                    ids[n++] = id.intValue();
+                }
+            }
+        }
+        Arrays.sort(ids, 0, n);
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
     }
     
     /**
@@ -79,17 +165,17 @@ public class FavoritosService {
      */
     public boolean eliminarFavorito(String username, Cancion cancion) {
         LinkedList<Cancion> favoritos = favoritosPorUsuario.get(username);
-        if (favoritos == null || favoritos.isEmpty()) {
+        if (favoritos == null) {
             return false;
         }
         
-        boolean eliminado = favoritos.remove(cancion);
+        boolean eliminado;
+        synchronized (favoritos) {
+            eliminado = favoritos.remove(cancion);
+        }
+        // La lista vacía se conserva: quitarla del mapa podría perder un alta concurrente
         if (eliminado) {
             log.debug("Canción '{}' eliminada de favoritos de usuario '{}'", cancion.getTitulo(), username);
-            // Si la lista queda vacía, opcionalmente eliminarla del mapa
-            if (favoritos.isEmpty()) {
-                favoritosPorUsuario.remove(username);
-            }
         }
         return eliminado;
     }
@@ -104,7 +190,12 @@ public class FavoritosService {
      */
     public boolean esFavorito(String username, Cancion cancion) {
         LinkedList<Cancion> favoritos = favoritosPorUsuario.get(username);
-        return favoritos != null && favoritos.contains(cancion);
+        if (favoritos == null) {
+            return false;
+        }
+        synchronized (favoritos) {
+            return favoritos.contains(cancion);
+        }
     }
     
     /**
@@ -116,7 +207,12 @@ public class FavoritosService {
      */
     public int contarFavoritos(String username) {
         LinkedList<Cancion> favoritos = favoritosPorUsuario.get(username);
-        return favoritos == null ? 0 : favoritos.size();
+        if (favoritos == null) {
+            return 0;
+        }
+        synchronized (favoritos) {
+            return favoritos.size();
+        }
     }
 }
 
@@ -0,0 +1,206 @@
+package com.syncup.service;
+
+import com.syncup.dto.EventoActividad;
+import com.syncup.dto.PaginaActividad;
+import com.syncup.dto.SugerenciaCancion;
+import com.syncup.event.FavoritoAgregadoEvent;
+import com.syncup.event.SeguimientoEvent;
+import com.syncup.graph.ConjuntoEnteros;
+import com.syncup.graph.GrafoSocial;
+import com.syncup.util.BuzonActividad;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio del feed de actividad: qué canciones agregaron a favoritos y a quién empezaron
+ * a seguir los usuarios que sigo.
+ *
+ * Difusión en escritura: cada evento se copia al buzón de cada seguidor del autor
+ * ({@link BuzonActividad}, búfer circular acotado), así que leer el feed es leer una página
+ * del propio buzón, sin recorrer los favoritos de cada seguido. Para autores con más de
+ * {@link #UMBRAL_DIFUSION_EN_ESCRITURA} seguidores copiar cada evento costaría demasiado:
+ * sus eventos se quedan en su buzón de salida y los lectores que los siguen los mezclan
+ * al leer (difusión en lectura). Un autor que pasa una vez a difusión en lectura se
+ * queda así, para que sus eventos anteriores sigan apareciendo.
+ *
+ * Los eventos llegan como eventos de aplicación ({@link FavoritoAgregadoEvent},
+ * {@link SeguimientoEvent}), así que se registran los cambie quien los cambie. Quien
+ * publica solo numera el evento; la difusión se hace en el ejecutor de tareas sobre una
+ * copia de los seguidores, sin retener el candado del grafo ni la petición.
+ *
+ * Los buzones viven en memoria y se crean al recibir el primer evento.
+ *
+ * @author SyncUp Team
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedActividadService {
+
+    private final SocialService socialService;
+    private final Executor taskExecutor;
+
+    /**
+     * Eventos que guarda como mucho cada buzón.
+     */
+    static final int CAPACIDAD_BUZON = 200;
+
+    /**
+     * Seguidores a partir de los cuales un autor deja de difundir en escritura.
+     */
+    static final int UMBRAL_DIFUSION_EN_ESCRITURA = 5000;
+
+    /**
+     * Tamaño máximo de página del feed.
+     */
+    static final int MAX_PAGINA = 100;
+
+    private final AtomicLong secuencia = new AtomicLong();
+
+    /**
+     * Buzón de entrada de cada usuario (id del grafo social).
+     */
+    private final Map<Integer, BuzonActividad> buzones = new ConcurrentHashMap<>();
+
+    /**
+     * Buzón de salida de los autores que difunden en lectura.
+     */
+    private final Map<Integer, BuzonActividad> salidas = new ConcurrentHashMap<>();
+
+    /**
+     * Autores que difunden en lectura (pocos: solo las cuentas más seguidas).
+     */
+    private final ConjuntoEnteros autoresEnLectura = new ConjuntoEnteros();
+
+    /**
+     * Registra que un usuario agregó una canción a favoritos.
+     * Complejidad: O(1) para quien publica; O(s log s) en segundo plano, donde s es el
+     * número de seguidores (O(1) por encima del umbral)
+     *
+     * @param evento favorito agregado
+     */
+    @EventListener
+    public void registrarFavorito(FavoritoAgregadoEvent evento) {
+        publicar(evento.getUsername(), EventoActividad.Tipo.FAVORITO,
+                SugerenciaCancion.desde(evento.getCancion()), null);
+    }
+
+    /**
+     * Registra que un usuario empezó a seguir a otro.
+     * Complejidad: O(1) para quien publica; O(s log s) en segundo plano, donde s es el
+     * número de seguidores (O(1) por encima del umbral)
+     *
+     * @param evento seguimiento nuevo
+     */
+    @EventListener
+    public void registrarSeguimiento(SeguimientoEvent evento) {
+        publicar(evento.getSeguidorUsername(), EventoActividad.Tipo.SEGUIMIENTO, null,
+                evento.getSeguidoUsername());
+    }
+
+    /**
+     * Obtiene una página del feed de un usuario, del evento más reciente al más antiguo.
+     * Complejidad: O(limite · (1 + a)) donde a es el número de autores seguidos que
+     * difunden en lectura
+     *
+     * @param username username del lector
+     * @param antesDe cursor: solo eventos anteriores a esta secuencia (null = desde el más reciente)
+     * @param limite tamaño de página (1 a {@link #MAX_PAGINA})
+     * @return página del feed, o null si el usuario no existe
+     * @throws IllegalArgumentException si el límite está fuera de rango
+     */
+    public PaginaActividad obtenerFeed(String username, Long antesDe, int limite) {
+        if (limite < 1 || limite > MAX_PAGINA) {
+            throw new IllegalArgumentException("limit debe estar entre 1 y " + MAX_PAGINA);
+        }
+        int lector = socialService.obtenerIdEnGrafo(username);
+        if (lector == GrafoSocial.SIN_ID) {
+            return null;
+        }
+        long cursor = antesDe == null ? Long.MAX_VALUE : antesDe;
+
+        List<EventoActividad> candidatos = new ArrayList<>();
+        BuzonActividad buzon = buzones.get(lector);
+        if (buzon != null) {
+            candidatos.addAll(buzon.pagina(cursor, limite));
+        }
+        GrafoSocial grafo = socialService.obtenerGrafo();
+        for (int autor : autoresEnLecturaSeguidos(grafo, lector)) {
+            candidatos.addAll(salidas.get(autor).pagina(cursor, limite));
+        }
+
+        // Cada fuente aporta como mucho una página: basta ordenar y cortar
+        candidatos.sort(Comparator.comparingLong(EventoActividad::getSecuencia).reversed());
+        List<EventoActividad> pagina = candidatos.size() > limite
+                ? new ArrayList<>(candidatos.subList(0, limite)) : candidatos;
+        Long siguienteCursor = pagina.size() == limite ? pagina.get(limite - 1).getSecuencia() : null;
+        return new PaginaActividad(pagina, siguienteCursor);
+    }
+
+    private void publicar(String username, EventoActividad.Tipo tipo, SugerenciaCancion cancion, String seguido) {
+        int autor = socialService.obtenerIdEnGrafo(username);
+        if (autor == GrafoSocial.SIN_ID) {
+            return;
+        }
+        // La secuencia se asigna aquí para que siga el orden en que ocurrieron los cambios
+        EventoActividad evento = new EventoActividad(secuencia.incrementAndGet(), tipo, username,
+                cancion, seguido, System.currentTimeMillis());
+        try {
+            taskExecutor.execute(() -> difundir(autor, evento));
+        } catch (RejectedExecutionException e) {
+            // Ejecutor saturado: se difunde en el hilo que publica antes que perder el evento
+            difundir(autor, evento);
+        }
+    }
+
+    private void difundir(int autor, EventoActividad evento) {
+        GrafoSocial grafo = socialService.obtenerGrafo();
+        if (grafo.contarSeguidores(autor) > UMBRAL_DIFUSION_EN_ESCRITURA || esAutorEnLectura(autor)) {
+            salidas.computeIfAbsent(autor, id -> new BuzonActividad(CAPACIDAD_BUZON)).agregar(evento);
+            synchronized (autoresEnLectura) {
+                if (autoresEnLectura.agregar(autor)) {
+                    log.info("Usuario '{}' pasa a difusión en lectura del feed", evento.getActor());
+                }
+            }
+            return;
+        }
+        // Copia de los seguidores: el candado del grafo se suelta antes de tocar los buzones
+        for (int seguidor : grafo.seguidores(autor)) {
+            buzones.computeIfAbsent(seguidor, id -> new BuzonActividad(CAPACIDAD_BUZON)).agregar(evento);
+        }
+    }
+
+    private boolean esAutorEnLectura(int autor) {
+        synchronized (autoresEnLectura) {
+            return autoresEnLectura.contiene(autor);
+        }
+    }
+
+    private List<Integer> autoresEnLecturaSeguidos(GrafoSocial grafo, int lector) {
+        int[] autores;
+        synchronized (autoresEnLectura) {
+            if (autoresEnLectura.estaVacio()) {
+                return List.of();
+            }
+            autores = autoresEnLectura.aArregloOrdenado();
+        }
+        List<Integer> seguidos = new ArrayList<>();
+        for (int autor : autores) {
+            if (grafo.sigueA(lector, autor)) {
+                seguidos.add(autor);
+            }
+        }
+        return seguidos;
+    }
+}
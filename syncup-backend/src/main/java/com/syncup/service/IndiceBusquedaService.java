@@ -0,0 +1,231 @@
+package com.syncup.service;
+
+import com.syncup.dto.BusquedaFacetada;
+import com.syncup.dto.FacetasBusqueda;
+import com.syncup.dto.ResultadoBusquedaTexto;
+import com.syncup.model.Cancion;
+import com.syncup.repository.CancionRepository;
+import com.syncup.search.IndiceInvertido;
+import com.syncup.search.IndiceTextoCompleto;
+import com.syncup.search.NodoConsulta;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio que mantiene el índice invertido de búsqueda avanzada y el índice de
+ * texto completo sincronizados con el catálogo de canciones.
+ * Requerido según RF-004.
+ *
+ * {@link CancionService} notifica cada alta, modificación y baja; la carga completa
+ * se hace al arranque y tras la inicialización de datos.
+ *
+ * @author SyncUp Team
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IndiceBusquedaService {
+
+    /**
+     * Número de canciones leídas por página durante la reconstrucción.
+     */
+    private static final int TAMAÑO_PAGINA_RECONSTRUCCION = 500;
+
+    private final CancionRepository cancionRepository;
+
+    /**
+     * Índice vigente. Se reemplaza completo al reconstruir.
+     */
+    private volatile IndiceInvertido indice = new IndiceInvertido();
+
+    /**
+     * Índice de texto completo (BM25) vigente sobre títulos y artistas.
+     */
+    private volatile IndiceTextoCompleto textoCompleto = new IndiceTextoCompleto();
+
+    /**
+     * Indica si el índice ya se cargó desde la base de datos al menos una vez.
+     */
+    private volatile boolean listo;
+
+    /**
+     * Versión del catálogo: se incrementa con cada alta, modificación, baja o
+     * reconstrucción, y con ella se invalidan los resultados en caché.
+     */
+    private final AtomicLong versionCatalogo = new AtomicLong();
+
+    /**
+     * Carga el índice al arranque de la aplicación.
+     */
+    @PostConstruct
+    public void inicializar() {
+        log.info("Inicializando índice invertido de búsqueda avanzada...");
+        reconstruir();
+    }
+
+    /**
+     * Reconstruye el índice desde la base de datos leyendo las canciones por páginas.
+     * Las búsquedas siguen usando el índice anterior hasta el intercambio.
+     * Complejidad: O(n) donde n es el número de canciones
+     */
+    public synchronized void reconstruir() {
+        IndiceInvertido nuevo = new IndiceInvertido();
+        IndiceTextoCompleto nuevoTexto = new IndiceTextoCompleto();
+        long ultimoId = Long.MIN_VALUE;
+        List<Cancion> pagina;
+        do {
+            pagina = cancionRepository.findByIdGreaterThanOrderByIdAsc(
+                    ultimoId, PageRequest.of(0, TAMAÑO_PAGINA_RECONSTRUCCION));
+            for (Cancion cancion : pagina) {
+                nuevo.agregar(cancion);
+                nuevoTexto.agregar(cancion);
+                ultimoId = cancion.getId();
+            }
+        } while (pagina.size() == TAMAÑO_PAGINA_RECONSTRUCCION);
+
+        indice = nuevo;
+        textoCompleto = nuevoTexto;
+        listo = true;
+        incrementarVersion();
+        log.info("Índices de búsqueda reconstruidos con {} canciones", nuevo.tamaño());
+    }
+
+    /**
+     * Agrega una canción nueva al índice.
+     *
+     * @param cancion canción creada
+     */
+    public synchronized void agregarCancion(Cancion cancion) {
+        indice.agregar(cancion);
+        textoCompleto.agregar(cancion);
+        incrementarVersion();
+    }
+
+    /**
+     * Reindexa una canción modificada.
+     *
+     * @param cancion canción con sus nuevos valores
+     */
+    public synchronized void actualizarCancion(Cancion cancion) {
+        indice.agregar(cancion);
+        textoCompleto.agregar(cancion);
+        incrementarVersion();
+    }
+
+    /**
+     * Elimina una canción del índice.
+     *
+     * @param cancion canción eliminada
+     */
+    public synchronized void eliminarCancion(Cancion cancion) {
+        indice.eliminar(cancion.getId());
+        textoCompleto.eliminar(cancion.getId());
+        incrementarVersion();
+    }
+
+    /**
+     * Incrementa la versión del catálogo. Si hay una transacción en curso se incrementa
+     * de nuevo al terminar, para que un resultado leído de la base de datos antes del
+     * commit no quede en caché con la versión nueva.
+     */
+    private void incrementarVersion() {
+        versionCatalogo.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versionCatalogo.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Obtiene la versión vigente del catálogo.
+     *
+     * @return versión del catálogo
+     */
+    public long obtenerVersionCatalogo() {
+        return versionCatalogo.get();
+    }
+
+    /**
+     * Obtiene del índice las canciones con los ids dados, en el mismo orden.
+     *
+     * @param ids ids de las canciones
+     * @return canciones indexadas (se omiten los ids que no estén en el índice)
+     */
+    public List<Cancion> obtenerCanciones(long[] ids) {
+        return indice.obtener(ids);
+    }
+
+    /**
+     * Indica si el índice está cargado y puede responder búsquedas.
+     *
+     * @return true si el índice está listo
+     */
+    public boolean estaListo() {
+        return listo;
+    }
+
+    /**
+     * Evalúa una consulta booleana (criterios estructurados ya compilados incluidos)
+     * sobre las listas de publicación, planificando las conjunciones.
+     *
+     * @param consulta árbol de la consulta
+     * @return canciones que cumplen la consulta
+     */
+    public List<Cancion> buscar(NodoConsulta consulta) {
+        return indice.buscar(consulta);
+    }
+
+    /**
+     * Evalúa una consulta y cuenta sus resultados por género, artista y década.
+     *
+     * @param consulta árbol de la consulta
+     * @param maxArtistas número máximo de artistas en la faceta de artistas
+     * @return canciones que cumplen la consulta y sus conteos por faceta
+     */
+    public BusquedaFacetada buscarConFacetas(NodoConsulta consulta, int maxArtistas) {
+        return indice.buscarConFacetas(consulta, maxArtistas);
+    }
+
+    /**
+     * Cuenta el catálogo completo por género, artista y década.
+     *
+     * @param maxArtistas número máximo de artistas en la faceta de artistas
+     * @return conteos por faceta
+     */
+    public FacetasBusqueda facetas(int maxArtistas) {
+        return indice.facetas(maxArtistas);
+    }
+
+    /**
+     * Cuenta el catálogo completo por género.
+     *
+     * @return número de canciones por género, de mayor a menor
+     */
+    public Map<String, Long> conteoGeneros() {
+        return indice.conteoGeneros();
+    }
+
+    /**
+     * Busca las canciones más relevantes para un texto en títulos y artistas (BM25).
+     *
+     * @param texto texto de búsqueda
+     * @param limite número máximo de resultados
+     * @return resultados ordenados por relevancia descendente
+     */
+    public List<ResultadoBusquedaTexto> buscarTexto(String texto, int limite) {
+        return textoCompleto.buscar(texto, limite);
+    }
+}
@@ -0,0 +1,230 @@
+package com.syncup.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistencia diferida (write-behind) de las relaciones de seguimiento en la tabla
+ * {@code seguimientos} (ver {@link com.syncup.model.Seguimiento}).
+ *
+ * Seguir y dejar de seguir solo encolan la operación; una tarea del programador
+ * compartido ({@link com.syncup.config.AsyncConfig}) la escribe en lotes cada
+ * {@link #INTERVALO_ESCRITURA_MS} ms, o antes si la cola alcanza {@link #TAMAÑO_LOTE}
+ * operaciones. Dentro de un lote solo cuenta la última operación
+ * de cada par (seguir y dejar de seguir seguidos se anulan), y todo el lote va en una
+ * transacción corta con sentencias por lotes de JDBC. Al cerrar la aplicación se vacía
+ * la cola.
+ *
+ * Si una escritura falla, el lote se conserva y se reintenta en la siguiente, fusionado
+ * con las operaciones más nuevas (que prevalecen).
+ *
+ * @author SyncUp Team
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PersistenciaSeguimientosService {
+
+    /**
+     * Operaciones pendientes a partir de las cuales se adelanta la escritura.
+     */
+    static final int TAMAÑO_LOTE = 1000;
+
+    /**
+     * Intervalo máximo entre escrituras.
+     */
+    static final long INTERVALO_ESCRITURA_MS = 200;
+
+    /**
+     * Filas pedidas al controlador por cada viaje al leer la tabla completa.
+     */
+    private static final int FILAS_POR_LECTURA = 10_000;
+
+    private static final String SQL_INSERTAR =
+            "INSERT OR IGNORE INTO seguimientos (seguidor_id, seguido_id) VALUES (?, ?)";
+    private static final String SQL_ELIMINAR =
+            "DELETE FROM seguimientos WHERE seguidor_id = ? AND seguido_id = ?";
+    private static final String SQL_LEER = "SELECT seguidor_id, seguido_id FROM seguimientos";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskScheduler taskScheduler;
+
+    private final ConcurrentLinkedQueue<Operacion> cola = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamañoCola = new AtomicInteger();
+
+    /**
+     * Operaciones de un lote fallido, pendientes de reintento (solo las toca quien escribe).
+     */
+    private final Map<Par, Boolean> reintentos = new LinkedHashMap<>();
+
+    private volatile ScheduledFuture<?> escrituraPeriodica;
+
+    /**
+     * Receptor de las relaciones leídas de la tabla.
+     */
+    @FunctionalInterface
+    public interface ReceptorSeguimientos {
+        void aceptar(long seguidorId, long seguidoId);
+    }
+
+    /**
+     * Programa la escritura periódica cuando la aplicación termina de arrancar.
+     * SQLite admite un solo escritor: si se escribiera mientras la inicialización de
+     * datos lee y luego escribe en una misma transacción, esta fallaría con SQLITE_BUSY.
+     * Lo encolado antes se escribe en la primera pasada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        escrituraPeriodica = taskScheduler.scheduleWithFixedDelay(this::escribirSinPropagar,
+                Instant.now().plusMillis(INTERVALO_ESCRITURA_MS), Duration.ofMillis(INTERVALO_ESCRITURA_MS));
+    }
+
+    /**
+     * Cancela la escritura periódica y escribe lo que quede en la cola (si hay una
+     * escritura en curso, espera a que termine).
+     */
+    @PreDestroy
+    public void detener() {
+        ScheduledFuture<?> periodica = escrituraPeriodica;
+        if (periodica != null) {
+            periodica.cancel(false);
+        }
+        escribirPendientes();
+    }
+
+    /**
+     * Encola el alta de una relación.
+     * Complejidad: O(1)
+     *
+     * @param seguidorId id del usuario que sigue
+     * @param seguidoId id del usuario seguido
+     */
+    public void registrarSeguimiento(long seguidorId, long seguidoId) {
+        encolar(new Operacion(new Par(seguidorId, seguidoId), true));
+    }
+
+    /**
+     * Encola la baja de una relación.
+     * Complejidad: O(1)
+     *
+     * @param seguidorId id del usuario que deja de seguir
+     * @param seguidoId id del usuario que deja de ser seguido
+     */
+    public void registrarBaja(long seguidorId, long seguidoId) {
+        encolar(new Operacion(new Par(seguidorId, seguidoId), false));
+    }
+
+    /**
+     * Escribe de inmediato todas las operaciones encoladas.
+     * Complejidad: O(k) donde k es el número de operaciones pendientes
+     *
+     * @return número de filas afectadas en la tabla
+     * @throws org.springframework.dao.DataAccessException si la escritura falla (el lote
+     *         queda pendiente de reintento)
+     */
+    public synchronized int escribirPendientes() {
+        Operacion operacion;
+        while ((operacion = cola.poll()) != null) {
+            tamañoCola.decrementAndGet();
+            // Reinsertar mueve el par al final: el orden del lote sigue el de las operaciones
+            reintentos.remove(operacion.par());
+            reintentos.put(operacion.par(), operacion.alta());
+        }
+        if (reintentos.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> altas = new ArrayList<>();
+        List<Object[]> bajas = new ArrayList<>();
+        reintentos.forEach((par, alta) ->
+                (alta ? altas : bajas).add(new Object[]{par.seguidorId(), par.seguidoId()}));
+
+        // Cada par aparece una sola vez, así que altas y bajas no dependen entre sí
+        Integer filas = new TransactionTemplate(transactionManager).execute(estado ->
+                contar(jdbcTemplate.batchUpdate(SQL_INSERTAR, altas))
+                        + contar(jdbcTemplate.batchUpdate(SQL_ELIMINAR, bajas)));
+        log.debug("Escritas {} altas y {} bajas de seguimientos", altas.size(), bajas.size());
+        reintentos.clear();
+        return filas == null ? 0 : filas;
+    }
+
+    /**
+     * Lee todas las relaciones guardadas en streaming: las filas se entregan a medida
+     * que llegan del controlador, sin materializar entidades ni la tabla completa.
+     * Complejidad: O(r) donde r es el número de relaciones
+     *
+     * @param receptor recibe cada par (seguidor, seguido)
+     * @return número de relaciones leídas
+     */
+    public long cargar(ReceptorSeguimientos receptor) {
+        long[] leidas = {0};
+        jdbcTemplate.query(con -> {
+            var sentencia = con.prepareStatement(SQL_LEER);
+            sentencia.setFetchSize(FILAS_POR_LECTURA);
+            return sentencia;
+        }, fila -> {
+            receptor.aceptar(fila.getLong(1), fila.getLong(2));
+            leidas[0]++;
+        });
+        return leidas[0];
+    }
+
+    /**
+     * Obtiene el número de operaciones encoladas sin escribir.
+     *
+     * @return operaciones pendientes
+     */
+    public int pendientes() {
+        return tamañoCola.get();
+    }
+
+    private void encolar(Operacion operacion) {
+        cola.add(operacion);
+        ScheduledFuture<?> periodica = escrituraPeriodica;
+        if (tamañoCola.incrementAndGet() == TAMAÑO_LOTE && periodica != null && !periodica.isCancelled()) {
+            taskScheduler.schedule(this::escribirSinPropagar, Instant.now());
+        }
+    }
+
+    private void escribirSinPropagar() {
+        try {
+            escribirPendientes();
+        } catch (RuntimeException e) {
+            // Un error no debe cancelar la tarea periódica; el lote se reintenta
+            log.error("No se pudieron guardar los seguimientos, se reintentará: {}", e.getMessage());
+        }
+    }
+
+    private static int contar(int[] filasPorSentencia) {
+        int total = 0;
+        for (int filas : filasPorSentencia) {
+            total += Math.max(filas, 0);
+        }
+        return total;
+    }
+
+    private record Par(long seguidorId, long seguidoId) {
+    }
+
+    private record Operacion(Par par, boolean alta) {
+    }
+}
@@ -1,7 +1,9 @@
 package com.syncup.service;
 
 import com.syncup.graph.GrafoDeSimilitud;
+import com.syncup.graph.GrafoSocial;
 import com.syncup.graph.algoritmo.Dijkstra;
+import com.syncup.graph.algoritmo.RecomendacionSocial;
 import com.syncup.model.Cancion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +16,9 @@ import java.util.stream.Collectors;
  * Servicio que genera recomendaciones musicales para los usuarios.
  * Requerido según RF-005 y RF-006.
  * 
+ * Combina dos fuentes: el grafo de similitud (canciones parecidas a los favoritos) y el
+ * grafo social (favoritos de las conexiones del usuario, ver {@link RecomendacionSocial}).
+ * 
  * @author SyncUp Team
  */
 @Service
@@ -23,6 +28,18 @@ public class RecomendacionService {
     
     private final com.syncup.service.FavoritosService favoritosService;
     private final com.syncup.service.SimilitudService similitudService;
+    private final SocialService socialService;
+    private final ComunidadesService comunidadesService;
+    
+    /**
+     * Conexiones consideradas como mucho en cada nivel del grafo social.
+     */
+    static final int MAX_CONEXIONES_SOCIALES = 200;
+    
+    /**
+     * Constante k de la fusión por rango recíproco: 1 / (k + posición).
+     */
+    private static final int CONSTANTE_FUSION = 60;
     
     /**
      * Genera una playlist de "Descubrimiento Semanal" basada en los gustos del usuario.
@@ -74,6 +91,75 @@ public class RecomendacionService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Obtiene las canciones favoritas de las conexiones del usuario, ordenadas por
+     * puntuación (conexiones directas antes que a dos saltos, y más seguidos en común antes
+     * que menos). Requerido según RF-005.
+     * 
+     * @param username username del usuario
+     * @param maxCanciones número máximo de canciones
+     * @return lista de canciones de mayor a menor puntuación
+     */
+    public List<Cancion> generarRecomendacionesSociales(String username, int maxCanciones) {
+        int origen = socialService.obtenerIdEnGrafo(username);
+        if (origen == GrafoSocial.SIN_ID) {
+            return Collections.emptyList();
+        }
+        
+        GrafoSocial grafo = socialService.obtenerGrafo();
+        // Las canciones vistas al leer favoritos, para resolver los ids del resultado
+        Map<Integer, Cancion> canciones = new HashMap<>();
+        // Se excluyen todos los favoritos propios, no solo los más recientes
+        int[] propios = favoritosService.obtenerIdsOrdenados(username);
+        List<RecomendacionSocial.Puntuacion> puntuaciones = RecomendacionSocial.recomendar(grafo, origen,
+                id -> favoritosService.obtenerIdsRecientes(grafo.usuario(id).getUsername(),
+                        FavoritosService.MAX_FAVORITOS_RECIENTES, canciones),
+                cancion -> Arrays.binarySearch(propios, cancion) >= 0,
+                maxCanciones, MAX_CONEXIONES_SOCIALES, SocialService.MAX_SEGUIDOS_INTERMEDIARIO);
+        
+        return puntuaciones.stream()
+                .map(p -> canciones.get(p.getCancionId()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Mezcla las recomendaciones por similitud ({@link #generarDescubrimientoSemanal}) y las
+     * sociales ({@link #generarRecomendacionesSociales}) por fusión de rango recíproco: cada
+     * canción suma 1 / (60 + posición) por cada lista en la que aparece, así que las que
+     * ambas fuentes respaldan suben sin tener que comparar puntuaciones de escalas distintas.
+     * Un usuario sin favoritos recibe las canciones populares de su comunidad
+     * ({@link ComunidadesService}), precalculadas, sin recorrer el grafo; si aún no tiene
+     * comunidad, las sugerencias de sus conexiones.
+     * 
+     * @param username username del usuario
+     * @param maxCanciones número máximo de canciones
+     * @return lista de canciones recomendadas
+     */
+    public List<Cancion> generarMezclaSocial(String username, int maxCanciones) {
+        if (favoritosService.contarFavoritos(username) == 0) {
+            List<Cancion> deComunidad = comunidadesService.obtenerPopulares(username, maxCanciones);
+            if (!deComunidad.isEmpty()) {
+                return deComunidad;
+            }
+        }
+        
+        List<Cancion> porSimilitud = generarDescubrimientoSemanal(username, maxCanciones);
+        List<Cancion> porConexiones = generarRecomendacionesSociales(username, maxCanciones);
+        
+        Map<Cancion, Double> puntuaciones = new LinkedHashMap<>();
+        sumarRangoReciproco(porSimilitud, puntuaciones);
+        sumarRangoReciproco(porConexiones, puntuaciones);
+        
+        List<Cancion> resultado = puntuaciones.entrySet().stream()
+                .sorted(Map.Entry.<Cancion, Double>comparingByValue().reversed())
+                .limit(maxCanciones)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        log.debug("Mezcla social para '{}': {} por similitud, {} por conexiones, {} en total",
+                username, porSimilitud.size(), porConexiones.size(), resultado.size());
+        return resultado;
+    }
+    
     /**
      * Inicia una "Radio" a partir de una canción semilla.
      * Requerido según RF-006.
@@ -108,5 +194,10 @@ public class RecomendacionService {
         log.debug("Radio generada con {} canciones", radio.size());
         return radio;
     }
+    
+    private static void sumarRangoReciproco(List<Cancion> lista, Map<Cancion, Double> puntuaciones) {
+        for (int posicion = 0; posicion < lista.size(); posicion++) {
+            puntuaciones.merge(lista.get(posicion), 1.0 / (CONSTANTE_FUSION + posicion + 1), Double::sum);
+        }
+    }
 }
-
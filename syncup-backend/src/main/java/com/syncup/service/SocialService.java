@@ -1,20 +1,39 @@
 package com.syncup.service;
 
+import com.syncup.event.SeguimientoEvent;
+import com.syncup.graph.CacheSugerencias;
 import com.syncup.graph.GrafoSocial;
-import com.syncup.graph.algoritmo.BFS;
+import com.syncup.graph.algoritmo.BFSBidireccional;
+import com.syncup.graph.algoritmo.SugerenciasAmigos;
 import com.syncup.model.Usuario;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
 
 /**
  * Servicio que gestiona las relaciones sociales entre usuarios usando el Grafo Social.
  * Requerido según RF-007, RF-008, RF-023, RF-024.
  * 
+ * Las consultas y los cambios se resuelven en el grafo en memoria; los cambios se
+ * guardan además de forma diferida en la tabla de seguimientos
+ * ({@link PersistenciaSeguimientosService}), de donde se recarga el grafo al arrancar.
+ * Cada seguimiento nuevo se anuncia con un {@link SeguimientoEvent}.
+ * 
  * @author SyncUp Team
  */
 @Service
@@ -23,6 +42,13 @@ import java.util.Set;
 public class SocialService {
     
     private final com.syncup.service.UsuarioIndexService usuarioIndexService;
+    private final PersistenciaSeguimientosService persistenciaSeguimientos;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Programador compartido definido en {@link com.syncup.config.AsyncConfig}.
+     */
+    private final TaskScheduler taskScheduler;
     
     /**
      * Instancia del grafo social.
@@ -30,14 +56,110 @@ public class SocialService {
     private final GrafoSocial grafoSocial = new GrafoSocial();
     
     /**
-     * Carga las relaciones sociales desde la base de datos al grafo.
-     * En una implementación completa, se cargarían desde una tabla de relaciones.
-     * Por ahora, se inicializa vacío y se construye dinámicamente.
+     * Seguidos a partir de los cuales un usuario deja de contar como intermediario en las
+     * sugerencias (evita que una cuenta que sigue a todos domine el cálculo).
+     */
+    static final int MAX_SEGUIDOS_INTERMEDIARIO = 1000;
+    
+    /**
+     * Sugerencias que se guardan por usuario; pedir más se calcula en el momento.
+     */
+    static final int TAMAÑO_LISTA_SUGERENCIAS = 50;
+    
+    /**
+     * Saltos máximos que admite una consulta de grados de separación.
+     */
+    static final int MAX_SALTOS_SEPARACION = 10;
+    
+    private static final int CAPACIDAD_CACHE_SUGERENCIAS = 10_000;
+    private static final long INTERVALO_RECALCULO_MS = 200;
+    
+    /**
+     * Sugerencias precalculadas por usuario; la tarea periódica de recálculo refresca las
+     * que un cambio de seguimiento deja sucias.
+     */
+    private final CacheSugerencias cacheSugerencias = new CacheSugerencias(grafoSocial,
+            id -> SugerenciasAmigos.sugerir(grafoSocial, id, TAMAÑO_LISTA_SUGERENCIAS, MAX_SEGUIDOS_INTERMEDIARIO),
+            CAPACIDAD_CACHE_SUGERENCIAS);
+    
+    private ScheduledFuture<?> recalculoPeriodico;
+    
+    /**
+     * Carga las relaciones sociales desde la tabla de seguimientos al grafo.
+     * La tabla se lee en streaming y cada fila se resuelve contra el índice de usuarios
+     * en memoria; las filas de usuarios que ya no existen se ignoran.
+     * Complejidad: O(u + r) donde u es el número de usuarios y r el de relaciones
      */
     @PostConstruct
     public void inicializar() {
-        log.info("Grafo social inicializado");
-        // En una implementación completa, aquí se cargarían las relaciones desde BD
+        long inicio = System.currentTimeMillis();
+        grafoSocial.setObservador(null); // Lo que se carga ya está guardado
+        // Registrar primero a todos los usuarios: cada fila se resuelve a dos ids del grafo
+        // con una búsqueda por Long, sin hashing de usernames por arista
+        Map<Long, Integer> idsGrafo = new HashMap<>();
+        usuarioIndexService.getUsuariosMap().values()
+                .forEach(u -> idsGrafo.put(u.getId(), grafoSocial.registrar(u)));
+        
+        long[] ignoradas = {0};
+        long leidas = persistenciaSeguimientos.cargar((seguidorId, seguidoId) -> {
+            Integer seguidor = idsGrafo.get(seguidorId);
+            Integer seguido = idsGrafo.get(seguidoId);
+            if (seguidor == null || seguido == null) {
+                ignoradas[0]++;
+                return;
+            }
+            grafoSocial.seguir(seguidor, seguido);
+        });
+        log.info("Grafo social cargado: {} relaciones ({} ignoradas) en {} ms",
+                leidas - ignoradas[0], ignoradas[0], System.currentTimeMillis() - inicio);
+        
+        // Desde aquí cada cambio del grafo se encola para guardarse y ensucia las
+        // sugerencias afectadas. El grafo notifica con los candados de la arista tomados,
+        // así que la cola recibe los cambios de una misma relación en el orden en que se
+        // aplicaron aunque lleguen de varios hilos.
+        grafoSocial.setObservador(new GrafoSocial.ObservadorAristas() {
+            @Override
+            public void aristaAgregada(int seguidor, int seguido) {
+                cacheSugerencias.registrarCambio(seguidor);
+                Long seguidorId = grafoSocial.usuario(seguidor).getId();
+                Long seguidoId = grafoSocial.usuario(seguido).getId();
+                if (seguidorId != null && seguidoId != null) {
+                    persistenciaSeguimientos.registrarSeguimiento(seguidorId, seguidoId);
+                }
+            }
+            
+            @Override
+            public void aristaEliminada(int seguidor, int seguido) {
+                cacheSugerencias.registrarCambio(seguidor);
+                Long seguidorId = grafoSocial.usuario(seguidor).getId();
+                Long seguidoId = grafoSocial.usuario(seguido).getId();
+                if (seguidorId != null && seguidoId != null) {
+                    persistenciaSeguimientos.registrarBaja(seguidorId, seguidoId);
+                }
+            }
+        });
+        
+        recalculoPeriodico = taskScheduler.scheduleWithFixedDelay(this::recalcularSugerencias,
+                Instant.now().plusMillis(INTERVALO_RECALCULO_MS), Duration.ofMillis(INTERVALO_RECALCULO_MS));
+    }
+    
+    /**
+     * Cancela el recálculo periódico de sugerencias.
+     */
+    @PreDestroy
+    public void detener() {
+        if (recalculoPeriodico != null) {
+            recalculoPeriodico.cancel(false);
+        }
+    }
+    
+    private void recalcularSugerencias() {
+        try {
+            cacheSugerencias.procesarPendientes();
+        } catch (RuntimeException e) {
+            // Un fallo no debe cancelar las ejecuciones siguientes del programador
+            log.error("Error al recalcular sugerencias", e);
+        }
     }
     
     /**
@@ -63,7 +185,9 @@ public class SocialService {
             return false;
         }
         
-        grafoSocial.seguir(seguidor, seguido);
+        if (grafoSocial.seguir(seguidor, seguido)) {
+            eventPublisher.publishEvent(new SeguimientoEvent(seguidorUsername, seguidoUsername));
+        }
         log.info("Usuario '{}' ahora sigue a '{}'", seguidorUsername, seguidoUsername);
         return true;
     }
@@ -117,6 +241,25 @@ public class SocialService {
         return grafoSocial.obtenerSeguidores(usuario);
     }
     
+    /**
+     * Obtiene cuántos usuarios sigue un usuario y cuántos lo siguen, sin copiar los
+     * conjuntos (una cuenta con millones de seguidores cuesta lo mismo que una sin ellos).
+     * Complejidad: O(1)
+     * 
+     * @param username username del usuario
+     * @return mapa con "seguidores" y "seguidos", o null si el usuario no existe
+     */
+    public Map<String, Integer> contarRelaciones(String username) {
+        Usuario usuario = usuarioIndexService.getUsuario(username);
+        if (usuario == null) {
+            return null;
+        }
+        Map<String, Integer> conteos = new LinkedHashMap<>();
+        conteos.put("seguidores", grafoSocial.contarSeguidores(usuario));
+        conteos.put("seguidos", grafoSocial.contarSeguidos(usuario));
+        return conteos;
+    }
+    
     /**
      * Verifica si un usuario sigue a otro.
      * 
@@ -135,14 +278,56 @@ public class SocialService {
         return grafoSocial.sigueA(seguidor, seguido);
     }
     
+    /**
+     * Calcula los grados de separación entre dos usuarios: el camino dirigido más corto
+     * (origen sigue a X, X sigue a ..., que sigue a destino) de como mucho maxSaltos saltos.
+     * Requerido según RF-024.
+     * Complejidad: O(b^(d/2)) con BFS bidireccional (ver {@link BFSBidireccional})
+     * 
+     * @param origenUsername username del usuario origen
+     * @param destinoUsername username del usuario destino
+     * @param maxSaltos número máximo de saltos (1 a {@link #MAX_SALTOS_SEPARACION})
+     * @return mapa con "saltos" (-1 si no hay camino) y "camino" (usernames de origen a
+     *         destino), o null si alguno de los usuarios no existe
+     * @throws IllegalArgumentException si maxSaltos está fuera de rango
+     */
+    public Map<String, Object> calcularSeparacion(String origenUsername, String destinoUsername, int maxSaltos) {
+        if (maxSaltos < 1 || maxSaltos > MAX_SALTOS_SEPARACION) {
+            throw new IllegalArgumentException(
+                    "maxSaltos debe estar entre 1 y " + MAX_SALTOS_SEPARACION);
+        }
+        Usuario origen = usuarioIndexService.getUsuario(origenUsername);
+        Usuario destino = usuarioIndexService.getUsuario(destinoUsername);
+        if (origen == null || destino == null) {
+            return null;
+        }
+        
+        int[] camino = BFSBidireccional.camino(
+                grafoSocial, grafoSocial.idDe(origen), grafoSocial.idDe(destino), maxSaltos);
+        List<String> usernames = new ArrayList<>(camino.length);
+        for (int id : camino) {
+            usernames.add(grafoSocial.usuario(id).getUsername());
+        }
+        Map<String, Object> separacion = new LinkedHashMap<>();
+        separacion.put("saltos", camino.length == 0 ? BFSBidireccional.SIN_CAMINO : camino.length - 1);
+        separacion.put("camino", usernames);
+        return separacion;
+    }
+    
     /**
      * Obtiene sugerencias de usuarios a quienes seguir.
      * Requerido según RF-008.
-     * Utiliza BFS en el grafo social para encontrar "amigos de amigos".
+     * Sugiere "amigos de amigos" ordenados por cuántos de los seguidos del usuario los
+     * siguen (ver {@link SugerenciasAmigos}).
+     * 
+     * Hasta {@link #TAMAÑO_LISTA_SUGERENCIAS} sugerencias se sirven de la caché: la lista
+     * puede ir unos instantes por detrás del grafo tras un cambio, pero nunca incluye a
+     * quien el usuario ya sigue (se filtra al leerla).
+     * Complejidad: O(k) con entrada en caché
      * 
      * @param username username del usuario
      * @param maxSugerencias número máximo de sugerencias
-     * @return lista de usuarios sugeridos
+     * @return lista de usuarios sugeridos, de más a menos conexiones en común
      */
     public List<Usuario> obtenerSugerencias(String username, int maxSugerencias) {
         Usuario usuario = usuarioIndexService.getUsuario(username);
@@ -150,9 +335,41 @@ public class SocialService {
             return List.of();
         }
         
-        // Usar BFS para encontrar usuarios a una profundidad de 2 (amigos de amigos)
-        int profundidadMax = 2;
-        return BFS.encontrarUsuariosSugeridos(grafoSocial, usuario, profundidadMax, maxSugerencias);
+        int id = grafoSocial.idDe(usuario);
+        if (id == GrafoSocial.SIN_ID || maxSugerencias <= 0) {
+            return List.of();
+        }
+        if (maxSugerencias > TAMAÑO_LISTA_SUGERENCIAS) {
+            return SugerenciasAmigos.sugerir(grafoSocial, id, maxSugerencias, MAX_SEGUIDOS_INTERMEDIARIO).stream()
+                    .map(s -> grafoSocial.usuario(s.getId()))
+                    .collect(Collectors.toList());
+        }
+        return cacheSugerencias.obtener(id).stream()
+                .filter(s -> s.getId() != id && !grafoSocial.sigueA(id, s.getId()))
+                .limit(maxSugerencias)
+                .map(s -> grafoSocial.usuario(s.getId()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtiene las métricas de la caché de sugerencias (entradas sucias, antigüedad al
+     * recalcular, ritmo de recálculo y tasa de acierto).
+     * 
+     * @return mapa con las estadísticas de la caché
+     */
+    public Map<String, Object> obtenerEstadisticasSugerencias() {
+        return cacheSugerencias.obtenerEstadisticas();
+    }
+    
+    /**
+     * Obtiene el id en el grafo social de un usuario.
+     * 
+     * @param username username del usuario
+     * @return id del usuario en el grafo, o {@link GrafoSocial#SIN_ID} si no existe
+     */
+    public int obtenerIdEnGrafo(String username) {
+        Usuario usuario = usuarioIndexService.getUsuario(username);
+        return usuario == null ? GrafoSocial.SIN_ID : grafoSocial.idDe(usuario);
     }
     
     /**
@@ -2,11 +2,13 @@ package com.syncup.service;
 
 import com.syncup.model.Usuario;
 import com.syncup.repository.UsuarioRepository;
+import com.syncup.trie.TrieUsuarios;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +17,9 @@ import java.util.Map;
  * Servicio que mantiene un índice en memoria (HashMap) de usuarios para acceso O(1).
  * Requerido según RF-016.
  * 
+ * Junto al HashMap mantiene un {@link TrieUsuarios} de prefijos y palabras sobre
+ * username y nombre, usado por el buscador de usuarios sin consultar la base de datos.
+ * 
  * @author SyncUp Team
  */
 @Service
@@ -30,6 +35,11 @@ public class UsuarioIndexService {
      */
     private final Map<String, Usuario> usuariosMap = new HashMap<>();
     
+    /**
+     * Índice de prefijos y palabras sobre username y nombre para la búsqueda de usuarios.
+     */
+    private final TrieUsuarios trieUsuarios = new TrieUsuarios();
+    
     /**
      * Carga todos los usuarios desde la base de datos al HashMap en memoria.
      * Se ejecuta al arranque de la aplicación mediante @PostConstruct.
@@ -40,12 +50,14 @@ public class UsuarioIndexService {
         log.info("Cargando usuarios en memoria...");
         List<Usuario> usuarios = usuarioRepository.findAll();
         usuariosMap.clear();
+        trieUsuarios.limpiar();
         usuarios.forEach(usuario -> {
             // Verificar que el usuario tenga contraseña antes de agregarlo
             if (usuario.getPassword() == null || usuario.getPassword().isEmpty()) {
                 log.warn("Usuario '{}' cargado SIN contraseña desde BD!", usuario.getUsername());
             }
             usuariosMap.put(usuario.getUsername(), usuario);
+            trieUsuarios.insertar(usuario.getUsername(), usuario.getNombre());
         });
         log.info("{} usuarios cargados en memoria", usuariosMap.size());
         
@@ -110,16 +122,18 @@ public class UsuarioIndexService {
         }
         
         usuariosMap.put(usuario.getUsername(), usuario);
+        trieUsuarios.insertar(usuario.getUsername(), usuario.getNombre());
     }
     
     /**
-     * Elimina un usuario del HashMap en memoria.
-     * Complejidad: O(1)
+     * Elimina un usuario del HashMap en memoria y del índice de búsqueda.
+     * Complejidad: O(1) en el HashMap, O(L) en el Trie donde L es la longitud de sus claves
      * 
      * @param username nombre de usuario a eliminar
      */
     public void eliminarUsuario(String username) {
         usuariosMap.remove(username);
+        trieUsuarios.eliminar(username);
     }
     
     /**
@@ -135,12 +149,35 @@ public class UsuarioIndexService {
     
     /**
      * Actualiza el índice después de modificar un usuario.
-     * Complejidad: O(1)
+     * El Trie de búsqueda se reindexa con el nombre actual.
+     * Complejidad: O(1) en el HashMap, O(L) en el Trie
      * 
      * @param usuario usuario actualizado
      */
     public void actualizarUsuario(Usuario usuario) {
         usuariosMap.put(usuario.getUsername(), usuario);
+        trieUsuarios.insertar(usuario.getUsername(), usuario.getNombre());
+    }
+    
+    /**
+     * Busca usuarios cuyo username, nombre o alguna palabra del nombre comienzan
+     * con el texto dado, sin distinguir mayúsculas ni acentos.
+     * Se resuelve completamente en memoria, sin consultar la base de datos.
+     * Complejidad: O(m + v) donde m es la longitud del texto y v los nodos visitados hasta reunir K usuarios
+     * 
+     * @param texto texto a buscar
+     * @param limite número máximo de usuarios a retornar (K)
+     * @return lista de usuarios encontrados
+     */
+    public List<Usuario> buscarUsuarios(String texto, int limite) {
+        List<Usuario> resultados = new ArrayList<>();
+        for (String username : trieUsuarios.buscar(texto, limite)) {
+            Usuario usuario = usuariosMap.get(username);
+            if (usuario != null) {
+                resultados.add(usuario);
+            }
+        }
+        return resultados;
     }
     
     /**
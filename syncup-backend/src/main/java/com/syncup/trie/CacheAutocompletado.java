@@ -0,0 +1,274 @@
+package com.syncup.trie;
+
+import com.syncup.model.Cancion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Caché de corta duración para resultados de autocompletado por prefijo.
+ *
+ * El tráfico de autocompletado es una secuencia de prefijos crecientes del mismo
+ * cliente ("b", "be", "bea"...). Esta caché aprovecha ese patrón:
+ * - Acierto exacto: el prefijo ya está en caché.
+ * - Acierto por extensión: un prefijo más corto está en caché, así que basta con
+ *   filtrar sus candidatos por la nueva clave en lugar de recorrer el Trie desde la raíz.
+ * - Fallo: se recorre el Trie y el resultado se guarda.
+ *
+ * Los prefijos de uno y dos caracteres (los más frecuentes) quedan fijados: no expiran
+ * ni son desalojados por LRU; solo se invalidan cuando cambia el catálogo.
+ *
+ * Cada prefijo guarda sus entradas (para poder filtrarlas al extender el prefijo) y la
+ * lista de canciones ya deduplicada por id, de modo que un acierto exacto es O(1).
+ *
+ * Todas las claves recibidas deben estar ya normalizadas con
+ * {@link com.syncup.util.NormalizadorTexto}.
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class CacheAutocompletado {
+
+    /**
+     * Longitud máxima de los prefijos que se fijan en caché.
+     */
+    public static final int LONGITUD_MAXIMA_FIJADA = 2;
+
+    /**
+     * Número máximo de prefijos no fijados que se conservan (LRU).
+     */
+    private final int capacidad;
+
+    /**
+     * Tiempo de vida de una entrada no fijada, en nanosegundos.
+     */
+    private final long ttlNanos;
+
+    /**
+     * Prefijos cortos fijados en caché: Key: prefijo normalizado, Value: candidatos.
+     */
+    private final Map<String, ResultadoPrefijo> fijados = new HashMap<>();
+
+    /**
+     * Prefijos recientes en orden de acceso (LRU).
+     */
+    private final LinkedHashMap<String, ResultadoPrefijo> recientes;
+
+    private long aciertosExactos;
+    private long aciertosPorExtension;
+    private long fallos;
+    private long invalidaciones;
+
+    /**
+     * Se incrementa con cada invalidación, para no guardar resultados calculados antes.
+     */
+    private long generacion;
+
+    /**
+     * Constructor de la caché.
+     *
+     * @param capacidad número máximo de prefijos no fijados
+     * @param ttlMillis tiempo de vida de cada prefijo no fijado, en milisegundos
+     */
+    public CacheAutocompletado(int capacidad, long ttlMillis) {
+        this.capacidad = capacidad;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.recientes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResultadoPrefijo> eldest) {
+                return size() > CacheAutocompletado.this.capacidad;
+            }
+        };
+    }
+
+    /**
+     * Obtiene los candidatos de un prefijo, reutilizando resultados en caché cuando es posible.
+     * Complejidad: O(1) en acierto exacto, O(c) en acierto por extensión donde c es el número
+     * de candidatos del prefijo en caché, y el coste del recorrido del Trie en caso de fallo.
+     *
+     * El monitor de la caché solo se toma para consultar y para guardar: el filtrado por
+     * extensión y el recorrido del Trie se hacen fuera, así que un fallo no bloquea las
+     * consultas de otros hilos. Si mientras tanto se invalida la caché, el resultado se
+     * devuelve pero no se guarda, porque pudo calcularse con el catálogo anterior.
+     *
+     * @param prefijo prefijo normalizado
+     * @param recorrerTrie función que recolecta las entradas del Trie cuando no hay reutilización
+     * @return canciones cuyas claves comienzan con el prefijo, sin duplicados por id
+     */
+    public List<Cancion> obtener(String prefijo, Function<String, List<EntradaTrie>> recorrerTrie) {
+        long ahora = System.nanoTime();
+        ResultadoPrefijo base = null;
+        long generacionLeida;
+
+        synchronized (this) {
+            ResultadoPrefijo exacto = buscarVigente(prefijo, ahora);
+            if (exacto != null) {
+                aciertosExactos++;
+                return exacto.canciones;
+            }
+
+            // Buscar el prefijo en caché más largo que sea prefijo del solicitado
+            for (int longitud = prefijo.length() - 1; longitud > 0 && base == null; longitud--) {
+                base = buscarVigente(prefijo.substring(0, longitud), ahora);
+            }
+            if (base != null) {
+                aciertosPorExtension++;
+            } else {
+                fallos++;
+            }
+            generacionLeida = generacion;
+        }
+
+        List<EntradaTrie> entradas;
+        if (base != null) {
+            entradas = new ArrayList<>();
+            for (EntradaTrie entrada : base.entradas) {
+                if (entrada.getClave().startsWith(prefijo)) {
+                    entradas.add(entrada);
+                }
+            }
+        } else {
+            entradas = recorrerTrie.apply(prefijo);
+        }
+        ResultadoPrefijo resultado = new ResultadoPrefijo(List.copyOf(entradas), deduplicar(entradas), ahora);
+
+        synchronized (this) {
+            if (generacion == generacionLeida) {
+                guardar(prefijo, resultado, ahora);
+            }
+        }
+        return resultado.canciones;
+    }
+
+    /**
+     * Invalida los prefijos afectados por un cambio en una clave del catálogo:
+     * todos los prefijos en caché que sean prefijo de la clave.
+     * Complejidad: O(p) donde p es el número de prefijos en caché
+     *
+     * @param claveNormalizada clave (título o artista normalizado) que cambió
+     */
+    public synchronized void invalidar(String claveNormalizada) {
+        if (claveNormalizada == null || claveNormalizada.isEmpty()) {
+            return;
+        }
+        generacion++;
+        boolean eliminados = fijados.keySet().removeIf(claveNormalizada::startsWith);
+        eliminados |= recientes.keySet().removeIf(claveNormalizada::startsWith);
+        if (eliminados) {
+            invalidaciones++;
+        }
+    }
+
+    /**
+     * Vacía la caché por completo (por ejemplo, tras reconstruir el Trie).
+     */
+    public synchronized void limpiar() {
+        generacion++;
+        fijados.clear();
+        recientes.clear();
+        invalidaciones++;
+    }
+
+    /**
+     * Obtiene las métricas de la caché.
+     *
+     * @return mapa con contadores de aciertos, fallos, tasa de acierto y tamaño
+     */
+    public synchronized Map<String, Object> obtenerEstadisticas() {
+        long total = aciertosExactos + aciertosPorExtension + fallos;
+        Map<String, Object> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("consultas", total);
+        estadisticas.put("aciertosExactos", aciertosExactos);
+        estadisticas.put("aciertosPorExtension", aciertosPorExtension);
+        estadisticas.put("fallos", fallos);
+        estadisticas.put("tasaAcierto", total == 0 ? 0.0 : (double) (aciertosExactos + aciertosPorExtension) / total);
+        estadisticas.put("invalidaciones", invalidaciones);
+        estadisticas.put("prefijosFijados", fijados.size());
+        estadisticas.put("prefijosRecientes", recientes.size());
+        return estadisticas;
+    }
+
+    /**
+     * Busca un prefijo en caché descartando las entradas expiradas.
+     */
+    private ResultadoPrefijo buscarVigente(String prefijo, long ahora) {
+        ResultadoPrefijo fijado = fijados.get(prefijo);
+        if (fijado != null) {
+            return fijado;
+        }
+
+        ResultadoPrefijo reciente = recientes.get(prefijo);
+        if (reciente == null) {
+            return null;
+        }
+        if (ahora - reciente.creadoEn > ttlNanos) {
+            recientes.remove(prefijo);
+            return null;
+        }
+        return reciente;
+    }
+
+    /**
+     * Guarda los candidatos de un prefijo, fijándolo si es suficientemente corto.
+     */
+    private void guardar(String prefijo, ResultadoPrefijo resultado, long ahora) {
+        if (prefijo.length() <= LONGITUD_MAXIMA_FIJADA) {
+            fijados.put(prefijo, resultado);
+        } else {
+            recientes.put(prefijo, resultado);
+            purgarExpiradas(ahora);
+        }
+    }
+
+    /**
+     * Deduplica por id las canciones de las entradas manteniendo el orden de aparición,
+     * para evitar que una canción aparezca dos veces cuando coincide por título y por artista.
+     * Las canciones sin id se deduplican por identidad, sin compartir claves con las demás.
+     */
+    private static List<Cancion> deduplicar(List<EntradaTrie> entradas) {
+        List<Cancion> canciones = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        Set<Cancion> sinId = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EntradaTrie entrada : entradas) {
+            Cancion c = entrada.getCancion();
+            if (c.getId() != null ? ids.add(c.getId()) : sinId.add(c)) {
+                canciones.add(c);
+            }
+        }
+        return List.copyOf(canciones);
+    }
+
+    /**
+     * Elimina todas las entradas no fijadas expiradas. Se recorre el mapa completo: el orden
+     * de acceso no es el de creación, así que una entrada joven usada hace poco puede ir
+     * delante de otras ya expiradas.
+     * Complejidad: O(capacidad)
+     */
+    private void purgarExpiradas(long ahora) {
+        recientes.values().removeIf(resultado -> ahora - resultado.creadoEn > ttlNanos);
+    }
+
+    /**
+     * Clase auxiliar para almacenar el resultado de un prefijo junto con su instante de creación.
+     */
+    private static class ResultadoPrefijo {
+        private final List<EntradaTrie> entradas;
+        private final List<Cancion> canciones;
+        private final long creadoEn;
+
+        ResultadoPrefijo(List<EntradaTrie> entradas, List<Cancion> canciones, long creadoEn) {
+            this.entradas = entradas;
+            this.canciones = canciones;
+            this.creadoEn = creadoEn;
+        }
+    }
+}
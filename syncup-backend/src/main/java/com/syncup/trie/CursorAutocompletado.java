@@ -0,0 +1,73 @@
+package com.syncup.trie;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginar el autocompletado.
+ * 
+ * Identifica la última entrada entregada (clave normalizada e id de la canción), de
+ * modo que el Trie pueda reanudar el recorrido justo después de ella. Se transmite
+ * al cliente como texto Base64 URL-safe.
+ * 
+ * @author SyncUp Team
+ */
+public class CursorAutocompletado {
+    
+    private static final char SEPARADOR = '\n';
+    
+    private final String clave;
+    private final long id;
+    
+    /**
+     * Constructor del cursor.
+     * 
+     * @param clave clave normalizada de la última entrada entregada
+     * @param id id de la última canción entregada
+     */
+    public CursorAutocompletado(String clave, long id) {
+        this.clave = clave;
+        this.id = id;
+    }
+    
+    public String getClave() {
+        return clave;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    /**
+     * Codifica el cursor como texto opaco.
+     * 
+     * @return cursor codificado en Base64 URL-safe
+     */
+    public String codificar() {
+        String plano = clave + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodifica un cursor recibido del cliente.
+     * 
+     * @param cursor texto opaco generado por {@link #codificar()}
+     * @return cursor decodificado
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static CursorAutocompletado decodificar(String cursor) {
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = plano.lastIndexOf(SEPARADOR);
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Cursor de autocompletado inválido");
+            }
+            return new CursorAutocompletado(plano.substring(0, separador),
+                    Long.parseLong(plano.substring(separador + 1)));
+        } catch (IllegalArgumentException e) {
+            // Incluye NumberFormatException y errores de Base64
+            throw new IllegalArgumentException("Cursor de autocompletado inválido", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.syncup.trie;
+
+import com.syncup.model.Cancion;
+
+/**
+ * Entrada recolectada del Trie: la clave normalizada bajo la que está indexada
+ * una canción junto con la propia canción.
+ * 
+ * Conservar la clave permite filtrar un conjunto de candidatos ya recolectado
+ * cuando el usuario extiende el prefijo, sin volver a recorrer el árbol.
+ * 
+ * @author SyncUp Team
+ */
+public class EntradaTrie {
+    
+    /**
+     * Clave normalizada (título o artista) bajo la que está indexada la canción.
+     */
+    private final String clave;
+    
+    /**
+     * Canción asociada a la clave.
+     */
+    private final Cancion cancion;
+    
+    /**
+     * Constructor de la entrada.
+     * 
+     * @param clave clave normalizada
+     * @param cancion canción asociada
+     */
+    public EntradaTrie(String clave, Cancion cancion) {
+        this.clave = clave;
+        this.cancion = cancion;
+    }
+    
+    public String getClave() {
+        return clave;
+    }
+    
+    public Cancion getCancion() {
+        return cancion;
+    }
+}
@@ -1,17 +1,24 @@
 package com.syncup.trie;
 
 import com.syncup.model.Cancion;
+import com.syncup.util.NormalizadorTexto;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Implementación de un Trie (Árbol de Prefijos) para búsqueda eficiente de canciones.
  * Requerido según RF-025 y RF-026.
  * 
+ * Las claves se normalizan con {@link NormalizadorTexto} tanto al indexar como al
+ * consultar, de modo que "Canción", "cancion" y "CANCIÓN" comparten la misma rama.
+ * 
  * @author SyncUp Team
  */
 @Slf4j
@@ -31,7 +38,8 @@ public class TrieAutocompletado {
     
     /**
      * Inserta una canción en el Trie basándose en su título.
-     * El título se convierte a minúsculas para búsquedas case-insensitive.
+     * El título se normaliza (sin diacríticos, minúsculas y espacios colapsados)
+     * para búsquedas insensibles a mayúsculas y acentos.
      * Complejidad: O(m) donde m es la longitud del título
      * 
      * @param titulo título de la canción a insertar
@@ -42,11 +50,17 @@ public class TrieAutocompletado {
             return;
         }
         
+        char[] clave = new char[NormalizadorTexto.capacidadRequerida(titulo.length())];
+        int longitud = NormalizadorTexto.normalizar(titulo, 0, titulo.length(), clave);
+        if (longitud == 0) {
+            return;
+        }
+        
         TrieNode actual = raiz;
-        String tituloLower = titulo.toLowerCase().trim();
         
-        // Recorrer cada carácter del título
-        for (char c : tituloLower.toCharArray()) {
+        // Recorrer cada carácter de la clave normalizada
+        for (int i = 0; i < longitud; i++) {
+            char c = clave[i];
             // Si el nodo actual no tiene hijo para este carácter, crearlo
             if (!actual.tieneHijo(c)) {
                 actual.getChildren().put(c, new TrieNode());
@@ -57,7 +71,7 @@ public class TrieAutocompletado {
         
         // Marcar el nodo final como fin de palabra y agregar la canción
         actual.setEndOfWord(true);
-        actual.getCanciones().add(cancion);
+        actual.agregarCancion(cancion);
         
         log.debug("Canción '{}' insertada en Trie", titulo);
     }
@@ -77,16 +91,11 @@ public class TrieAutocompletado {
             return resultados;
         }
         
-        String prefixLower = prefix.toLowerCase().trim();
-        TrieNode actual = raiz;
-        
-        // Navegar hasta el nodo correspondiente al prefijo
-        for (char c : prefixLower.toCharArray()) {
-            if (!actual.tieneHijo(c)) {
-                // Prefijo no encontrado
-                return resultados;
-            }
-            actual = actual.obtenerHijo(c);
+        // Navegar hasta el nodo correspondiente al prefijo normalizado
+        TrieNode actual = navegar(prefix);
+        if (actual == null) {
+            // Prefijo no encontrado
+            return resultados;
         }
         
         // Una vez en el nodo del prefijo, recolectar todas las canciones
@@ -100,6 +109,223 @@ public class TrieAutocompletado {
         return resultados;
     }
     
+    /**
+     * Busca todas las entradas (clave normalizada + canción) bajo el prefijo dado.
+     * A diferencia de {@link #buscarPorPrefijo(String)}, no deduplica: una canción
+     * indexada por título y por artista aparece una vez por cada clave.
+     * Complejidad: O(m + k) donde m es la longitud del prefijo y k el número de entradas
+     * 
+     * @param prefix prefijo de búsqueda
+     * @return lista de entradas cuyas claves comienzan con el prefijo normalizado
+     */
+    public List<EntradaTrie> buscarEntradasPorPrefijo(String prefix) {
+        List<EntradaTrie> entradas = new ArrayList<>();
+        
+        if (prefix == null || prefix.isEmpty()) {
+            return entradas;
+        }
+        
+        TrieNode actual = navegar(prefix);
+        if (actual == null) {
+            return entradas;
+        }
+        
+        StringBuilder ruta = new StringBuilder(NormalizadorTexto.normalizar(prefix));
+        recolectarEntradas(actual, ruta, entradas);
+        return entradas;
+    }
+    
+    /**
+     * Recolecta las entradas desde un nodo hacia abajo usando DFS,
+     * reconstruyendo la clave a partir de la ruta recorrida.
+     * 
+     * @param nodo nodo actual
+     * @param ruta clave acumulada hasta el nodo actual
+     * @param entradas lista donde se acumulan las entradas
+     */
+    private void recolectarEntradas(TrieNode nodo, StringBuilder ruta, List<EntradaTrie> entradas) {
+        if (nodo.isEndOfWord() && !nodo.getCanciones().isEmpty()) {
+            String clave = ruta.toString();
+            for (Cancion cancion : nodo.getCanciones()) {
+                entradas.add(new EntradaTrie(clave, cancion));
+            }
+        }
+        
+        for (Map.Entry<Character, TrieNode> hijo : nodo.getChildren().entrySet()) {
+            ruta.append(hijo.getKey());
+            recolectarEntradas(hijo.getValue(), ruta, entradas);
+            ruta.setLength(ruta.length() - 1);
+        }
+    }
+    
+    /**
+     * Obtiene una página de entradas bajo el prefijo dado, en orden determinista:
+     * claves en orden lexicográfico y, dentro de una misma clave, canciones por id.
+     * 
+     * Si se indica un cursor (clave e id de la última entrada entregada), el recorrido
+     * desciende directamente por la rama del cursor y continúa desde ahí, sin volver
+     * a visitar las entradas de páginas anteriores.
+     * Complejidad: O(m + d + p) donde m es la longitud del prefijo, d la longitud de la
+     * clave del cursor y p el número de entradas visitadas para llenar la página
+     * 
+     * @param prefix prefijo de búsqueda
+     * @param claveCursor clave normalizada de la última entrada entregada, o null para empezar
+     * @param idCursor id de la última canción entregada (ignorado si no hay cursor)
+     * @param limite número máximo de entradas a devolver
+     * @param filtro condición que debe cumplir una entrada para incluirse en la página
+     * @return entradas de la página, en orden de recorrido
+     */
+    public List<EntradaTrie> buscarPagina(String prefix, String claveCursor, Long idCursor,
+                                          int limite, Predicate<EntradaTrie> filtro) {
+        List<EntradaTrie> pagina = new ArrayList<>();
+        
+        if (prefix == null || prefix.isEmpty() || limite <= 0) {
+            return pagina;
+        }
+        
+        TrieNode actual = navegar(prefix);
+        if (actual == null) {
+            return pagina;
+        }
+        
+        String prefijoNormalizado = NormalizadorTexto.normalizar(prefix);
+        StringBuilder ruta = new StringBuilder(prefijoNormalizado);
+        RecorridoPagina recorrido = new RecorridoPagina(limite, filtro, pagina);
+        
+        if (claveCursor == null) {
+            recorrido.completo(actual, ruta);
+        } else {
+            if (!claveCursor.startsWith(prefijoNormalizado)) {
+                throw new IllegalArgumentException("El cursor no corresponde al prefijo consultado");
+            }
+            recorrido.desdeCursor(actual, ruta, claveCursor, idCursor);
+        }
+        
+        return pagina;
+    }
+    
+    /**
+     * Recorrido DFS ordenado que se detiene al llenar la página.
+     */
+    private static class RecorridoPagina {
+        private final int limite;
+        private final Predicate<EntradaTrie> filtro;
+        private final List<EntradaTrie> pagina;
+        
+        RecorridoPagina(int limite, Predicate<EntradaTrie> filtro, List<EntradaTrie> pagina) {
+            this.limite = limite;
+            this.filtro = filtro;
+            this.pagina = pagina;
+        }
+        
+        boolean llena() {
+            return pagina.size() >= limite;
+        }
+        
+        /**
+         * Emite las canciones del nodo con id estrictamente mayor que {@code idMinimo}.
+         */
+        void emitir(TrieNode nodo, String clave, Long idMinimo) {
+            if (!nodo.isEndOfWord()) {
+                return;
+            }
+            for (Cancion cancion : nodo.getCanciones()) {
+                if (llena()) {
+                    return;
+                }
+                if (idMinimo != null && (cancion.getId() == null || cancion.getId() <= idMinimo)) {
+                    continue;
+                }
+                EntradaTrie entrada = new EntradaTrie(clave, cancion);
+                if (filtro.test(entrada)) {
+                    pagina.add(entrada);
+                }
+            }
+        }
+        
+        /**
+         * Recorre todo el subárbol del nodo en orden.
+         */
+        void completo(TrieNode nodo, StringBuilder ruta) {
+            emitir(nodo, ruta.toString(), null);
+            for (Map.Entry<Character, TrieNode> hijo : nodo.getChildren().entrySet()) {
+                if (llena()) {
+                    return;
+                }
+                ruta.append(hijo.getKey());
+                completo(hijo.getValue(), ruta);
+                ruta.setLength(ruta.length() - 1);
+            }
+        }
+        
+        /**
+         * Recorre el subárbol del nodo omitiendo todo lo que precede al cursor.
+         * El nodo recibido está sobre la rama del cursor.
+         */
+        void desdeCursor(TrieNode nodo, StringBuilder ruta, String claveCursor, Long idCursor) {
+            int profundidad = ruta.length();
+            NavigableMap<Character, TrieNode> hijos = nodo.getChildren();
+            
+            if (profundidad == claveCursor.length()) {
+                // Nodo del cursor: continuar tras la última canción entregada y luego todos los hijos
+                emitir(nodo, ruta.toString(), idCursor);
+                for (Map.Entry<Character, TrieNode> hijo : hijos.entrySet()) {
+                    if (llena()) {
+                        return;
+                    }
+                    ruta.append(hijo.getKey());
+                    completo(hijo.getValue(), ruta);
+                    ruta.setLength(ruta.length() - 1);
+                }
+                return;
+            }
+            
+            // Las canciones de este nodo tienen una clave más corta que el cursor: ya se entregaron
+            char siguiente = claveCursor.charAt(profundidad);
+            TrieNode enCamino = hijos.get(siguiente);
+            if (enCamino != null) {
+                ruta.append(siguiente);
+                desdeCursor(enCamino, ruta, claveCursor, idCursor);
+                ruta.setLength(ruta.length() - 1);
+            }
+            
+            for (Map.Entry<Character, TrieNode> hijo : hijos.tailMap(siguiente, false).entrySet()) {
+                if (llena()) {
+                    return;
+                }
+                ruta.append(hijo.getKey());
+                completo(hijo.getValue(), ruta);
+                ruta.setLength(ruta.length() - 1);
+            }
+        }
+    }
+    
+    /**
+     * Navega desde la raíz siguiendo la clave normalizada del texto dado.
+     * La normalización se hace sobre un arreglo de caracteres, sin crear
+     * Strings intermedios por cada consulta.
+     * Complejidad: O(m) donde m es la longitud del texto
+     * 
+     * @param texto texto a recorrer (prefijo o clave completa)
+     * @return nodo alcanzado, o null si el texto normalizado está vacío o no existe en el Trie
+     */
+    private TrieNode navegar(String texto) {
+        char[] clave = new char[NormalizadorTexto.capacidadRequerida(texto.length())];
+        int longitud = NormalizadorTexto.normalizar(texto, 0, texto.length(), clave);
+        if (longitud == 0) {
+            return null;
+        }
+        
+        TrieNode actual = raiz;
+        for (int i = 0; i < longitud; i++) {
+            actual = actual.obtenerHijo(clave[i]);
+            if (actual == null) {
+                return null;
+            }
+        }
+        return actual;
+    }
+    
     /**
      * Recolecta todas las canciones desde un nodo hacia abajo usando DFS.
      * 
@@ -134,15 +360,10 @@ public class TrieAutocompletado {
             return false;
         }
         
-        String tituloLower = titulo.toLowerCase().trim();
-        TrieNode actual = raiz;
-        
         // Navegar hasta el nodo correspondiente al título completo
-        for (char c : tituloLower.toCharArray()) {
-            if (!actual.tieneHijo(c)) {
-                return false;
-            }
-            actual = actual.obtenerHijo(c);
+        TrieNode actual = navegar(titulo);
+        if (actual == null) {
+            return false;
         }
         
         // Eliminar la canción del nodo final
@@ -4,9 +4,11 @@ import com.syncup.model.Cancion;
 import lombok.Data;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 /**
  * Nodo del árbol Trie utilizado para autocompletado de búsquedas.
@@ -17,10 +19,17 @@ import java.util.Map;
 public class TrieNode {
     
     /**
-     * Mapa de caracteres a nodos hijos.
-     * Permite navegación eficiente por el árbol.
+     * Orden de las canciones dentro de un nodo: por id ascendente.
      */
-    private Map<Character, TrieNode> children;
+    public static final Comparator<Cancion> ORDEN_POR_ID =
+            Comparator.comparing(Cancion::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+    
+    /**
+     * Mapa ordenado de caracteres a nodos hijos.
+     * Permite navegación eficiente por el árbol y un recorrido en orden
+     * lexicográfico determinista (necesario para paginar con cursor).
+     */
+    private NavigableMap<Character, TrieNode> children;
     
     /**
      * Indica si este nodo representa el final de una palabra.
@@ -28,7 +37,7 @@ public class TrieNode {
     private boolean isEndOfWord;
     
     /**
-     * Lista de canciones asociadas a este nodo.
+     * Lista de canciones asociadas a este nodo, ordenada por id y sin duplicados.
      * Permite almacenar múltiples canciones con el mismo título.
      */
     private List<Cancion> canciones;
@@ -37,7 +46,7 @@ public class TrieNode {
      * Constructor que inicializa el nodo.
      */
     public TrieNode() {
-        this.children = new HashMap<>();
+        this.children = new TreeMap<>();
         this.isEndOfWord = false;
         this.canciones = new ArrayList<>();
     }
@@ -47,7 +56,7 @@ public class TrieNode {
      * 
      * @param c carácter a verificar
      * @return true si existe el hijo, false en caso contrario
-     * Complejidad: O(1)
+     * Complejidad: O(log h) donde h es el número de hijos
      */
     public boolean tieneHijo(char c) {
         return children.containsKey(c);
@@ -58,10 +67,27 @@ public class TrieNode {
      * 
      * @param c carácter del hijo
      * @return nodo hijo o null si no existe
-     * Complejidad: O(1)
+     * Complejidad: O(log h) donde h es el número de hijos
      */
     public TrieNode obtenerHijo(char c) {
         return children.get(c);
     }
+    
+    /**
+     * Agrega una canción al nodo manteniendo el orden por id.
+     * Si la canción ya está asociada al nodo, no se duplica.
+     * Complejidad: O(log k + k) donde k es el número de canciones del nodo
+     * 
+     * @param cancion canción a agregar
+     * @return true si se agregó, false si ya existía
+     */
+    public boolean agregarCancion(Cancion cancion) {
+        int posicion = Collections.binarySearch(canciones, cancion, ORDEN_POR_ID);
+        if (posicion >= 0) {
+            return false;
+        }
+        canciones.add(-posicion - 1, cancion);
+        return true;
+    }
 }
 
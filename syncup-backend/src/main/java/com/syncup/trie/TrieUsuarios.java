@@ -0,0 +1,233 @@
+package com.syncup.trie;
+
+import com.syncup.util.NormalizadorTexto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie de prefijos y palabras para el buscador de usuarios de la sección Social.
+ *
+ * Por cada usuario se indexan, normalizados con {@link NormalizadorTexto}:
+ * - El username completo
+ * - El nombre completo
+ * - Cada palabra del nombre a partir de la segunda (índice de palabras),
+ *   para que "garcia" encuentre a "María García"
+ *
+ * Los nodos almacenan usernames; la resolución a entidades la hace el servicio.
+ * El recorrido es en orden lexicográfico y se detiene al reunir K usuarios, por lo
+ * que una consulta corta no recorre todo el subárbol.
+ *
+ * Lecturas concurrentes protegidas con un {@link ReadWriteLock}.
+ *
+ * @author SyncUp Team
+ */
+@Slf4j
+public class TrieUsuarios {
+
+    /**
+     * Nodo raíz del árbol.
+     */
+    private final NodoUsuarios raiz = new NodoUsuarios();
+
+    /**
+     * Claves indexadas por cada username, para poder desindexar aunque el nombre
+     * del usuario ya haya cambiado en memoria.
+     */
+    private final Map<String, List<String>> clavesPorUsuario = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa (o reindexa) un usuario por su username y su nombre.
+     * Complejidad: O(L) donde L es la longitud total de las claves indexadas
+     *
+     * @param username username del usuario
+     * @param nombre nombre completo del usuario (puede ser null)
+     */
+    public void insertar(String username, String nombre) {
+        if (username == null || username.isBlank()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            eliminarSinBloqueo(username);
+
+            List<String> claves = generarClaves(username, nombre);
+            for (String clave : claves) {
+                NodoUsuarios actual = raiz;
+                for (int i = 0; i < clave.length(); i++) {
+                    actual = actual.hijos.computeIfAbsent(clave.charAt(i), c -> new NodoUsuarios());
+                }
+                actual.usernames.add(username);
+            }
+            clavesPorUsuario.put(username, claves);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina un usuario del índice.
+     * Complejidad: O(L) donde L es la longitud total de sus claves
+     *
+     * @param username username del usuario a eliminar
+     * @return true si el usuario estaba indexado
+     */
+    public boolean eliminar(String username) {
+        lock.writeLock().lock();
+        try {
+            return eliminarSinBloqueo(username);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los primeros K usernames cuyo username, nombre o alguna palabra del nombre
+     * comienzan con el texto dado.
+     * Complejidad: O(m + v) donde m es la longitud del texto y v los nodos visitados
+     * hasta reunir K usuarios
+     *
+     * @param texto texto a buscar
+     * @param limite número máximo de usuarios (K)
+     * @return usernames encontrados, sin duplicados y en orden lexicográfico de clave
+     */
+    public List<String> buscar(String texto, int limite) {
+        String prefijo = NormalizadorTexto.normalizar(texto);
+        if (prefijo.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            NodoUsuarios actual = raiz;
+            for (int i = 0; i < prefijo.length() && actual != null; i++) {
+                actual = actual.hijos.get(prefijo.charAt(i));
+            }
+            if (actual == null) {
+                return List.of();
+            }
+
+            Set<String> encontrados = new LinkedHashSet<>();
+            recolectar(actual, encontrados, limite);
+            return new ArrayList<>(encontrados);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice.
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            raiz.hijos.clear();
+            raiz.usernames.clear();
+            clavesPorUsuario.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de usuarios indexados.
+     *
+     * @return número de usuarios
+     */
+    public int tamaño() {
+        lock.readLock().lock();
+        try {
+            return clavesPorUsuario.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void recolectar(NodoUsuarios nodo, Set<String> encontrados, int limite) {
+        for (String username : nodo.usernames) {
+            if (encontrados.size() >= limite) {
+                return;
+            }
+            encontrados.add(username);
+        }
+        for (NodoUsuarios hijo : nodo.hijos.values()) {
+            if (encontrados.size() >= limite) {
+                return;
+            }
+            recolectar(hijo, encontrados, limite);
+        }
+    }
+
+    private boolean eliminarSinBloqueo(String username) {
+        List<String> claves = clavesPorUsuario.remove(username);
+        if (claves == null) {
+            return false;
+        }
+        for (String clave : claves) {
+            eliminarClave(raiz, clave, 0, username);
+        }
+        return true;
+    }
+
+    /**
+     * Elimina el username de la clave y poda los nodos que quedan vacíos.
+     *
+     * @return true si el nodo quedó vacío y puede eliminarse de su padre
+     */
+    private boolean eliminarClave(NodoUsuarios nodo, String clave, int profundidad, String username) {
+        if (profundidad == clave.length()) {
+            nodo.usernames.remove(username);
+        } else {
+            char c = clave.charAt(profundidad);
+            NodoUsuarios hijo = nodo.hijos.get(c);
+            if (hijo != null && eliminarClave(hijo, clave, profundidad + 1, username)) {
+                nodo.hijos.remove(c);
+            }
+        }
+        return nodo.usernames.isEmpty() && nodo.hijos.isEmpty();
+    }
+
+    /**
+     * Genera las claves normalizadas de un usuario: username, nombre completo
+     * y cada sufijo del nombre que empieza en una palabra.
+     */
+    private static List<String> generarClaves(String username, String nombre) {
+        Set<String> claves = new LinkedHashSet<>();
+        String usernameNormalizado = NormalizadorTexto.normalizar(username);
+        if (!usernameNormalizado.isEmpty()) {
+            claves.add(usernameNormalizado);
+        }
+
+        String nombreNormalizado = NormalizadorTexto.normalizar(nombre);
+        if (!nombreNormalizado.isEmpty()) {
+            claves.add(nombreNormalizado);
+            for (int i = 0; i < nombreNormalizado.length(); i++) {
+                if (nombreNormalizado.charAt(i) == ' ') {
+                    claves.add(nombreNormalizado.substring(i + 1));
+                }
+            }
+        }
+        return new ArrayList<>(claves);
+    }
+
+    /**
+     * Nodo del Trie de usuarios.
+     */
+    private static class NodoUsuarios {
+        private final NavigableMap<Character, NodoUsuarios> hijos = new TreeMap<>();
+        private final Set<String> usernames = new TreeSet<>();
+    }
+}
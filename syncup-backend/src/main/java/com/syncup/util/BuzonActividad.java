@@ -0,0 +1,105 @@
+package com.syncup.util;
+
+import com.syncup.dto.EventoActividad;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búfer circular de capacidad fija con los eventos de actividad más recientes, ordenados
+ * por secuencia. Al llenarse, cada evento nuevo descarta el más antiguo, así que la
+ * memoria por buzón está acotada sin importar cuánta actividad reciba.
+ *
+ * Los eventos suelen llegar en orden; si dos difusiones concurrentes se cruzan, el que
+ * llega tarde se inserta desplazando los pocos posteriores a él.
+ *
+ * Es seguro para hilos (métodos sincronizados por buzón).
+ *
+ * @author SyncUp Team
+ */
+public class BuzonActividad {
+
+    private final EventoActividad[] eventos;
+    private int inicio;
+    private int tamaño;
+
+    /**
+     * Crea un buzón vacío.
+     *
+     * @param capacidad número máximo de eventos guardados
+     */
+    public BuzonActividad(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        eventos = new EventoActividad[capacidad];
+    }
+
+    /**
+     * Agrega un evento, descartando el más antiguo si el buzón está lleno.
+     * Complejidad: O(1) si llega en orden
+     *
+     * @param evento evento a agregar
+     */
+    public synchronized void agregar(EventoActividad evento) {
+        if (tamaño == eventos.length) {
+            if (evento.getSecuencia() < obtener(0).getSecuencia()) {
+                return; // Más antiguo que todo lo guardado
+            }
+            eventos[inicio] = null;
+            inicio = (inicio + 1) % eventos.length;
+            tamaño--;
+        }
+        int i = tamaño;
+        while (i > 0 && obtener(i - 1).getSecuencia() > evento.getSecuencia()) {
+            eventos[posicion(i)] = obtener(i - 1);
+            i--;
+        }
+        eventos[posicion(i)] = evento;
+        tamaño++;
+    }
+
+    /**
+     * Obtiene una página de eventos, del más reciente al más antiguo.
+     * Complejidad: O(log n + limite)
+     *
+     * @param antesDe solo eventos con secuencia menor que esta
+     * @param limite número máximo de eventos
+     * @return eventos de la página
+     */
+    public synchronized List<EventoActividad> pagina(long antesDe, int limite) {
+        // Primer índice con secuencia >= antesDe (búsqueda binaria sobre el orden lógico)
+        int bajo = 0;
+        int alto = tamaño;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (obtener(medio).getSecuencia() < antesDe) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        List<EventoActividad> pagina = new ArrayList<>(Math.min(limite, bajo));
+        for (int i = bajo - 1; i >= 0 && pagina.size() < limite; i--) {
+            pagina.add(obtener(i));
+        }
+        return pagina;
+    }
+
+    /**
+     * Obtiene el número de eventos guardados.
+     *
+     * @return número de eventos
+     */
+    public synchronized int tamaño() {
+        return tamaño;
+    }
+
+    private EventoActividad obtener(int i) {
+        return eventos[posicion(i)];
+    }
+
+    private int posicion(int i) {
+        return (inicio + i) % eventos.length;
+    }
+}
@@ -0,0 +1,92 @@
+package com.syncup.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario que asigna un id entero denso (0, 1, 2...) a cada clave normalizada de un
+ * valor de texto (artista o género), de modo que "Rock", "rock" y " ROCK " comparten id.
+ *
+ * Permite comparar valores como enteros en lugar de cadenas y guardar estructuras por
+ * valor en arreglos indexados por id. Cada id conserva también la primera forma original
+ * vista del valor, para mostrarla (por ejemplo en métricas).
+ *
+ * Los ids no se reutilizan. No es seguro para hilos: quien lo use debe sincronizar.
+ *
+ * @author SyncUp Team
+ */
+public class DiccionarioClaves {
+
+    /**
+     * Id que representa un valor vacío.
+     */
+    public static final int SIN_VALOR = -1;
+
+    private final Map<String, Integer> idPorClave = new HashMap<>();
+    private final List<String> etiquetas = new ArrayList<>();
+
+    /**
+     * Obtiene el id de un valor, registrándolo si es nuevo.
+     * Complejidad: O(l) donde l es la longitud del valor
+     *
+     * @param valor valor original
+     * @return id del valor, o {@link #SIN_VALOR} si está vacío
+     */
+    public int registrar(String valor) {
+        String clave = NormalizadorTexto.clave(valor);
+        if (clave == null) {
+            return SIN_VALOR;
+        }
+        Integer id = idPorClave.get(clave);
+        if (id == null) {
+            id = etiquetas.size();
+            idPorClave.put(clave, id);
+            etiquetas.add(valor.trim());
+        }
+        return id;
+    }
+
+    /**
+     * Obtiene el id de un valor sin registrarlo.
+     * Complejidad: O(l) donde l es la longitud del valor
+     *
+     * @param valor valor a buscar
+     * @return id del valor, o {@link #SIN_VALOR} si no está registrado o está vacío
+     */
+    public int buscar(String valor) {
+        String clave = NormalizadorTexto.clave(valor);
+        if (clave == null) {
+            return SIN_VALOR;
+        }
+        return idPorClave.getOrDefault(clave, SIN_VALOR);
+    }
+
+    /**
+     * Obtiene la forma original con la que se registró un id por primera vez.
+     *
+     * @param id id del valor
+     * @return etiqueta del valor
+     */
+    public String etiqueta(int id) {
+        return etiquetas.get(id);
+    }
+
+    /**
+     * Obtiene el número de valores distintos registrados.
+     *
+     * @return número de ids asignados
+     */
+    public int tamaño() {
+        return etiquetas.size();
+    }
+
+    /**
+     * Vacía el diccionario.
+     */
+    public void limpiar() {
+        idPorClave.clear();
+        etiquetas.clear();
+    }
+}
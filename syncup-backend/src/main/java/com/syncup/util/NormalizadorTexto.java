@@ -0,0 +1,270 @@
+package com.syncup.util;
+
+import java.text.Normalizer;
+
+/**
+ * Normalizador de texto compartido por el Trie de autocompletado y la búsqueda avanzada.
+ *
+ * Aplica, en una sola pasada sobre arreglos de caracteres:
+ * - Eliminación de diacríticos (á -> a, ñ -> n, ü -> u)
+ * - Plegado de mayúsculas/minúsculas (case folding Unicode simple)
+ * - Colapso de espacios y signos de puntuación en un único espacio separador
+ *
+ * De esta forma "María", "maria" y "  MARÍA " producen la misma clave, tanto al
+ * indexar como al consultar. La tabla de plegado se calcula una única vez al cargar
+ * la clase, por lo que normalizar un prefijo no crea objetos {@link String} intermedios.
+ *
+ * @author SyncUp Team
+ */
+public final class NormalizadorTexto {
+
+    /**
+     * Primer carácter cubierto por la tabla de plegado (Latin-1 Supplement).
+     */
+    private static final char INICIO_TABLA = 'À';
+
+    /**
+     * Último carácter cubierto por la tabla de plegado (fin de Latin Extended-B).
+     */
+    private static final char FIN_TABLA = 'ɏ';
+
+    /**
+     * Tabla de plegado: para cada carácter del rango, su equivalente sin diacríticos
+     * y en minúscula. Un valor 0 indica que el carácter se expande a dos caracteres
+     * (ver {@link #EXPANSIONES}).
+     */
+    private static final char[] TABLA_PLEGADO = new char[FIN_TABLA - INICIO_TABLA + 1];
+
+    /**
+     * Ligaduras y letras que se pliegan a dos caracteres (ß -> ss, æ -> ae, œ -> oe).
+     */
+    private static final char[][] EXPANSIONES = new char[FIN_TABLA - INICIO_TABLA + 1][];
+
+    /**
+     * Clases de carácter de entrada (ver {@link #clasificar(char)}).
+     */
+    private static final int OMITIDO = 0;
+    private static final int SEPARADOR = 1;
+    private static final int LETRA = 2;
+
+    static {
+        for (char c = INICIO_TABLA; c <= FIN_TABLA; c++) {
+            String descompuesto = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            char base = descompuesto.charAt(0);
+            TABLA_PLEGADO[c - INICIO_TABLA] = plegarMayusculas(base);
+        }
+
+        // Letras que NFD no descompone pero que se consideran equivalentes a su base
+        registrar('Ø', 'o');
+        registrar('ø', 'o');
+        registrar('Đ', 'd');
+        registrar('đ', 'd');
+        registrar('Ł', 'l');
+        registrar('ł', 'l');
+        registrar('Ħ', 'h');
+        registrar('ħ', 'h');
+        registrar('ı', 'i');
+
+        registrarExpansion('ß', "ss");
+        registrarExpansion('Æ', "ae");
+        registrarExpansion('æ', "ae");
+        registrarExpansion('Œ', "oe");
+        registrarExpansion('œ', "oe");
+    }
+
+    private NormalizadorTexto() {
+        // Clase de utilidad: no instanciable
+    }
+
+    private static void registrar(char original, char plegado) {
+        TABLA_PLEGADO[original - INICIO_TABLA] = plegado;
+    }
+
+    private static void registrarExpansion(char original, String expansion) {
+        TABLA_PLEGADO[original - INICIO_TABLA] = 0;
+        EXPANSIONES[original - INICIO_TABLA] = expansion.toCharArray();
+    }
+
+    /**
+     * Plegado de mayúsculas simple: equivalente al case folding Unicode para
+     * caracteres del plano básico (incluye sigma final ς -> σ).
+     *
+     * @param c carácter a plegar
+     * @return carácter plegado
+     */
+    private static char plegarMayusculas(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Indica si un carácter se descarta sin generar separador (apóstrofos).
+     * Así "Sweet Child O' Mine" y "Don't" no quedan partidos en fragmentos sueltos.
+     */
+    private static boolean esApostrofo(char c) {
+        return c == '\'' || c == '’' || c == '‘' || c == '`' || c == '´';
+    }
+
+    /**
+     * Clasifica un carácter de entrada: apóstrofos y diacríticos combinantes (texto en
+     * forma NFD) se omiten, el resto de lo que no es letra ni dígito separa palabras.
+     */
+    private static int clasificar(char c) {
+        if (esApostrofo(c)) {
+            return OMITIDO;
+        }
+        int tipo = Character.getType(c);
+        if (tipo == Character.NON_SPACING_MARK || tipo == Character.ENCLOSING_MARK
+                || tipo == Character.COMBINING_SPACING_MARK) {
+            return OMITIDO;
+        }
+        return Character.isLetterOrDigit(c) ? LETRA : SEPARADOR;
+    }
+
+    /**
+     * Escribe la forma plegada de una letra o dígito (uno o dos caracteres).
+     *
+     * @return nueva cantidad de caracteres escritos
+     */
+    private static int escribirPlegado(char c, char[] destino, int escritos) {
+        if (c >= INICIO_TABLA && c <= FIN_TABLA) {
+            char plegado = TABLA_PLEGADO[c - INICIO_TABLA];
+            if (plegado == 0) {
+                for (char e : EXPANSIONES[c - INICIO_TABLA]) {
+                    destino[escritos++] = e;
+                }
+            } else {
+                destino[escritos++] = plegado;
+            }
+        } else {
+            destino[escritos++] = plegarMayusculas(c);
+        }
+        return escritos;
+    }
+
+    /**
+     * Tamaño mínimo del arreglo destino necesario para normalizar un texto de
+     * la longitud dada (cada carácter puede expandirse a dos).
+     *
+     * @param longitud longitud del texto de entrada
+     * @return capacidad requerida del destino
+     */
+    public static int capacidadRequerida(int longitud) {
+        return longitud * 2;
+    }
+
+    /**
+     * Normaliza una secuencia de caracteres escribiendo el resultado en {@code destino}.
+     * No crea objetos intermedios: la normalización se hace carácter a carácter.
+     * Complejidad: O(n) donde n es la longitud de la entrada
+     *
+     * @param fuente texto de entrada
+     * @param inicio posición inicial (inclusiva)
+     * @param fin posición final (exclusiva)
+     * @param destino arreglo de salida; debe tener al menos {@link #capacidadRequerida(int)} posiciones
+     * @return número de caracteres escritos en {@code destino}
+     */
+    public static int normalizar(CharSequence fuente, int inicio, int fin, char[] destino) {
+        int escritos = 0;
+        boolean separadorPendiente = false;
+
+        for (int i = inicio; i < fin; i++) {
+            char c = fuente.charAt(i);
+            int clase = clasificar(c);
+            if (clase == OMITIDO) {
+                continue;
+            }
+            if (clase == SEPARADOR) {
+                // Espacios y puntuación se colapsan en un único separador
+                separadorPendiente = escritos > 0;
+                continue;
+            }
+            if (separadorPendiente) {
+                destino[escritos++] = ' ';
+                separadorPendiente = false;
+            }
+            escritos = escribirPlegado(c, destino, escritos);
+        }
+
+        return escritos;
+    }
+
+    /**
+     * Normaliza un arreglo de caracteres completo, con el mismo recorrido que
+     * {@link #normalizar(CharSequence, int, int, char[])} pero indexando el arreglo
+     * directamente, sin envolverlo.
+     * Complejidad: O(n) donde n es la longitud de la entrada
+     *
+     * @param fuente caracteres de entrada
+     * @param longitud número de caracteres válidos en {@code fuente}
+     * @param destino arreglo de salida
+     * @return número de caracteres escritos en {@code destino}
+     */
+    public static int normalizar(char[] fuente, int longitud, char[] destino) {
+        int escritos = 0;
+        boolean separadorPendiente = false;
+
+        for (int i = 0; i < longitud; i++) {
+            char c = fuente[i];
+            int clase = clasificar(c);
+            if (clase == OMITIDO) {
+                continue;
+            }
+            if (clase == SEPARADOR) {
+                separadorPendiente = escritos > 0;
+                continue;
+            }
+            if (separadorPendiente) {
+                destino[escritos++] = ' ';
+                separadorPendiente = false;
+            }
+            escritos = escribirPlegado(c, destino, escritos);
+        }
+
+        return escritos;
+    }
+
+    /**
+     * Normaliza un texto completo y devuelve el resultado como String.
+     * Pensado para tiempo de indexación; en el camino de consulta por tecla
+     * se recomienda {@link #normalizar(CharSequence, int, int, char[])}.
+     *
+     * @param texto texto a normalizar
+     * @return texto normalizado, o cadena vacía si es null
+     */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        char[] destino = new char[capacidadRequerida(texto.length())];
+        int longitud = normalizar(texto, 0, texto.length(), destino);
+        return new String(destino, 0, longitud);
+    }
+
+    /**
+     * Clave de comparación de un valor de texto (artista, género): su forma normalizada,
+     * o null si el valor está vacío o solo tiene espacios y puntuación. Es la clave que
+     * comparten las columnas normalizadas de la base de datos, el índice invertido, las
+     * métricas y el grafo de similitud.
+     *
+     * @param texto valor a normalizar
+     * @return clave normalizada, o null si no aporta información
+     */
+    public static String clave(String texto) {
+        String normalizado = normalizar(texto);
+        return normalizado.isEmpty() ? null : normalizado;
+    }
+
+    /**
+     * Compara dos textos ignorando mayúsculas, diacríticos y puntuación.
+     *
+     * @param a primer texto
+     * @param b segundo texto
+     * @return true si ambos textos normalizan a la misma clave
+     */
+    public static boolean sonEquivalentes(String a, String b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return normalizar(a).equals(normalizar(b));
+    }
+}
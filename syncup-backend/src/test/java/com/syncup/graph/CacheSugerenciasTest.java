@@ -0,0 +1,149 @@
+package com.syncup.graph;
+
+import com.syncup.graph.algoritmo.SugerenciasAmigos;
+import com.syncup.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para CacheSugerencias.
+ *
+ * @author SyncUp Team
+ */
+class CacheSugerenciasTest {
+
+    private GrafoSocial grafo;
+    private CacheSugerencias cache;
+    private Usuario[] u;
+    private Map<Integer, Integer> calculos;
+
+    @BeforeEach
+    void setUp() {
+        grafo = new GrafoSocial();
+        u = new Usuario[6];
+        for (int i = 0; i < u.length; i++) {
+            u[i] = crearUsuario("user" + i);
+            grafo.registrar(u[i]);
+        }
+        calculos = new HashMap<>();
+        cache = new CacheSugerencias(grafo, id -> {
+            calculos.merge(id, 1, Integer::sum);
+            return SugerenciasAmigos.sugerir(grafo, id, 10, 100);
+        }, 100);
+        grafo.setObservador(new GrafoSocial.ObservadorAristas() {
+            @Override
+            public void aristaAgregada(int seguidor, int seguido) {
+                cache.registrarCambio(seguidor);
+            }
+
+            @Override
+            public void aristaEliminada(int seguidor, int seguido) {
+                cache.registrarCambio(seguidor);
+            }
+        });
+    }
+
+    @Test
+    void testSirveLaEntradaGuardadaHastaRecalcular() {
+        grafo.seguir(u[0], u[1]);
+        grafo.seguir(u[1], u[2]);
+        cache.procesarPendientes();
+        assertEquals(List.of(id(2)), ids(cache.obtener(id(0))));
+
+        grafo.seguir(u[1], u[3]);
+        // La entrada sucia se sigue sirviendo sin recalcular
+        assertEquals(List.of(id(2)), ids(cache.obtener(id(0))));
+        assertEquals(1, calculos.get(id(0)));
+
+        assertEquals(1, cache.procesarPendientes());
+        assertEquals(List.of(id(2), id(3)), ids(cache.obtener(id(0))));
+        assertEquals(2, calculos.get(id(0)));
+    }
+
+    @Test
+    void testCambioPropioEnsuciaLaEntrada() {
+        grafo.seguir(u[0], u[1]);
+        grafo.seguir(u[1], u[2]);
+        grafo.seguir(u[3], u[4]);
+        cache.procesarPendientes();
+        cache.obtener(id(0));
+
+        grafo.seguir(u[0], u[3]);
+        cache.procesarPendientes();
+
+        assertEquals(List.of(id(2), id(4)), ids(cache.obtener(id(0))));
+    }
+
+    @Test
+    void testUsuariosNoAfectadosNoSeRecalculan() {
+        grafo.seguir(u[0], u[1]);
+        grafo.seguir(u[1], u[2]);
+        grafo.seguir(u[4], u[5]);
+        cache.procesarPendientes();
+        cache.obtener(id(0));
+        cache.obtener(id(4));
+
+        // u1 es seguido por u0 pero no por u4: solo se ensucian u1 (sin entrada) y u0
+        grafo.dejarDeSeguir(u[1], u[2]);
+        assertEquals(1, cache.procesarPendientes());
+
+        assertEquals(2, calculos.get(id(0)));
+        assertEquals(1, calculos.get(id(4)));
+        assertFalse(calculos.containsKey(id(1)));
+        assertTrue(cache.obtener(id(0)).isEmpty());
+    }
+
+    @Test
+    void testInvalidarDescartaLaEntrada() {
+        grafo.seguir(u[0], u[1]);
+        cache.obtener(id(0));
+        cache.invalidar(id(0));
+        cache.obtener(id(0));
+
+        assertEquals(2, calculos.get(id(0)));
+    }
+
+    @Test
+    void testEstadisticas() {
+        grafo.seguir(u[0], u[1]);
+        cache.procesarPendientes();
+        cache.obtener(id(0));
+        cache.obtener(id(0));
+        grafo.seguir(u[1], u[2]);
+
+        Map<String, Object> antes = cache.obtenerEstadisticas();
+        assertEquals(1, antes.get("entradas"));
+        assertEquals(1, antes.get("cambiosPendientes"));
+        assertEquals(1L, antes.get("aciertos"));
+        assertEquals(1L, antes.get("fallos"));
+        assertEquals(0.5, (double) antes.get("tasaAcierto"), 1e-9);
+
+        cache.procesarPendientes();
+
+        Map<String, Object> despues = cache.obtenerEstadisticas();
+        assertEquals(0, despues.get("sucias"));
+        assertEquals(0, despues.get("cambiosPendientes"));
+        assertEquals(1L, despues.get("recalculos"));
+        assertEquals(1L, despues.get("recalculosUltimoMinuto"));
+    }
+
+    private int id(int i) {
+        return grafo.idDe(u[i]);
+    }
+
+    private static List<Integer> ids(List<SugerenciasAmigos.Sugerencia> sugerencias) {
+        return sugerencias.stream().map(SugerenciasAmigos.Sugerencia::getId).toList();
+    }
+
+    private Usuario crearUsuario(String username) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setNombre(username);
+        usuario.setPassword("password");
+        return usuario;
+    }
+}
@@ -0,0 +1,57 @@
+package com.syncup.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ConjuntoEnteros.
+ *
+ * @author SyncUp Team
+ */
+class ConjuntoEnterosTest {
+
+    @Test
+    void testOperacionesBasicas() {
+        ConjuntoEnteros conjunto = new ConjuntoEnteros();
+        assertFalse(conjunto.contiene(0));
+        assertFalse(conjunto.eliminar(0));
+
+        assertTrue(conjunto.agregar(0));
+        assertTrue(conjunto.agregar(7));
+        assertFalse(conjunto.agregar(7));
+        assertEquals(2, conjunto.tamaño());
+        assertArrayEquals(new int[]{0, 7}, conjunto.aArregloOrdenado());
+
+        assertTrue(conjunto.eliminar(0));
+        assertFalse(conjunto.contiene(0));
+        assertTrue(conjunto.contiene(7));
+        assertThrows(IllegalArgumentException.class, () -> conjunto.agregar(-1));
+    }
+
+    @Test
+    void testEquivaleAHashSetConBorradosAleatorios() {
+        ConjuntoEnteros conjunto = new ConjuntoEnteros();
+        Set<Integer> esperado = new HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            // Rango pequeño: muchas colisiones y grupos largos que los borrados deben recomponer
+            int valor = random.nextInt(5_000) * 64;
+            if (random.nextInt(3) == 0) {
+                assertEquals(esperado.remove(valor), conjunto.eliminar(valor));
+            } else {
+                assertEquals(esperado.add(valor), conjunto.agregar(valor));
+            }
+        }
+        assertEquals(esperado.size(), conjunto.tamaño());
+        for (int valor = 0; valor < 5_000 * 64; valor += 32) {
+            assertEquals(esperado.contains(valor), conjunto.contiene(valor));
+        }
+        assertArrayEquals(esperado.stream().mapToInt(Integer::intValue).sorted().toArray(),
+                conjunto.aArregloOrdenado());
+    }
+}
@@ -0,0 +1,181 @@
+package com.syncup.graph;
+
+import com.syncup.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para GrafoSocial.
+ *
+ * @author SyncUp Team
+ */
+class GrafoSocialTest {
+
+    private GrafoSocial grafo;
+    private Usuario u1, u2, u3;
+
+    @BeforeEach
+    void setUp() {
+        grafo = new GrafoSocial();
+        u1 = crearUsuario("user1");
+        u2 = crearUsuario("user2");
+        u3 = crearUsuario("user3");
+    }
+
+    @Test
+    void testSeguirEsDirigido() {
+        assertTrue(grafo.seguir(u1, u2));
+        assertTrue(grafo.seguir(u3, u2));
+        assertFalse(grafo.seguir(u1, u2));
+        assertFalse(grafo.seguir(u1, u1));
+
+        assertTrue(grafo.sigueA(u1, u2));
+        assertFalse(grafo.sigueA(u2, u1));
+        assertEquals(Set.of(u2), grafo.obtenerSeguidos(u1));
+        assertTrue(grafo.obtenerSeguidores(u1).isEmpty());
+        assertEquals(Set.of(u1, u3), grafo.obtenerSeguidores(u2));
+        assertTrue(grafo.obtenerSeguidos(u2).isEmpty());
+
+        assertEquals(2, grafo.contarSeguidores(u2));
+        assertEquals(0, grafo.contarSeguidos(u2));
+        assertEquals(1, grafo.contarSeguidos(u1));
+        assertEquals(2, grafo.obtenerNumeroAristas());
+    }
+
+    @Test
+    void testDejarDeSeguirConservaLaAristaInversa() {
+        grafo.seguir(u1, u2);
+        grafo.seguir(u2, u1);
+        grafo.seguir(u3, u1);
+
+        assertTrue(grafo.dejarDeSeguir(u1, u2));
+        assertFalse(grafo.dejarDeSeguir(u1, u2));
+
+        assertTrue(grafo.sigueA(u2, u1));
+        assertEquals(Set.of(u2, u3), grafo.obtenerSeguidores(u1));
+        assertEquals(0, grafo.contarSeguidores(u2));
+        assertEquals(2, grafo.obtenerNumeroAristas());
+
+        // Un usuario sin aristas deja de ser nodo
+        grafo.dejarDeSeguir(u3, u1);
+        assertEquals(Set.of(u1, u2), grafo.obtenerNodos());
+    }
+
+    @Test
+    void testVistasDeSoloLecturaEIdsDensos() {
+        grafo.seguir(u1, u2);
+        grafo.seguir(u1, u3);
+
+        Set<Usuario> seguidos = grafo.obtenerSeguidos(u1);
+        assertThrows(UnsupportedOperationException.class, () -> seguidos.add(u1));
+        assertTrue(seguidos.contains(u3));
+        assertFalse(seguidos.contains(u1));
+        assertFalse(seguidos.contains(crearUsuario("desconocido")));
+
+        // Los ids se asignan en orden de aparición y se resuelven de vuelta al usuario
+        int id1 = grafo.idDe(u1);
+        assertEquals(0, id1);
+        assertEquals(u3, grafo.usuario(grafo.idDe(u3)));
+        assertArrayEquals(new int[]{grafo.idDe(u2), grafo.idDe(u3)}, grafo.seguidos(id1));
+        assertEquals(GrafoSocial.SIN_ID, grafo.idDe(crearUsuario("desconocido")));
+        assertEquals(3, grafo.obtenerNumeroNodos());
+
+        grafo.limpiar();
+        assertTrue(grafo.estaVacio());
+        assertTrue(grafo.obtenerSeguidos(u1).isEmpty());
+        assertEquals(id1, grafo.idDe(u1));
+    }
+
+    @Test
+    void testEscriturasConcurrentesMantienenAmbosLadosDeCadaArista() throws Exception {
+        int numeroUsuarios = 60;
+        int hilos = 8;
+        Usuario[] usuarios = new Usuario[numeroUsuarios];
+        for (int i = 0; i < numeroUsuarios; i++) {
+            usuarios[i] = crearUsuario("u" + i);
+        }
+        AtomicLong notificadas = new AtomicLong();
+        grafo.setObservador(new GrafoSocial.ObservadorAristas() {
+            @Override
+            public void aristaAgregada(int seguidor, int seguido) {
+                notificadas.incrementAndGet();
+            }
+
+            @Override
+            public void aristaEliminada(int seguidor, int seguido) {
+                notificadas.decrementAndGet();
+            }
+        });
+
+        // Cada hilo es dueño de un subconjunto de pares (así el estado final es conocido),
+        // pero todos tocan a todos los usuarios. Los pares con (i + j) par terminan seguidos.
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            tareas.add(executor.submit(() -> {
+                salida.await();
+                for (int ronda = 0; ronda < 20; ronda++) {
+                    for (int i = 0; i < numeroUsuarios; i++) {
+                        for (int j = 0; j < numeroUsuarios; j++) {
+                            if ((i * numeroUsuarios + j) % hilos != hilo) {
+                                continue;
+                            }
+                            grafo.seguir(usuarios[i], usuarios[j]);
+                            if (ronda == 19 && (i + j) % 2 == 0) {
+                                continue;
+                            }
+                            grafo.dejarDeSeguir(usuarios[i], usuarios[j]);
+                        }
+                    }
+                    grafo.obtenerSeguidores(usuarios[ronda]);
+                }
+                return null;
+            }));
+        }
+        salida.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long esperadas = 0;
+        long sumaSalida = 0;
+        long sumaEntrada = 0;
+        for (int i = 0; i < numeroUsuarios; i++) {
+            for (int j = 0; j < numeroUsuarios; j++) {
+                boolean debe = i != j && (i + j) % 2 == 0;
+                assertEquals(debe, grafo.sigueA(usuarios[i], usuarios[j]));
+                assertEquals(debe, grafo.obtenerSeguidores(usuarios[j]).contains(usuarios[i]));
+                esperadas += debe ? 1 : 0;
+            }
+            sumaSalida += grafo.contarSeguidos(usuarios[i]);
+            sumaEntrada += grafo.contarSeguidores(usuarios[i]);
+        }
+        assertEquals(esperadas, grafo.obtenerNumeroAristas());
+        assertEquals(esperadas, sumaSalida);
+        assertEquals(esperadas, sumaEntrada);
+        assertEquals(esperadas, notificadas.get());
+    }
+
+    private Usuario crearUsuario(String username) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setNombre(username);
+        usuario.setPassword("password");
+        return usuario;
+    }
+}
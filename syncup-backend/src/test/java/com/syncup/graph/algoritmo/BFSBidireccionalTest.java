@@ -0,0 +1,140 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.GrafoSocial;
+import com.syncup.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para BFSBidireccional.
+ *
+ * @author SyncUp Team
+ */
+class BFSBidireccionalTest {
+
+    private GrafoSocial grafo;
+    private Usuario[] u;
+
+    @BeforeEach
+    void setUp() {
+        grafo = new GrafoSocial();
+        u = new Usuario[6];
+        for (int i = 0; i < u.length; i++) {
+            u[i] = crearUsuario("user" + i);
+            grafo.registrar(u[i]);
+        }
+        // u0 -> u1 -> u2 -> u3 -> u4, atajo u0 -> u5 -> u3
+        grafo.seguir(u[0], u[1]);
+        grafo.seguir(u[1], u[2]);
+        grafo.seguir(u[2], u[3]);
+        grafo.seguir(u[3], u[4]);
+        grafo.seguir(u[0], u[5]);
+        grafo.seguir(u[5], u[3]);
+    }
+
+    @Test
+    void testDistanciaYCaminoMasCorto() {
+        assertEquals(3, BFSBidireccional.distancia(grafo, id(0), id(4), 6));
+        assertArrayEquals(new int[]{id(0), id(5), id(3), id(4)},
+                BFSBidireccional.camino(grafo, id(0), id(4), 6));
+        assertArrayEquals(new int[]{id(1), id(2)}, BFSBidireccional.camino(grafo, id(1), id(2), 6));
+    }
+
+    @Test
+    void testRespetaLaDireccion() {
+        assertEquals(BFSBidireccional.SIN_CAMINO, BFSBidireccional.distancia(grafo, id(4), id(0), 6));
+        assertEquals(0, BFSBidireccional.camino(grafo, id(4), id(0), 6).length);
+    }
+
+    @Test
+    void testLimiteDeProfundidad() {
+        assertEquals(BFSBidireccional.SIN_CAMINO, BFSBidireccional.distancia(grafo, id(0), id(4), 2));
+        assertEquals(3, BFSBidireccional.distancia(grafo, id(0), id(4), 3));
+    }
+
+    @Test
+    void testMismoUsuarioEIdsInvalidos() {
+        assertEquals(0, BFSBidireccional.distancia(grafo, id(2), id(2), 6));
+        assertArrayEquals(new int[]{id(2)}, BFSBidireccional.camino(grafo, id(2), id(2), 6));
+        assertEquals(BFSBidireccional.SIN_CAMINO,
+                BFSBidireccional.distancia(grafo, GrafoSocial.SIN_ID, id(2), 6));
+        assertEquals(BFSBidireccional.SIN_CAMINO, BFSBidireccional.distancia(grafo, id(0), 1000, 6));
+    }
+
+    @Test
+    void testEstanConectadosUsaLaBusquedaBidireccional() {
+        assertTrue(BFS.estanConectados(grafo, u[0], u[4], 3));
+        assertFalse(BFS.estanConectados(grafo, u[0], u[4], 2));
+        assertFalse(BFS.estanConectados(grafo, u[4], u[0], 6));
+    }
+
+    @Test
+    void testCoincideConBfsSimpleEnGrafoAleatorio() {
+        GrafoSocial aleatorio = new GrafoSocial();
+        int n = 300;
+        for (int i = 0; i < n; i++) {
+            aleatorio.registrar(crearUsuario("r" + i));
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < n * 3; i++) {
+            aleatorio.seguir(random.nextInt(n), random.nextInt(n));
+        }
+
+        for (int consulta = 0; consulta < 200; consulta++) {
+            int origen = random.nextInt(n);
+            int destino = random.nextInt(n);
+            int esperada = distanciaSimple(aleatorio, origen, destino, 8);
+
+            assertEquals(esperada, BFSBidireccional.distancia(aleatorio, origen, destino, 8));
+            int[] camino = BFSBidireccional.camino(aleatorio, origen, destino, 8);
+            if (esperada == BFSBidireccional.SIN_CAMINO) {
+                assertEquals(0, camino.length);
+                continue;
+            }
+            assertEquals(esperada + 1, camino.length);
+            assertEquals(origen, camino[0]);
+            assertEquals(destino, camino[camino.length - 1]);
+            for (int i = 0; i + 1 < camino.length; i++) {
+                assertTrue(aleatorio.sigueA(camino[i], camino[i + 1]));
+            }
+        }
+    }
+
+    private static int distanciaSimple(GrafoSocial grafo, int origen, int destino, int profundidadMax) {
+        Map<Integer, Integer> distancias = new HashMap<>();
+        Deque<Integer> cola = new ArrayDeque<>();
+        distancias.put(origen, 0);
+        cola.add(origen);
+        while (!cola.isEmpty()) {
+            int actual = cola.poll();
+            int d = distancias.get(actual);
+            if (actual == destino) {
+                return d;
+            }
+            if (d < profundidadMax) {
+                for (int vecino : grafo.seguidos(actual)) {
+                    if (distancias.putIfAbsent(vecino, d + 1) == null) {
+                        cola.add(vecino);
+                    }
+                }
+            }
+        }
+        return BFSBidireccional.SIN_CAMINO;
+    }
+
+    private int id(int i) {
+        return grafo.idDe(u[i]);
+    }
+
+    private Usuario crearUsuario(String username) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setNombre(username);
+        usuario.setPassword("password");
+        return usuario;
+    }
+}
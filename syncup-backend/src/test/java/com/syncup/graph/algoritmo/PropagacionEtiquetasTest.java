@@ -0,0 +1,115 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.GrafoSocial;
+import com.syncup.model.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para PropagacionEtiquetas.
+ *
+ * @author SyncUp Team
+ */
+class PropagacionEtiquetasTest {
+
+    private ForkJoinPool pool;
+    private GrafoSocial grafo;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        grafo = new GrafoSocial();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testSeparaDosGruposUnidosPorUnaArista() {
+        registrar(9);
+        // Grupo A: 0-3, grupo B: 4-7, una sola arista entre ambos; 8 está aislado
+        conectarTodos(0, 4);
+        conectarTodos(4, 8);
+        grafo.seguir(3, 4);
+
+        int[] comunidades = PropagacionEtiquetas.detectar(grafo, pool, 20);
+
+        for (int i = 1; i < 4; i++) {
+            assertEquals(comunidades[0], comunidades[i]);
+            assertEquals(comunidades[4], comunidades[4 + i]);
+        }
+        assertNotEquals(comunidades[0], comunidades[4]);
+        assertEquals(8, comunidades[8]);
+    }
+
+    @Test
+    void testParAisladoConverge() {
+        registrar(4);
+        grafo.seguir(1, 0);
+        // Un seguimiento mutuo cuenta una sola vez: la pareja no intercambia etiquetas
+        grafo.seguir(2, 3);
+        grafo.seguir(3, 2);
+
+        int[] comunidades = PropagacionEtiquetas.detectar(grafo, pool, 20);
+
+        assertArrayEquals(new int[]{0, 0, 2, 2}, comunidades);
+    }
+
+    @Test
+    void testGrafoGrandeEnParaleloEsDeterminista() {
+        // 50 grupos de 100 usuarios, bien conectados por dentro y poco entre sí
+        int grupos = 50;
+        int tamaño = 100;
+        registrar(grupos * tamaño);
+        Random random = new Random(3);
+        for (int g = 0; g < grupos; g++) {
+            for (int i = 0; i < tamaño * 8; i++) {
+                grafo.seguir(g * tamaño + random.nextInt(tamaño), g * tamaño + random.nextInt(tamaño));
+            }
+            grafo.seguir(g * tamaño, ((g + 1) % grupos) * tamaño + 1);
+        }
+
+        int[] comunidades = PropagacionEtiquetas.detectar(grafo, pool, 20);
+
+        for (int g = 0; g < grupos; g++) {
+            Map<Integer, Integer> frecuencias = new HashMap<>();
+            for (int i = 0; i < tamaño; i++) {
+                frecuencias.merge(comunidades[g * tamaño + i], 1, Integer::sum);
+            }
+            // Casi todo el grupo comparte etiqueta
+            assertTrue(Collections.max(frecuencias.values()) >= tamaño * 9 / 10);
+        }
+        ForkJoinPool secuencial = new ForkJoinPool(1);
+        try {
+            assertArrayEquals(comunidades, PropagacionEtiquetas.detectar(grafo, secuencial, 20));
+        } finally {
+            secuencial.shutdownNow();
+        }
+    }
+
+    private void registrar(int n) {
+        for (int i = 0; i < n; i++) {
+            Usuario usuario = new Usuario();
+            usuario.setUsername("user" + i);
+            grafo.registrar(usuario);
+        }
+    }
+
+    private void conectarTodos(int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            for (int j = desde; j < hasta; j++) {
+                if (i != j) {
+                    grafo.seguir(i, j);
+                }
+            }
+        }
+    }
+}
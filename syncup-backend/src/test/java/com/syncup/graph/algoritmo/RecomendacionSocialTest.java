@@ -0,0 +1,131 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.GrafoSocial;
+import com.syncup.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RecomendacionSocial.
+ *
+ * @author SyncUp Team
+ */
+class RecomendacionSocialTest {
+
+    private GrafoSocial grafo;
+    private Usuario[] u;
+    private Map<Integer, int[]> favoritos;
+
+    @BeforeEach
+    void setUp() {
+        grafo = new GrafoSocial();
+        u = new Usuario[6];
+        for (int i = 0; i < u.length; i++) {
+            u[i] = crearUsuario("user" + i);
+            grafo.registrar(u[i]);
+        }
+        favoritos = new HashMap<>();
+    }
+
+    @Test
+    void testPonderaPorDistanciaYConexionesEnComun() {
+        // u0 sigue a u1 y u2; u1 y u2 siguen a u3; solo u1 sigue a u4
+        grafo.seguir(u[0], u[1]);
+        grafo.seguir(u[0], u[2]);
+        grafo.seguir(u[1], u[3]);
+        grafo.seguir(u[2], u[3]);
+        grafo.seguir(u[1], u[4]);
+        favoritos.put(id(1), new int[]{10});
+        favoritos.put(id(3), new int[]{30, 10});
+        favoritos.put(id(4), new int[]{40});
+
+        List<RecomendacionSocial.Puntuacion> resultado = recomendar(10, 100);
+
+        // 10: directo (4) + dos saltos con 2 en común (2); 30: 2; 40: 1
+        assertEquals(List.of(10, 30, 40), ids(resultado));
+        assertEquals(List.of(6, 2, 1), resultado.stream().map(RecomendacionSocial.Puntuacion::getPuntos).toList());
+        assertEquals(List.of(10), ids(recomendar(1, 100)));
+    }
+
+    @Test
+    void testExcluyeFavoritosPropios() {
+        grafo.seguir(u[0], u[1]);
+        favoritos.put(id(0), new int[]{10});
+        favoritos.put(id(1), new int[]{10, 11});
+
+        assertEquals(List.of(11), ids(recomendar(10, 100)));
+    }
+
+    @Test
+    void testConexionDirectaPesaMasQueIndirecta() {
+        // u5 está a dos saltos con muchos seguidos en común, u1 es directo
+        for (int i = 1; i <= 4; i++) {
+            grafo.seguir(u[0], u[i]);
+            grafo.seguir(u[i], u[5]);
+        }
+        favoritos.put(id(1), new int[]{10});
+        favoritos.put(id(5), new int[]{50});
+
+        List<RecomendacionSocial.Puntuacion> resultado = recomendar(10, 100);
+
+        assertEquals(List.of(10, 50), ids(resultado));
+        assertEquals(RecomendacionSocial.PESO_DIRECTO - 1, resultado.get(1).getPuntos());
+    }
+
+    @Test
+    void testAcotaLasConexionesConsideradas() {
+        GrafoSocial grande = new GrafoSocial();
+        int n = 2000;
+        for (int i = 0; i <= n; i++) {
+            grande.registrar(crearUsuario("g" + i));
+        }
+        for (int i = 1; i <= n; i++) {
+            grande.seguir(0, i);
+        }
+        int[] consultados = {0};
+        List<RecomendacionSocial.Puntuacion> resultado = RecomendacionSocial.recomendar(grande, 0, id -> {
+            consultados[0]++;
+            return new int[]{id};
+        }, cancion -> false, 5, 50, 100);
+
+        // Solo la muestra de directos
+        assertEquals(50, consultados[0]);
+        assertEquals(5, resultado.size());
+        // La muestra es fija por usuario
+        assertEquals(ids(resultado), ids(RecomendacionSocial.recomendar(grande, 0, id -> new int[]{id},
+                cancion -> false, 5, 50, 100)));
+    }
+
+    @Test
+    void testUsuarioSinConexiones() {
+        assertTrue(recomendar(10, 100).isEmpty());
+        assertTrue(RecomendacionSocial.recomendar(grafo, GrafoSocial.SIN_ID, id -> new int[0],
+                cancion -> false, 10, 100, 100).isEmpty());
+    }
+
+    private List<RecomendacionSocial.Puntuacion> recomendar(int k, int maxConexiones) {
+        int[] propios = favoritos.getOrDefault(id(0), new int[0]);
+        return RecomendacionSocial.recomendar(grafo, id(0), id -> favoritos.getOrDefault(id, new int[0]),
+                cancion -> Arrays.stream(propios).anyMatch(p -> p == cancion), k, maxConexiones, 100);
+    }
+
+    private int id(int i) {
+        return grafo.idDe(u[i]);
+    }
+
+    private static List<Integer> ids(List<RecomendacionSocial.Puntuacion> puntuaciones) {
+        return puntuaciones.stream().map(RecomendacionSocial.Puntuacion::getCancionId).toList();
+    }
+
+    private Usuario crearUsuario(String username) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setNombre(username);
+        usuario.setPassword("password");
+        return usuario;
+    }
+}
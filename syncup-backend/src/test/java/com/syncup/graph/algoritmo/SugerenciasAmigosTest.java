@@ -0,0 +1,123 @@
+package com.syncup.graph.algoritmo;
+
+import com.syncup.graph.GrafoSocial;
+import com.syncup.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para SugerenciasAmigos.
+ *
+ * @author SyncUp Team
+ */
+class SugerenciasAmigosTest {
+
+    private GrafoSocial grafo;
+    private Usuario[] u;
+
+    @BeforeEach
+    void setUp() {
+        grafo = new GrafoSocial();
+        u = new Usuario[8];
+        for (int i = 0; i < u.length; i++) {
+            u[i] = crearUsuario("user" + i);
+            grafo.registrar(u[i]);
+        }
+    }
+
+    @Test
+    void testOrdenaPorConexionesEnComun() {
+        // u0 sigue a u1, u2, u3; u5 es seguido por los tres, u6 por dos y u4 por uno
+        grafo.seguir(u[0], u[1]);
+        grafo.seguir(u[0], u[2]);
+        grafo.seguir(u[0], u[3]);
+        grafo.seguir(u[1], u[4]);
+        grafo.seguir(u[1], u[5]);
+        grafo.seguir(u[2], u[5]);
+        grafo.seguir(u[3], u[5]);
+        grafo.seguir(u[2], u[6]);
+        grafo.seguir(u[3], u[6]);
+        // Ni el propio usuario ni a quien ya sigue se sugieren
+        grafo.seguir(u[1], u[0]);
+        grafo.seguir(u[1], u[2]);
+
+        List<SugerenciasAmigos.Sugerencia> sugerencias = SugerenciasAmigos.sugerir(grafo, id(0), 10, 100);
+
+        assertEquals(List.of(id(5), id(6), id(4)), ids(sugerencias));
+        assertEquals(List.of(3, 2, 1), sugerencias.stream().map(SugerenciasAmigos.Sugerencia::getEnComun).toList());
+        assertEquals(List.of(id(5)), ids(SugerenciasAmigos.sugerir(grafo, id(0), 1, 100)));
+    }
+
+    @Test
+    void testOmiteIntermediariosQueSuperanElTope() {
+        grafo.seguir(u[0], u[1]);
+        grafo.seguir(u[0], u[2]);
+        for (int i = 3; i < u.length; i++) {
+            grafo.seguir(u[1], u[i]);
+        }
+        grafo.seguir(u[2], u[7]);
+
+        assertEquals(List.of(id(7)), ids(SugerenciasAmigos.sugerir(grafo, id(0), 10, 3)));
+        assertEquals(5, SugerenciasAmigos.sugerir(grafo, id(0), 10, 5).size());
+    }
+
+    @Test
+    void testEquivaleAContarPorFuerzaBruta() {
+        GrafoSocial grande = new GrafoSocial();
+        Usuario[] usuarios = new Usuario[300];
+        for (int i = 0; i < usuarios.length; i++) {
+            usuarios[i] = crearUsuario("u" + i);
+            grande.registrar(usuarios[i]);
+        }
+        Random random = new Random(17);
+        for (int i = 0; i < 6000; i++) {
+            grande.seguir(usuarios[random.nextInt(300)], usuarios[random.nextInt(300)]);
+        }
+
+        int origen = grande.idDe(usuarios[0]);
+        Set<Integer> seguidos = Arrays.stream(grande.seguidos(origen)).boxed().collect(Collectors.toSet());
+        Map<Integer, Integer> conteos = new HashMap<>();
+        for (int intermediario : seguidos) {
+            for (int candidato : grande.seguidos(intermediario)) {
+                if (candidato != origen && !seguidos.contains(candidato)) {
+                    conteos.merge(candidato, 1, Integer::sum);
+                }
+            }
+        }
+        List<Integer> esperados = conteos.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(15)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        assertEquals(esperados, ids(SugerenciasAmigos.sugerir(grande, origen, 15, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void testSinSeguidosNoHaySugerencias() {
+        assertTrue(SugerenciasAmigos.sugerir(grafo, id(0), 5, 100).isEmpty());
+        assertTrue(SugerenciasAmigos.sugerir(grafo, GrafoSocial.SIN_ID, 5, 100).isEmpty());
+    }
+
+    private int id(int i) {
+        return grafo.idDe(u[i]);
+    }
+
+    private static List<Integer> ids(List<SugerenciasAmigos.Sugerencia> sugerencias) {
+        return sugerencias.stream().map(SugerenciasAmigos.Sugerencia::getId).toList();
+    }
+
+    private Usuario crearUsuario(String username) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setNombre(username);
+        usuario.setPassword("password");
+        return usuario;
+    }
+}
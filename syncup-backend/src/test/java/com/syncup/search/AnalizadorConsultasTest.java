@@ -0,0 +1,48 @@
+package com.syncup.search;
+
+import com.syncup.dto.SearchRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para AnalizadorConsultas.
+ *
+ * @author SyncUp Team
+ */
+class AnalizadorConsultasTest {
+
+    @Test
+    void testPrecedenciaYAgrupacion() {
+        assertEquals("(genero:\"rock\" AND (artista:\"queen\" OR año:[1975 TO 1980]))",
+                AnalizadorConsultas.analizar("genre:rock AND (artist:queen OR year:[1975 TO 1980])").toString());
+        assertEquals("((genero:\"rock\" AND artista:\"queen\") OR año:[1975 TO 1975])",
+                AnalizadorConsultas.analizar("genre:rock artist:queen or year:1975").toString());
+        assertEquals("(NOT genero:\"Hard Rock\" AND duracion:[* TO 200])",
+                AnalizadorConsultas.analizar("NOT género:\"Hard Rock\" AND duration:[* TO 200]").toString());
+    }
+
+    @Test
+    void testErroresDeSintaxis() {
+        for (String invalida : List.of("genre:", "genre:rock AND", "(genre:rock", "tempo:120",
+                "year:abc", "year:[1990 1999]", "year:[2000 TO 1990]", "artist:\"sin cierre",
+                "genre:rock )", "((((((((((((((((((((((((((((((((((genre:rock))))))))))))))))))))))))))))))))))")) {
+            assertThrows(IllegalArgumentException.class, () -> AnalizadorConsultas.analizar(invalida), invalida);
+        }
+    }
+
+    @Test
+    void testCompilarSolicitud() {
+        SearchRequest request = new SearchRequest();
+        request.setGeneros(List.of("Rock", "Pop"));
+        request.setAñoDesde(1990);
+        request.setAñoHasta(1999);
+        request.setConsulta("NOT artist:Queen");
+
+        assertEquals("(((genero:\"Rock\" OR genero:\"Pop\") AND año:[1990 TO 1999]) AND NOT artista:\"Queen\")",
+                AnalizadorConsultas.compilar(request).toString());
+        assertNull(AnalizadorConsultas.compilar(new SearchRequest()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.syncup.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para CacheResultadosBusqueda.
+ *
+ * @author SyncUp Team
+ */
+class CacheResultadosBusquedaTest {
+
+    @Test
+    void testClaveCanonicaIgnoraOrdenYRepetidos() {
+        String a = CacheResultadosBusqueda.clave(AnalizadorConsultas.analizar(
+                "genre:Rock AND (artist:Queen OR artist:\"Pink Floyd\") AND year:[1970 TO 1979]"));
+        String b = CacheResultadosBusqueda.clave(AnalizadorConsultas.analizar(
+                "year:[1970 TO 1979] (artist:\"Pink Floyd\" OR artist:Queen OR artist:Queen) genre:\" Rock \""));
+        assertEquals(a, b);
+
+        assertNotEquals(a, CacheResultadosBusqueda.clave(AnalizadorConsultas.analizar(
+                "genre:Rock OR (artist:Queen OR artist:\"Pink Floyd\") OR year:[1970 TO 1979]")));
+        assertNotEquals(CacheResultadosBusqueda.clave(AnalizadorConsultas.analizar("artist:\"a|b\"")),
+                CacheResultadosBusqueda.clave(AnalizadorConsultas.analizar("artist:a OR artist:b")));
+    }
+
+    @Test
+    void testClaveNoDistingueMayusculasNiAcentos() {
+        assertEquals(CacheResultadosBusqueda.clave(AnalizadorConsultas.analizar("genre:Rock AND artist:\"Beyoncé\"")),
+                CacheResultadosBusqueda.clave(AnalizadorConsultas.analizar("artist:BEYONCE AND genre:rock")));
+    }
+
+    @Test
+    void testNuevaVersionDelCatalogoInvalida() {
+        CacheResultadosBusqueda cache = new CacheResultadosBusqueda(10, 1 << 20);
+        cache.guardar("q", 1, new long[]{1, 2});
+        assertArrayEquals(new long[]{1, 2}, cache.obtener("q", 1));
+
+        assertNull(cache.obtener("q", 2));
+
+        // Un resultado calculado con una versión anterior no se guarda
+        cache.guardar("q", 1, new long[]{1, 2});
+        assertNull(cache.obtener("q", 2));
+        assertEquals(1L, cache.obtenerEstadisticas().get("aciertos"));
+        assertEquals(2L, cache.obtenerEstadisticas().get("fallos"));
+    }
+
+    @Test
+    void testLimitesDeEntradasYMemoria() {
+        CacheResultadosBusqueda cache = new CacheResultadosBusqueda(2, 8 * 1024);
+        cache.guardar("a", 0, new long[]{1});
+        cache.guardar("b", 0, new long[]{2});
+        cache.obtener("a", 0);
+        cache.guardar("c", 0, new long[]{3});
+
+        assertNotNull(cache.obtener("a", 0));
+        assertNull(cache.obtener("b", 0));
+        assertNotNull(cache.obtener("c", 0));
+
+        // Un resultado de más de 1/8 del presupuesto no se guarda
+        cache.guardar("grande", 0, new long[200]);
+        assertNull(cache.obtener("grande", 0));
+        assertEquals(1L, cache.obtenerEstadisticas().get("descartadasPorTamaño"));
+        assertTrue((Long) cache.obtenerEstadisticas().get("bytesEstimados") <= 8 * 1024);
+    }
+}
@@ -0,0 +1,208 @@
+package com.syncup.search;
+
+import com.syncup.dto.BusquedaFacetada;
+import com.syncup.dto.FacetasBusqueda;
+import com.syncup.dto.SearchRequest;
+import com.syncup.model.Cancion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para IndiceInvertido.
+ *
+ * @author SyncUp Team
+ */
+class IndiceInvertidoTest {
+
+    private IndiceInvertido indice;
+    private Cancion c1, c2, c3;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceInvertido();
+        c1 = crearCancion(1L, "Artist A", "Rock", 2020);
+        c2 = crearCancion(2L, "Artist A", "Pop", 2021);
+        c2.setDuracion(90);
+        c3 = crearCancion(3L, "Artist B", "Rock", 2020);
+        indice.agregar(c1);
+        indice.agregar(c2);
+        indice.agregar(c3);
+    }
+
+    @Test
+    void testBuscarConAND() {
+        assertEquals(List.of(c1), indice.buscar(solicitud("Artist A", "Rock", 2020, "AND")));
+        assertEquals(List.of(c1, c3), indice.buscar(solicitud(null, "Rock", null, "AND")));
+        assertTrue(indice.buscar(solicitud("Artist C", "Rock", null, "AND")).isEmpty());
+    }
+
+    @Test
+    void testBuscarConOR() {
+        assertEquals(List.of(c1, c2, c3), indice.buscar(solicitud("Artist A", "Rock", null, "OR")));
+        assertEquals(List.of(c2), indice.buscar(solicitud(null, "Pop", 1999, "OR")));
+    }
+
+    @Test
+    void testRangosYValoresMultiples() {
+        SearchRequest request = new SearchRequest();
+        request.setGeneros(List.of("Rock", "Pop"));
+        request.setAñoDesde(2021);
+        assertEquals(List.of(c2), indice.buscar(request));
+
+        request = new SearchRequest();
+        request.setArtistas(List.of("Artist A", "Artist B"));
+        request.setAñoHasta(2020);
+        assertEquals(List.of(c1, c3), indice.buscar(request));
+
+        request = new SearchRequest();
+        request.setDuracionMin(200);
+        request.setDuracionMax(250);
+        assertEquals(List.of(c1, c3), indice.buscar(request));
+
+        request.setDuracionMin(null);
+        request.setDuracionMax(100);
+        assertEquals(List.of(c2), indice.buscar(request));
+    }
+
+    @Test
+    void testConsultaBooleana() {
+        assertEquals(List.of(c1, c3),
+                indice.buscar(AnalizadorConsultas.analizar("genre:Rock AND (artist:\"Artist A\" OR year:[2019 TO 2020])")));
+        assertEquals(List.of(c3), indice.buscar(AnalizadorConsultas.analizar("genre:Rock NOT artist:\"Artist A\"")));
+        assertEquals(List.of(c2), indice.buscar(AnalizadorConsultas.analizar("duration:[* TO 100] OR genre:Jazz")));
+        assertEquals(List.of(c1, c3), indice.buscar(AnalizadorConsultas.analizar("year:2020 (genre:Rock OR genre:Pop)")));
+    }
+
+    @Test
+    void testConjuncionConClausulaVaciaNoEvaluaElResto() {
+        assertTrue(indice.buscar(AnalizadorConsultas.analizar("genre:Rock AND artist:Nadie AND year:[* TO *]")).isEmpty());
+        assertTrue(indice.buscar(AnalizadorConsultas.analizar("NOT year:[* TO *]")).isEmpty());
+    }
+
+    @Test
+    void testConsultaEquivaleAFuerzaBruta() {
+        IndiceInvertido grande = new IndiceInvertido();
+        List<Cancion> catalogo = new java.util.ArrayList<>();
+        java.util.Random random = new java.util.Random(3);
+        String[] generos = {"Rock", "Pop", "Jazz", "Salsa"};
+        for (long id = 1; id <= 2000; id++) {
+            Cancion c = crearCancion(id, "Artist " + random.nextInt(50), generos[random.nextInt(4)], 1960 + random.nextInt(60));
+            c.setDuracion(60 + random.nextInt(400));
+            catalogo.add(c);
+            grande.agregar(c);
+        }
+
+        List<Cancion> obtenidas = grande.buscar(AnalizadorConsultas.analizar(
+                "(genre:Rock OR genre:Pop) AND year:[1990 TO 1999] AND NOT duration:[300 TO *] OR artist:\"Artist 7\""));
+        List<Cancion> esperadas = catalogo.stream()
+                .filter(c -> ((c.getGenero().equals("Rock") || c.getGenero().equals("Pop"))
+                        && c.getAño() >= 1990 && c.getAño() <= 1999 && c.getDuracion() < 300)
+                        || c.getArtista().equals("Artist 7"))
+                .toList();
+        assertEquals(esperadas, obtenidas);
+    }
+
+    @Test
+    void testFacetasDelResultado() {
+        BusquedaFacetada resultado = indice.buscarConFacetas(AnalizadorConsultas.analizar("year:[2020 TO *]"), 10);
+
+        assertEquals(List.of(c1, c2, c3), resultado.getCanciones());
+        FacetasBusqueda facetas = resultado.getFacetas();
+        assertEquals(Map.of("Rock", 2L, "Pop", 1L), facetas.getGeneros());
+        assertEquals(List.of("Rock", "Pop"), List.copyOf(facetas.getGeneros().keySet()));
+        assertEquals(Map.of(2020, 3L), facetas.getDecadas());
+
+        facetas = indice.buscarConFacetas(AnalizadorConsultas.analizar("genre:Rock"), 1).getFacetas();
+        assertEquals(Map.of("Rock", 2L), facetas.getGeneros());
+        assertEquals(Map.of("Artist A", 1L), facetas.getArtistas());
+
+        facetas = indice.buscarConFacetas(AnalizadorConsultas.analizar("genre:Jazz"), 10).getFacetas();
+        assertTrue(facetas.getGeneros().isEmpty());
+        assertTrue(facetas.getDecadas().isEmpty());
+    }
+
+    @Test
+    void testFacetasEquivalenAAgrupar() {
+        IndiceInvertido grande = new IndiceInvertido();
+        List<Cancion> catalogo = new java.util.ArrayList<>();
+        java.util.Random random = new java.util.Random(5);
+        String[] generos = {"Rock", "Pop", "Jazz", "Salsa"};
+        for (long id = 1; id <= 1000; id++) {
+            Cancion c = crearCancion(id, "Artist " + random.nextInt(30), generos[random.nextInt(4)], 1960 + random.nextInt(60));
+            catalogo.add(c);
+            grande.agregar(c);
+        }
+
+        FacetasBusqueda facetas = grande.buscarConFacetas(AnalizadorConsultas.analizar("NOT genre:Salsa"), 100).getFacetas();
+        List<Cancion> esperadas = catalogo.stream().filter(c -> !c.getGenero().equals("Salsa")).toList();
+        assertEquals(esperadas.stream().collect(Collectors.groupingBy(Cancion::getArtista, Collectors.counting())),
+                facetas.getArtistas());
+        assertEquals(esperadas.stream().collect(Collectors.groupingBy(c -> c.getAño() / 10 * 10, Collectors.counting())),
+                facetas.getDecadas());
+        assertEquals(catalogo.stream().collect(Collectors.groupingBy(Cancion::getGenero, Collectors.counting())),
+                grande.facetas(100).getGeneros());
+    }
+
+    @Test
+    void testArtistaYGeneroSinDistinguirMayusculasNiAcentos() {
+        Cancion c4 = crearCancion(4L, "Beyoncé", "rock", 2020);
+        indice.agregar(c4);
+
+        assertEquals(List.of(c1, c3, c4), indice.buscar(solicitud(null, "ROCK", null, "AND")));
+        assertEquals(List.of(c4), indice.buscar(solicitud("beyonce", " Rock ", null, "AND")));
+        assertEquals(List.of(c1, c2), indice.buscar(AnalizadorConsultas.analizar("artist:\"artist a\"")));
+
+        // La faceta agrupa las variantes y muestra la primera forma registrada
+        assertEquals(Map.of("Rock", 3L, "Pop", 1L), indice.facetas(10).getGeneros());
+        assertEquals(List.of("Rock", "Pop"), List.copyOf(indice.conteoGeneros().keySet()));
+        assertEquals(indice.facetas(10).getGeneros(), indice.conteoGeneros());
+    }
+
+    @Test
+    void testReindexarYEliminar() {
+        c2.setGenero("Rock");
+        indice.agregar(c2);
+        assertEquals(List.of(c1, c2, c3), indice.buscar(solicitud(null, "Rock", null, "AND")));
+        assertTrue(indice.buscar(solicitud(null, "Pop", null, "AND")).isEmpty());
+
+        assertTrue(indice.eliminar(1L));
+        assertFalse(indice.eliminar(1L));
+        assertEquals(List.of(c2, c3), indice.buscar(solicitud(null, "Rock", null, "AND")));
+
+        // El ordinal libre se reutiliza y el orden por duración se recalcula
+        Cancion c4 = crearCancion(4L, "Artist C", "Jazz", 1990);
+        indice.agregar(c4);
+        assertEquals(3, indice.tamaño());
+        assertEquals(List.of(c4), indice.buscar(solicitud("Artist C", null, null, "AND")));
+
+        SearchRequest porDuracion = new SearchRequest();
+        porDuracion.setDuracionMin(200);
+        assertEquals(List.of(c4, c3), indice.buscar(porDuracion));
+    }
+
+    private SearchRequest solicitud(String artista, String genero, Integer año, String operador) {
+        SearchRequest request = new SearchRequest();
+        request.setArtista(artista);
+        request.setGenero(genero);
+        request.setAño(año);
+        request.setOperador(operador);
+        return request;
+    }
+
+    private Cancion crearCancion(Long id, String artista, String genero, int año) {
+        Cancion cancion = new Cancion();
+        cancion.setId(id);
+        cancion.setTitulo("Song " + id);
+        cancion.setArtista(artista);
+        cancion.setGenero(genero);
+        cancion.setAño(año);
+        cancion.setDuracion(240);
+        return cancion;
+    }
+}
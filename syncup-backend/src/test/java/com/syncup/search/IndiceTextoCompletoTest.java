@@ -0,0 +1,121 @@
+package com.syncup.search;
+
+import com.syncup.dto.ResultadoBusquedaTexto;
+import com.syncup.model.Cancion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para IndiceTextoCompleto.
+ *
+ * @author SyncUp Team
+ */
+class IndiceTextoCompletoTest {
+
+    private IndiceTextoCompleto indice;
+    private Cancion c1, c2, c3;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTextoCompleto();
+        c1 = crearCancion(1L, "Bohemian Rhapsody", "Queen");
+        c2 = crearCancion(2L, "Under Pressure", "Queen & David Bowie");
+        c3 = crearCancion(3L, "Canción de Queen", "Otro Artista");
+        indice.agregar(c1);
+        indice.agregar(c2);
+        indice.agregar(c3);
+    }
+
+    @Test
+    void testCoincidenciaEnTituloPesaMasQueEnArtista() {
+        List<ResultadoBusquedaTexto> resultados = indice.buscar("queen", 10);
+
+        assertEquals(3, resultados.size());
+        assertEquals(c3, resultados.get(0).getCancion());
+        assertTrue(resultados.get(0).getPuntuacion() > resultados.get(1).getPuntuacion());
+    }
+
+    @Test
+    void testMejorCoincidenciaPrimero() {
+        List<ResultadoBusquedaTexto> resultados = indice.buscar("bohemian queen", 2);
+
+        assertEquals(2, resultados.size());
+        assertEquals(c1, resultados.get(0).getCancion());
+    }
+
+    @Test
+    void testIgnoraAcentosYMayusculas() {
+        assertEquals(c3, indice.buscar("CANCION", 5).get(0).getCancion());
+        assertTrue(indice.buscar("inexistente", 5).isEmpty());
+        assertTrue(indice.buscar("  ", 5).isEmpty());
+    }
+
+    @Test
+    void testReindexarYEliminar() {
+        c1.setTitulo("Killer Queen");
+        indice.agregar(c1);
+        assertTrue(indice.buscar("bohemian", 5).isEmpty());
+        assertEquals(c1, indice.buscar("killer", 5).get(0).getCancion());
+
+        assertTrue(indice.eliminar(3L));
+        assertFalse(indice.eliminar(3L));
+        assertEquals(2, indice.tamaño());
+        assertTrue(indice.buscar("cancion", 5).isEmpty());
+    }
+
+    @Test
+    void testCompactacionConservaResultados() {
+        IndiceTextoCompleto grande = new IndiceTextoCompleto();
+        for (long id = 1; id <= 400; id++) {
+            grande.agregar(crearCancion(id, "Tema " + (id % 7 == 0 ? "especial" : "normal"), "Artista " + id));
+        }
+        for (long id = 1; id <= 300; id++) {
+            grande.eliminar(id);
+        }
+
+        assertEquals(100, grande.tamaño());
+        List<ResultadoBusquedaTexto> resultados = grande.buscar("especial", 100);
+        assertEquals(15, resultados.size());
+        assertTrue(resultados.stream().allMatch(r -> r.getCancion().getId() > 300 && r.getCancion().getId() % 7 == 0));
+    }
+
+    @Test
+    void testTopKConWandEquivaleABusquedaExhaustiva() {
+        IndiceTextoCompleto grande = new IndiceTextoCompleto();
+        String[] palabras = {"amor", "noche", "luna", "fuego", "mar", "sol", "cielo", "rock", "baile", "corazon"};
+        Random random = new Random(11);
+        for (long id = 1; id <= 3000; id++) {
+            StringBuilder titulo = new StringBuilder();
+            int longitud = 1 + random.nextInt(5);
+            for (int i = 0; i < longitud; i++) {
+                titulo.append(palabras[random.nextInt(palabras.length)]).append(' ');
+            }
+            grande.agregar(crearCancion(id, titulo.toString(), "Artista " + random.nextInt(100)));
+        }
+
+        String consulta = "luna fuego corazon artista 42";
+        List<ResultadoBusquedaTexto> todos = grande.buscar(consulta, 3000);
+        List<ResultadoBusquedaTexto> top = grande.buscar(consulta, 10);
+
+        assertEquals(10, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(todos.get(i).getPuntuacion(), top.get(i).getPuntuacion(), 1e-9);
+        }
+    }
+
+    private Cancion crearCancion(Long id, String titulo, String artista) {
+        Cancion cancion = new Cancion();
+        cancion.setId(id);
+        cancion.setTitulo(titulo);
+        cancion.setArtista(artista);
+        cancion.setGenero("Rock");
+        cancion.setAño(2000);
+        cancion.setDuracion(200);
+        return cancion;
+    }
+}
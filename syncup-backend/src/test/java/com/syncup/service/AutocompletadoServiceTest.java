@@ -0,0 +1,260 @@
+package com.syncup.service;
+
+import com.syncup.dto.PaginaSugerencias;
+import com.syncup.dto.SugerenciaCancion;
+import com.syncup.model.Cancion;
+import com.syncup.repository.CancionRepository;
+import com.syncup.trie.TrieAutocompletado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para AutocompletadoService.
+ * Incluye una carga simulada de tecleo que compara la latencia p99 con y
+ * sin la caché de prefijos, y la reconstrucción en segundo plano con
+ * modificaciones concurrentes.
+ * 
+ * @author SyncUp Team
+ */
+@ExtendWith(MockitoExtension.class)
+class AutocompletadoServiceTest {
+    
+    private static final String[] PALABRAS = {
+        "bohemian", "beat", "bella", "canción", "camino", "corazón", "dust", "dream",
+        "easy", "eagle", "fuego", "free", "hotel", "heaven", "imagine", "lluvia",
+        "maría", "mañana", "noche", "numb", "purple", "rain", "rolling", "stone"
+    };
+    
+    @Mock
+    private CancionRepository cancionRepository;
+    
+    private AutocompletadoService autocompletadoService;
+    
+    private List<Cancion> catalogo;
+    
+    @BeforeEach
+    void setUp() {
+        catalogo = new ArrayList<>();
+        Random random = new Random(42);
+        for (long id = 1; id <= 5000; id++) {
+            String titulo = PALABRAS[random.nextInt(PALABRAS.length)] + " "
+                    + PALABRAS[random.nextInt(PALABRAS.length)] + " " + id;
+            catalogo.add(crearCancion(id, titulo, "Artista " + (id % 200)));
+        }
+        when(cancionRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> paginar(inv.getArgument(0), inv.getArgument(1)));
+        autocompletadoService = new AutocompletadoService(cancionRepository, ForkJoinPool.commonPool());
+        autocompletadoService.inicializar();
+    }
+    
+    @Test
+    void testExtensionDePrefijoDevuelveLosMismosResultadosQueElTrie() {
+        TrieAutocompletado referencia = new TrieAutocompletado();
+        catalogo.forEach(c -> {
+            referencia.insertar(c.getTitulo(), c);
+            referencia.insertar(c.getArtista(), c);
+        });
+        
+        for (String prefijo : List.of("b", "be", "bea", "beat", "beat b", "Mañ", "MAÑANA", "mana")) {
+            Set<Cancion> esperadas = new HashSet<>(referencia.buscarPorPrefijo(prefijo));
+            Set<Cancion> obtenidas = new HashSet<>(autocompletadoService.buscarPorPrefijo(prefijo));
+            assertEquals(esperadas, obtenidas, "Prefijo: " + prefijo);
+        }
+    }
+    
+    @Test
+    void testCacheSeInvalidaAlAgregarCancion() {
+        assertTrue(autocompletadoService.buscarPorPrefijo("zz").isEmpty());
+        
+        Cancion nueva = crearCancion(9999L, "Zz Top Song", "Otro");
+        autocompletadoService.agregarCancion(nueva);
+        
+        assertTrue(autocompletadoService.buscarPorPrefijo("zz").contains(nueva));
+    }
+    
+    @Test
+    void testSugerenciasPaginadasCubrenTodosLosResultadosSinDuplicados() {
+        Set<Long> esperados = new HashSet<>();
+        autocompletadoService.buscarPorPrefijo("be").forEach(c -> esperados.add(c.getId()));
+        
+        List<Long> recorridos = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaSugerencias pagina = autocompletadoService.buscarSugerencias("be", cursor, 25);
+            assertTrue(pagina.getSugerencias().size() <= 25);
+            pagina.getSugerencias().stream().map(SugerenciaCancion::getId).forEach(recorridos::add);
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+        
+        assertEquals(esperados.size(), recorridos.size());
+        assertEquals(esperados, new HashSet<>(recorridos));
+    }
+    
+    @Test
+    void testCursorInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> autocompletadoService.buscarSugerencias("be", "no-es-un-cursor", 10));
+    }
+    
+    @Test
+    void testCargaSimuladaDeTecleo() {
+        TrieAutocompletado sinCache = new TrieAutocompletado();
+        catalogo.forEach(c -> {
+            sinCache.insertar(c.getTitulo(), c);
+            sinCache.insertar(c.getArtista(), c);
+        });
+        
+        // Cada "usuario" teclea una palabra carácter a carácter; con tantos usuarios los
+        // fallos de caché (un prefijo nuevo) quedan por debajo del 1% y el p99 mide aciertos
+        List<String> consultas = new ArrayList<>();
+        Random random = new Random(7);
+        for (int usuario = 0; usuario < 3000; usuario++) {
+            String palabra = PALABRAS[random.nextInt(PALABRAS.length)];
+            for (int i = 1; i <= palabra.length(); i++) {
+                consultas.add(palabra.substring(0, i));
+            }
+        }
+        
+        // Calentamiento del JIT con un trie aparte, para no llenar la caché antes de medir
+        TrieAutocompletado calentamiento = new TrieAutocompletado();
+        catalogo.forEach(c -> calentamiento.insertar(c.getTitulo(), c));
+        for (String consulta : consultas) {
+            calentamiento.buscarPorPrefijo(consulta);
+            calentamiento.buscarEntradasPorPrefijo(consulta);
+        }
+        
+        // La misma secuencia de pulsaciones sin caché y con caché
+        long[] latenciasSinCache = new long[consultas.size()];
+        for (int i = 0; i < consultas.size(); i++) {
+            long inicio = System.nanoTime();
+            sinCache.buscarPorPrefijo(consultas.get(i));
+            latenciasSinCache[i] = System.nanoTime() - inicio;
+        }
+        long[] latenciasConCache = new long[consultas.size()];
+        for (int i = 0; i < consultas.size(); i++) {
+            long inicio = System.nanoTime();
+            autocompletadoService.buscarPorPrefijo(consultas.get(i));
+            latenciasConCache[i] = System.nanoTime() - inicio;
+        }
+        
+        long p99SinCache = percentil99(latenciasSinCache);
+        long p99ConCache = percentil99(latenciasConCache);
+        assertTrue(p99ConCache < p99SinCache,
+                "p99 con caché " + p99ConCache + " ns, sin caché " + p99SinCache + " ns");
+        
+        Map<String, Object> estadisticas = autocompletadoService.obtenerEstadisticasCache();
+        assertEquals((long) consultas.size(), estadisticas.get("consultas"));
+        assertTrue((double) estadisticas.get("tasaAcierto") > 0.9);
+    }
+    
+    @Test
+    void testReconstruccionEnSegundoPlanoNoBloqueaLecturasNiPierdeCambios() throws Exception {
+        CountDownLatch primeraPaginaLeida = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        AtomicInteger paginasLeidas = new AtomicInteger();
+        when(cancionRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    if (paginasLeidas.incrementAndGet() == 2) {
+                        primeraPaginaLeida.countDown();
+                        assertTrue(continuar.await(10, TimeUnit.SECONDS));
+                    }
+                    return paginar(inv.getArgument(0), inv.getArgument(1));
+                });
+        
+        CompletableFuture<Void> reconstruccion = autocompletadoService.reconstruirEnSegundoPlano();
+        assertTrue(primeraPaginaLeida.await(10, TimeUnit.SECONDS));
+        
+        // Durante la reconstrucción: las lecturas responden con el Trie vigente
+        assertEquals(true, autocompletadoService.obtenerEstadoReconstruccion().get("enCurso"));
+        assertFalse(autocompletadoService.buscarPorPrefijo("bohemian").isEmpty());
+        
+        // Modificaciones concurrentes: una alta que no está en la BD simulada
+        // y una baja de una canción que ya se leyó en la primera página
+        Cancion nueva = crearCancion(9999L, "Zz Top Song", "Otro");
+        Cancion eliminada = catalogo.get(0);
+        autocompletadoService.agregarCancion(nueva);
+        autocompletadoService.eliminarCancion(eliminada);
+        assertTrue(autocompletadoService.buscarPorPrefijo("zz").contains(nueva));
+        
+        continuar.countDown();
+        reconstruccion.get(10, TimeUnit.SECONDS);
+        
+        // Tras el intercambio, el Trie nuevo conserva ambas modificaciones
+        assertTrue(autocompletadoService.buscarPorPrefijo("zz").contains(nueva));
+        assertFalse(autocompletadoService.buscarPorPrefijo(eliminada.getTitulo()).contains(eliminada));
+        Map<String, Object> estado = autocompletadoService.obtenerEstadoReconstruccion();
+        assertEquals(false, estado.get("enCurso"));
+        assertEquals((long) catalogo.size(), estado.get("cancionesProcesadas"));
+        assertEquals(2, estado.get("operacionesReaplicadasUltima"));
+    }
+    
+    @Test
+    void testActualizarDuranteReconstruccionEsUnaSolaOperacion() throws Exception {
+        CountDownLatch primeraPaginaLeida = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        AtomicInteger paginasLeidas = new AtomicInteger();
+        when(cancionRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    if (paginasLeidas.incrementAndGet() == 2) {
+                        primeraPaginaLeida.countDown();
+                        assertTrue(continuar.await(10, TimeUnit.SECONDS));
+                    }
+                    return paginar(inv.getArgument(0), inv.getArgument(1));
+                });
+        
+        CompletableFuture<Void> reconstruccion = autocompletadoService.reconstruirEnSegundoPlano();
+        assertTrue(primeraPaginaLeida.await(10, TimeUnit.SECONDS));
+        
+        Cancion anterior = catalogo.get(0);
+        Cancion renombrada = crearCancion(anterior.getId(), "Qq Renombrada", anterior.getArtista());
+        autocompletadoService.actualizarCancion(anterior, renombrada);
+        assertTrue(autocompletadoService.buscarPorPrefijo("qq").contains(renombrada));
+        
+        continuar.countDown();
+        reconstruccion.get(10, TimeUnit.SECONDS);
+        
+        assertTrue(autocompletadoService.buscarPorPrefijo("qq").contains(renombrada));
+        assertFalse(autocompletadoService.buscarPorPrefijo(anterior.getTitulo()).contains(anterior));
+        assertEquals(1, autocompletadoService.obtenerEstadoReconstruccion().get("operacionesReaplicadasUltima"));
+    }
+    
+    private List<Cancion> paginar(Long ultimoId, Pageable pageable) {
+        return catalogo.stream()
+                .filter(c -> c.getId() > ultimoId)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+    
+    private long percentil99(long[] latencias) {
+        long[] ordenadas = latencias.clone();
+        Arrays.sort(ordenadas);
+        return ordenadas[(int) Math.ceil(ordenadas.length * 0.99) - 1];
+    }
+    
+    private Cancion crearCancion(Long id, String titulo, String artista) {
+        Cancion cancion = new Cancion();
+        cancion.setId(id);
+        cancion.setTitulo(titulo);
+        cancion.setArtista(artista);
+        cancion.setGenero("Rock");
+        cancion.setAño(2020);
+        cancion.setDuracion(240);
+        return cancion;
+    }
+}
@@ -1,20 +1,45 @@
 package com.syncup.service;
 
+import com.syncup.dto.BusquedaFacetada;
+import com.syncup.dto.PaginaCanciones;
 import com.syncup.dto.SearchRequest;
 import com.syncup.model.Cancion;
 import com.syncup.repository.CancionRepository;
+import com.syncup.search.NodoConsulta;
+import com.syncup.search.OrdenResultados;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -29,23 +54,35 @@ class BusquedaAvanzadaServiceTest {
     @Mock
     private CancionRepository cancionRepository;
     
-    @InjectMocks
+    @Mock
+    private IndiceBusquedaService indiceBusquedaService;
+    
+    private ExecutorService ejecutor;
+    
     private BusquedaAvanzadaService busquedaAvanzadaService;
     
     private Cancion c1, c2, c3;
     
     @BeforeEach
     void setUp() {
+        ejecutor = Executors.newFixedThreadPool(3);
+        busquedaAvanzadaService = new BusquedaAvanzadaService(cancionRepository, indiceBusquedaService, ejecutor);
+        
         c1 = crearCancion(1L, "Song 1", "Artist A", "Rock", 2020);
         c2 = crearCancion(2L, "Song 2", "Artist A", "Pop", 2021);
         c3 = crearCancion(3L, "Song 3", "Artist B", "Rock", 2020);
     }
     
+    @AfterEach
+    void tearDown() {
+        ejecutor.shutdownNow();
+    }
+    
     @Test
     void testBuscarConOperadorAND() {
         // Configurar mocks
-        when(cancionRepository.findByArtista("Artist A")).thenReturn(Arrays.asList(c1, c2));
-        when(cancionRepository.findByGenero("Rock")).thenReturn(Arrays.asList(c1, c3));
+        when(cancionRepository.findByArtistaNormalizado("artist a")).thenReturn(Arrays.asList(c1, c2));
+        when(cancionRepository.findByGeneroNormalizado("rock")).thenReturn(Arrays.asList(c1, c3));
         when(cancionRepository.findByAño(2020)).thenReturn(Arrays.asList(c1, c3));
         
         SearchRequest request = new SearchRequest();
@@ -64,8 +101,8 @@ class BusquedaAvanzadaServiceTest {
     @Test
     void testBuscarConOperadorOR() {
         // Configurar mocks
-        when(cancionRepository.findByArtista("Artist A")).thenReturn(Arrays.asList(c1, c2));
-        when(cancionRepository.findByGenero("Pop")).thenReturn(Arrays.asList(c2));
+        when(cancionRepository.findByArtistaNormalizado("artist a")).thenReturn(Arrays.asList(c1, c2));
+        when(cancionRepository.findByGeneroNormalizado("pop")).thenReturn(Arrays.asList(c2));
         
         SearchRequest request = new SearchRequest();
         request.setArtista("Artist A");
@@ -79,6 +116,291 @@ class BusquedaAvanzadaServiceTest {
         assertTrue(resultados.contains(c1) || resultados.contains(c2));
     }
     
+    @Test
+    void testBuscarConANDCriterioSinResultadosDevuelveVacio() {
+        when(cancionRepository.findByArtistaNormalizado("artist c")).thenReturn(List.of());
+        when(cancionRepository.findByGeneroNormalizado("rock")).thenReturn(Arrays.asList(c1, c3));
+        
+        SearchRequest request = new SearchRequest();
+        request.setArtista("Artist C");
+        request.setGenero("Rock");
+        request.setOperador("AND");
+        
+        assertTrue(busquedaAvanzadaService.buscar(request).isEmpty());
+    }
+    
+    @Test
+    void testBuscarUsaIndiceCuandoEstaListo() {
+        when(indiceBusquedaService.estaListo()).thenReturn(true);
+        SearchRequest request = new SearchRequest();
+        request.setArtista("Artist A");
+        request.setGenero("Rock");
+        when(indiceBusquedaService.buscar(any(NodoConsulta.class))).thenReturn(List.of(c1));
+        
+        assertEquals(List.of(c1), busquedaAvanzadaService.buscar(request));
+        verifyNoInteractions(cancionRepository);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBuscarPaginadoUsaUnaSolaConsulta() {
+        when(cancionRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(inv -> new PageImpl<>(List.of(c1), inv.getArgument(1), 3));
+        
+        SearchRequest request = new SearchRequest();
+        request.setArtista("Artist A");
+        request.setGenero("Rock");
+        request.setAño(2020);
+        
+        PaginaCanciones pagina = busquedaAvanzadaService.buscarPaginado(request, 1, 500);
+        
+        assertEquals(List.of(c1), pagina.getCanciones());
+        assertEquals(1, pagina.getPagina());
+        assertEquals(BusquedaAvanzadaService.TAMAÑO_MAXIMO_PAGINA, pagina.getTamaño());
+        verify(cancionRepository).findAll(any(Specification.class), any(Pageable.class));
+        verifyNoMoreInteractions(cancionRepository);
+    }
+    
+    @Test
+    void testBuscarPaginadoSinCriteriosNoConsulta() {
+        PaginaCanciones pagina = busquedaAvanzadaService.buscarPaginado(new SearchRequest(), 0, 20);
+        
+        assertTrue(pagina.getCanciones().isEmpty());
+        verifyNoInteractions(cancionRepository);
+    }
+    
+    @Test
+    void testPaginadoConIndiceOrdenaYRecorrePorCursor() {
+        when(indiceBusquedaService.estaListo()).thenReturn(true);
+        c1.setDuracion(300);
+        c2.setDuracion(100);
+        c3.setDuracion(200);
+        when(indiceBusquedaService.buscar(any(NodoConsulta.class))).thenReturn(List.of(c1, c2, c3));
+        SearchRequest request = new SearchRequest();
+        request.setAñoDesde(2000);
+        
+        PaginaCanciones primera = busquedaAvanzadaService.buscarPaginado(request, 0, 2, "duration,desc", null);
+        assertEquals(List.of(c1, c3), primera.getCanciones());
+        assertEquals(3, primera.getTotalElementos());
+        assertEquals(2, primera.getTotalPaginas());
+        assertNotNull(primera.getSiguienteCursor());
+        
+        PaginaCanciones segunda = busquedaAvanzadaService.buscarPaginado(request, 0, 2, "duration,desc",
+                primera.getSiguienteCursor());
+        assertEquals(List.of(c2), segunda.getCanciones());
+        assertNull(segunda.getSiguienteCursor());
+        assertEquals(segunda.getCanciones(),
+                busquedaAvanzadaService.buscarPaginado(request, 1, 2, "duration,desc", null).getCanciones());
+        verifyNoInteractions(cancionRepository);
+        
+        assertThrows(IllegalArgumentException.class, () ->
+                busquedaAvanzadaService.buscarPaginado(request, 0, 2, "title", primera.getSiguienteCursor()));
+        assertThrows(IllegalArgumentException.class, () ->
+                busquedaAvanzadaService.buscarPaginado(request, 0, 2, "genero", null));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPaginadoPorCursorSinIndiceNoCuenta() {
+        when(cancionRepository.findBy(any(Specification.class), any())).thenReturn(List.of(c2, c3, c1));
+        SearchRequest request = new SearchRequest();
+        request.setGenero("Rock");
+        String cursor = OrdenResultados.analizar("year").cursor(c1);
+        
+        PaginaCanciones pagina = busquedaAvanzadaService.buscarPaginado(request, 0, 2, "year", cursor);
+        
+        assertEquals(List.of(c2, c3), pagina.getCanciones());
+        assertEquals(-1, pagina.getTotalElementos());
+        assertEquals(OrdenResultados.analizar("year").cursor(c3), pagina.getSiguienteCursor());
+        verify(cancionRepository).findBy(any(Specification.class), any());
+        verifyNoMoreInteractions(cancionRepository);
+    }
+    
+    @Test
+    void testExportarConIndiceRecorreLotesOrdenados() {
+        when(indiceBusquedaService.estaListo()).thenReturn(true);
+        List<Cancion> catalogo = new ArrayList<>();
+        for (long id = BusquedaAvanzadaService.TAMAÑO_LOTE_EXPORTACION * 2L + 10; id > 0; id--) {
+            catalogo.add(crearCancion(id, "Song " + id, "Artist A", "Rock", 2020));
+        }
+        when(indiceBusquedaService.buscar(any(NodoConsulta.class))).thenReturn(catalogo);
+        SearchRequest request = new SearchRequest();
+        request.setGenero("Rock");
+        
+        Iterator<List<Cancion>> lotes = busquedaAvanzadaService.exportar(request, null);
+        List<Long> ids = new ArrayList<>();
+        int numeroLotes = 0;
+        while (lotes.hasNext()) {
+            lotes.next().forEach(c -> ids.add(c.getId()));
+            numeroLotes++;
+        }
+        
+        assertEquals(3, numeroLotes);
+        assertEquals(catalogo.size(), ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+    
+    @Test
+    void testConsultasPorCriterioSeSolapanEnElTiempo() {
+        List<long[]> intervalos = Collections.synchronizedList(new ArrayList<>());
+        Answer<List<Cancion>> consultaLenta = inv -> {
+            long inicio = System.nanoTime();
+            Thread.sleep(200);
+            intervalos.add(new long[]{inicio, System.nanoTime()});
+            return Arrays.asList(c1, c3);
+        };
+        when(cancionRepository.findByArtistaNormalizado("artist a")).thenAnswer(consultaLenta);
+        when(cancionRepository.findByGeneroNormalizado("rock")).thenAnswer(consultaLenta);
+        when(cancionRepository.findByAño(2020)).thenAnswer(consultaLenta);
+        
+        SearchRequest request = new SearchRequest();
+        request.setArtista("Artist A");
+        request.setGenero("Rock");
+        request.setAño(2020);
+        
+        List<Cancion> resultados = busquedaAvanzadaService.buscar(request);
+        
+        assertEquals(2, resultados.size());
+        assertEquals(3, intervalos.size());
+        // Todas las consultas empezaron antes de que terminara la primera
+        long ultimoInicio = intervalos.stream().mapToLong(i -> i[0]).max().orElseThrow();
+        long primerFin = intervalos.stream().mapToLong(i -> i[1]).min().orElseThrow();
+        assertTrue(ultimoInicio < primerFin, "Las consultas por criterio no se ejecutaron en paralelo");
+    }
+    
+    @Test
+    void testConsultasPorCriterioTienenTiempoMaximoEnLaBaseDeDatos() throws Exception {
+        List<Method> criterios = List.of(
+                CancionRepository.class.getMethod("findByArtistaNormalizado", String.class),
+                CancionRepository.class.getMethod("findByGeneroNormalizado", String.class),
+                CancionRepository.class.getMethod("findByArtistaNormalizadoIn", Collection.class),
+                CancionRepository.class.getMethod("findByGeneroNormalizadoIn", Collection.class),
+                CancionRepository.class.getMethod("findByAño", Integer.class),
+                CancionRepository.class.getMethod("findByAñoBetween", Integer.class, Integer.class),
+                CancionRepository.class.getMethod("findByDuracionBetween", Integer.class, Integer.class));
+        
+        for (Method criterio : criterios) {
+            QueryHints pistas = criterio.getAnnotation(QueryHints.class);
+            assertNotNull(pistas, criterio.getName());
+            assertEquals("jakarta.persistence.query.timeout", pistas.value()[0].name());
+            assertEquals(BusquedaAvanzadaService.TIEMPO_MAXIMO_CRITERIO_MS, Long.parseLong(pistas.value()[0].value()));
+        }
+    }
+    
+    @Test
+    void testFalloDeUnCriterioCancelaLaBusqueda() {
+        when(cancionRepository.findByArtistaNormalizado("artist a")).thenThrow(new IllegalStateException("BD caída"));
+        // Puede no llegar a ejecutarse si se cancela antes de empezar
+        lenient().when(cancionRepository.findByGeneroNormalizado("rock")).thenReturn(Arrays.asList(c1, c3));
+        
+        SearchRequest request = new SearchRequest();
+        request.setArtista("Artist A");
+        request.setGenero("Rock");
+        
+        assertTrue(busquedaAvanzadaService.buscar(request).isEmpty());
+    }
+    
+    @Test
+    void testBuscarRangoYVariosGenerosEnUnaSolicitud() {
+        when(cancionRepository.findByGeneroNormalizadoIn(Set.of("rock", "pop"))).thenReturn(Arrays.asList(c1, c2, c3));
+        when(cancionRepository.findByAñoBetween(2019, 2020)).thenReturn(Arrays.asList(c1, c3));
+        
+        SearchRequest request = new SearchRequest();
+        request.setGeneros(List.of("Rock", "Pop"));
+        request.setAñoDesde(2019);
+        request.setAñoHasta(2020);
+        
+        List<Cancion> resultados = busquedaAvanzadaService.buscar(request);
+        
+        assertEquals(List.of(c1, c3), resultados);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConsultaBooleanaSinIndiceUsaUnaSolaConsultaSQL() {
+        when(cancionRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(List.of(c1));
+        
+        SearchRequest request = new SearchRequest();
+        request.setConsulta("genre:Rock AND (artist:\"Artist A\" OR year:[1975 TO 1980])");
+        
+        assertEquals(List.of(c1), busquedaAvanzadaService.buscar(request));
+        verify(cancionRepository).findAll(any(Specification.class), any(Sort.class));
+        verifyNoMoreInteractions(cancionRepository);
+    }
+    
+    @Test
+    void testFacetasSinIndiceAgrupanLosResultados() {
+        when(cancionRepository.findByGeneroNormalizado("rock")).thenReturn(Arrays.asList(c1, c3));
+        SearchRequest request = new SearchRequest();
+        request.setGenero("Rock");
+        
+        BusquedaFacetada resultado = busquedaAvanzadaService.buscarConFacetas(request, 10);
+        
+        assertEquals(List.of(c1, c3), resultado.getCanciones());
+        assertEquals(Map.of("Rock", 2L), resultado.getFacetas().getGeneros());
+        assertEquals(Map.of("Artist A", 1L, "Artist B", 1L), resultado.getFacetas().getArtistas());
+        assertEquals(Map.of(2020, 2L), resultado.getFacetas().getDecadas());
+    }
+    
+    @Test
+    void testConteoGenerosDelCatalogoSinIndice() {
+        when(cancionRepository.findAll()).thenReturn(Arrays.asList(c1, c2, c3));
+        
+        Map<String, Long> generos = busquedaAvanzadaService.obtenerConteoGenerosCatalogo();
+        
+        assertEquals(List.of("Rock", "Pop"), List.copyOf(generos.keySet()));
+        assertEquals(Map.of("Rock", 2L, "Pop", 1L), generos);
+    }
+    
+    @Test
+    void testFacetasConIndiceNoConsultanLaBD() {
+        when(indiceBusquedaService.estaListo()).thenReturn(true);
+        BusquedaFacetada esperado = new BusquedaFacetada(List.of(c1), null);
+        when(indiceBusquedaService.buscarConFacetas(any(NodoConsulta.class), eq(5)))
+                .thenReturn(esperado);
+        SearchRequest request = new SearchRequest();
+        request.setArtista("Artist A");
+        
+        assertSame(esperado, busquedaAvanzadaService.buscarConFacetas(request, 5));
+        verifyNoInteractions(cancionRepository);
+    }
+    
+    @Test
+    void testBusquedaRepetidaSeSirveDeCacheHastaQueCambiaElCatalogo() {
+        when(cancionRepository.findByGeneroNormalizado("rock")).thenReturn(Arrays.asList(c1, c3));
+        when(cancionRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(c3, c1));
+        SearchRequest request = new SearchRequest();
+        request.setGenero("Rock");
+        SearchRequest equivalente = new SearchRequest();
+        equivalente.setGeneros(List.of(" Rock", "Rock"));
+        
+        assertEquals(List.of(c1, c3), busquedaAvanzadaService.buscar(request));
+        assertEquals(List.of(c1, c3), busquedaAvanzadaService.buscar(equivalente));
+        verify(cancionRepository, times(1)).findByGeneroNormalizado("rock");
+        
+        when(indiceBusquedaService.obtenerVersionCatalogo()).thenReturn(1L);
+        busquedaAvanzadaService.buscar(request);
+        verify(cancionRepository, times(2)).findByGeneroNormalizado("rock");
+        assertEquals(1.0 / 3, (Double) busquedaAvanzadaService.obtenerEstadisticasCache().get("tasaAcierto"), 1e-9);
+    }
+    
+    @Test
+    void testConsultaBooleanaInvalida() {
+        SearchRequest request = new SearchRequest();
+        request.setConsulta("genre:Rock AND (");
+        
+        assertThrows(IllegalArgumentException.class, () -> busquedaAvanzadaService.buscar(request));
+    }
+    
+    @Test
+    void testRangoInvalido() {
+        SearchRequest request = new SearchRequest();
+        request.setAñoDesde(2000);
+        request.setAñoHasta(1990);
+        
+        assertThrows(IllegalArgumentException.class, () -> busquedaAvanzadaService.buscar(request));
+    }
+    
     private Cancion crearCancion(Long id, String titulo, String artista, String genero, int año) {
         Cancion cancion = new Cancion();
         cancion.setId(id);
@@ -0,0 +1,184 @@
+package com.syncup.service;
+
+import com.syncup.graph.GrafoSocial;
+import com.syncup.model.Cancion;
+import com.syncup.model.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ComunidadesService.
+ *
+ * @author SyncUp Team
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ComunidadesServiceTest {
+
+    @Mock
+    private SocialService socialService;
+
+    @Spy
+    private FavoritosService favoritosService = new FavoritosService(evento -> { });
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private Executor taskExecutor;
+
+    @InjectMocks
+    private ComunidadesService comunidadesService;
+
+    private GrafoSocial grafo;
+    private Cancion c1, c2, c3;
+
+    @BeforeEach
+    void setUp() {
+        grafo = new GrafoSocial();
+        c1 = crearCancion(1L);
+        c2 = crearCancion(2L);
+        c3 = crearCancion(3L);
+        when(socialService.obtenerGrafo()).thenReturn(grafo);
+
+        // Comunidad A: ana, beto, carla; comunidad B: dani, eva; nuevo sigue a ana y beto
+        Usuario ana = registrar("ana");
+        Usuario beto = registrar("beto");
+        Usuario carla = registrar("carla");
+        Usuario dani = registrar("dani");
+        Usuario eva = registrar("eva");
+        Usuario nuevo = registrar("nuevo");
+        for (Usuario[] par : new Usuario[][]{{ana, beto}, {beto, carla}, {carla, ana}, {dani, eva},
+                {eva, dani}, {nuevo, ana}, {nuevo, beto}}) {
+            grafo.seguir(par[0], par[1]);
+        }
+        agregarFavoritos("ana", c1, c2);
+        agregarFavoritos("beto", c2);
+        agregarFavoritos("carla", c2, c3);
+        agregarFavoritos("dani", c3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        comunidadesService.detener();
+    }
+
+    @Test
+    void testUsuarioSinFavoritosRecibeLosPopularesDeSuComunidad() {
+        assertTrue(comunidadesService.recalcular());
+
+        assertEquals(comunidadesService.obtenerComunidad("ana"), comunidadesService.obtenerComunidad("nuevo"));
+        assertNotEquals(comunidadesService.obtenerComunidad("ana"), comunidadesService.obtenerComunidad("dani"));
+        // c2 está en tres favoritos de la comunidad; c1 y c3 en uno (a igual conteo, id menor)
+        assertEquals(List.of(c2, c1, c3), comunidadesService.obtenerPopulares("nuevo", 10));
+        assertEquals(List.of(c2), comunidadesService.obtenerPopulares("nuevo", 1));
+    }
+
+    @Test
+    void testExcluyeLosFavoritosPropios() {
+        comunidadesService.recalcular();
+
+        assertEquals(List.of(c3), comunidadesService.obtenerPopulares("ana", 10));
+        assertTrue(comunidadesService.obtenerPopulares("dani", 10).isEmpty());
+    }
+
+    @Test
+    void testSinDeteccionNoHayComunidad() {
+        assertEquals(GrafoSocial.SIN_ID, comunidadesService.obtenerComunidad("ana"));
+        assertTrue(comunidadesService.obtenerPopulares("ana", 10).isEmpty());
+
+        Map<String, Object> estado = comunidadesService.obtenerEstado();
+        assertEquals(false, estado.get("enCurso"));
+        assertEquals(0, estado.get("usuarios"));
+    }
+
+    @Test
+    void testEstadoTrasLaDeteccion() {
+        comunidadesService.recalcular();
+
+        Map<String, Object> estado = comunidadesService.obtenerEstado();
+        assertEquals(2, estado.get("comunidades"));
+        assertEquals(6, estado.get("usuarios"));
+        assertEquals(1L, estado.get("ejecucionesCompletadas"));
+    }
+
+    @Test
+    void testSoloCuentanLosFavoritosMasRecientes() {
+        // Los favoritos antiguos de eva quedan fuera del límite por usuario
+        agregarFavoritos("eva", c1);
+        for (long id = 100; id < 100 + FavoritosService.MAX_FAVORITOS_RECIENTES; id++) {
+            agregarFavoritos("eva", crearCancion(id));
+        }
+        comunidadesService.recalcular();
+
+        assertFalse(comunidadesService.obtenerPopulares("dani", 200).contains(c1));
+        // Sin copiar las listas completas de favoritos
+        verify(favoritosService, never()).obtenerFavoritos("eva");
+    }
+
+    @Test
+    void testRecalculoPeriodicoEnElProgramadorCompartido() {
+        ScheduledFuture<?> futuro = mock(ScheduledFuture.class);
+        doReturn(futuro).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class),
+                eq(Duration.ofMinutes(30)));
+
+        comunidadesService.iniciar();
+        comunidadesService.detener();
+
+        verify(futuro).cancel(false);
+    }
+
+    @Test
+    void testRecalcularEnSegundoPlanoUsaElEjecutorDeTareas() {
+        doAnswer(inv -> {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        comunidadesService.recalcularEnSegundoPlano().join();
+
+        assertEquals(1L, comunidadesService.obtenerEstado().get("ejecucionesCompletadas"));
+    }
+
+    private void agregarFavoritos(String username, Cancion... canciones) {
+        for (Cancion cancion : canciones) {
+            favoritosService.agregarFavorito(username, cancion);
+        }
+    }
+
+    private Usuario registrar(String username) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setNombre(username);
+        usuario.setPassword("password");
+        int id = grafo.registrar(usuario);
+        when(socialService.obtenerIdEnGrafo(username)).thenReturn(id);
+        return usuario;
+    }
+
+    private Cancion crearCancion(Long id) {
+        Cancion cancion = new Cancion();
+        cancion.setId(id);
+        cancion.setTitulo("Song " + id);
+        cancion.setArtista("Artist");
+        return cancion;
+    }
+}
@@ -0,0 +1,81 @@
+package com.syncup.service;
+
+import com.syncup.event.FavoritoAgregadoEvent;
+import com.syncup.model.Cancion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para FavoritosService.
+ *
+ * @author SyncUp Team
+ */
+class FavoritosServiceTest {
+
+    private final List<Object> eventos = new ArrayList<>();
+    private final FavoritosService favoritosService = new FavoritosService(eventos::add);
+
+    @Test
+    void testIdsRecientesDelMasNuevoAlMasAntiguo() {
+        for (long id = 1; id <= 5; id++) {
+            favoritosService.agregarFavorito("ana", crearCancion(id));
+        }
+        favoritosService.agregarFavorito("ana", crearCancion(null));
+        Map<Integer, Cancion> canciones = new HashMap<>();
+
+        int[] ids = favoritosService.obtenerIdsRecientes("ana", 3, canciones);
+
+        // La canción sin id se omite sin ocupar hueco
+        assertArrayEquals(new int[]{5, 4, 3}, ids);
+        assertEquals(Set.of(5, 4, 3), canciones.keySet());
+        assertArrayEquals(new int[]{5, 4, 3, 2, 1}, favoritosService.obtenerIdsRecientes("ana", 100, new HashMap<>()));
+        assertEquals(0, favoritosService.obtenerIdsRecientes("nadie", 10, canciones).length);
+    }
+
+    @Test
+    void testIdsOrdenadosIncluyenTodosLosFavoritos() {
+        for (long id : new long[]{7, 3, 9}) {
+            favoritosService.agregarFavorito("ana", crearCancion(id));
+        }
+        favoritosService.agregarFavorito("ana", crearCancion(null));
+
+        assertArrayEquals(new int[]{3, 7, 9}, favoritosService.obtenerIdsOrdenados("ana"));
+        assertEquals(0, favoritosService.obtenerIdsOrdenados("nadie").length);
+    }
+
+    @Test
+    void testEliminarYVolverAAgregar() {
+        Cancion cancion = crearCancion(1L);
+        assertTrue(favoritosService.agregarFavorito("ana", cancion));
+        assertFalse(favoritosService.agregarFavorito("ana", cancion));
+        assertTrue(favoritosService.eliminarFavorito("ana", cancion));
+        assertEquals(0, favoritosService.contarFavoritos("ana"));
+
+        assertTrue(favoritosService.agregarFavorito("ana", cancion));
+        assertTrue(favoritosService.esFavorito("ana", cancion));
+    }
+
+    @Test
+    void testPublicaEventoSoloAlAgregarUnFavoritoNuevo() {
+        Cancion cancion = crearCancion(1L);
+        favoritosService.agregarFavorito("ana", cancion);
+        favoritosService.agregarFavorito("ana", cancion);
+
+        assertEquals(List.of(new FavoritoAgregadoEvent("ana", cancion)), eventos);
+    }
+
+    private Cancion crearCancion(Long id) {
+        Cancion cancion = new Cancion();
+        cancion.setId(id);
+        cancion.setTitulo("Song " + id);
+        cancion.setArtista("Artist");
+        return cancion;
+    }
+}
@@ -0,0 +1,173 @@
+package com.syncup.service;
+
+import com.syncup.dto.EventoActividad;
+import com.syncup.dto.PaginaActividad;
+import com.syncup.event.FavoritoAgregadoEvent;
+import com.syncup.event.SeguimientoEvent;
+import com.syncup.graph.GrafoSocial;
+import com.syncup.model.Cancion;
+import com.syncup.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para FeedActividadService.
+ *
+ * @author SyncUp Team
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FeedActividadServiceTest {
+
+    @Mock
+    private SocialService socialService;
+
+    private FeedActividadService feedActividadService;
+
+    /**
+     * Difusiones pendientes: el test decide cuándo se ejecutan.
+     */
+    private final List<Runnable> difusiones = new ArrayList<>();
+
+    private GrafoSocial grafo;
+    private Usuario ana, beto, carla;
+
+    @BeforeEach
+    void setUp() {
+        grafo = new GrafoSocial();
+        ana = registrar("ana");
+        beto = registrar("beto");
+        carla = registrar("carla");
+        when(socialService.obtenerGrafo()).thenReturn(grafo);
+        feedActividadService = new FeedActividadService(socialService, difusiones::add);
+    }
+
+    @Test
+    void testDifundeLosEventosALosSeguidores() {
+        grafo.seguir(ana, beto);
+        grafo.seguir(carla, beto);
+
+        favorito("beto", crearCancion(1L, "Song 1"));
+        feedActividadService.registrarSeguimiento(new SeguimientoEvent("beto", "carla"));
+        difundir();
+
+        PaginaActividad feedAna = feedActividadService.obtenerFeed("ana", null, 10);
+        assertEquals(2, feedAna.getEventos().size());
+        EventoActividad seguimiento = feedAna.getEventos().get(0);
+        assertEquals(EventoActividad.Tipo.SEGUIMIENTO, seguimiento.getTipo());
+        assertEquals("carla", seguimiento.getSeguido());
+        assertEquals("Song 1", feedAna.getEventos().get(1).getCancion().getTitulo());
+        assertNull(feedAna.getSiguienteCursor());
+
+        assertEquals(2, feedActividadService.obtenerFeed("carla", null, 10).getEventos().size());
+        // El autor no recibe sus propios eventos
+        assertTrue(feedActividadService.obtenerFeed("beto", null, 10).getEventos().isEmpty());
+    }
+
+    @Test
+    void testPaginaPorCursor() {
+        grafo.seguir(ana, beto);
+        for (long i = 1; i <= 5; i++) {
+            favorito("beto", crearCancion(i, "Song " + i));
+        }
+        difundir();
+
+        PaginaActividad primera = feedActividadService.obtenerFeed("ana", null, 3);
+        assertEquals(List.of("Song 5", "Song 4", "Song 3"), titulos(primera));
+        assertNotNull(primera.getSiguienteCursor());
+
+        PaginaActividad segunda = feedActividadService.obtenerFeed("ana", primera.getSiguienteCursor(), 3);
+        assertEquals(List.of("Song 2", "Song 1"), titulos(segunda));
+        assertNull(segunda.getSiguienteCursor());
+    }
+
+    @Test
+    void testAutorMuySeguidoDifundeEnLectura() {
+        int famoso = grafo.idDe(beto);
+        for (int i = 0; i <= FeedActividadService.UMBRAL_DIFUSION_EN_ESCRITURA; i++) {
+            Usuario seguidor = new Usuario();
+            seguidor.setUsername("fan" + i);
+            grafo.seguir(grafo.registrar(seguidor), famoso);
+        }
+        grafo.seguir(ana, beto);
+        grafo.seguir(ana, carla);
+
+        favorito("beto", crearCancion(1L, "Song 1"));
+        favorito("carla", crearCancion(2L, "Song 2"));
+        favorito("beto", crearCancion(3L, "Song 3"));
+        difundir();
+
+        // Los eventos del autor muy seguido se mezclan al leer con los del buzón
+        assertEquals(List.of("Song 3", "Song 2", "Song 1"),
+                titulos(feedActividadService.obtenerFeed("ana", null, 10)));
+        // Quien no lo sigue no los ve
+        assertTrue(feedActividadService.obtenerFeed("carla", null, 10).getEventos().isEmpty());
+    }
+
+    @Test
+    void testLaDifusionUsaLaSecuenciaDePublicacion() {
+        grafo.seguir(ana, beto);
+        favorito("beto", crearCancion(1L, "Song 1"));
+        favorito("beto", crearCancion(2L, "Song 2"));
+
+        // Nada llega a los buzones hasta que se ejecuta la difusión
+        assertTrue(feedActividadService.obtenerFeed("ana", null, 10).getEventos().isEmpty());
+
+        // Aunque las difusiones terminen en otro orden, el feed sigue el de publicación
+        difusiones.get(1).run();
+        difusiones.get(0).run();
+        assertEquals(List.of("Song 2", "Song 1"), titulos(feedActividadService.obtenerFeed("ana", null, 10)));
+    }
+
+    @Test
+    void testUsuarioInexistenteYLimiteInvalido() {
+        when(socialService.obtenerIdEnGrafo("nadie")).thenReturn(GrafoSocial.SIN_ID);
+
+        assertNull(feedActividadService.obtenerFeed("nadie", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> feedActividadService.obtenerFeed("ana", null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> feedActividadService.obtenerFeed("ana", null, FeedActividadService.MAX_PAGINA + 1));
+    }
+
+    private void favorito(String username, Cancion cancion) {
+        feedActividadService.registrarFavorito(new FavoritoAgregadoEvent(username, cancion));
+    }
+
+    private void difundir() {
+        difusiones.forEach(Runnable::run);
+        difusiones.clear();
+    }
+
+    private Usuario registrar(String username) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setNombre(username);
+        usuario.setPassword("password");
+        int id = grafo.registrar(usuario);
+        when(socialService.obtenerIdEnGrafo(username)).thenReturn(id);
+        return usuario;
+    }
+
+    private static List<String> titulos(PaginaActividad pagina) {
+        return pagina.getEventos().stream().map(e -> e.getCancion().getTitulo()).toList();
+    }
+
+    private Cancion crearCancion(Long id, String titulo) {
+        Cancion cancion = new Cancion();
+        cancion.setId(id);
+        cancion.setTitulo(titulo);
+        cancion.setArtista("Artist");
+        return cancion;
+    }
+}
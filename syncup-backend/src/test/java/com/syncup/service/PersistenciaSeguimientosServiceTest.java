@@ -0,0 +1,128 @@
+package com.syncup.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de PersistenciaSeguimientosService sobre una base SQLite temporal.
+ *
+ * @author SyncUp Team
+ */
+class PersistenciaSeguimientosServiceTest {
+
+    @TempDir
+    Path directorio;
+
+    private JdbcTemplate jdbcTemplate;
+    private ThreadPoolTaskScheduler programador;
+    private PersistenciaSeguimientosService persistencia;
+
+    @BeforeEach
+    void setUp() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + directorio.resolve("seguimientos.db"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE seguimientos (seguidor_id BIGINT NOT NULL, "
+                + "seguido_id BIGINT NOT NULL, PRIMARY KEY (seguidor_id, seguido_id))");
+        programador = new ThreadPoolTaskScheduler();
+        programador.initialize();
+        persistencia = new PersistenciaSeguimientosService(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), programador);
+    }
+
+    @AfterEach
+    void tearDown() {
+        programador.shutdown();
+    }
+
+    @Test
+    void testEscribeEnLoteYConservaLaUltimaOperacionPorPar() {
+        persistencia.registrarSeguimiento(1, 2);
+        persistencia.registrarSeguimiento(1, 3);
+        persistencia.registrarSeguimiento(1, 2);
+        persistencia.registrarBaja(1, 3);
+        persistencia.registrarSeguimiento(2, 1);
+        assertEquals(5, persistencia.pendientes());
+        assertEquals(0, contarFilas());
+
+        persistencia.escribirPendientes();
+
+        assertEquals(0, persistencia.pendientes());
+        assertEquals(List.of("1->2", "2->1"), leer());
+
+        persistencia.registrarBaja(1, 2);
+        persistencia.registrarSeguimiento(1, 2);
+        persistencia.registrarBaja(2, 1);
+        persistencia.escribirPendientes();
+        assertEquals(List.of("1->2"), leer());
+    }
+
+    @Test
+    void testLoteFallidoSeReintentaConLasOperacionesNuevas() {
+        jdbcTemplate.execute("ALTER TABLE seguimientos RENAME TO seguimientos_tmp");
+        persistencia.registrarSeguimiento(1, 2);
+        persistencia.registrarSeguimiento(3, 4);
+        assertThrows(RuntimeException.class, persistencia::escribirPendientes);
+
+        jdbcTemplate.execute("ALTER TABLE seguimientos_tmp RENAME TO seguimientos");
+        persistencia.registrarBaja(3, 4);
+        persistencia.escribirPendientes();
+
+        assertEquals(List.of("1->2"), leer());
+    }
+
+    @Test
+    void testCargaMasiva() {
+        int total = 3 * PersistenciaSeguimientosService.TAMAÑO_LOTE;
+        for (int i = 0; i < total; i++) {
+            persistencia.registrarSeguimiento(i, i + 1);
+        }
+        persistencia.escribirPendientes();
+
+        long[] suma = {0};
+        long leidas = persistencia.cargar((seguidor, seguido) -> suma[0] += seguido - seguidor);
+
+        assertEquals(total, leidas);
+        assertEquals(total, suma[0]);
+    }
+
+    @Test
+    void testEscrituraPeriodicaEnElProgramadorYVaciadoAlDetener() throws Exception {
+        persistencia.iniciar();
+        persistencia.registrarSeguimiento(1, 2);
+
+        long limite = System.currentTimeMillis() + 5_000;
+        while (contarFilas() == 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals(List.of("1->2"), leer());
+
+        persistencia.registrarSeguimiento(2, 1);
+        persistencia.detener();
+        assertEquals(0, persistencia.pendientes());
+        assertEquals(List.of("1->2", "2->1"), leer());
+    }
+
+    private int contarFilas() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seguimientos", Integer.class);
+    }
+
+    private List<String> leer() {
+        List<String> filas = new ArrayList<>();
+        persistencia.cargar((seguidor, seguido) -> filas.add(seguidor + "->" + seguido));
+        filas.sort(null);
+        return filas;
+    }
+}
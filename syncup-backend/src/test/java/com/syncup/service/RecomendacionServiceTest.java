@@ -1,12 +1,15 @@
 package com.syncup.service;
 
 import com.syncup.graph.GrafoDeSimilitud;
+import com.syncup.graph.GrafoSocial;
 import com.syncup.model.Cancion;
+import com.syncup.model.Usuario;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
@@ -25,12 +28,18 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class RecomendacionServiceTest {
     
-    @Mock
-    private FavoritosService favoritosService;
+    @Spy
+    private FavoritosService favoritosService = new FavoritosService(evento -> { });
     
     @Mock
     private SimilitudService similitudService;
     
+    @Mock
+    private SocialService socialService;
+    
+    @Mock
+    private ComunidadesService comunidadesService;
+    
     @InjectMocks
     private RecomendacionService recomendacionService;
     
@@ -90,6 +99,104 @@ class RecomendacionServiceTest {
         assertTrue(radio.isEmpty());
     }
     
+    @Test
+    void testMezclaSocialFusionaAmbasFuentes() {
+        Cancion c4 = crearCancion(4L, "Song 4", "Artist C", "Jazz", 2019);
+        GrafoSocial grafoSocial = new GrafoSocial();
+        Usuario testuser = crearUsuario("testuser");
+        Usuario amigo = crearUsuario("amigo");
+        grafoSocial.seguir(testuser, amigo);
+        
+        // c2 llega por similitud (c1 -> c2) y por el amigo; c3 y c4 solo por el amigo
+        favoritosService.agregarFavorito("testuser", c1);
+        List.of(c4, c3, c2).forEach(c -> favoritosService.agregarFavorito("amigo", c));
+        when(similitudService.obtenerGrafo()).thenReturn(grafo);
+        when(socialService.obtenerIdEnGrafo("testuser")).thenReturn(grafoSocial.idDe(testuser));
+        when(socialService.obtenerGrafo()).thenReturn(grafoSocial);
+        
+        List<Cancion> mezcla = recomendacionService.generarMezclaSocial("testuser", 10);
+        
+        assertEquals(List.of(c2, c3, c4), mezcla);
+    }
+    
+    @Test
+    void testMezclaSocialSinFavoritosUsaLasConexiones() {
+        GrafoSocial grafoSocial = new GrafoSocial();
+        Usuario testuser = crearUsuario("testuser");
+        Usuario amigo = crearUsuario("amigo");
+        grafoSocial.seguir(testuser, amigo);
+        
+        favoritosService.agregarFavorito("amigo", c3);
+        when(socialService.obtenerIdEnGrafo("testuser")).thenReturn(grafoSocial.idDe(testuser));
+        when(socialService.obtenerGrafo()).thenReturn(grafoSocial);
+        
+        assertEquals(List.of(c3), recomendacionService.generarMezclaSocial("testuser", 10));
+    }
+    
+    @Test
+    void testMezclaSocialSinFavoritosUsaLaComunidad() {
+        when(favoritosService.contarFavoritos("testuser")).thenReturn(0);
+        when(comunidadesService.obtenerPopulares("testuser", 10)).thenReturn(List.of(c2, c3));
+        
+        assertEquals(List.of(c2, c3), recomendacionService.generarMezclaSocial("testuser", 10));
+        // Sin recorrer el grafo social por usuario
+        verify(socialService, never()).obtenerGrafo();
+    }
+    
+    @Test
+    void testRecomendacionesSocialesSoloLeenLosFavoritosMasRecientes() {
+        GrafoSocial grafoSocial = new GrafoSocial();
+        Usuario testuser = crearUsuario("testuser");
+        Usuario amigo = crearUsuario("amigo");
+        grafoSocial.seguir(testuser, amigo);
+        int total = FavoritosService.MAX_FAVORITOS_RECIENTES + 50;
+        for (long id = 1; id <= total; id++) {
+            favoritosService.agregarFavorito("amigo", crearCancion(id, "Song " + id, "Artist", "Rock", 2020));
+        }
+        when(socialService.obtenerIdEnGrafo("testuser")).thenReturn(grafoSocial.idDe(testuser));
+        when(socialService.obtenerGrafo()).thenReturn(grafoSocial);
+        
+        List<Cancion> recomendaciones = recomendacionService.generarRecomendacionesSociales("testuser", total);
+        
+        assertEquals(FavoritosService.MAX_FAVORITOS_RECIENTES, recomendaciones.size());
+        assertTrue(recomendaciones.stream().allMatch(c -> c.getId() > total - FavoritosService.MAX_FAVORITOS_RECIENTES));
+        // Sin copiar la lista completa de favoritos de la conexión
+        verify(favoritosService, never()).obtenerFavoritos("amigo");
+    }
+    
+    @Test
+    void testRecomendacionesSocialesExcluyenFavoritosPropiosAntiguos() {
+        GrafoSocial grafoSocial = new GrafoSocial();
+        Usuario testuser = crearUsuario("testuser");
+        Usuario amigo = crearUsuario("amigo");
+        grafoSocial.seguir(testuser, amigo);
+        // c3 queda fuera de los favoritos más recientes de testuser
+        favoritosService.agregarFavorito("testuser", c3);
+        for (long id = 100; id < 100 + FavoritosService.MAX_FAVORITOS_RECIENTES; id++) {
+            favoritosService.agregarFavorito("testuser", crearCancion(id, "Song " + id, "Artist", "Rock", 2020));
+        }
+        List.of(c3, c2).forEach(c -> favoritosService.agregarFavorito("amigo", c));
+        when(socialService.obtenerIdEnGrafo("testuser")).thenReturn(grafoSocial.idDe(testuser));
+        when(socialService.obtenerGrafo()).thenReturn(grafoSocial);
+        
+        assertEquals(List.of(c2), recomendacionService.generarRecomendacionesSociales("testuser", 10));
+    }
+    
+    @Test
+    void testRecomendacionesSocialesUsuarioInexistente() {
+        when(socialService.obtenerIdEnGrafo("nadie")).thenReturn(GrafoSocial.SIN_ID);
+        
+        assertTrue(recomendacionService.generarRecomendacionesSociales("nadie", 10).isEmpty());
+    }
+    
+    private Usuario crearUsuario(String username) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setNombre(username);
+        usuario.setPassword("password");
+        return usuario;
+    }
+    
     private Cancion crearCancion(Long id, String titulo, String artista, String genero, int año) {
         Cancion cancion = new Cancion();
         cancion.setId(id);
@@ -0,0 +1,113 @@
+package com.syncup.trie;
+
+import com.syncup.model.Cancion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para CacheAutocompletado.
+ *
+ * @author SyncUp Team
+ */
+class CacheAutocompletadoTest {
+
+    private final CacheAutocompletado cache = new CacheAutocompletado(16, 60_000);
+
+    @Test
+    void testRecorridoDelTrieNoBloqueaOtrasConsultas() throws Exception {
+        Cancion bella = crearCancion(1L, "bella");
+        cache.obtener("b", p -> List.of(new EntradaTrie("bella", bella)));
+
+        CountDownLatch recorriendo = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        CompletableFuture<List<Cancion>> fallo = CompletableFuture.supplyAsync(() ->
+                cache.obtener("x", p -> {
+                    recorriendo.countDown();
+                    try {
+                        assertTrue(continuar.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of();
+                }));
+        assertTrue(recorriendo.await(10, TimeUnit.SECONDS));
+
+        // Con el recorrido de "x" en curso, otro hilo sigue obteniendo aciertos
+        List<Cancion> acierto = CompletableFuture.supplyAsync(() -> cache.obtener("b", p -> fail("recorrido inesperado")))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(bella), acierto);
+
+        continuar.countDown();
+        assertTrue(fallo.get(10, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    void testNoGuardaResultadosCalculadosAntesDeUnaInvalidacion() {
+        Cancion vieja = crearCancion(1L, "bella");
+        AtomicInteger recorridos = new AtomicInteger();
+
+        cache.obtener("bel", p -> {
+            recorridos.incrementAndGet();
+            cache.invalidar("bella");
+            return List.of(new EntradaTrie("bella", vieja));
+        });
+        cache.obtener("bel", p -> {
+            recorridos.incrementAndGet();
+            return List.of();
+        });
+
+        assertEquals(2, recorridos.get());
+        assertTrue(cache.obtener("bel", p -> fail("recorrido inesperado")).isEmpty());
+    }
+
+    @Test
+    void testAciertoPorExtensionFiltraLosCandidatos() {
+        Cancion bella = crearCancion(1L, "bella");
+        Cancion beat = crearCancion(2L, "beat");
+        cache.obtener("be", p -> List.of(new EntradaTrie("bella", bella), new EntradaTrie("beat", beat)));
+
+        assertEquals(List.of(beat), cache.obtener("bea", p -> fail("recorrido inesperado")));
+        assertEquals(1L, cache.obtenerEstadisticas().get("aciertosPorExtension"));
+    }
+
+    @Test
+    void testCancionSinIdNoSeConfundeConOtroId() {
+        Cancion sinId = crearCancion(null, "bella");
+        Cancion conId = crearCancion((long) sinId.hashCode(), "bella dos");
+
+        List<Cancion> canciones = cache.obtener("bel", p -> List.of(new EntradaTrie("bella", sinId),
+                new EntradaTrie("bella dos", conId), new EntradaTrie("bella", sinId)));
+
+        assertEquals(List.of(sinId, conId), canciones);
+    }
+
+    @Test
+    void testPurgaLasExpiradasAunqueHayaUnaVigenteDelante() throws Exception {
+        CacheAutocompletado corta = new CacheAutocompletado(16, 500);
+        corta.obtener("bbb", p -> List.of());
+        Thread.sleep(300);
+        corta.obtener("aaa", p -> List.of());
+        // "bbb" pasa a ser la más reciente en orden de acceso, detrás de "aaa"
+        corta.obtener("bbb", p -> fail("recorrido inesperado"));
+        Thread.sleep(300);
+
+        // Al guardar "ccc", "bbb" ya expiró aunque "aaa" siga vigente
+        corta.obtener("ccc", p -> List.of());
+        assertEquals(2, corta.obtenerEstadisticas().get("prefijosRecientes"));
+    }
+
+    private Cancion crearCancion(Long id, String titulo) {
+        Cancion cancion = new Cancion();
+        cancion.setId(id);
+        cancion.setTitulo(titulo);
+        cancion.setArtista("Artista");
+        return cancion;
+    }
+}
@@ -65,6 +65,36 @@ class TrieAutocompletadoTest {
         assertEquals(1, resultados.size());
     }
     
+    @Test
+    void testBuscarPorPrefijoSinAcentos() {
+        Cancion c1 = crearCancion(1L, "Canción de María");
+        trie.insertar(c1.getTitulo(), c1);
+        
+        assertEquals(1, trie.buscarPorPrefijo("cancion").size());
+        assertEquals(1, trie.buscarPorPrefijo("CANCIÓN DE MARIA").size());
+        assertEquals(1, trie.buscarPorPrefijo("cancion   de").size());
+    }
+    
+    @Test
+    void testBuscarPaginaReanudaDesdeCursor() {
+        Cancion c1 = crearCancion(1L, "Beat It");
+        Cancion c2 = crearCancion(2L, "Bella");
+        Cancion c3 = crearCancion(3L, "Bella");
+        Cancion c4 = crearCancion(4L, "Bohemian Rhapsody");
+        trie.insertar(c4.getTitulo(), c4);
+        trie.insertar(c3.getTitulo(), c3);
+        trie.insertar(c1.getTitulo(), c1);
+        trie.insertar(c2.getTitulo(), c2);
+        
+        // Orden determinista: por clave y, dentro de la clave, por id
+        List<EntradaTrie> primera = trie.buscarPagina("b", null, null, 2, e -> true);
+        assertEquals(List.of(c1, c2), primera.stream().map(EntradaTrie::getCancion).toList());
+        
+        EntradaTrie ultima = primera.get(1);
+        List<EntradaTrie> segunda = trie.buscarPagina("b", ultima.getClave(), ultima.getCancion().getId(), 2, e -> true);
+        assertEquals(List.of(c3, c4), segunda.stream().map(EntradaTrie::getCancion).toList());
+    }
+    
     @Test
     void testEliminar() {
         Cancion c1 = crearCancion(1L, "Test Song");
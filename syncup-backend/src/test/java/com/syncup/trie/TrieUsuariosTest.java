@@ -0,0 +1,57 @@
+package com.syncup.trie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TrieUsuarios.
+ * 
+ * @author SyncUp Team
+ */
+class TrieUsuariosTest {
+    
+    private TrieUsuarios trie;
+    
+    @BeforeEach
+    void setUp() {
+        trie = new TrieUsuarios();
+        trie.insertar("maria", "María García");
+        trie.insertar("mario88", "Mario Gómez");
+        trie.insertar("juan", "Juan Pérez");
+    }
+    
+    @Test
+    void testBuscarPorUsernameNombreYPalabra() {
+        assertEquals(List.of("maria", "mario88"), trie.buscar("mari", 10));
+        assertEquals(List.of("maria"), trie.buscar("GARCÍA", 10));
+        assertEquals(List.of("juan"), trie.buscar("perez", 10));
+        assertTrue(trie.buscar("xyz", 10).isEmpty());
+    }
+    
+    @Test
+    void testLimiteTopK() {
+        assertEquals(1, trie.buscar("m", 1).size());
+    }
+    
+    @Test
+    void testReindexarAlCambiarNombre() {
+        trie.insertar("juan", "Juan Rodríguez");
+        
+        assertTrue(trie.buscar("perez", 10).isEmpty());
+        assertEquals(List.of("juan"), trie.buscar("rodriguez", 10));
+        assertEquals(3, trie.tamaño());
+    }
+    
+    @Test
+    void testEliminar() {
+        assertTrue(trie.eliminar("maria"));
+        
+        assertEquals(List.of("mario88"), trie.buscar("mari", 10));
+        assertTrue(trie.buscar("garcia", 10).isEmpty());
+        assertFalse(trie.eliminar("maria"));
+    }
+}
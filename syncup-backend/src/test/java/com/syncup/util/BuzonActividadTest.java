@@ -0,0 +1,66 @@
+package com.syncup.util;
+
+import com.syncup.dto.EventoActividad;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para BuzonActividad.
+ *
+ * @author SyncUp Team
+ */
+class BuzonActividadTest {
+
+    @Test
+    void testPaginaDelMasRecienteAlMasAntiguo() {
+        BuzonActividad buzon = new BuzonActividad(10);
+        for (long s = 1; s <= 5; s++) {
+            buzon.agregar(evento(s));
+        }
+
+        assertEquals(List.of(5L, 4L), secuencias(buzon.pagina(Long.MAX_VALUE, 2)));
+        assertEquals(List.of(3L, 2L), secuencias(buzon.pagina(4, 2)));
+        assertEquals(List.of(1L), secuencias(buzon.pagina(2, 2)));
+        assertTrue(buzon.pagina(1, 2).isEmpty());
+    }
+
+    @Test
+    void testDescartaLosMasAntiguosAlLlenarse() {
+        BuzonActividad buzon = new BuzonActividad(3);
+        for (long s = 1; s <= 7; s++) {
+            buzon.agregar(evento(s));
+        }
+
+        assertEquals(3, buzon.tamaño());
+        assertEquals(List.of(7L, 6L, 5L), secuencias(buzon.pagina(Long.MAX_VALUE, 10)));
+    }
+
+    @Test
+    void testInsertaEnOrdenLosEventosQueLleganTarde() {
+        BuzonActividad buzon = new BuzonActividad(3);
+        buzon.agregar(evento(2));
+        buzon.agregar(evento(4));
+        buzon.agregar(evento(3));
+        buzon.agregar(evento(5));
+        // Más antiguo que todo lo guardado con el buzón lleno: se ignora
+        buzon.agregar(evento(1));
+
+        assertEquals(List.of(5L, 4L, 3L), secuencias(buzon.pagina(Long.MAX_VALUE, 10)));
+    }
+
+    @Test
+    void testCapacidadInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new BuzonActividad(0));
+    }
+
+    private static EventoActividad evento(long secuencia) {
+        return new EventoActividad(secuencia, EventoActividad.Tipo.SEGUIMIENTO, "actor", null, "otro", 0);
+    }
+
+    private static List<Long> secuencias(List<EventoActividad> eventos) {
+        return eventos.stream().map(EventoActividad::getSecuencia).toList();
+    }
+}
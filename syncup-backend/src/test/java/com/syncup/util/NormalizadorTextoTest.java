@@ -0,0 +1,69 @@
+package com.syncup.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para NormalizadorTexto.
+ * 
+ * @author SyncUp Team
+ */
+class NormalizadorTextoTest {
+    
+    @Test
+    void testEliminaDiacriticosYMayusculas() {
+        assertEquals("maria", NormalizadorTexto.normalizar("María"));
+        assertEquals("cancion", NormalizadorTexto.normalizar("CANCIÓN"));
+        assertEquals("nino", NormalizadorTexto.normalizar("Niño"));
+        assertEquals("strasse", NormalizadorTexto.normalizar("Straße"));
+    }
+    
+    @Test
+    void testColapsaEspaciosYPuntuacion() {
+        assertEquals("sweet child o mine", NormalizadorTexto.normalizar("  Sweet Child O' Mine  "));
+        assertEquals("guns n roses", NormalizadorTexto.normalizar("Guns N' Roses"));
+        assertEquals("a b", NormalizadorTexto.normalizar("a -- , b!"));
+        assertEquals("", NormalizadorTexto.normalizar(" ,.; "));
+        assertEquals("", NormalizadorTexto.normalizar(null));
+    }
+    
+    @Test
+    void testFormaDescompuestaEquivaleAPrecompuesta() {
+        // "José" escrito con 'e' + acento combinante (NFD)
+        assertEquals("jose", NormalizadorTexto.normalizar("Jose\u0301"));
+        assertTrue(NormalizadorTexto.sonEquivalentes("José", "JOSÉ"));
+    }
+    
+    @Test
+    void testNormalizarSobreArregloDeCaracteres() {
+        char[] entrada = "Canción".toCharArray();
+        char[] destino = new char[NormalizadorTexto.capacidadRequerida(entrada.length)];
+        
+        int longitud = NormalizadorTexto.normalizar(entrada, entrada.length, destino);
+        
+        assertEquals("cancion", new String(destino, 0, longitud));
+        
+        // Mismo resultado que sobre String, también con un búfer más largo que el texto
+        for (String texto : new String[]{"  Guns N' Roses ", "Straße", "Jose\u0301 -- Ñu", ",.;"}) {
+            char[] bufer = (texto + "xyz").toCharArray();
+            char[] salida = new char[NormalizadorTexto.capacidadRequerida(bufer.length)];
+            int escritos = NormalizadorTexto.normalizar(bufer, texto.length(), salida);
+            assertEquals(NormalizadorTexto.normalizar(texto), new String(salida, 0, escritos), texto);
+        }
+    }
+
+    @Test
+    void testDiccionarioComparteIdEntreVariantes() {
+        DiccionarioClaves diccionario = new DiccionarioClaves();
+        int rock = diccionario.registrar(" Rock ");
+
+        assertEquals(rock, diccionario.registrar("ROCK"));
+        assertEquals(rock, diccionario.buscar("róck"));
+        assertEquals("Rock", diccionario.etiqueta(rock));
+        assertEquals(DiccionarioClaves.SIN_VALOR, diccionario.buscar("Pop"));
+        assertEquals(DiccionarioClaves.SIN_VALOR, diccionario.registrar("  "));
+        assertEquals(1, diccionario.tamaño());
+        assertNull(NormalizadorTexto.clave(" ,. "));
+    }
+}